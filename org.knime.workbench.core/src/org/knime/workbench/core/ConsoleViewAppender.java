@@ -49,6 +49,9 @@
 
 import java.io.IOException;
 import java.io.Writer;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.widgets.Display;
@@ -63,6 +66,14 @@
  * This is an implementation of a writer which logs to the ConsoleView inside
  * Eclipse.
  *
+ * <p>Writes are not forwarded to the console individually but collected in a
+ * bounded ring buffer shared by all appenders. The buffer is flushed to the
+ * console in the UI thread in periodic batches. If log messages are produced
+ * faster than the console can display them, i.e. if the buffer is full,
+ * further messages are dropped and a summary line with the number of
+ * suppressed messages is printed instead. The size of the console is limited,
+ * see {@link #setMaximumConsoleSize(int)}.
+ *
  * @author Florian Georg, University of Konstanz
  */
 public final class ConsoleViewAppender extends Writer {
@@ -125,6 +136,53 @@ public final class ConsoleViewAppender extends Writer {
 
     private final MessageConsoleStream m_out;
 
+    /** Default maximum number of characters in the console. */
+    public static final int DEFAULT_MAX_CONSOLE_SIZE = 1_000_000;
+
+    /** Interval in ms in which the buffer is flushed to the console. */
+    private static final int FLUSH_INTERVAL = 100;
+
+    /** Capacity of the ring buffer, must be a power of two. */
+    private static final int BUFFER_CAPACITY = 8192;
+
+    /** Maximum number of characters printed per flush, the remaining
+     * messages are printed with the next flush. */
+    private static final int MAX_CHARS_PER_FLUSH = 256 * 1024;
+
+    private static final AtomicReferenceArray<Message> BUFFER =
+            new AtomicReferenceArray<>(BUFFER_CAPACITY);
+
+    /** Next position to write, claimed by the producers. */
+    private static final AtomicLong BUFFER_TAIL = new AtomicLong();
+
+    /** Next position to read, only modified by the UI thread. */
+    private static volatile long bufferHead;
+
+    private static final AtomicLong DROPPED_COUNT = new AtomicLong();
+
+    /** Number of dropped messages already reported in the console. */
+    private static long reportedDroppedCount;
+
+    private static final AtomicBoolean FLUSH_SCHEDULED = new AtomicBoolean();
+
+    private static final Runnable FLUSH = ConsoleViewAppender::flushBuffer;
+
+    private static long lastFlush;
+
+    private static volatile MessageConsole console;
+
+    /** A message waiting in the buffer. */
+    private static final class Message {
+        private final ConsoleViewAppender m_appender;
+
+        private final String m_text;
+
+        Message(final ConsoleViewAppender appender, final String text) {
+            m_appender = appender;
+            m_text = text;
+        }
+    }
+
 
 
     /**
@@ -137,8 +195,39 @@ private ConsoleViewAppender(final Color color, final String name,
         m_name = name;
         m_level = level;
 
-        MessageConsole console = findConsole(CONSOLE_NAME);
-        m_out = console.newMessageStream();
+        MessageConsole messageConsole = findConsole(CONSOLE_NAME);
+        m_out = messageConsole.newMessageStream();
+    }
+
+    /**
+     * Sets the maximum number of characters kept in the console. If the
+     * console grows beyond this size the oldest output is removed.
+     *
+     * @param maxSize the maximum size in characters, a value &lt;= 0
+     *            disables the limit
+     * @since 4.5
+     */
+    public static void setMaximumConsoleSize(final int maxSize) {
+        MessageConsole messageConsole = console;
+        if (messageConsole == null) {
+            return;
+        }
+        if (maxSize <= 0) {
+            messageConsole.setWaterMarks(-1, 0);
+        } else {
+            // trim to 80% so that trimming doesn't happen with every write
+            messageConsole.setWaterMarks(Math.max(maxSize / 5 * 4, 1000),
+                Math.max(maxSize, 1001));
+        }
+    }
+
+    /**
+     * @return the number of log messages that have been dropped because the
+     *         console couldn't keep up
+     * @since 4.5
+     */
+    public static long getDroppedCount() {
+        return DROPPED_COUNT.get();
     }
 
     /**
@@ -161,7 +250,18 @@ public NodeLogger.LEVEL getLevel() {
      *
      * @param consoleName The name of the console to look up
      */
-    private MessageConsole findConsole(final String consoleName) {
+    private static synchronized MessageConsole findConsole(
+            final String consoleName) {
+        if (console != null) {
+            return console;
+        }
+        console = findOrCreateConsole(consoleName);
+        setMaximumConsoleSize(DEFAULT_MAX_CONSOLE_SIZE);
+        return console;
+    }
+
+    private static MessageConsole findOrCreateConsole(
+            final String consoleName) {
         ConsolePlugin plugin = ConsolePlugin.getDefault();
         IConsoleManager conMan = plugin.getConsoleManager();
         IConsole[] existing = conMan.getConsoles();
@@ -182,16 +282,91 @@ private MessageConsole findConsole(final String consoleName) {
     @Override
     public void write(final char[] cbuf, final int off, final int len)
             throws IOException {
+        long tail;
+        do {
+            tail = BUFFER_TAIL.get();
+            if (tail - bufferHead >= BUFFER_CAPACITY) {
+                // the console can't keep up, drop the message
+                DROPPED_COUNT.incrementAndGet();
+                scheduleFlush();
+                return;
+            }
+        } while (!BUFFER_TAIL.compareAndSet(tail, tail + 1));
         // make new string here as the caller reuses the char[]
-        final String str = new String(cbuf, off, len);
+        BUFFER.set((int)(tail & (BUFFER_CAPACITY - 1)),
+            new Message(this, new String(cbuf, off, len)));
+        scheduleFlush();
+    }
 
-        Display.getDefault().asyncExec(new Runnable() {
-            @Override
-            public void run() {
-                m_out.setColor(m_color);
-                m_out.print(str);
+    private static void scheduleFlush() {
+        if (FLUSH_SCHEDULED.compareAndSet(false, true)) {
+            Display display = Display.getDefault();
+            if (display.isDisposed()) {
+                return;
             }
-        });
+            try {
+                display.asyncExec(FLUSH);
+            } catch (RuntimeException e) {
+                // display has been disposed in the meantime
+            }
+        }
+    }
+
+    /** Prints the buffered messages to the console, called in the UI
+     * thread. */
+    private static void flushBuffer() {
+        final Display display = Display.getCurrent();
+        final long wait = lastFlush + FLUSH_INTERVAL - System.currentTimeMillis();
+        if (wait > 0 && display != null) {
+            display.timerExec((int)wait, FLUSH);
+            return;
+        }
+        FLUSH_SCHEDULED.set(false);
+        lastFlush = System.currentTimeMillis();
+
+        final StringBuilder buf = new StringBuilder();
+        ConsoleViewAppender current = null;
+        int chars = 0;
+        long head = bufferHead;
+        while (head < BUFFER_TAIL.get() && chars < MAX_CHARS_PER_FLUSH) {
+            final int index = (int)(head & (BUFFER_CAPACITY - 1));
+            final Message msg = BUFFER.get(index);
+            if (msg == null) {
+                // slot claimed but not yet written, continue with next flush
+                break;
+            }
+            BUFFER.set(index, null);
+            head++;
+            bufferHead = head;
+            if (msg.m_appender != current) {
+                print(current, buf);
+                current = msg.m_appender;
+            }
+            buf.append(msg.m_text);
+            chars += msg.m_text.length();
+        }
+        print(current, buf);
+
+        final long totalDropped = DROPPED_COUNT.get();
+        final long dropped = totalDropped - reportedDroppedCount;
+        reportedDroppedCount = totalDropped;
+        if (dropped > 0) {
+            buf.append("... ").append(dropped).append(
+                " log messages suppressed (console cannot keep up) ...\n");
+            print(WARN_APPENDER, buf);
+        }
+        if (head < BUFFER_TAIL.get()) {
+            scheduleFlush();
+        }
+    }
+
+    private static void print(final ConsoleViewAppender appender,
+            final StringBuilder buf) {
+        if (appender != null && buf.length() > 0) {
+            appender.m_out.setColor(appender.m_color);
+            appender.m_out.print(buf.toString());
+        }
+        buf.setLength(0);
     }
 
     /**
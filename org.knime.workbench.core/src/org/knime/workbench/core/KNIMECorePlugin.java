@@ -100,6 +100,12 @@ public class KNIMECorePlugin extends AbstractUIPlugin {
     /** Preference constant: log level for console appender. */
     public static final String P_LOGLEVEL_CONSOLE = "logging.loglevel.console";
 
+    /**
+     * Preference constant: maximum number of characters in the console view.
+     * @since 4.5
+     */
+    public static final String P_CONSOLE_MAX_SIZE = "logging.console.maxsize";
+
     /**
      * Keeps list of <code>ConsoleViewAppender</code>. TODO FIXME remove
      * static if you want to have a console for each Workbench
@@ -224,6 +230,13 @@ public void propertyChange(final PropertyChangeEvent event) {
                             return;
                         }
                         setLogLevel(newName);
+                    } else if (P_CONSOLE_MAX_SIZE.equals(propertyName)) {
+                        if (!(event.getNewValue() instanceof Integer)) {
+                            // when preferences are imported and this value is
+                            // not set, they send an empty string
+                            return;
+                        }
+                        ConsoleViewAppender.setMaximumConsoleSize((Integer)event.getNewValue());
                     } else if (HeadlessPreferencesConstants.P_DATABASE_DRIVERS.equals(propertyName)) {
                         String dbDrivers = (String)event.getNewValue();
                         initDatabaseDriver(dbDrivers);
@@ -255,6 +268,7 @@ public void propertyChange(final PropertyChangeEvent event) {
                         LOGGER.error("Could not print welcome message: ", ioe);
                     }
                     setLogLevel(logLevelConsole);
+                    ConsoleViewAppender.setMaximumConsoleSize(pStore.getInt(P_CONSOLE_MAX_SIZE));
                 });
             }
             // encryption key supplier registered with the eclipse framework
@@ -44,6 +44,7 @@
  */
 package org.knime.workbench.core.preferences;
 
+import static org.knime.workbench.core.KNIMECorePlugin.P_CONSOLE_MAX_SIZE;
 import static org.knime.workbench.core.KNIMECorePlugin.P_LOGLEVEL_CONSOLE;
 import static org.knime.workbench.core.WorkflowMigrationSettings.P_WORKFLOW_MIGRATION_NOTIFICATION_ENABLED;
 import static org.knime.workbench.core.preferences.HeadlessPreferencesConstants.P_DATABASE_TIMEOUT;
@@ -59,6 +60,7 @@
 import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeLogger.LEVEL;
 import org.knime.core.node.port.database.DatabaseConnectionSettings;
+import org.knime.workbench.core.ConsoleViewAppender;
 import org.knime.workbench.core.KNIMECorePlugin;
 
 /**
@@ -83,6 +85,8 @@ public void initializeDefaultPreferences() {
         // set default values
         store.setDefault(P_LOGLEVEL_CONSOLE, LEVEL.WARN.name());
 
+        store.setDefault(P_CONSOLE_MAX_SIZE, ConsoleViewAppender.DEFAULT_MAX_CONSOLE_SIZE);
+
         store.setDefault(P_SEND_ANONYMOUS_STATISTICS, false);
 
         int syspropTimeout = DatabaseConnectionSettings.getSystemPropertyDatabaseTimeout();
@@ -47,13 +47,19 @@
  */
 package org.knime.workbench.descriptionview.node;
 
+import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.layout.FillLayout;
 import org.eclipse.swt.widgets.Composite;
+import org.knime.core.node.NodeLogger;
 import org.knime.core.ui.node.workflow.NodeContainerUI;
 import org.knime.workbench.descriptionview.BrowserProvider;
 import org.knime.workbench.editor2.editparts.NodeContainerEditPart;
@@ -69,8 +75,23 @@
  * @author ohl, University of Konstanz
  */
 public class HelpView extends Composite {
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(HelpView.class);
+
+    /** Minimum time between two updates of the browser while a list of nodes is rendered. */
+    private static final long PARTIAL_UPDATE_INTERVAL_MS = 300;
+
     private final BrowserProvider m_browserProvider;
 
+    /** Incremented with every selection change, renders of older selections are abandoned. */
+    private final AtomicLong m_generation = new AtomicLong();
+
+    /** Renders the descriptions off the UI thread, one selection after the other. */
+    private final ExecutorService m_renderExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "KNIME Node Description View");
+        t.setDaemon(true);
+        return t;
+    });
+
     /**
      * @param parent
      */
@@ -80,6 +101,7 @@ public HelpView(final Composite parent) {
         setLayout(new FillLayout());
 
         m_browserProvider = new BrowserProvider(this, false);
+        addDisposeListener(e -> m_renderExecutor.shutdownNow());
 
         pack();
     }
@@ -94,11 +116,14 @@ public boolean setFocus() {
 
     /**
      * The method updating the content of the browser. Depending on the type of the selected part(s) it will retrieve
-     * the node(s) description and set it in the browser.
+     * the node(s) description and set it in the browser. The description is rendered in the background, the browser is
+     * updated when it's done. Lists of nodes are shown progressively while they are rendered. A render that is still
+     * running when the selection changes again is abandoned.
      *
      * @param selection
      */
     public void selectionChanged(final IStructuredSelection selection) {
+        final long generation = m_generation.incrementAndGet();
         // we display the full description only if a single node is selected
         final boolean useSingleLine;
         if ((selection.size() > 1) || (selection.getFirstElement() instanceof Category)) {
@@ -106,9 +131,41 @@ public void selectionChanged(final IStructuredSelection selection) {
         } else {
             useSingleLine = false;
         }
+        // edit parts must only be accessed in the UI thread
+        final List<Object> items = new ArrayList<>(selection.size());
+        for (final Object sel : selection.toList()) {
+            items.add(sel instanceof NodeContainerEditPart ? ((NodeContainerEditPart)sel).getNodeContainer() : sel);
+        }
+        m_renderExecutor.execute(() -> render(generation, items, useSingleLine));
+    }
+
+    private void checkCurrent(final long generation) {
+        if (generation != m_generation.get()) {
+            throw new CancellationException();
+        }
+    }
 
+    private void render(final long generation, final List<Object> items, final boolean useSingleLine) {
+        final long start = System.currentTimeMillis();
+        try {
+            final String content = createContent(generation, items, useSingleLine);
+            checkCurrent(generation);
+            m_browserProvider.updateBrowserContent(content);
+            LOGGER.debug("Rendered description of " + items.size() + " selected item(s) in "
+                + (System.currentTimeMillis() - start) + " ms");
+        } catch (CancellationException e) { // NOSONAR the selection has changed in the meantime
+            LOGGER.debug("Abandoned description of " + items.size() + " selected item(s) after "
+                + (System.currentTimeMillis() - start) + " ms, selection has changed");
+        } catch (RuntimeException e) {
+            LOGGER.error("Could not render node description: " + e.getMessage(), e);
+        }
+    }
+
+    private String createContent(final long generation, final List<Object> items, final boolean useSingleLine) {
         // construct the html page to display
         final StringBuilder content = new StringBuilder();
+        final String footer;
+        final Runnable afterEachNode;
         if (useSingleLine) {
             // add the prefix to make it a html page
             content.append("<html><head>");
@@ -118,20 +175,34 @@ public void selectionChanged(final IStructuredSelection selection) {
             content.append(NodeFactoryHTMLCreator.instance.getCss());
             content.append("</style>");
             content.append("</head><body><dl>");
+            footer = "</dl></body></html>";
+            // show the cheap header right away and the nodes as they are added
+            m_browserProvider.updateBrowserContent(content + footer);
+            final long[] lastUpdate = {System.currentTimeMillis()};
+            afterEachNode = () -> {
+                checkCurrent(generation);
+                final long now = System.currentTimeMillis();
+                if (now - lastUpdate[0] >= PARTIAL_UPDATE_INTERVAL_MS) {
+                    lastUpdate[0] = now;
+                    m_browserProvider.updateBrowserContent(content + footer);
+                }
+            };
+        } else {
+            footer = "";
+            afterEachNode = () -> checkCurrent(generation);
         }
         // "Keep a list of already displayed objects (this works as long as the selected items come in an ordered way)
         //  ordered with item containing other selected items coming before the items contained. For the tree view
         //  in the repository this is the case." - presumably Ohl
         final HashSet<String> ids = new HashSet<String>();
-        for (final Iterator<?> selIt = selection.iterator(); selIt.hasNext();) {
-            final Object sel = selIt.next();
+        for (final Object sel : items) {
             if (sel instanceof Category) {
                 // its a category in the node repository, display a list of
                 // contained nodes
                 final Category cat = (Category)sel;
                 if (!ids.contains(cat.getID())) {
                     ids.add(cat.getID());
-                    DynamicNodeDescriptionCreator.instance().addDescription(cat, content, ids);
+                    DynamicNodeDescriptionCreator.instance().addDescription(cat, content, ids, afterEachNode);
                 }
             } else if (sel instanceof NodeTemplate) {
                 // its a node selected in the repository
@@ -139,12 +210,16 @@ public void selectionChanged(final IStructuredSelection selection) {
                 if (!ids.contains(templ.getID())) {
                     ids.add(templ.getID());
                     DynamicNodeDescriptionCreator.instance().addDescription(templ, useSingleLine, content);
+                    if (!useSingleLine) {
+                        // the user is likely to look at the neighboring nodes next
+                        DynamicNodeDescriptionCreator.instance().prerenderSiblingDescriptions(templ);
+                    }
                 }
-            } else if (sel instanceof NodeContainerEditPart) {
+            } else if (sel instanceof NodeContainerUI) {
                 // if multiple nodes in the editor are selected we should
                 // not show description for the same node (if used multiple
                 // times) twice. We store the node name in the set.
-                final NodeContainerUI nc = ((NodeContainerEditPart)sel).getNodeContainer();
+                final NodeContainerUI nc = (NodeContainerUI)sel;
                 if (!ids.contains(nc.getName())) {
                     ids.add(nc.getName());
                     DynamicNodeDescriptionCreator.instance().addDescription(nc, useSingleLine, content);
@@ -155,12 +230,10 @@ public void selectionChanged(final IStructuredSelection selection) {
                 final NodeContainerUI manager = ((MetaNodeTemplate)sel).getManager();
                 DynamicNodeDescriptionCreator.instance().addDescription(manager, useSingleLine, content);
             }
+            afterEachNode.run();
         }
-        if (useSingleLine) {
-            // finish the html
-            content.append("</dl></body></html>");
-        }
-
-        m_browserProvider.updateBrowserContent(content.toString());
+        // finish the html
+        content.append(footer);
+        return content.toString();
     }
 }
@@ -0,0 +1,84 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.workbench.editor2;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.knime.core.ui.node.workflow.async.AsyncWorkflowManagerUI;
+
+/**
+ * Optional capability of an {@link AsyncWorkflowManagerUI} whose server can notify about changes of the remote
+ * workflow, e.g. by a long-poll request or server-sent events. The workflow editor then only refreshes the workflow
+ * when something changed instead of polling it in a fixed interval.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 4.5
+ */
+public interface ChangeNotifyingWorkflowManagerUI {
+
+    /**
+     * Waits asynchronously for the next change of the remote workflow.
+     *
+     * The returned future completes with a token identifying the current state of the remote workflow:
+     * <ul>
+     * <li>immediately if the given token is <code>null</code> or doesn't identify the current state anymore,</li>
+     * <li>as soon as the workflow changes,</li>
+     * <li>with the unchanged token after at most the given timeout, which tells the editor that the server is still
+     * reachable.</li>
+     * </ul>
+     * It completes exceptionally with an {@link UnsupportedOperationException} if the server doesn't support change
+     * notifications, the editor falls back to polling in this case. Other exceptions are treated as (temporary)
+     * connection problems. Canceling the future should abort the request.
+     *
+     * @param changeToken the token of the last known state or <code>null</code>
+     * @param timeoutMillis the maximum time the server may wait before answering without a change
+     * @return a future for the token of the next state
+     */
+    CompletableFuture<String> awaitChange(String changeToken, long timeoutMillis);
+
+}
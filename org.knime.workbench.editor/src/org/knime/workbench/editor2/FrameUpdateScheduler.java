@@ -0,0 +1,305 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.workbench.editor2;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.UpdateManager;
+import org.eclipse.swt.widgets.Display;
+import org.knime.core.node.NodeLogger;
+
+/**
+ * Collects updates of figures in the workflow editor that are triggered by events from (possibly many) worker threads
+ * and executes them in batches on the UI thread, at most once per frame. Updates are coalesced per figure and update
+ * key, i.e. if the same kind of update is scheduled several times for a figure before the next frame only the last
+ * one is executed. After all updates of a frame have been executed, the affected canvases are repainted once.
+ *
+ * <p>
+ * This replaces posting one <code>asyncExec</code> (or even <code>syncExec</code>) per event which floods the SWT
+ * event queue when e.g. loops or parallel chunks execute hundreds of nodes.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 4.5
+ */
+public final class FrameUpdateScheduler {
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(FrameUpdateScheduler.class);
+
+    /** The minimal time between two flushes in milliseconds (about 30 frames per second). */
+    static final int FRAME_INTERVAL = 33;
+
+    private static final Map<Display, FrameUpdateScheduler> INSTANCES = new ConcurrentHashMap<>();
+
+    /**
+     * The standard kinds of updates of a node figure. Other objects (e.g. enum constants describing changed
+     * properties) may be used as update keys, too.
+     */
+    public enum UpdateType {
+            /** The node state has changed. */
+            STATE,
+            /** The progress has changed. */
+            PROGRESS,
+            /** A (node or progress) message has changed. */
+            MESSAGE,
+            /** The bounds or other UI information have changed. */
+            BOUNDS;
+    }
+
+    private final Display m_display;
+
+    private final Map<Key, Runnable> m_pending = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean m_flushScheduled = new AtomicBoolean();
+
+    private final Runnable m_flush = this::flush;
+
+    private long m_lastFlush;
+
+    private final AtomicLong m_flushCount = new AtomicLong();
+
+    private final AtomicLong m_updateCount = new AtomicLong();
+
+    private final AtomicLong m_totalFlushTime = new AtomicLong();
+
+    private volatile long m_maxFlushTime;
+
+    private volatile int m_maxQueueDepth;
+
+    private FrameUpdateScheduler(final Display display) {
+        m_display = display;
+    }
+
+    /**
+     * Returns the scheduler for the given display.
+     *
+     * @param display a display, <code>null</code> for the default display
+     * @return the scheduler
+     */
+    public static FrameUpdateScheduler getInstance(final Display display) {
+        final Display d = (display == null) ? Display.getDefault() : display;
+        return INSTANCES.computeIfAbsent(d, k -> {
+            final FrameUpdateScheduler scheduler = new FrameUpdateScheduler(k);
+            if (!k.isDisposed()) {
+                k.asyncExec(() -> k.disposeExec(() -> INSTANCES.remove(k)));
+            }
+            return scheduler;
+        });
+    }
+
+    /**
+     * Returns the scheduler for the default display.
+     *
+     * @return the scheduler
+     */
+    public static FrameUpdateScheduler getInstance() {
+        return getInstance(null);
+    }
+
+    /**
+     * Schedules an update of the given figure. May be called from any thread. The update is executed in the UI
+     * thread with the next frame, unless it is replaced by another update with the same figure and key before.
+     *
+     * @param figure the figure that is updated, repainted after the update has been executed
+     * @param updateKey the kind of update, e.g. one of {@link UpdateType}
+     * @param update the update
+     */
+    public void schedule(final IFigure figure, final Object updateKey, final Runnable update) {
+        if (m_display.isDisposed()) {
+            return;
+        }
+        m_pending.put(new Key(figure, updateKey), update);
+        m_updateCount.incrementAndGet();
+        final int depth = m_pending.size();
+        if (depth > m_maxQueueDepth) {
+            m_maxQueueDepth = depth;
+        }
+        if (m_flushScheduled.compareAndSet(false, true)) {
+            try {
+                m_display.asyncExec(m_flush);
+            } catch (RuntimeException ex) {
+                // the display has been disposed in the meantime
+                m_flushScheduled.set(false);
+            }
+        }
+    }
+
+    /** Executes all pending updates, called in the UI thread. */
+    private void flush() {
+        final long now = System.currentTimeMillis();
+        final long wait = m_lastFlush + FRAME_INTERVAL - now;
+        if (wait > 0) {
+            // the last frame was too recent, collect more updates
+            m_display.timerExec((int)wait, m_flush);
+            return;
+        }
+        // new updates from here on need another flush
+        m_flushScheduled.set(false);
+        final long start = System.nanoTime();
+        final Set<UpdateManager> updateManagers = new LinkedHashSet<>();
+        int count = 0;
+        for (Iterator<Map.Entry<Key, Runnable>> it = m_pending.entrySet().iterator(); it.hasNext();) {
+            final Map.Entry<Key, Runnable> e = it.next();
+            final Runnable update = e.getValue();
+            // only remove the entry if it hasn't been replaced concurrently, otherwise it is executed with the next flush
+            if (!m_pending.remove(e.getKey(), update)) {
+                continue;
+            }
+            count++;
+            try {
+                update.run();
+            } catch (RuntimeException ex) {
+                LOGGER.error("Error while updating workflow editor: " + ex.getMessage(), ex);
+            }
+            final UpdateManager um = e.getKey().m_figure.getUpdateManager();
+            if (um != null) {
+                updateManagers.add(um);
+            }
+        }
+        for (UpdateManager um : updateManagers) {
+            um.performUpdate();
+        }
+        m_lastFlush = System.currentTimeMillis();
+        final long duration = System.nanoTime() - start;
+        m_flushCount.incrementAndGet();
+        m_totalFlushTime.addAndGet(duration);
+        if (duration > m_maxFlushTime) {
+            m_maxFlushTime = duration;
+        }
+        if (LOGGER.isDebugEnabled() && (TimeUnit.NANOSECONDS.toMillis(duration) > FRAME_INTERVAL)) {
+            LOGGER.debug("Updating " + count + " figures in the workflow editor took "
+                + TimeUnit.NANOSECONDS.toMillis(duration) + "ms");
+        }
+    }
+
+    /**
+     * @return the number of currently pending updates
+     */
+    public int getQueueDepth() {
+        return m_pending.size();
+    }
+
+    /**
+     * @return the maximum number of pending updates observed so far
+     */
+    public int getMaxQueueDepth() {
+        return m_maxQueueDepth;
+    }
+
+    /**
+     * @return the number of scheduled updates, including coalesced ones
+     */
+    public long getUpdateCount() {
+        return m_updateCount.get();
+    }
+
+    /**
+     * @return the number of flushes, i.e. frames, executed so far
+     */
+    public long getFlushCount() {
+        return m_flushCount.get();
+    }
+
+    /**
+     * @return the average time of a flush in nanoseconds
+     */
+    public long getAverageFlushTime() {
+        final long flushes = m_flushCount.get();
+        return (flushes == 0) ? 0 : (m_totalFlushTime.get() / flushes);
+    }
+
+    /**
+     * @return the maximum time of a flush in nanoseconds
+     */
+    public long getMaxFlushTime() {
+        return m_maxFlushTime;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "FrameUpdateScheduler [queue depth=" + getQueueDepth() + ", max queue depth=" + m_maxQueueDepth
+            + ", updates=" + getUpdateCount() + ", flushes=" + getFlushCount() + ", avg flush time="
+            + TimeUnit.NANOSECONDS.toMicros(getAverageFlushTime()) + "us, max flush time="
+            + TimeUnit.NANOSECONDS.toMicros(m_maxFlushTime) + "us]";
+    }
+
+    private static final class Key {
+        private final IFigure m_figure;
+
+        private final Object m_updateKey;
+
+        Key(final IFigure figure, final Object updateKey) {
+            m_figure = figure;
+            m_updateKey = updateKey;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(m_figure) + Objects.hashCode(m_updateKey);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key)obj;
+            return (m_figure == other.m_figure) && Objects.equals(m_updateKey, other.m_updateKey);
+        }
+    }
+}
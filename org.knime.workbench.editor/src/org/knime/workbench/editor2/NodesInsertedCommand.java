@@ -0,0 +1,141 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.workbench.editor2;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.eclipse.gef.commands.Command;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.workflow.NodeID;
+import org.knime.workbench.editor2.WorkflowEditorEventListener.ActiveWorkflowEditorEvent;
+
+/**
+ * Executes the commands the {@link WorkflowEditorEventListener}s contribute for a node inserted on request of another
+ * view, see {@link WorkflowEditorEventListener#createNodesInsertedCommand(ActiveWorkflowEditorEvent, Collection)}.
+ * The workflow editor executes it in a compound command right after the command inserting the node, hence one undo
+ * reverts both. Redo asks the listeners again, the node re-inserted by the preceding command may have a new ID.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class NodesInsertedCommand extends Command {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(NodesInsertedCommand.class);
+
+    private final WorkflowEditor m_editor;
+
+    private final Supplier<NodeID> m_insertedNode;
+
+    private final List<Command> m_commands = new ArrayList<Command>();
+
+    /**
+     * @param editor the editor the node is inserted into
+     * @param insertedNode supplies the ID of the inserted node once the inserting command has been executed,
+     *            <code>null</code> if the insertion failed
+     */
+    NodesInsertedCommand(final WorkflowEditor editor, final Supplier<NodeID> insertedNode) {
+        m_editor = editor;
+        m_insertedNode = insertedNode;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void execute() {
+        m_commands.clear();
+        final NodeID insertedNode = m_insertedNode.get();
+        final Collection<WorkflowEditorEventListener> listeners = WorkflowEditorEventListeners.getListeners();
+        if (insertedNode == null || listeners.isEmpty()) {
+            return;
+        }
+        final ActiveWorkflowEditorEvent event = WorkflowEditorEventListeners.createActiveWorkflowEditorEvent(m_editor);
+        for (final WorkflowEditorEventListener listener : listeners) {
+            try {
+                final Command command =
+                    listener.createNodesInsertedCommand(event, Collections.singleton(insertedNode));
+                if (command != null && command.canExecute()) {
+                    command.execute();
+                    m_commands.add(command);
+                }
+            } catch (final Throwable throwable) {
+                LOGGER.error("Workflow editor listener error.", throwable);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean canUndo() {
+        return m_commands.stream().allMatch(Command::canUndo);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void undo() {
+        for (int i = m_commands.size() - 1; i >= 0; i--) {
+            m_commands.get(i).undo();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void dispose() {
+        m_commands.forEach(Command::dispose);
+        m_commands.clear();
+    }
+}
@@ -67,6 +67,7 @@
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -103,6 +104,7 @@
 import org.eclipse.gef.SnapToGrid;
 import org.eclipse.gef.commands.Command;
 import org.eclipse.gef.commands.CommandStack;
+import org.eclipse.gef.commands.CompoundCommand;
 import org.eclipse.gef.editparts.ScalableFreeformRootEditPart;
 import org.eclipse.gef.editparts.ZoomManager;
 import org.eclipse.gef.ui.actions.ActionRegistry;
@@ -2810,10 +2812,10 @@ public boolean addMetaNode(final WorkflowManager sourceManager,
         if (getEditorSnapToGrid()) {
             nodeLoc = getClosestGridLocation(nodeLoc);
         }
-        Command newNodeCmd =
+        CreateNewConnectedMetaNodeCommand newNodeCmd =
             new CreateNewConnectedMetaNodeCommand(getViewer(), m_manager, WorkflowManagerWrapper.wrap(sourceManager),
                 id, nodeLoc, preID);
-        getCommandStack().execute(newNodeCmd);
+        executeInsertCommand(newNodeCmd, newNodeCmd::getCreatedNodeID);
         // after adding a node the editor should get the focus
         setFocus();
         return true;
@@ -2834,19 +2836,19 @@ public boolean addNode(final NodeFactory<? extends NodeModel> nodeFactory) {
 
         final NodeContainerEditPart preNode = getTheOneSelectedNode();
         final Point nodeLoc;
-        final Command newNodeCmd;
         if (preNode == null) {
             nodeLoc = getViewportCenterLocation();
             // this command accepts/requires relative coordinates
-            newNodeCmd = new CreateNodeCommand(m_manager, nodeFactory, nodeLoc, getEditorSnapToGrid());
+            final CreateNodeCommand newNodeCmd =
+                new CreateNodeCommand(m_manager, nodeFactory, nodeLoc, getEditorSnapToGrid());
+            executeInsertCommand(newNodeCmd, newNodeCmd::getCreatedNodeID);
         } else {
             nodeLoc = getLocationRightOf(preNode);
-            newNodeCmd = new CreateNewConnectedNodeCommand(getViewer(), m_manager, nodeFactory, nodeLoc,
-                preNode.getNodeContainer().getID());
+            final CreateNewConnectedNodeCommand newNodeCmd = new CreateNewConnectedNodeCommand(getViewer(), m_manager,
+                nodeFactory, nodeLoc, preNode.getNodeContainer().getID());
+            executeInsertCommand(newNodeCmd, newNodeCmd::getCreatedNodeID);
         }
 
-        getCommandStack().execute(newNodeCmd);
-
         // after adding a node the editor should get the focus
         // this is issued asynchronously, in order to avoid bug #3029
         Display.getDefault().asyncExec(() -> {
@@ -3626,7 +3628,12 @@ public void workflowChanged(final WorkflowEvent event) {
                 default:
                     // all other event types are handled somewhere else, e.g. in edit policies etc
             }
-            updateActions();
+        });
+        // a burst of events only needs a single update of the actions after the last one
+        SyncExecQueueDispatcher.asyncExec(SyncExecQueueDispatcher.coalescingKey(this, "updateActions"), () -> {
+            if (!WorkflowEditor.this.isClosed()) {
+                updateActions();
+            }
         });
     }
 
@@ -3659,12 +3666,8 @@ public void nodePropertyChanged(final NodePropertyChangedEvent e) {
     private void unmarkDirty() {
         if (m_isDirty && !m_manager.isDirty()) {
             m_isDirty = false;
-            SyncExecQueueDispatcher.asyncExec(new Runnable() {
-                @Override
-                public void run() {
-                    firePropertyChange(IEditorPart.PROP_DIRTY);
-                }
-            });
+            SyncExecQueueDispatcher.asyncExec(SyncExecQueueDispatcher.coalescingKey(this, IEditorPart.PROP_DIRTY),
+                () -> firePropertyChange(IEditorPart.PROP_DIRTY));
         }
     }
 
@@ -3679,14 +3682,13 @@ public void markDirty() {
             if (!m_isDirty && m_manager.isDirty()) {
                 m_isDirty = true;
 
-                SyncExecQueueDispatcher.asyncExec(new Runnable() {
-                    @Override
-                    public void run() {
+                // repeated (un)mark dirty requests collapse into one notification
+                SyncExecQueueDispatcher.asyncExec(SyncExecQueueDispatcher.coalescingKey(this, IEditorPart.PROP_DIRTY),
+                    () -> {
                         if (!WorkflowEditor.this.isClosed()) {
                             firePropertyChange(IEditorPart.PROP_DIRTY);
                         }
-                    }
-                });
+                    });
                 if (m_parentEditor != null) {
                     m_parentEditor.markDirty();
                 }
@@ -4111,6 +4113,17 @@ private void notifyCloseEventListeners() {
         }
     }
 
+    /**
+     * Executes the given command inserting a node together with the commands the workflow editor event listeners
+     * contribute for the inserted node, so that one undo reverts all of them.
+     */
+    private void executeInsertCommand(final Command insertCommand, final Supplier<NodeID> insertedNode) {
+        final CompoundCommand command = new CompoundCommand(insertCommand.getLabel());
+        command.add(insertCommand);
+        command.add(new NodesInsertedCommand(this, insertedNode));
+        getCommandStack().execute(command);
+    }
+
     private void notifySaveEventListeners() {
         final Collection<WorkflowEditorEventListener> workflowEditorEventListeners =
             WorkflowEditorEventListeners.getListeners();
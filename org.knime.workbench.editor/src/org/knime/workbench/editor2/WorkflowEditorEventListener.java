@@ -48,10 +48,14 @@
 import static java.util.Collections.emptyList;
 import static java.util.Objects.requireNonNull;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
+import org.eclipse.gef.commands.Command;
+import org.knime.core.node.workflow.NodeID;
+import org.knime.workbench.core.nodeprovider.NodeProvider;
 import org.knime.workbench.editor2.viewport.MessageAppearance;
 
 /**
@@ -223,4 +227,20 @@ public interface ActiveWorkflowEditorEvent extends WorkflowEditorEvent {
      */
     void workflowSaved(ActiveWorkflowEditorEvent event);
 
+    /**
+     * Returns a command to be executed right after nodes have been inserted into the edited workflow on request of
+     * another view, e.g. the node repository or the workflow coach (see {@link NodeProvider}). The command is executed
+     * together with the insertion, one undo reverts both. Invoked in the UI thread; returns <code>null</code> by
+     * default.
+     *
+     * @param event the event to process.
+     * @param nodeIDs the IDs of the inserted nodes.
+     * @return the command or <code>null</code> if there is nothing to do.
+     * @since 4.5
+     */
+    default Command createNodesInsertedCommand(final ActiveWorkflowEditorEvent event,
+        final Collection<NodeID> nodeIDs) {
+        return null;
+    }
+
 }
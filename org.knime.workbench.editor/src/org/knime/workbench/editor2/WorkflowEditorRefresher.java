@@ -46,10 +46,20 @@
 package org.knime.workbench.editor2;
 
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.jface.preference.IPreferenceStore;
@@ -60,6 +70,7 @@
 import org.eclipse.ui.PlatformUI;
 import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeLogger;
+import org.knime.core.ui.node.workflow.NodeContainerUI;
 import org.knime.core.ui.node.workflow.async.AsyncWorkflowManagerUI;
 import org.knime.core.ui.node.workflow.async.SnapshotNotFoundException;
 import org.knime.core.ui.util.SWTUtilities;
@@ -75,14 +86,28 @@ class WorkflowEditorRefresher {
 
     private static final NodeLogger LOGGER = NodeLogger.getLogger(WorkflowEditorRefresher.class);
 
-    /** A timer thread the workflow refresh timer tasks are submitted to. */
-    private static Timer REFRESH_TIMER = null;
+    /**
+     * The number of workflows that are refreshed at the same time at most. All remote workflow editors share the
+     * threads of {@link #REFRESH_EXECUTOR}.
+     */
+    private static final int MAX_CONCURRENT_REFRESHES = 4;
+
+    /** The factor by which the refresh interval grows while nothing changes in a polled workflow. */
+    private static final double IDLE_BACKOFF_FACTOR = 1.5;
+
+    /** The delays before a failed change notification request is repeated, doubled on every failure. */
+    private static final long MIN_RETRY_DELAY = 1000;
+
+    private static final long MAX_RETRY_DELAY = 30000;
+
+    /** The executor shared by all workflow editors the refreshes are scheduled on. */
+    private static ScheduledExecutorService REFRESH_EXECUTOR = null;
 
     /** A timer thread the connected timer tasks are submitted to. */
     private static Timer CONNECTED_TIMER = null;
 
-    /** If non-null, a currently scheduled task that periodically refreshes the WorkflowManagerUI **/
-    private TimerTask m_refreshTimerTask = null;
+    /** If non-null, the currently running loop that refreshes the WorkflowManagerUI **/
+    private RefreshLoop m_refreshLoop = null;
 
     /**
      * If non-null, it periodically checks whether the workflow has been refreshed within a specified time interval.
@@ -196,7 +221,7 @@ public void partActivated(final IWorkbenchPartReference partRef) {
     void setup() {
         IPreferenceStore prefStore = KNIMEUIPlugin.getDefault().getPreferenceStore();
         m_isAutoRefreshEnabled = prefStore.getBoolean(PreferenceConstants.P_REMOTE_WORKFLOW_EDITOR_AUTO_REFRESH);
-        if (!m_isAutoRefreshEnabled && m_refreshTimerTask != null) {
+        if (!m_isAutoRefreshEnabled && m_refreshLoop != null) {
             cancelTimers();
         }
 
@@ -226,59 +251,14 @@ void setup() {
      */
     private void tryStartingRefreshTimer(final int delay) {
         if (m_editor.getWorkflowManagerUI() != null && m_editor.getWorkflowManagerUI() instanceof AsyncWorkflowManagerUI
-            && m_refreshTimerTask == null && m_isAutoRefreshEnabled) {
+            && m_refreshLoop == null && m_isAutoRefreshEnabled) {
             synchronized (WorkflowEditor.class) {
-                if (REFRESH_TIMER == null) {
-                    REFRESH_TIMER = new Timer("Workflow Refresh Timer", true);
+                if (REFRESH_EXECUTOR == null) {
+                    REFRESH_EXECUTOR = createRefreshExecutor();
                 }
             }
-            m_refreshTimerTask = new TimerTask() {
-                private boolean lastRefreshSuccessful = true;
-                @Override
-                public void run() {
-                    AsyncWorkflowManagerUI asyncWFM = getAsyncWFM().orElse(null);
-                    if (asyncWFM == null) {
-                        return;
-                    }
-                    try {
-                        asyncWFM.refreshOrFail(false);
-                        m_hasBeenRefreshed.set(true);
-                        lastRefreshSuccessful = true;
-                    } catch (SnapshotNotFoundException e) {
-                        //refresh not possible because, e.g., underlying job has been swapped to disk
-                        cancelTimers();
-                        String message = "The job has been swapped to disk or wasn't accessed for a while."
-                            + "Try re-opening the job-workflow.";
-                        if (getDisconnectedMessage().map(m -> !m.equals(message)).orElse(true)) {
-                            Display.getDefault().syncExec(() -> MessageDialog.openWarning(SWTUtilities.getActiveShell(),
-                                "Auto-refresh failed", message));
-                        }
-                        disconnect(true, message);
-                    } catch (NoSuchElementException e) {
-                        //job-workflow is not available anymore
-                        //job has mostly likely been deleted on the server
-                        String message = "The job has been discarded.";
-                        cancelTimers();
-                        if (getDisconnectedMessage().map(m -> !m.equals(message)).orElse(true)) {
-                            Display.getDefault().syncExec(() -> MessageDialog.openWarning(SWTUtilities.getActiveShell(),
-                                "Auto-refresh failed", message));
-                        }
-                        disconnect(true, message);
-                    } catch (Exception e) {
-                        //if something went wrong refreshing the workflow (e.g. timeout)
-                        //-> just log it, continue refreshing and hope for the best
-                        //(but don't let it kill the REFRESH_TIMER)
-                        if (lastRefreshSuccessful) {
-                            //issue a log-warning once if the workflow has been refreshed in the last cycle
-                            LOGGER.warn("Refreshing workflow failed: " + e.getMessage(), e);
-                        }
-                        lastRefreshSuccessful = false;
-                   }
-                }
-            };
-            REFRESH_TIMER.schedule(m_refreshTimerTask, delay, m_autoRefreshInterval);
-            LOGGER.debug("Workflow refresh timer scheduled for workflow '" + m_editor.getTitle() + "' every "
-                + m_autoRefreshInterval + " ms");
+            m_refreshLoop = new RefreshLoop();
+            m_refreshLoop.start(delay);
 
             //start timer that checks whether the workflow has been refreshed within a certain time interval
             //otherwise the workflow and workflow editor is regarded as disconnected
@@ -391,9 +371,9 @@ private void connect(final boolean callback) {
     }
 
     private boolean cancelTimers() {
-        if (m_refreshTimerTask != null) {
-            m_refreshTimerTask.cancel();
-            m_refreshTimerTask = null;
+        if (m_refreshLoop != null) {
+            m_refreshLoop.cancel();
+            m_refreshLoop = null;
             if (m_connectedTimerTask != null) {
                 m_connectedTimerTask.cancel();
                 m_connectedTimerTask = null;
@@ -404,6 +384,231 @@ private boolean cancelTimers() {
         return false;
     }
 
+    private static ScheduledExecutorService createRefreshExecutor() {
+        final AtomicInteger threadCounter = new AtomicInteger();
+        final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(MAX_CONCURRENT_REFRESHES, r -> {
+            Thread t = new Thread(r, "KNIME Workflow Refresh-" + threadCounter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        // editors are hidden and shown frequently, don't keep their canceled tasks in the queue
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    /** The outcome of a single refresh. */
+    private enum RefreshResult {
+            /** Something changed or nodes are executing. */
+            CHANGED,
+            /** The workflow was refreshed but nothing changed. */
+            UNCHANGED,
+            /** The refresh failed, it's tried again later. */
+            FAILED,
+            /** The refresh failed and the workflow can't be refreshed anymore. */
+            STOPPED;
+    }
+
+    /**
+     * Refreshes the workflow on the shared {@link #REFRESH_EXECUTOR}. If the workflow manager is a
+     * {@link ChangeNotifyingWorkflowManagerUI} the workflow is only refreshed when the server reports a change.
+     * Otherwise it is polled, starting with the auto-refresh interval. The polling interval grows while nothing changes
+     * and drops back as soon as something changes.
+     */
+    private final class RefreshLoop {
+
+        private volatile boolean m_canceled;
+
+        private volatile ScheduledFuture<?> m_scheduled;
+
+        private volatile CompletableFuture<String> m_pendingChange;
+
+        private String m_changeToken;
+
+        private long m_interval = m_autoRefreshInterval;
+
+        private long m_retryDelay = MIN_RETRY_DELAY;
+
+        private int m_fingerprint;
+
+        private boolean m_lastRefreshSuccessful = true;
+
+        void start(final long delay) {
+            if (getAsyncWFM().orElse(null) instanceof ChangeNotifyingWorkflowManagerUI) {
+                schedule(this::awaitChange, delay);
+                LOGGER.debug("Workflow refresh scheduled for workflow '" + m_editor.getTitle() + "' on changes");
+            } else {
+                schedule(this::poll, delay);
+                LOGGER.debug("Workflow refresh scheduled for workflow '" + m_editor.getTitle() + "' every "
+                    + m_autoRefreshInterval + " ms");
+            }
+        }
+
+        void cancel() {
+            m_canceled = true;
+            final ScheduledFuture<?> scheduled = m_scheduled;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+            final CompletableFuture<String> pendingChange = m_pendingChange;
+            if (pendingChange != null) {
+                pendingChange.cancel(true);
+            }
+        }
+
+        private void schedule(final Runnable task, final long delay) {
+            if (!m_canceled) {
+                // spreads the refreshes of editors that have been opened at the same time
+                final long jitter = ThreadLocalRandom.current().nextLong(delay / 10 + 1);
+                m_scheduled = REFRESH_EXECUTOR.schedule(task, delay + jitter, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private void poll() {
+            if (m_canceled) {
+                return;
+            }
+            switch (refresh()) {
+                case CHANGED:
+                    m_interval = m_autoRefreshInterval;
+                    break;
+                case STOPPED:
+                    return;
+                default:
+                    m_interval = Math.min(getMaxIdleInterval(), (long)(m_interval * IDLE_BACKOFF_FACTOR));
+            }
+            schedule(this::poll, m_interval);
+        }
+
+        /** At most four times the auto-refresh interval, but still in time for the connection check. */
+        private long getMaxIdleInterval() {
+            return Math.max(m_autoRefreshInterval,
+                Math.min(4 * m_autoRefreshInterval, KNIMEConstants.WORKFLOW_EDITOR_CONNECTION_TIMEOUT / 2));
+        }
+
+        private void awaitChange() {
+            final AsyncWorkflowManagerUI asyncWFM = getAsyncWFM().orElse(null);
+            if (m_canceled || !(asyncWFM instanceof ChangeNotifyingWorkflowManagerUI)) {
+                return;
+            }
+            final CompletableFuture<String> change;
+            try {
+                change = ((ChangeNotifyingWorkflowManagerUI)asyncWFM).awaitChange(m_changeToken,
+                    KNIMEConstants.WORKFLOW_EDITOR_CONNECTION_TIMEOUT / 2);
+            } catch (Exception ex) { // NOSONAR implementations may fail before returning a future
+                // falls back to polling or retries later, as if the returned future had failed
+                onChange(null, ex);
+                return;
+            }
+            m_pendingChange = change;
+            change.whenComplete(this::onChange);
+        }
+
+        private void onChange(final String changeToken, final Throwable exception) {
+            if (m_canceled) {
+                return;
+            }
+            if (exception != null) {
+                final Throwable cause =
+                    exception instanceof CompletionException && exception.getCause() != null ? exception.getCause()
+                        : exception;
+                if (cause instanceof CancellationException) {
+                    return;
+                } else if (cause instanceof UnsupportedOperationException) {
+                    LOGGER.debug("Server doesn't send change notifications for workflow '" + m_editor.getTitle()
+                        + "', refreshing it every " + m_autoRefreshInterval + " ms");
+                    schedule(this::poll, 0);
+                } else {
+                    if (m_lastRefreshSuccessful) {
+                        LOGGER.warn("Waiting for workflow changes failed: " + cause.getMessage(), cause);
+                    }
+                    m_lastRefreshSuccessful = false;
+                    retryAwaitChange();
+                }
+            } else if (Objects.equals(changeToken, m_changeToken)) {
+                //nothing changed, but the server is still reachable
+                m_hasBeenRefreshed.set(true);
+                m_retryDelay = MIN_RETRY_DELAY;
+                schedule(this::awaitChange, 0);
+            } else {
+                schedule(() -> {
+                    if (m_canceled) {
+                        return;
+                    }
+                    final RefreshResult result = refresh();
+                    if (result == RefreshResult.FAILED) {
+                        retryAwaitChange();
+                    } else if (result != RefreshResult.STOPPED) {
+                        m_changeToken = changeToken;
+                        m_retryDelay = MIN_RETRY_DELAY;
+                        awaitChange();
+                    }
+                }, 0);
+            }
+        }
+
+        private void retryAwaitChange() {
+            schedule(this::awaitChange, m_retryDelay);
+            m_retryDelay = Math.min(MAX_RETRY_DELAY, 2 * m_retryDelay);
+        }
+
+        private RefreshResult refresh() {
+            AsyncWorkflowManagerUI asyncWFM = getAsyncWFM().orElse(null);
+            if (asyncWFM == null) {
+                return RefreshResult.FAILED;
+            }
+            try {
+                asyncWFM.refreshOrFail(false);
+                m_hasBeenRefreshed.set(true);
+                m_lastRefreshSuccessful = true;
+                final int fingerprint = getFingerprint(asyncWFM);
+                final boolean changed = fingerprint != m_fingerprint
+                    || asyncWFM.getNodeContainerState().isExecutionInProgress();
+                m_fingerprint = fingerprint;
+                return changed ? RefreshResult.CHANGED : RefreshResult.UNCHANGED;
+            } catch (SnapshotNotFoundException e) {
+                //refresh not possible because, e.g., underlying job has been swapped to disk
+                cancelTimers();
+                String message = "The job has been swapped to disk or wasn't accessed for a while."
+                    + "Try re-opening the job-workflow.";
+                if (getDisconnectedMessage().map(m -> !m.equals(message)).orElse(true)) {
+                    Display.getDefault().syncExec(() -> MessageDialog.openWarning(SWTUtilities.getActiveShell(),
+                        "Auto-refresh failed", message));
+                }
+                disconnect(true, message);
+                return RefreshResult.STOPPED;
+            } catch (NoSuchElementException e) {
+                //job-workflow is not available anymore
+                //job has mostly likely been deleted on the server
+                String message = "The job has been discarded.";
+                cancelTimers();
+                if (getDisconnectedMessage().map(m -> !m.equals(message)).orElse(true)) {
+                    Display.getDefault().syncExec(() -> MessageDialog.openWarning(SWTUtilities.getActiveShell(),
+                        "Auto-refresh failed", message));
+                }
+                disconnect(true, message);
+                return RefreshResult.STOPPED;
+            } catch (Exception e) {
+                //if something went wrong refreshing the workflow (e.g. timeout)
+                //-> just log it, continue refreshing and hope for the best
+                if (m_lastRefreshSuccessful) {
+                    //issue a log-warning once if the workflow has been refreshed in the last cycle
+                    LOGGER.warn("Refreshing workflow failed: " + e.getMessage(), e);
+                }
+                m_lastRefreshSuccessful = false;
+                return RefreshResult.FAILED;
+            }
+        }
+
+        /** A hash of the node states, used to tell whether a refresh changed anything. */
+        private int getFingerprint(final AsyncWorkflowManagerUI wfm) {
+            int hash = wfm.getConnectionContainers().size();
+            for (NodeContainerUI nc : wfm.getNodeContainers()) {
+                hash = 31 * hash + Objects.hash(nc.getID(), nc.getNodeContainerState(), nc.getNodeMessage());
+            }
+            return hash;
+        }
+    }
+
     private Optional<AsyncWorkflowManagerUI> getAsyncWFM() {
         if (m_editor.getWorkflowManagerUI() instanceof AsyncWorkflowManagerUI) {
             return Optional.of((AsyncWorkflowManagerUI)m_editor.getWorkflowManagerUI());
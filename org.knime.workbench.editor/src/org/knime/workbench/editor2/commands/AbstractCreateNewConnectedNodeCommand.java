@@ -234,6 +234,15 @@ private Map<Integer, Integer> getMatchingPorts(final NodeContainerUI left, final
         return matchingPorts;
     }
 
+    /**
+     * @return the ID of the node created by the last execution, <code>null</code> if it has not been executed or the
+     *         node could not be created
+     * @since 4.5
+     */
+    public NodeID getCreatedNodeID() {
+        return m_newNode;
+    }
+
     /** {@inheritDoc} */
     @Override
     public boolean canUndo() {
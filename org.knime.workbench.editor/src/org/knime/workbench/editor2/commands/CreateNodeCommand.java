@@ -205,6 +205,15 @@ public void execute() {
         }
     }
 
+    /**
+     * @return the ID of the node created by the last execution, <code>null</code> if it has not been executed or the
+     *         node could not be created
+     * @since 4.5
+     */
+    public NodeID getCreatedNodeID() {
+        return m_container == null ? null : m_container.getID();
+    }
+
     /** {@inheritDoc} */
     @Override
     public boolean canUndo() {
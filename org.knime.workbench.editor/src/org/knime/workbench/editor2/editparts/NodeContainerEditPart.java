@@ -67,7 +67,6 @@
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
@@ -153,6 +152,7 @@
 import org.knime.workbench.KNIMEEditorPlugin;
 import org.knime.workbench.core.util.ImageRepository;
 import org.knime.workbench.editor2.EditorModeParticipant;
+import org.knime.workbench.editor2.FrameUpdateScheduler;
 import org.knime.workbench.editor2.WorkflowEditor;
 import org.knime.workbench.editor2.WorkflowEditorMode;
 import org.knime.workbench.editor2.WorkflowManagerInput;
@@ -445,45 +445,47 @@ protected List<NodePortUI> getModelChildren() {
         return ports;
     }
 
-    private final AtomicBoolean m_updateInProgress = new AtomicBoolean(false);
-
     /** {@inheritDoc} */
     @Override
     public void stateChanged(final NodeStateEvent state) {
-        // if another state is waiting to be processed, simply return
-        // and leave the work to the previously started thread. This
+        // updates of the same kind are coalesced until the next frame. This
         // works because we are retrieving the current state information!
-        if (m_updateInProgress.compareAndSet(false, true)) {
-            Display display = Display.getDefault();
-            if (display.isDisposed()) {
-                return;
-            }
-            display.asyncExec(new Runnable() {
-                @Override
-                public void run() {
-                    // let others know we are in the middle of processing
-                    // this update - they will now need to start their own job.
-                    NodeContainerFigure fig = (NodeContainerFigure)getFigure();
-                    m_updateInProgress.set(false);
-                    if (isActive()) {
-                        NodeContainerUI nc = getNodeContainer();
-                        fig.setStateFromNC(nc);
-                        updateNodeMessage();
-                        // reset the tooltip text of the outports
-                        for (Object part : getChildren()) {
-                            if (part instanceof NodeOutPortEditPart || part instanceof WorkflowInPortEditPart
-                                || part instanceof MetaNodeOutPortEditPart) {
-                                AbstractPortEditPart outPortPart = (AbstractPortEditPart)part;
-                                outPortPart.rebuildTooltip();
-                            }
-                        }
-                        // always refresh visuals (does not seem to do anything
-                        // by default though: call repaints on updated figures).
-                        refreshVisuals();
-                    }
+        scheduleUpdate(FrameUpdateScheduler.UpdateType.STATE, () -> {
+            NodeContainerFigure fig = (NodeContainerFigure)getFigure();
+            NodeContainerUI nc = getNodeContainer();
+            fig.setStateFromNC(nc);
+            updateNodeMessage();
+            // reset the tooltip text of the outports
+            for (Object part : getChildren()) {
+                if (part instanceof NodeOutPortEditPart || part instanceof WorkflowInPortEditPart
+                    || part instanceof MetaNodeOutPortEditPart) {
+                    AbstractPortEditPart outPortPart = (AbstractPortEditPart)part;
+                    outPortPart.rebuildTooltip();
                 }
-            });
+            }
+            // always refresh visuals (does not seem to do anything
+            // by default though: call repaints on updated figures).
+            refreshVisuals();
+        });
+    }
+
+    /**
+     * Schedules an update of this part's figure with the next frame of the {@link FrameUpdateScheduler}. The update
+     * is only executed if the part is still active.
+     *
+     * @param updateKey the kind of update, later updates of the same kind replace earlier ones
+     * @param update the update, executed in the UI thread
+     */
+    private void scheduleUpdate(final Object updateKey, final Runnable update) {
+        Display display = Display.getDefault();
+        if (display.isDisposed()) {
+            return;
         }
+        FrameUpdateScheduler.getInstance(display).schedule(getFigure(), updateKey, () -> {
+            if (isActive()) {
+                update.run();
+            }
+        });
     }
 
     /** {@inheritDoc} */
@@ -493,34 +495,15 @@ public void progressChanged(final NodeProgressEvent pe) {
         ((NodeContainerFigure)getFigure()).getProgressFigure().progressChanged(pe.getNodeProgress());
     }
 
-    private final AtomicBoolean m_messageUpdateInProgress = new AtomicBoolean();
-
     /** {@inheritDoc} */
     @Override
     public void messageChanged(final NodeMessageEvent ignored) {
-        if (m_messageUpdateInProgress.compareAndSet(false, true)) {
-            Display display = Display.getDefault();
-            if (display.isDisposed()) {
-                return;
-            }
-            display.asyncExec(new Runnable() {
-                @Override
-                public void run() {
-                    Display.getDefault().asyncExec(new Runnable() {
-                        @Override
-                        public void run() {
-                            m_messageUpdateInProgress.set(false);
-                            if (isActive()) {
-                                // must ignore event content - as this runnable
-                                // may be processing another (following) event
-                                updateNodeMessage();
-                                refreshVisuals();
-                            }
-                        }
-                    });
-                }
-            });
-        }
+        scheduleUpdate(FrameUpdateScheduler.UpdateType.MESSAGE, () -> {
+            // must ignore event content - as this runnable
+            // may be processing another (following) event
+            updateNodeMessage();
+            refreshVisuals();
+        });
     }
 
     /** {@inheritDoc} */
@@ -534,15 +517,9 @@ public void nodeUIInformationChanged(final NodeUIInformationEvent evt) {
         //
         // As this code updates the UI it must be executed in the UI thread.
         //
-        Display.getDefault().asyncExec(new Runnable() {
-            @Override
-            public void run() {
-                if (isActive()) {
-
-                    NodeUIInformation uiInfo = getNodeContainer().getUIInformation();
-                    updateFigureFromUIinfo(uiInfo);
-                }
-            }
+        scheduleUpdate(FrameUpdateScheduler.UpdateType.BOUNDS, () -> {
+            NodeUIInformation uiInfo = getNodeContainer().getUIInformation();
+            updateFigureFromUIinfo(uiInfo);
         });
     }
 
@@ -1054,39 +1031,34 @@ private static boolean checkAndLoadIfLazyWorkflowManager(final WorkflowManagerUI
     /** {@inheritDoc} */
     @Override
     public void nodePropertyChanged(final NodePropertyChangedEvent e) {
-        Display.getDefault().asyncExec(new Runnable() {
-            /** {@inheritDoc} */
-            @Override
-            public void run() {
-                if (isActive()) {
-                    switch (e.getProperty()) {
-                        case JobManager:
-                            updateJobManagerIcon();
-                            break;
-                        case Name:
-                            updateHeaderField();
-                            break;
-                        case TemplateConnection:
-                            checkMetaNodeTemplateIcon();
-                            break;
-                        case LockStatus:
-                            checkMetaNodeLockIcon();
-                            checkNodeLockIcon();
-                            break;
-                        case MetaNodePorts:
-                            refreshChildren(); // account for new/removed ports
-                            updatePortIndex(); // set the (possibly changed) index in all ports
-                            updateNumberOfPorts();
-                            relayoutPorts(); // in case an index has changed
-                            refreshBounds(); // different port number could mean different bounds
-                            break;
-                        case ComponentMetadata:
-                            updateIcon();
-                            updateDisplayType();
-                        default:
-                            // unknown, ignore
-                    }
-                }
+        // the property itself is the update key so that changes of different properties are not coalesced
+        scheduleUpdate(e.getProperty(), () -> {
+            switch (e.getProperty()) {
+                case JobManager:
+                    updateJobManagerIcon();
+                    break;
+                case Name:
+                    updateHeaderField();
+                    break;
+                case TemplateConnection:
+                    checkMetaNodeTemplateIcon();
+                    break;
+                case LockStatus:
+                    checkMetaNodeLockIcon();
+                    checkNodeLockIcon();
+                    break;
+                case MetaNodePorts:
+                    refreshChildren(); // account for new/removed ports
+                    updatePortIndex(); // set the (possibly changed) index in all ports
+                    updateNumberOfPorts();
+                    relayoutPorts(); // in case an index has changed
+                    refreshBounds(); // different port number could mean different bounds
+                    break;
+                case ComponentMetadata:
+                    updateIcon();
+                    updateDisplayType();
+                default:
+                    // unknown, ignore
             }
         });
     }
@@ -69,6 +69,7 @@
 import org.eclipse.swt.graphics.FontData;
 import org.eclipse.swt.widgets.Display;
 import org.knime.core.node.workflow.NodeProgress;
+import org.knime.workbench.editor2.FrameUpdateScheduler;
 
 /**
  * This figure creates the progress bar within a node container figure.
@@ -402,24 +403,25 @@ public synchronized void progressChanged(final NodeProgress pe) {
 
             if (!m_currentProgressMessage.equals(meString) && (m_mouseEvent != null) && (m_currentDisplay != null)
                 && !m_currentDisplay.isDisposed() /* bugfix: 1392 */) {
-                m_currentDisplay.syncExec(new Runnable() {
-                    @Override
-                    public void run() {
-                        if (m_mouseEvent != null) {
+                FrameUpdateScheduler.getInstance(m_currentDisplay).schedule(this,
+                    FrameUpdateScheduler.UpdateType.MESSAGE, () -> {
+                        MouseEvent mouseEvent = m_mouseEvent;
+                        if (mouseEvent != null) {
                             getToolTipHelper().displayToolTipNear(ProgressFigure.this,
-                                new Label(m_currentProgressMessage), m_mouseEvent.x, m_mouseEvent.y);
+                                new Label(m_currentProgressMessage), mouseEvent.x, mouseEvent.y);
                         }
-                    }
-                });
+                    });
             }
         }
 
-        if (m_currentDisplay == null) {
+        if ((m_currentDisplay == null) || m_currentDisplay.isDisposed()) {
             return;
         }
 
         if (changed) {
-            m_currentDisplay.syncExec(m_repaintObject);
+            // repaints are coalesced per frame instead of blocking the worker thread
+            FrameUpdateScheduler.getInstance(m_currentDisplay).schedule(this, FrameUpdateScheduler.UpdateType.PROGRESS,
+                m_repaintObject);
         }
     }
 
@@ -93,9 +93,10 @@ public class MonitorDataTable implements NodeMonitorTable {
      */
     private static final int MAX_NUM_COLUMN = 100;
 
-    private RowIterator m_it;
+    private RowBlockCache m_rowCache;
 
-    private long m_currentIndex = -1;
+    /** Number of rows used to determine the column widths once they are loaded, 0 if already done. */
+    private int m_packColumnsRowCount;
 
     private DataTable m_dataTable;
 
@@ -231,11 +232,17 @@ public void setupTable(final Table table) {
             table.setItemCount((int)m_numLoadedRows);
             itemCountToDetermineColWidth = 0;
         }
-        for (int row = 0; row < itemCountToDetermineColWidth; row++) {
-            fillTableItem(table.getItem(row));
+        // the columns are packed again once the first rows have been loaded
+        m_packColumnsRowCount = itemCountToDetermineColWidth;
+        packColumns();
+    }
+
+    private void packColumns() {
+        for (int row = 0; row < m_packColumnsRowCount; row++) {
+            fillTableItem(m_table.getItem(row));
         }
-        for (int i = 0; i < table.getColumnCount(); i++) {
-            TableColumn tableColumn = table.getColumn(i);
+        for (int i = 0; i < m_table.getColumnCount(); i++) {
+            TableColumn tableColumn = m_table.getColumn(i);
             tableColumn.pack();
         }
     }
@@ -305,14 +312,55 @@ private void loadChunk(final int chunkIdx) throws InterruptedException, Executio
     }
 
     private void closeIterator() {
-        if (m_it instanceof CloseableRowIterator) {
-            ((CloseableRowIterator)m_it).close();
+        if (m_rowCache != null) {
+            m_rowCache.dispose();
+            m_rowCache = null;
         }
         if (m_chunkIt instanceof CloseableRowIterator) {
             ((CloseableRowIterator)m_chunkIt).close();
         }
     }
 
+    /**
+     * Converts a row into the strings displayed in the table items. Called by the row cache's loader thread.
+     */
+    private String[] formatRow(final DataRow row) {
+        //get right column count: without id column (and 'remaining column skipped'-column)
+        int colCount = Math.min(row.getNumCells(), MAX_NUM_COLUMN - 2);
+        String[] texts = new String[colCount + 1];
+        texts[0] = row.getKey().getString();
+        for (int i = 0; i < colCount; i++) {
+            DataCell c = row.getCell(i);
+            texts[i + 1] = c.toString().replaceAll("\\p{Cntrl}", "_");
+        }
+        return texts;
+    }
+
+    /**
+     * Clears the items of a freshly loaded block so that they are filled again. Called by the row cache's loader
+     * thread.
+     */
+    private void blockLoaded(final long blockIndex) {
+        final Table table = m_table;
+        if (table == null || table.isDisposed()) {
+            return;
+        }
+        table.getDisplay().asyncExec(() -> {
+            if (table.isDisposed()) {
+                return;
+            }
+            long start = blockIndex * RowBlockCache.BLOCK_SIZE;
+            long end = Math.min(start + RowBlockCache.BLOCK_SIZE, table.getItemCount()) - 1;
+            if (start <= end) {
+                table.clear((int)start, (int)end);
+            }
+            if (blockIndex == 0 && m_packColumnsRowCount > 0) {
+                packColumns();
+                m_packColumnsRowCount = 0;
+            }
+        });
+    }
+
     /** Fills a table item (a row) with its data..
      * @param item Non-null item to be filled.
      */
@@ -328,33 +376,24 @@ private void fillTableItem(final TableItem item) {
             m_table.setItemCount(itemCount);
         }
 
-        DataRow row = null;
-        if (index == m_currentIndex) {
-            m_currentIndex++;
-            row = m_it.next();
-        } else {
-            //reset row iterator and go to required index
-            closeIterator();
-            m_it = m_dataTable.iterator();
-            for (m_currentIndex = 0; m_currentIndex <= index; m_currentIndex++) {
-                row = m_it.next();
-            }
+        if (m_rowCache == null) {
+            m_rowCache = new RowBlockCache(m_dataTable::iterator, this::formatRow, this::blockLoaded);
         }
-        if (row != null) {
-            item.setText(0, row.getKey().getString());
-            //get right column count: without id column (and 'remaining column skipped'-column)
+        // rows are read in the background, the item is filled again once its row is available
+        String[] row = m_rowCache.getRow(index);
+        if (row == null) {
+            item.setText(0, "Loading...");
+        } else if (row.length > 0) {
             int colCount = m_table.getColumnCount() == MAX_NUM_COLUMN ? m_table.getColumnCount() - 2
                 : m_table.getColumnCount() - 1;
-            for (int i = 0; i < colCount; i++) {
-                DataCell c = row.getCell(i);
-                String s = c.toString().replaceAll("\\p{Cntrl}", "_");
-                item.setText(i + 1, s);
+            for (int i = 0; i < Math.min(colCount + 1, row.length); i++) {
+                item.setText(i, row[i]);
             }
             if (m_table.getColumnCount() == MAX_NUM_COLUMN) {
                 item.setText(MAX_NUM_COLUMN - 1, "...");
             }
         } else {
-            item.setText("Row " + m_currentIndex + " could not be read.");
+            item.setText("Row " + index + " could not be read.");
         }
     }
 
@@ -0,0 +1,363 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.workbench.nodemonitorview;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+import org.knime.core.data.DataRow;
+import org.knime.core.data.RowIterator;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.tableview.AsyncDataRow;
+
+/**
+ * Cache of formatted rows of a data table that allows random access by row index. Rows are loaded in blocks of
+ * {@value #BLOCK_SIZE} rows by a background thread and the most recently used blocks are kept in memory. In order to
+ * avoid iterating from the first row for every block, a few row iterators are kept open as checkpoints; a block is
+ * loaded using the checkpoint closest before it. Since row iterators cannot be copied, checkpoints are the positions
+ * left behind by loaded blocks. They are kept at least {@value #CHECKPOINT_INTERVAL} blocks apart so that they spread
+ * over the visited parts of the table, and the ones furthest from the last requested row are closed first. The
+ * blocks passed right before a requested block are loaded as well, so scrolling backwards iterates over the table
+ * once per {@value #CHECKPOINT_INTERVAL} blocks instead of once per block.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class RowBlockCache {
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(RowBlockCache.class);
+
+    /** Number of rows per block. */
+    static final int BLOCK_SIZE = 256;
+
+    /** Maximum number of blocks kept in memory. */
+    private static final int MAX_BLOCKS = 64;
+
+    /** Maximum number of open row iterators. */
+    private static final int MAX_CHECKPOINTS = 8;
+
+    /**
+     * Minimum distance of two checkpoints in blocks, also the number of blocks before a requested block that are
+     * loaded while iterating towards it.
+     */
+    private static final int CHECKPOINT_INTERVAL = 16;
+
+    /** Number of blocks loaded in advance in scroll direction. */
+    private static final int PREFETCH_BLOCKS = 2;
+
+    private final Supplier<RowIterator> m_iteratorFactory;
+
+    private final Function<DataRow, String[]> m_formatter;
+
+    private final LongConsumer m_blockLoadedCallback;
+
+    private final Map<Long, String[][]> m_blocks = new LinkedHashMap<Long, String[][]>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Long, String[][]> eldest) {
+            return size() > MAX_BLOCKS;
+        }
+    };
+
+    /** Blocks requested but not yet loaded, in order of their request. */
+    private final LinkedBlockingDeque<Long> m_requested = new LinkedBlockingDeque<>();
+
+    /** Only accessed by the loader thread. */
+    private final List<Checkpoint> m_checkpoints = new ArrayList<>();
+
+    private final ExecutorService m_loader;
+
+    private long m_lastRequestedRow = -1;
+
+    private volatile boolean m_disposed;
+
+    /**
+     * @param iteratorFactory creates new iterators over the table, called in the loader thread
+     * @param formatter converts a row into the strings to display, called in the loader thread
+     * @param blockLoadedCallback called with the block index whenever a block has been loaded, called in the loader
+     *            thread
+     */
+    RowBlockCache(final Supplier<RowIterator> iteratorFactory, final Function<DataRow, String[]> formatter,
+        final LongConsumer blockLoadedCallback) {
+        m_iteratorFactory = iteratorFactory;
+        m_formatter = formatter;
+        m_blockLoadedCallback = blockLoadedCallback;
+        m_loader = new ThreadPoolExecutor(0, 1, 10, TimeUnit.SECONDS, new LinkedBlockingDeque<>(), r -> {
+            Thread t = new Thread(r, "KNIME Node Monitor Row Loader");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Returns the formatted row with the given index if it is cached. Otherwise its block is requested from the
+     * loader, together with the next blocks in scroll direction, and <code>null</code> is returned.
+     *
+     * @param rowIndex the index of the row
+     * @return the formatted row, an empty array if the row doesn't exist or couldn't be read, or <code>null</code> if
+     *         the row is being loaded
+     */
+    synchronized String[] getRow(final long rowIndex) {
+        final long blockIndex = rowIndex / BLOCK_SIZE;
+        final boolean forward = rowIndex >= m_lastRequestedRow;
+        m_lastRequestedRow = rowIndex;
+        final String[][] block = m_blocks.get(blockIndex);
+        if (block != null) {
+            prefetch(blockIndex, forward);
+            final int offset = (int)(rowIndex % BLOCK_SIZE);
+            return (offset < block.length) ? block[offset] : new String[0];
+        }
+        // most recently requested blocks are loaded first
+        request(blockIndex, true);
+        prefetch(blockIndex, forward);
+        return null;
+    }
+
+    private void prefetch(final long blockIndex, final boolean forward) {
+        for (int i = 1; i <= PREFETCH_BLOCKS; i++) {
+            final long b = forward ? (blockIndex + i) : (blockIndex - i);
+            if (b >= 0 && !m_blocks.containsKey(b)) {
+                request(b, false);
+            }
+        }
+    }
+
+    private void request(final long blockIndex, final boolean urgent) {
+        if (m_disposed) {
+            return;
+        }
+        if (m_requested.contains(blockIndex)) {
+            if (!urgent) {
+                return;
+            }
+            m_requested.remove(blockIndex);
+        }
+        if (urgent) {
+            m_requested.addFirst(blockIndex);
+        } else {
+            m_requested.addLast(blockIndex);
+        }
+        m_loader.execute(this::loadNextBlock);
+    }
+
+    /** Loads the most urgent requested block, runs in the loader thread. */
+    private void loadNextBlock() {
+        final Long blockIndex;
+        synchronized (this) {
+            blockIndex = m_requested.pollFirst();
+            if (blockIndex == null || m_disposed || m_blocks.containsKey(blockIndex)) {
+                return;
+            }
+        }
+        String[][] block;
+        try {
+            block = readBlock(blockIndex);
+        } catch (RuntimeException | InterruptedException | ExecutionException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            LOGGER.debug("Rows of block " + blockIndex + " could not be read: " + e.getMessage(), e);
+            block = new String[0][];
+        }
+        blockLoaded(blockIndex, block);
+    }
+
+    private void blockLoaded(final long blockIndex, final String[][] block) {
+        synchronized (this) {
+            if (m_disposed) {
+                return;
+            }
+            m_blocks.put(blockIndex, block);
+        }
+        m_blockLoadedCallback.accept(blockIndex);
+    }
+
+    private String[][] readBlock(final long blockIndex) throws InterruptedException, ExecutionException {
+        final long firstRow = blockIndex * BLOCK_SIZE;
+        Checkpoint checkpoint = null;
+        for (Checkpoint cp : m_checkpoints) {
+            if (cp.m_nextRow <= firstRow && (checkpoint == null || cp.m_nextRow > checkpoint.m_nextRow)) {
+                checkpoint = cp;
+            }
+        }
+        if (checkpoint == null) {
+            checkpoint = new Checkpoint(m_iteratorFactory.get());
+            m_checkpoints.add(checkpoint);
+        }
+        // blocks right before the requested one are needed next when scrolling backwards, all others are skipped
+        // without formatting their rows; checkpoints are always at the start of a block
+        final long firstLoadedBlock = blockIndex - CHECKPOINT_INTERVAL;
+        while (checkpoint.m_nextRow < firstRow) {
+            final long passedBlock = checkpoint.m_nextRow / BLOCK_SIZE;
+            final boolean load;
+            synchronized (this) {
+                if (m_disposed) {
+                    return new String[0][];
+                }
+                load = passedBlock >= firstLoadedBlock && !m_blocks.containsKey(passedBlock);
+            }
+            final long rowsBefore = checkpoint.m_nextRow;
+            if (load) {
+                blockLoaded(passedBlock, readRows(checkpoint));
+            } else {
+                skipRows(checkpoint);
+            }
+            if (checkpoint.m_nextRow - rowsBefore < BLOCK_SIZE) {
+                // end of the table
+                break;
+            }
+        }
+        final String[][] block = (checkpoint.m_nextRow == firstRow) ? readRows(checkpoint) : new String[0][];
+        retainCheckpoints(checkpoint);
+        return block;
+    }
+
+    /** Skips the rows of the checkpoint's current block without formatting them. */
+    private void skipRows(final Checkpoint checkpoint) {
+        final RowIterator it = checkpoint.m_iterator;
+        for (int i = 0; i < BLOCK_SIZE && it.hasNext() && !m_disposed; i++) {
+            it.next();
+            checkpoint.m_nextRow++;
+        }
+    }
+
+    /** Reads and formats the rows of the checkpoint's current block. */
+    private String[][] readRows(final Checkpoint checkpoint) throws InterruptedException, ExecutionException {
+        final RowIterator it = checkpoint.m_iterator;
+        final List<String[]> rows = new ArrayList<>(BLOCK_SIZE);
+        while (rows.size() < BLOCK_SIZE && it.hasNext()) {
+            final DataRow row = it.next();
+            checkpoint.m_nextRow++;
+            if (row instanceof AsyncDataRow) {
+                ((AsyncDataRow)row).waitUntilLoaded();
+            }
+            if (row.getKey() == null) {
+                // end of an asynchronously loaded table
+                break;
+            }
+            rows.add(m_formatter.apply(row));
+        }
+        return rows.toArray(new String[rows.size()][]);
+    }
+
+    /**
+     * Closes the checkpoints that are less than {@value #CHECKPOINT_INTERVAL} blocks away from the given one, which
+     * has just been used, and, if there are still too many, the ones furthest from the last requested row.
+     */
+    private void retainCheckpoints(final Checkpoint current) {
+        final long minDistance = (long)CHECKPOINT_INTERVAL * BLOCK_SIZE;
+        for (Iterator<Checkpoint> it = m_checkpoints.iterator(); it.hasNext();) {
+            final Checkpoint cp = it.next();
+            if (cp != current && Math.abs(cp.m_nextRow - current.m_nextRow) < minDistance) {
+                cp.close();
+                it.remove();
+            }
+        }
+        final long viewportRow;
+        synchronized (this) {
+            viewportRow = m_lastRequestedRow;
+        }
+        while (m_checkpoints.size() > MAX_CHECKPOINTS) {
+            Checkpoint furthest = null;
+            for (Checkpoint cp : m_checkpoints) {
+                if (cp != current && (furthest == null
+                    || Math.abs(cp.m_nextRow - viewportRow) > Math.abs(furthest.m_nextRow - viewportRow))) {
+                    furthest = cp;
+                }
+            }
+            m_checkpoints.remove(furthest);
+            furthest.close();
+        }
+    }
+
+    /**
+     * Drops all cached blocks and closes all iterators.
+     */
+    void dispose() {
+        synchronized (this) {
+            m_disposed = true;
+            m_requested.clear();
+            m_blocks.clear();
+        }
+        m_loader.execute(() -> {
+            for (Iterator<Checkpoint> it = m_checkpoints.iterator(); it.hasNext();) {
+                it.next().close();
+                it.remove();
+            }
+        });
+        m_loader.shutdown();
+    }
+
+    /** An open row iterator and the index of the row it returns next. */
+    private static final class Checkpoint {
+        private final RowIterator m_iterator;
+
+        private long m_nextRow;
+
+        Checkpoint(final RowIterator iterator) {
+            m_iterator = iterator;
+        }
+
+        void close() {
+            if (m_iterator instanceof CloseableRowIterator) {
+                ((CloseableRowIterator)m_iterator).close();
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.workbench.explorer.localworkspace;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.knime.core.node.workflow.FileSingleNodeContainerPersistor;
+import org.knime.core.node.workflow.WorkflowPersistor;
+
+/**
+ * Tests the classification and invalidation of {@link LocalWorkspaceFileStatusCache}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class LocalWorkspaceFileStatusCacheTest {
+    private static final String MOUNT_ID = "LocalWorkspaceFileStatusCacheTest";
+
+    /** Temporary workspace. */
+    @Rule
+    public TemporaryFolder m_tempFolder = new TemporaryFolder();
+
+    private LocalWorkspaceFileStatusCache m_cache;
+
+    private Path m_group;
+
+    private Path m_workflow;
+
+    /**
+     * Creates a small workspace with all kinds of items.
+     *
+     * @throws IOException if the files cannot be created
+     */
+    @Before
+    public void setup() throws IOException {
+        m_cache = LocalWorkspaceFileStatusCache.getInstance(MOUNT_ID);
+        m_group = m_tempFolder.newFolder("group").toPath();
+        m_workflow = createFiles(m_group.resolve("workflow"), WorkflowPersistor.WORKFLOW_FILE);
+        createFiles(m_workflow.resolve("node (#1)"), FileSingleNodeContainerPersistor.SETTINGS_FILE_NAME);
+        createFiles(m_workflow.resolve("metanode (#2)"), WorkflowPersistor.WORKFLOW_FILE);
+        createFiles(m_group.resolve("template"), WorkflowPersistor.WORKFLOW_FILE, WorkflowPersistor.TEMPLATE_FILE);
+        Files.createFile(m_group.resolve("data.txt"));
+    }
+
+    /**
+     * Disposes the cache.
+     */
+    @After
+    public void dispose() {
+        LocalWorkspaceFileStatusCache.dispose(MOUNT_ID);
+    }
+
+    private static Path createFiles(final Path dir, final String... files) throws IOException {
+        Files.createDirectories(dir);
+        for (String f : files) {
+            Files.createFile(dir.resolve(f));
+        }
+        return dir;
+    }
+
+    /**
+     * Checks that items are classified the same way as before.
+     */
+    @Test
+    public void testClassification() {
+        assertTrue(m_cache.isWorkflowGroup(m_group));
+        assertTrue(m_cache.isWorkflow(m_workflow));
+        assertFalse(m_cache.isWorkflowGroup(m_workflow));
+        assertTrue(m_cache.isNode(m_workflow.resolve("node (#1)")));
+        assertTrue(m_cache.isMetaNode(m_workflow.resolve("metanode (#2)")));
+        assertFalse(m_cache.isWorkflow(m_workflow.resolve("metanode (#2)")));
+        assertTrue(m_cache.isWorkflowTemplate(m_group.resolve("template")));
+        assertFalse(m_cache.isWorkflow(m_group.resolve("template")));
+        assertTrue(m_cache.isDataFile(m_group.resolve("data.txt")));
+        assertFalse(m_cache.isDirectory(m_group.resolve("data.txt")));
+        assertFalse(m_cache.exists(m_group.resolve("missing")));
+    }
+
+    /**
+     * Checks that repeated lookups are answered from the cache.
+     */
+    @Test
+    public void testHitsAndMisses() {
+        m_cache.isWorkflow(m_workflow);
+        long misses = m_cache.getMissCount();
+        long hits = m_cache.getHitCount();
+        for (int i = 0; i < 10; i++) {
+            assertTrue(m_cache.isWorkflow(m_workflow));
+        }
+        assertEquals("Unexpected file system access", misses, m_cache.getMissCount());
+        assertTrue("Lookups not answered from the cache", m_cache.getHitCount() >= hits + 10);
+    }
+
+    /**
+     * Checks that explicit invalidation re-classifies the item.
+     *
+     * @throws IOException if the files cannot be changed
+     */
+    @Test
+    public void testInvalidation() throws IOException {
+        assertTrue(m_cache.isWorkflow(m_workflow));
+        Path workflowFile = m_workflow.resolve(WorkflowPersistor.WORKFLOW_FILE);
+        Files.delete(workflowFile);
+        m_cache.invalidate(workflowFile);
+        assertFalse(m_cache.isWorkflow(m_workflow));
+        assertTrue(m_cache.isWorkflowGroup(m_workflow));
+    }
+}
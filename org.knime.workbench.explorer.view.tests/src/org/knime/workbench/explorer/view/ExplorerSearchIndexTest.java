@@ -0,0 +1,200 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.workbench.explorer.view;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.node.workflow.WorkflowPersistor;
+import org.knime.workbench.explorer.ExplorerMountTable;
+import org.knime.workbench.explorer.filesystem.AbstractExplorerFileStore;
+import org.knime.workbench.explorer.localworkspace.LocalWorkspaceContentProviderFactory;
+
+/**
+ * Testcases for {@link ExplorerSearchIndex}. The items selected by the index must be the same as the ones selected by
+ * {@link ExplorerFilter#doSelect(Object, Object, boolean)}, which lists the workflow groups itself.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class ExplorerSearchIndexTest {
+    private static final String TEST_GROUP = "/ExplorerSearchIndexTest";
+
+    private static final String[] QUERIES = {"sales", "report", "sales0", "sales-", "archive", "old", "/", "xyz",
+        "knime://LOCAL" + TEST_GROUP + "/Sales", "knime://local" + TEST_GROUP + "/sales0/"};
+
+    private AbstractContentProvider m_provider;
+
+    private File m_testDir;
+
+    /**
+     * Creates a small workspace whose group names share prefixes, so that subtrees are adjacent in the index.
+     *
+     * @throws IOException if the workspace cannot be created
+     * @throws CoreException if the local mount point cannot be accessed
+     */
+    @Before
+    public void setup() throws IOException, CoreException {
+        m_provider = ExplorerMountTable.mount("LOCAL", LocalWorkspaceContentProviderFactory.ID, null);
+        m_testDir = m_provider.getFileStore(TEST_GROUP).toLocalFile();
+        FileUtils.deleteQuietly(m_testDir);
+
+        Path root = m_testDir.toPath();
+        createWorkflow(root.resolve("Sales/Sales Report"));
+        createWorkflow(root.resolve("Sales/Forecast"));
+        createWorkflow(root.resolve("Sales/Archive/Old Sales"));
+        Files.createFile(root.resolve("Sales/Archive/notes.txt"));
+        Files.createDirectories(root.resolve("Sales/Empty"));
+        createWorkflow(root.resolve("Sales0/Report"));
+        createWorkflow(root.resolve("Sales-2/Churn"));
+        createWorkflow(root.resolve("Top Report"));
+    }
+
+    /**
+     * Deletes the workspace.
+     */
+    @After
+    public void cleanup() {
+        FileUtils.deleteQuietly(m_testDir);
+    }
+
+    private static void createWorkflow(final Path dir) throws IOException {
+        Files.createDirectories(dir);
+        Files.createFile(dir.resolve(WorkflowPersistor.WORKFLOW_FILE));
+    }
+
+    /**
+     * Checks that the index selects the same items as the filter.
+     */
+    @Test
+    public void testSameSelection() {
+        ExplorerSearchIndex index = new ExplorerSearchIndex(m_provider);
+        assertThat("Indexing cancelled", index.index(TEST_GROUP, new NullProgressMonitor()), is(true));
+        checkSameSelection(index);
+    }
+
+    /**
+     * Checks that indexing a group again replaces exactly its subtree, but not the subtrees of sibling groups whose
+     * names start with the group's name.
+     *
+     * @throws IOException if the workspace cannot be changed
+     */
+    @Test
+    public void testSubtreeUpdate() throws IOException {
+        ExplorerSearchIndex index = new ExplorerSearchIndex(m_provider);
+        index.index(TEST_GROUP, new NullProgressMonitor());
+        int size = index.size();
+
+        Path sales = m_testDir.toPath().resolve("Sales");
+        FileUtils.deleteDirectory(sales.resolve("Archive").toFile());
+        createWorkflow(sales.resolve("New Report"));
+        refresh(TEST_GROUP + "/Sales");
+        assertThat("Indexing cancelled", index.index(TEST_GROUP + "/Sales", new NullProgressMonitor()), is(true));
+
+        // Archive, Old Sales and notes.txt are gone, New Report has been added
+        assertThat("Unexpected number of indexed items", index.size(), is(size - 2));
+        assertThat("Sibling group removed", index.getSelection("SALES0", false).isSelected(TEST_GROUP + "/Sales0"),
+            is(true));
+        assertThat("Sibling group removed",
+            index.getSelection("CHURN", false).isSelected(TEST_GROUP + "/Sales-2/Churn"), is(true));
+        checkSameSelection(index);
+
+        FileUtils.deleteDirectory(sales.toFile());
+        refresh(TEST_GROUP);
+        index.index(TEST_GROUP + "/Sales", new NullProgressMonitor());
+        assertThat("Removed group still indexed",
+            index.getSelection("SALES", false).isSelected(TEST_GROUP + "/Sales"), is(false));
+        checkSameSelection(index);
+    }
+
+    private void refresh(final String path) {
+        m_provider.getFileStore(path).refresh();
+    }
+
+    private void checkSameSelection(final ExplorerSearchIndex index) {
+        List<AbstractExplorerFileStore> stores = new ArrayList<>();
+        collect(m_provider.getFileStore(TEST_GROUP), stores);
+        ExplorerFilter filter = new ExplorerFilter();
+        for (String query : QUERIES) {
+            String upperCaseQuery = query.toUpperCase();
+            boolean usingKnimeProtocol = upperCaseQuery.startsWith("KNIME://");
+            ExplorerSearchIndex.Selection selection = index.getSelection(upperCaseQuery, usingKnimeProtocol);
+            for (AbstractExplorerFileStore store : stores) {
+                // the cache of the filter must not influence the result
+                filter.setQueryString(query);
+                boolean expected = filter.doSelect(null, store, true);
+                // the filter checks the item itself before it consults the index
+                boolean matches = usingKnimeProtocol ? store.toURI().toString().toUpperCase().startsWith(upperCaseQuery)
+                    : store.getFullName().toUpperCase().contains(upperCaseQuery);
+                assertThat("Unexpected selection of '" + store.getFullName() + "' for query '" + query + "'",
+                    matches || selection.isSelected(store.getFullName()), is(expected));
+            }
+        }
+    }
+
+    private void collect(final AbstractExplorerFileStore store, final List<AbstractExplorerFileStore> stores) {
+        stores.add(store);
+        if (AbstractExplorerFileStore.isWorkflowGroup(store)) {
+            for (AbstractExplorerFileStore child : m_provider.getChildren(store)) {
+                collect(child, stores);
+            }
+        }
+    }
+}
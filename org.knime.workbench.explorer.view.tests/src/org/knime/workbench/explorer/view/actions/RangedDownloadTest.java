@@ -0,0 +1,218 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.workbench.explorer.view.actions;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.knime.workbench.explorer.filesystem.RemoteDownloadStream;
+
+/**
+ * Tests for {@link RangedDownload} against an in-memory stand-in of a server that supports byte ranges and drops
+ * connections.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class RangedDownloadTest {
+
+    @Rule
+    public TemporaryFolder m_tempFolder = new TemporaryFolder();
+
+    /** Every range is interrupted once in the middle, the download must still be complete and correct. */
+    @Test
+    public void testResumeInterruptedRanges() throws Exception {
+        final byte[] data = randomData((int)(2.5 * RangedDownload.CHUNK_SIZE));
+        final FlakyStream stream = new FlakyStream(data, sha256(data));
+        final File target = m_tempFolder.newFile();
+
+        final RangedDownload download = new RangedDownload(stream, data.length, target, 3);
+        download.setInitialRetryDelay(1);
+        final long[] progress = new long[1];
+        assertThat("Download completed", download.run(() -> false, p -> progress[0] = p), is(true));
+        assertThat("Reported progress", progress[0], is((long)data.length));
+        assertArrayEquals("Downloaded content", data, Files.readAllBytes(target.toPath()));
+        RangedDownload.verifyChecksum(stream, target);
+    }
+
+    /** A wrong checksum is detected. */
+    @Test(expected = IOException.class)
+    public void testChecksumMismatch() throws Exception {
+        final byte[] data = randomData(1000);
+        final FlakyStream stream = new FlakyStream(data, sha256(new byte[0]));
+        final File target = m_tempFolder.newFile();
+
+        final RangedDownload download = new RangedDownload(stream, data.length, target, 2);
+        download.setInitialRetryDelay(1);
+        assertThat("Download completed", download.run(() -> false, p -> {}), is(true));
+        RangedDownload.verifyChecksum(stream, target);
+    }
+
+    /** A range that keeps failing without progress fails the download. */
+    @Test
+    public void testGiveUpWithoutProgress() throws Exception {
+        final byte[] data = randomData(1000);
+        final FlakyStream stream = new FlakyStream(data, null) {
+            @Override
+            public InputStream openRange(final long offset, final long length) throws IOException {
+                throw new IOException("Connection refused");
+            }
+        };
+        final RangedDownload download = new RangedDownload(stream, data.length, m_tempFolder.newFile(), 2);
+        download.setInitialRetryDelay(1);
+        try {
+            download.run(() -> false, p -> {});
+            fail("Expected download to fail");
+        } catch (IOException e) {
+            assertThat("Error message", e.getMessage(), is("Connection refused"));
+        }
+    }
+
+    private static byte[] randomData(final int length) {
+        final byte[] data = new byte[length];
+        new Random(length).nextBytes(data);
+        return data;
+    }
+
+    private static String sha256(final byte[] data) throws Exception {
+        final StringBuilder b = new StringBuilder();
+        for (byte d : MessageDigest.getInstance("SHA-256").digest(data)) {
+            b.append(String.format("%02X", d));
+        }
+        return b.toString();
+    }
+
+    /** Serves ranges of a byte array, the first request for each chunk breaks off after half of the bytes. */
+    private static class FlakyStream extends RemoteDownloadStream {
+
+        private final byte[] m_data;
+
+        private final String m_checksum;
+
+        private final Set<Long> m_interrupted = ConcurrentHashMap.newKeySet();
+
+        FlakyStream(final byte[] data, final String checksum) {
+            m_data = data;
+            m_checksum = checksum;
+        }
+
+        @Override
+        public boolean supportsRanges() {
+            return true;
+        }
+
+        @Override
+        public InputStream openRange(final long offset, final long length) throws IOException {
+            final InputStream in = new ByteArrayInputStream(m_data, (int)offset, (int)length);
+            if (offset % RangedDownload.CHUNK_SIZE != 0 || !m_interrupted.add(offset)) {
+                return in;
+            }
+            final long breakAfter = length / 2;
+            return new FilterInputStream(in) {
+                private long m_read;
+
+                @Override
+                public int read(final byte[] b, final int off, final int len) throws IOException {
+                    if (m_read >= breakAfter) {
+                        throw new IOException("Connection reset");
+                    }
+                    final int read = super.read(b, off, (int)Math.min(len, breakAfter - m_read));
+                    m_read += read;
+                    return read;
+                }
+            };
+        }
+
+        @Override
+        public String getChecksumAlgorithm() {
+            return "SHA-256";
+        }
+
+        @Override
+        public String getChecksum() {
+            return m_checksum;
+        }
+
+        @Override
+        public boolean readyForDownload() {
+            return true;
+        }
+
+        @Override
+        public long length() {
+            return m_data.length;
+        }
+
+        @Override
+        public List<String> getMessages() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public int read() throws IOException {
+            throw new IOException("The download must use ranges");
+        }
+    }
+}
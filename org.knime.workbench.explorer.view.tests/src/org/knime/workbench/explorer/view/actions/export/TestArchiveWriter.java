@@ -0,0 +1,148 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.workbench.explorer.view.actions.export;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Writes archives with {@link ZipArchiveWriter} for testcases of other packages, e.g. the import.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public final class TestArchiveWriter implements Closeable {
+
+    private final ZipArchiveWriter m_writer;
+
+    /**
+     * @param file the archive file, replaced if it exists
+     * @throws IOException if the file can't be created
+     */
+    public TestArchiveWriter(final File file) throws IOException {
+        m_writer = new ZipArchiveWriter(file);
+    }
+
+    /**
+     * Writes an entry without compression.
+     *
+     * @param name the entry name
+     * @param data the content
+     * @throws IOException if writing fails
+     */
+    public void writeStored(final String name, final byte[] data) throws IOException {
+        m_writer.writeEntry(name, System.currentTimeMillis(), false, crc(data), data.length, data, 0, data.length);
+    }
+
+    /**
+     * Writes an entry without compression whose local header has ZIP64 sizes, like entries whose size is not known
+     * in advance and may exceed 4GB.
+     *
+     * @param name the entry name
+     * @param data the content
+     * @throws IOException if writing fails
+     */
+    public void writeStoredZip64(final String name, final byte[] data) throws IOException {
+        m_writer.beginEntry(name, System.currentTimeMillis(), false, ZipArchiveWriter.ZIP64_THRESHOLD);
+        m_writer.write(data, 0, data.length);
+        m_writer.endEntry(crc(data), data.length);
+    }
+
+    /**
+     * Writes a deflated entry.
+     *
+     * @param name the entry name
+     * @param data the uncompressed content
+     * @throws IOException if writing fails
+     */
+    public void writeDeflated(final String name, final byte[] data) throws IOException {
+        final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            byte[] compressed = new byte[data.length + 64];
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == compressed.length) {
+                    compressed = Arrays.copyOf(compressed, 2 * compressed.length);
+                }
+                length += deflater.deflate(compressed, length, compressed.length - length);
+            }
+            m_writer.writeEntry(name, System.currentTimeMillis(), true, crc(data), data.length, compressed, 0,
+                length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Writes the central directory and closes the archive.
+     *
+     * @throws IOException if writing fails
+     */
+    public void finish() throws IOException {
+        m_writer.finish();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        m_writer.close();
+    }
+
+    private static long crc(final byte[] data) {
+        final CRC32 crc = new CRC32();
+        crc.update(data);
+        return crc.getValue();
+    }
+}
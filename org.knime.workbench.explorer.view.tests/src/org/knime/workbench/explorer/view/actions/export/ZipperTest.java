@@ -51,6 +51,7 @@
 import static org.apache.commons.io.filefilter.FileFilterUtils.nameFileFilter;
 import static org.apache.commons.io.filefilter.FileFilterUtils.notFileFilter;
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
@@ -64,8 +65,11 @@
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 import org.apache.commons.io.FileUtils;
 import org.eclipse.core.runtime.FileLocator;
@@ -172,6 +176,44 @@ public void testZipFilesWithAllFilesAndFolders() throws Exception {
         assertThat("File count in extracted zip", indexInExtracted.get(Boolean.FALSE).size(), is(4));
     }
 
+    /** Files larger than a compression chunk are deflated in parallel, compressed files are stored. */
+    @Test
+    public void testZipLargeAndCompressedFiles() throws Exception {
+        File folder = m_tempParentFolder.newFolder("large");
+        StringBuilder text = new StringBuilder();
+        Random random = new Random(42);
+        while (text.length() < 5 * 1024 * 1024) {
+            text.append("row ").append(random.nextInt(1000)).append(", some value\n");
+        }
+        byte[] textBytes = text.toString().getBytes("UTF-8");
+        byte[] randomBytes = new byte[3 * 1024 * 1024 + 17];
+        random.nextBytes(randomBytes);
+        File textFile = new File(folder, "table.csv");
+        File randomFile = new File(folder, "random.bin");
+        File zipFile = new File(folder, "data.zip");
+        Files.write(textFile.toPath(), textBytes);
+        Files.write(randomFile.toPath(), randomBytes);
+        Files.write(zipFile.toPath(), textBytes);
+
+        File targetZipFile = m_tempParentFolder.newFile("ZipperTest.zip");
+        Zipper.zipFiles(List.of(textFile, randomFile, zipFile), targetZipFile, folder.toPath().getNameCount(), 9, 4,
+            new NullProgressMonitor());
+        try (ZipFile zip = new ZipFile(targetZipFile)) {
+            assertThat("Number of entries", zip.size(), is(3));
+            assertEntry(zip, "table.csv", textBytes, ZipEntry.DEFLATED);
+            assertEntry(zip, "random.bin", randomBytes, ZipEntry.STORED);
+            assertEntry(zip, "data.zip", textBytes, ZipEntry.STORED);
+        }
+    }
+
+    private static void assertEntry(final ZipFile zip, final String name, final byte[] expected, final int method)
+        throws IOException {
+        ZipEntry entry = zip.getEntry(name);
+        assertTrue("Entry \"" + name + "\" exists", entry != null);
+        assertThat("Compression method of \"" + name + "\"", entry.getMethod(), is(method));
+        assertArrayEquals("Content of \"" + name + "\"", expected, zip.getInputStream(entry).readAllBytes());
+    }
+
     /** A map with:
      * TRUE -> the list of folders within the argument path (excluding the arg path)
      * FALSE -> the list of files in that path
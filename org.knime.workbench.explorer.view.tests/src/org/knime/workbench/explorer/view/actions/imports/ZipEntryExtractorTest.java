@@ -0,0 +1,229 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.workbench.explorer.view.actions.imports;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.knime.workbench.explorer.view.actions.export.TestArchiveWriter;
+
+/**
+ * Round trip tests for {@link ZipEntryExtractor}: archives are written with the export's zip writer and extracted
+ * again, large stored entries must be found in the central directory and copied directly.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class ZipEntryExtractorTest {
+
+    /** Local file header signature "PK\3\4" in little endian. */
+    private static final int LOCAL_HEADER_SIG = 0x04034b50;
+
+    /** Enough entries for a ZIP64 end of central directory record. */
+    private static final int ZIP64_ENTRY_COUNT = 0xFFFF;
+
+    @Rule
+    public TemporaryFolder m_tempFolder = new TemporaryFolder();
+
+    private final Random m_random = new Random(42);
+
+    /** Stored, stored ZIP64 and deflated entries below and above the transfer threshold, extracted with 4 threads. */
+    @Test
+    public void testExtractMixedEntries() throws Exception {
+        final File archive = m_tempFolder.newFile("mixed.zip");
+        final Map<String, byte[]> stored = new LinkedHashMap<>();
+        stored.put("data/threshold.bin", randomBytes((int)ZipEntryExtractor.TRANSFER_THRESHOLD));
+        stored.put("data/large.bin", randomBytes(3 * 1024 * 1024 + 17));
+        final Map<String, byte[]> storedZip64 = new LinkedHashMap<>();
+        storedZip64.put("data/zip64.bin", randomBytes(2 * 1024 * 1024 + 5));
+        final Map<String, byte[]> other = new LinkedHashMap<>();
+        other.put("data/small.bin", randomBytes((int)ZipEntryExtractor.TRANSFER_THRESHOLD - 1));
+        other.put("workflow.knime", textBytes(10 * 1024));
+        other.put("data/table.csv", textBytes(3 * 1024 * 1024));
+        other.put("data/empty.bin", new byte[0]);
+        try (TestArchiveWriter writer = new TestArchiveWriter(archive)) {
+            writer.writeDeflated("workflow.knime", other.get("workflow.knime"));
+            writer.writeStored("data/threshold.bin", stored.get("data/threshold.bin"));
+            writer.writeStored("data/small.bin", other.get("data/small.bin"));
+            writer.writeStoredZip64("data/zip64.bin", storedZip64.get("data/zip64.bin"));
+            writer.writeDeflated("data/table.csv", other.get("data/table.csv"));
+            writer.writeStored("data/large.bin", stored.get("data/large.bin"));
+            writer.writeStored("data/empty.bin", other.get("data/empty.bin"));
+            writer.finish();
+        }
+        final Map<String, byte[]> transferred = new HashMap<>(stored);
+        transferred.putAll(storedZip64);
+        final Map<String, byte[]> all = new HashMap<>(transferred);
+        all.putAll(other);
+        extractAndCompare(archive, all, transferred, 4);
+    }
+
+    /** Same as {@link #testExtractMixedEntries()}, but sequentially. */
+    @Test
+    public void testExtractSingleThreaded() throws Exception {
+        final File archive = m_tempFolder.newFile("single.zip");
+        final Map<String, byte[]> all = new HashMap<>();
+        all.put("large.bin", randomBytes(2 * 1024 * 1024));
+        all.put("zip64.bin", randomBytes(1024 * 1024 + 1));
+        all.put("table.csv", textBytes(100 * 1024));
+        try (TestArchiveWriter writer = new TestArchiveWriter(archive)) {
+            writer.writeStored("large.bin", all.get("large.bin"));
+            writer.writeStoredZip64("zip64.bin", all.get("zip64.bin"));
+            writer.writeDeflated("table.csv", all.get("table.csv"));
+            writer.finish();
+        }
+        final Map<String, byte[]> transferred = new HashMap<>(all);
+        transferred.remove("table.csv");
+        extractAndCompare(archive, all, transferred, 1);
+    }
+
+    /**
+     * An archive with so many entries that the central directory is located through the ZIP64 end record. Only some
+     * of the entries are extracted, the offsets of the others must not be looked up.
+     */
+    @Test
+    public void testExtractFromZip64Archive() throws Exception {
+        final File archive = m_tempFolder.newFile("many.zip");
+        final Map<String, byte[]> extracted = new HashMap<>();
+        extracted.put("large/first.bin", randomBytes(1024 * 1024 + 3));
+        extracted.put("large/zip64.bin", randomBytes(1024 * 1024 + 7));
+        extracted.put("large/last.bin", randomBytes(2 * 1024 * 1024));
+        extracted.put("small/00000", textBytes(16));
+        extracted.put("small/65534", textBytes(16));
+        try (TestArchiveWriter writer = new TestArchiveWriter(archive)) {
+            writer.writeStored("large/first.bin", extracted.get("large/first.bin"));
+            for (int i = 0; i < ZIP64_ENTRY_COUNT; i++) {
+                final String name = String.format("small/%05d", i);
+                final byte[] data = extracted.get(name);
+                writer.writeStored(name, data != null ? data : textBytes(16));
+            }
+            writer.writeStoredZip64("large/zip64.bin", extracted.get("large/zip64.bin"));
+            writer.writeStored("large/last.bin", extracted.get("large/last.bin"));
+            writer.finish();
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(archive, "r")) {
+            // the ZIP64 end of central directory locator precedes the 22 byte end record
+            raf.seek(raf.length() - 22 - 20);
+            assertThat("ZIP64 end of central directory locator present", Integer.reverseBytes(raf.readInt()),
+                is(0x07064b50));
+        }
+        final Map<String, byte[]> transferred = new HashMap<>(extracted);
+        transferred.remove("small/00000");
+        transferred.remove("small/65534");
+        extractAndCompare(archive, extracted, transferred, 3);
+    }
+
+    /**
+     * Extracts the given entries and compares their content. Checks that exactly the given large stored entries are
+     * found in the central directory and that their offsets point to local headers.
+     */
+    private void extractAndCompare(final File archive, final Map<String, byte[]> expected,
+        final Map<String, byte[]> transferred, final int threads) throws IOException {
+        final File targetFolder = m_tempFolder.newFolder(archive.getName() + "-extracted");
+        try (ZipFile zip = new ZipFile(archive)) {
+            final ZipEntryExtractor extractor = new ZipEntryExtractor(zip, threads);
+            final Map<String, File> targets = new HashMap<>();
+            for (String name : expected.keySet()) {
+                final ZipEntry entry = zip.getEntry(name);
+                assertTrue("Entry \"" + name + "\" exists", entry != null);
+                final File target = new File(targetFolder, name);
+                target.getParentFile().mkdirs();
+                extractor.add(entry, target);
+                targets.put(name, target);
+            }
+
+            final Map<String, Long> offsets = extractor.readStoredEntryOffsets();
+            assertThat("Entries copied directly", offsets.keySet(), is(transferred.keySet()));
+            try (RandomAccessFile raf = new RandomAccessFile(archive, "r")) {
+                for (Map.Entry<String, Long> e : offsets.entrySet()) {
+                    raf.seek(e.getValue());
+                    assertThat("Local header of \"" + e.getKey() + "\"", Integer.reverseBytes(raf.readInt()),
+                        is(LOCAL_HEADER_SIG));
+                }
+            }
+
+            extractor.extract(new NullProgressMonitor());
+            for (Map.Entry<String, File> e : targets.entrySet()) {
+                assertArrayEquals("Content of \"" + e.getKey() + "\"", expected.get(e.getKey()),
+                    Files.readAllBytes(e.getValue().toPath()));
+            }
+        }
+    }
+
+    private byte[] randomBytes(final int length) {
+        final byte[] bytes = new byte[length];
+        m_random.nextBytes(bytes);
+        return bytes;
+    }
+
+    private byte[] textBytes(final int length) {
+        final StringBuilder text = new StringBuilder();
+        while (text.length() < length) {
+            text.append("row ").append(m_random.nextInt(1000)).append(", some value\n");
+        }
+        text.setLength(length);
+        return text.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+}
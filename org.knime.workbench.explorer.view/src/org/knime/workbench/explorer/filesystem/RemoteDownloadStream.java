@@ -44,6 +44,7 @@
  */
 package org.knime.workbench.explorer.filesystem;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
 
@@ -76,4 +77,48 @@ public abstract class RemoteDownloadStream extends InputStream {
      */
     public abstract List<String> getMessages();
 
+    /**
+     * Whether the content can be fetched in byte ranges with {@link #openRange(long, long)}. Only meaningful once
+     * {@link #readyForDownload()} returned true and {@link #length()} is known. The default implementation returns
+     * false.
+     *
+     * @return true, if {@link #openRange(long, long)} is supported
+     * @since 8.7
+     */
+    public boolean supportsRanges() {
+        return false;
+    }
+
+    /**
+     * Opens a new, independent stream for a byte range of the content. Several ranges may be open at the same time,
+     * the returned streams are closed by the caller. Implementations that return true in {@link #supportsRanges()}
+     * must override this.
+     *
+     * @param offset the position of the first byte of the range
+     * @param length the number of bytes in the range
+     * @return a stream providing exactly the bytes of the range
+     * @throws IOException if the range can't be requested
+     * @since 8.7
+     */
+    public InputStream openRange(final long offset, final long length) throws IOException {
+        throw new UnsupportedOperationException("Byte ranges are not supported by " + getClass().getSimpleName());
+    }
+
+    /**
+     * @return the name of the {@link java.security.MessageDigest} algorithm of {@link #getChecksum()}, e.g.
+     *         "SHA-256", or null if no checksum is available (the default)
+     * @since 8.7
+     */
+    public String getChecksumAlgorithm() {
+        return null;
+    }
+
+    /**
+     * @return the hex encoded checksum of the entire content, or null if not available (the default)
+     * @since 8.7
+     */
+    public String getChecksum() {
+        return null;
+    }
+
 }
@@ -224,6 +224,19 @@ public AbstractExplorerFileStore getParent(final Object element) {
         return e.getParent();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * Only expanded directories are watched for changes, see {@link LocalWorkspaceFileStatusCache}.
+     */
+    @Override
+    protected void expansionChanged(final AbstractExplorerFileStore fileStore, final boolean expanded) {
+        if (fileStore instanceof LocalWorkspaceFileStore) {
+            LocalWorkspaceFileStatusCache.getInstance(getMountID())
+                .setExpanded(((LocalWorkspaceFileStore)fileStore).toPath(), expanded);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -315,6 +328,8 @@ public String toString() {
      */
     @Override
     public void dispose() {
+        disposeSearchIndex();
+        LocalWorkspaceFileStatusCache.dispose(getMountID());
     }
 
     /**
@@ -45,36 +45,37 @@
 package org.knime.workbench.explorer.localworkspace;
 
 import java.io.File;
-import java.io.InputStream;
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 
 import org.eclipse.core.filesystem.EFS;
-import org.eclipse.core.filesystem.IFileInfo;
 import org.eclipse.core.filesystem.IFileStore;
 import org.eclipse.core.runtime.CoreException;
-import org.knime.core.node.NodeLogger;
-import org.knime.core.node.workflow.FileSingleNodeContainerPersistor;
-import org.knime.core.node.workflow.MetaNodeTemplateInformation;
-import org.knime.core.node.workflow.WorkflowPersistor;
-import org.knime.core.util.workflowalizer.MetadataConfig;
 import org.knime.workbench.explorer.filesystem.AbstractExplorerFileInfo;
 
 
 public class LocalWorkspaceFileInfo extends AbstractExplorerFileInfo {
-    private static final NodeLogger LOGGER = NodeLogger.getLogger(LocalWorkspaceFileInfo.class);
-
     private final IFileStore m_file;
 
-    //caches the isComponent flag
-    private Boolean m_isComponent = null;
+    private final LocalWorkspaceFileStatusCache m_cache;
+
+    private Path m_path;
 
     /**
      * @param file The file store this file info belongs to
+     * @param cache the cache of the mount the file belongs to
      */
-    LocalWorkspaceFileInfo(final IFileStore file) {
+    LocalWorkspaceFileInfo(final IFileStore file, final LocalWorkspaceFileStatusCache cache) {
         super(file.getName());
         m_file = file;
+        m_cache = cache;
+    }
+
+    private Path getPath() {
+        if (m_path == null) {
+            m_path = Paths.get(m_file.toURI());
+        }
+        return m_path;
     }
 
     /**
@@ -82,7 +83,7 @@ public class LocalWorkspaceFileInfo extends AbstractExplorerFileInfo {
      */
     @Override
     public boolean exists() {
-        return m_file.fetchInfo().exists();
+        return m_cache.exists(getPath());
     }
 
     /**
@@ -90,7 +91,7 @@ public boolean exists() {
      */
     @Override
     public boolean isDirectory() {
-        return m_file.fetchInfo().isDirectory();
+        return m_cache.isDirectory(getPath());
     }
 
     /**
@@ -98,7 +99,7 @@ public boolean isDirectory() {
      */
     @Override
     public long getLastModified() {
-        return m_file.fetchInfo().getLastModified();
+        return m_cache.getLastModified(getPath());
     }
 
     /**
@@ -106,7 +107,7 @@ public long getLastModified() {
      */
     @Override
     public long getLength() {
-       return m_file.fetchInfo().getLength();
+       return m_cache.getLength(getPath());
     }
 
     /**
@@ -130,7 +131,7 @@ public final void setAttribute(final int attribute, final boolean value) {
      */
     @Override
     public boolean isWorkflow() {
-        return exists() && isWorkflow(m_file);
+        return m_cache.isWorkflow(getPath());
     }
 
     /**
@@ -138,7 +139,7 @@ public boolean isWorkflow() {
      */
     @Override
     public boolean isWorkflowGroup() {
-        return exists() && isWorkflowGroup(m_file);
+        return m_cache.isWorkflowGroup(getPath());
     }
 
     /**
@@ -146,7 +147,7 @@ public boolean isWorkflowGroup() {
      */
     @Override
     public boolean isWorkflowTemplate() {
-        return exists() && isWorkflowTemplate(m_file);
+        return m_cache.isWorkflowTemplate(getPath());
     }
 
     /**
@@ -154,7 +155,7 @@ public boolean isWorkflowTemplate() {
      */
     @Override
     public boolean isComponentTemplate() {
-        return exists() && isWorkflowTemplate() && isComponentTemplate(m_file);
+        return isWorkflowTemplate() && m_cache.isComponentTemplate(getPath());
     }
 
     /**
@@ -162,7 +163,7 @@ public boolean isComponentTemplate() {
      */
     @Override
     public boolean isMetaNodeTemplate() {
-        return exists() && isWorkflowTemplate() && !isComponentTemplate(m_file);
+        return isWorkflowTemplate() && !m_cache.isComponentTemplate(getPath());
     }
 
     /**
@@ -170,7 +171,7 @@ public boolean isMetaNodeTemplate() {
      */
     @Override
     public boolean isNode() {
-        return exists() && isNode(m_file);
+        return m_cache.isNode(getPath());
     }
 
     /**
@@ -178,7 +179,7 @@ public boolean isNode() {
      */
     @Override
     public boolean isFile() {
-        return exists() && isDataFile(m_file);
+        return m_cache.isDataFile(getPath());
     }
 
     /**
@@ -194,98 +195,7 @@ public boolean isReservedSystemItem() {
      */
     @Override
     public boolean isMetaNode() {
-        return exists() && isMetaNode(m_file);
-    }
-
-    private static boolean isWorkflow(final IFileStore file) {
-        if (file == null || !file.fetchInfo().exists()) {
-            return false;
-        }
-        IFileStore tmplateFile = file.getChild(WorkflowPersistor.TEMPLATE_FILE); // metanode, no workflow
-        if (tmplateFile.fetchInfo().exists()) {
-            return false;
-        }
-
-        IFileStore wfFile = file.getChild(WorkflowPersistor.WORKFLOW_FILE); // no workflow at all
-        if (!wfFile.fetchInfo().exists()) {
-            return false;
-        }
-
-        IFileStore parentFile = file.getParent();
-        if (parentFile == null) {
-            return false;
-        }
-        IFileStore parentWfFile = parentFile.getChild(WorkflowPersistor.WORKFLOW_FILE); // metanode inside a workflow
-        return !parentWfFile.fetchInfo().exists();
-    }
-
-    private static boolean isWorkflowGroup(final IFileStore file) {
-        if (file == null || !file.fetchInfo().exists()) {
-            return false;
-        }
-        return file.fetchInfo().isDirectory() && !isWorkflow(file)
-                && !isMetaNode(file) && !isNode(file)
-                && !isWorkflowTemplate(file);
-    }
-
-    private static boolean isWorkflowTemplate(final IFileStore file) {
-        if (file == null || !file.fetchInfo().exists()) {
-            return false;
-        }
-        IFileStore templateFile = file.getChild(
-                WorkflowPersistor.TEMPLATE_FILE);
-        return templateFile.fetchInfo().exists();
-    }
-
-    private boolean isComponentTemplate(final IFileStore file) {
-        if (m_isComponent == null) {
-            IFileStore templateFile = file.getChild(WorkflowPersistor.TEMPLATE_FILE);
-            try {
-                Path p = templateFile.toLocalFile(EFS.NONE, null).toPath();
-                try (final InputStream s = Files.newInputStream(p)) {
-                    final MetadataConfig c = new MetadataConfig("ignored");
-                    c.load(s);
-                    m_isComponent = c.getConfigBase("workflow_template_information").getString("templateType")
-                        .equals(MetaNodeTemplateInformation.TemplateType.SubNode.toString());
-                }
-            } catch (Exception e) {
-                LOGGER.error("Problem reading template type", e);
-                throw new IllegalStateException("Problem reading template type", e);
-            }
-        }
-        return m_isComponent;
-    }
-
-    private static boolean isMetaNode(final IFileStore file) {
-        if (file == null || !file.fetchInfo().exists()) {
-            return false;
-        }
-        IFileStore wfFile = file.getChild(WorkflowPersistor.WORKFLOW_FILE);
-        IFileStore parentFile = file.getParent();
-        if (parentFile == null) {
-            return false;
-        }
-        IFileStore parentWfFile = parentFile.getChild(
-                WorkflowPersistor.WORKFLOW_FILE);
-        return wfFile.fetchInfo().exists() && parentWfFile.fetchInfo().exists();
-    }
-
-    private static boolean isNode(final IFileStore file) {
-        if (file == null || !file.fetchInfo().exists() || isMetaNode(file)) {
-            return false;
-        }
-        IFileStore containerFile = file.getChild(
-                FileSingleNodeContainerPersistor.SETTINGS_FILE_NAME);
-        return containerFile.fetchInfo().exists()
-                && isWorkflow(file.getParent());
-    }
-
-    private static boolean isDataFile(final IFileStore file) {
-        if (file == null) {
-            return false;
-        }
-        final IFileInfo fileInfo = file.fetchInfo();
-        return fileInfo.exists() && !fileInfo.isDirectory();
+        return m_cache.isMetaNode(getPath());
     }
 
     /**
@@ -0,0 +1,551 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.workbench.explorer.localworkspace;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileStore;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.workflow.FileSingleNodeContainerPersistor;
+import org.knime.core.node.workflow.MetaNodeTemplateInformation;
+import org.knime.core.node.workflow.WorkflowPersistor;
+import org.knime.core.util.workflowalizer.MetadataConfig;
+
+/**
+ * Caches the file system information the items of a local workspace mount are classified by (workflow, workflow
+ * group, template, component, metanode, node or data file). Each existing file is examined once: whether it is a
+ * directory and which of the files <tt>workflow.knime</tt>, <tt>template.knime</tt> and <tt>settings.xml</tt>
+ * it contains. The classification is then derived from the cached information of the file and its ancestors without
+ * touching the file system again.
+ *
+ * The directories that are expanded in an explorer view are watched by a {@link WatchService}, whose events invalidate
+ * the affected entries. Only expanded directories are watched because an open watch key prevents the directory from
+ * being renamed or deleted on some platforms (e.g. Windows); the keys below a directory are cancelled before it is
+ * moved or deleted through the explorer, see {@link #unwatchTree(Path)}. Entries of files that are not watched (e.g.
+ * collapsed directories, too many directories or a file system without change notifications) expire after a few
+ * seconds. Mounts on network file systems are not watched at all since changes made by other machines are not
+ * reported; all their entries expire.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 8.7
+ */
+public final class LocalWorkspaceFileStatusCache {
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(LocalWorkspaceFileStatusCache.class);
+
+    /** Caches by mount ID. */
+    private static final Map<String, LocalWorkspaceFileStatusCache> INSTANCES = new ConcurrentHashMap<>();
+
+    /** The maximum number of watched directories, each is e.g. one inotify watch on Linux. */
+    private static final int MAX_WATCHED_DIRECTORIES = 4096;
+
+    /** Maximum age of entries whose changes would not be noticed by the watch service. */
+    private static final long UNWATCHED_MAX_AGE_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    /** Types of file stores (see {@link FileStore#type()}) whose changes by other machines are not reported. */
+    private static final Set<String> NETWORK_FILE_STORE_TYPES = Set.of("nfs", "nfs4", "cifs", "smb", "smbfs", "smb2",
+        "smb3", "afpfs", "webdav", "davfs", "fuse.sshfs", "ncpfs", "9p");
+
+    private final String m_mountID;
+
+    private final Map<Path, Entry> m_entries = new ConcurrentHashMap<>();
+
+    private final Map<Path, WatchKey> m_watchedDirectories = new ConcurrentHashMap<>();
+
+    /** Incremented with every invalidation, to detect entries that were read while they got invalid. */
+    private final AtomicLong m_generation = new AtomicLong();
+
+    private final AtomicLong m_hits = new AtomicLong();
+
+    private final AtomicLong m_misses = new AtomicLong();
+
+    private WatchService m_watchService;
+
+    private boolean m_watchServiceFailed;
+
+    /** Whether the mount is on a network file system, determined with the first lookup. */
+    private volatile Boolean m_networkFileStore;
+
+    private LocalWorkspaceFileStatusCache(final String mountID) {
+        m_mountID = mountID;
+    }
+
+    /**
+     * Returns the cache of a local workspace mount.
+     *
+     * @param mountID the mount ID
+     * @return the cache, never <code>null</code>
+     */
+    public static LocalWorkspaceFileStatusCache getInstance(final String mountID) {
+        return INSTANCES.computeIfAbsent(mountID, LocalWorkspaceFileStatusCache::new);
+    }
+
+    /**
+     * Disposes the cache of a mount, i.e. stops watching its directories.
+     *
+     * @param mountID the mount ID
+     */
+    static void dispose(final String mountID) {
+        LocalWorkspaceFileStatusCache cache = INSTANCES.remove(mountID);
+        if (cache != null) {
+            cache.close();
+        }
+    }
+
+    /**
+     * @return the number of lookups that have been answered from the cache
+     */
+    public long getHitCount() {
+        return m_hits.get();
+    }
+
+    /**
+     * @return the number of lookups that required file system access
+     */
+    public long getMissCount() {
+        return m_misses.get();
+    }
+
+    /**
+     * Invalidates the cached information about a file and all files below it, e.g. after it has been changed through
+     * the explorer. If the file is one of the files that determine the type of its parent directory (e.g.
+     * <tt>workflow.knime</tt>), the parent directory is invalidated, too.
+     *
+     * @param file the changed file
+     */
+    public void invalidate(final Path file) {
+        final Path parent = file.getParent();
+        if ((parent != null) && isTypeFile(file.getFileName())) {
+            invalidateTree(parent);
+        } else {
+            invalidateTree(file);
+        }
+    }
+
+    /**
+     * Starts or stops watching a directory, e.g. when it is expanded or collapsed in an explorer view. The cached
+     * information about the directory's children does not expire as long as the directory is watched.
+     *
+     * @param dir a directory of the mount
+     * @param expanded <code>true</code> if the directory has been expanded, <code>false</code> if it has been collapsed
+     */
+    public void setExpanded(final Path dir, final boolean expanded) {
+        if (expanded) {
+            if (!isNetworkFileStore(dir)) {
+                watch(dir);
+            }
+        } else {
+            unwatch(dir);
+        }
+    }
+
+    /**
+     * Stops watching a file and all directories below it. Must be called before a directory is moved or deleted,
+     * since an open watch key can prevent that on some platforms (e.g. Windows). The directories are watched again
+     * once they are expanded.
+     *
+     * @param file a file or directory of the mount
+     */
+    public void unwatchTree(final Path file) {
+        m_watchedDirectories.keySet().removeIf(dir -> {
+            if (dir.startsWith(file)) {
+                cancel(dir);
+                return true;
+            }
+            return false;
+        });
+        invalidateTree(file);
+    }
+
+    /* ---------------- classification, see LocalWorkspaceFileInfo ---------------- */
+
+    boolean exists(final Path file) {
+        return getEntry(file).m_exists;
+    }
+
+    boolean isDirectory(final Path file) {
+        return getEntry(file).m_directory;
+    }
+
+    long getLastModified(final Path file) {
+        return getEntry(file).m_lastModified;
+    }
+
+    long getLength(final Path file) {
+        return getEntry(file).m_length;
+    }
+
+    boolean isWorkflow(final Path file) {
+        final Entry e = getEntry(file);
+        if (!e.m_exists || e.m_hasTemplateFile || !e.m_hasWorkflowFile) {
+            // no workflow at all or a metanode template
+            return false;
+        }
+        final Path parent = file.getParent();
+        // not a metanode inside a workflow
+        return (parent != null) && !getEntry(parent).m_hasWorkflowFile;
+    }
+
+    boolean isMetaNode(final Path file) {
+        final Entry e = getEntry(file);
+        final Path parent = file.getParent();
+        return e.m_exists && e.m_hasWorkflowFile && (parent != null) && getEntry(parent).m_hasWorkflowFile;
+    }
+
+    boolean isWorkflowTemplate(final Path file) {
+        final Entry e = getEntry(file);
+        return e.m_exists && e.m_hasTemplateFile;
+    }
+
+    boolean isNode(final Path file) {
+        final Entry e = getEntry(file);
+        if (!e.m_exists || !e.m_hasSettingsFile || isMetaNode(file)) {
+            return false;
+        }
+        final Path parent = file.getParent();
+        return (parent != null) && isWorkflow(parent);
+    }
+
+    boolean isWorkflowGroup(final Path file) {
+        final Entry e = getEntry(file);
+        return e.m_exists && e.m_directory && !isWorkflow(file) && !isMetaNode(file) && !isNode(file)
+            && !isWorkflowTemplate(file);
+    }
+
+    boolean isDataFile(final Path file) {
+        final Entry e = getEntry(file);
+        return e.m_exists && !e.m_directory;
+    }
+
+    /**
+     * @param file a workflow template, see {@link #isWorkflowTemplate(Path)}
+     * @return whether the template is a component (and not a metanode) template
+     * @throws IllegalStateException if the template type cannot be read
+     */
+    boolean isComponentTemplate(final Path file) {
+        final Entry e = getEntry(file);
+        Boolean isComponent = e.m_isComponent;
+        if (isComponent == null) {
+            try (final InputStream s = Files.newInputStream(file.resolve(WorkflowPersistor.TEMPLATE_FILE))) {
+                final MetadataConfig c = new MetadataConfig("ignored");
+                c.load(s);
+                isComponent = c.getConfigBase("workflow_template_information").getString("templateType")
+                    .equals(MetaNodeTemplateInformation.TemplateType.SubNode.toString());
+            } catch (Exception ex) {
+                LOGGER.error("Problem reading template type", ex);
+                throw new IllegalStateException("Problem reading template type", ex);
+            }
+            e.m_isComponent = isComponent;
+        }
+        return isComponent;
+    }
+
+    /* ---------------- cache entries ---------------- */
+
+    private Entry getEntry(final Path file) {
+        final Entry cached = m_entries.get(file);
+        if ((cached != null)
+            && (cached.m_watched || ((System.nanoTime() - cached.m_created) < UNWATCHED_MAX_AGE_NANOS))) {
+            m_hits.incrementAndGet();
+            return cached;
+        }
+        m_misses.incrementAndGet();
+
+        final long generation = m_generation.get();
+        // check the watch keys before reading, so that no change gets lost in between (only directories are watched)
+        final boolean parentWatched = isWatched(file.getParent());
+        final boolean selfWatched = isWatched(file);
+        final Entry entry = read(file);
+        if (!entry.m_exists) {
+            // missing files are often checked right before they are created, don't risk answering from the cache
+            return entry;
+        }
+        entry.m_watched = parentWatched && (selfWatched || !entry.m_directory) && !isNetworkFileStore(file);
+        m_entries.put(file, entry);
+        if (m_generation.get() != generation) {
+            // something has changed while reading, the entry may already be outdated
+            m_entries.remove(file, entry);
+        }
+        return entry;
+    }
+
+    private static Entry read(final Path file) {
+        final BasicFileAttributes attrs;
+        try {
+            attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException ex) {
+            return new Entry(false, false, 0, 0, false, false, false);
+        }
+        final boolean dir = attrs.isDirectory();
+        return new Entry(true, dir, attrs.lastModifiedTime().toMillis(), attrs.size(),
+            dir && Files.exists(file.resolve(WorkflowPersistor.WORKFLOW_FILE)),
+            dir && Files.exists(file.resolve(WorkflowPersistor.TEMPLATE_FILE)),
+            dir && Files.exists(file.resolve(FileSingleNodeContainerPersistor.SETTINGS_FILE_NAME)));
+    }
+
+    private static boolean isTypeFile(final Path name) {
+        if (name == null) {
+            return false;
+        }
+        final String s = name.toString();
+        return s.equals(WorkflowPersistor.WORKFLOW_FILE) || s.equals(WorkflowPersistor.TEMPLATE_FILE)
+            || s.equals(FileSingleNodeContainerPersistor.SETTINGS_FILE_NAME);
+    }
+
+    private void invalidateTree(final Path file) {
+        m_generation.incrementAndGet();
+        m_entries.keySet().removeIf(p -> p.startsWith(file));
+    }
+
+    private void invalidateAll() {
+        m_generation.incrementAndGet();
+        m_entries.clear();
+    }
+
+    /* ---------------- watching ---------------- */
+
+    private boolean isWatched(final Path dir) {
+        final WatchKey key = (dir == null) ? null : m_watchedDirectories.get(dir);
+        return (key != null) && key.isValid();
+    }
+
+    /**
+     * Makes sure the given directory is watched.
+     *
+     * @return <code>true</code> if the directory is watched, <code>false</code> if it cannot be watched
+     */
+    private boolean watch(final Path dir) {
+        if ((dir == null) || m_watchedDirectories.containsKey(dir)) {
+            return dir != null;
+        }
+        final WatchService watchService = getWatchService();
+        if ((watchService == null) || (m_watchedDirectories.size() >= MAX_WATCHED_DIRECTORIES)) {
+            return false;
+        }
+        try {
+            m_watchedDirectories.put(dir, dir.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY));
+            // entries read while the directory wasn't watched could already be outdated
+            invalidateTree(dir);
+            return true;
+        } catch (IOException | ClosedWatchServiceException ex) {
+            // e.g. not a directory or it doesn't exist (anymore)
+            return false;
+        }
+    }
+
+    private void unwatch(final Path dir) {
+        if (cancel(dir)) {
+            m_watchedDirectories.remove(dir);
+            // the entries of the directory's children would not expire anymore
+            invalidateTree(dir);
+        }
+    }
+
+    /** Cancels the watch key of a directory, returns whether the directory has been watched. */
+    private boolean cancel(final Path dir) {
+        final WatchKey key = m_watchedDirectories.get(dir);
+        if (key != null) {
+            key.cancel();
+        }
+        return key != null;
+    }
+
+    /**
+     * Determines whether the mount is on a network file system, whose changes by other machines are not reported by a
+     * watch service. Since all files of a mount are on the same file system, it is only checked for the first file.
+     */
+    private boolean isNetworkFileStore(final Path file) {
+        Boolean network = m_networkFileStore;
+        if (network == null) {
+            network = isOnNetworkFileStore(file);
+            m_networkFileStore = network;
+        }
+        return network;
+    }
+
+    private static boolean isOnNetworkFileStore(final Path file) {
+        if (file.toString().startsWith("\\\\")) {
+            // UNC path on Windows
+            return true;
+        }
+        Path existing = file;
+        while ((existing != null) && !Files.exists(existing)) {
+            existing = existing.getParent();
+        }
+        if (existing == null) {
+            return false;
+        }
+        try {
+            final String type = Files.getFileStore(existing).type().toLowerCase(Locale.ROOT);
+            return NETWORK_FILE_STORE_TYPES.contains(type);
+        } catch (IOException | SecurityException ex) {
+            LOGGER.debug("Could not determine the file system of " + existing + ": " + ex.getMessage(), ex);
+            return false;
+        }
+    }
+
+    private synchronized WatchService getWatchService() {
+        if ((m_watchService == null) && !m_watchServiceFailed) {
+            try {
+                m_watchService = FileSystems.getDefault().newWatchService();
+            } catch (IOException | UnsupportedOperationException ex) {
+                LOGGER.debug("Local workspace changes cannot be watched: " + ex.getMessage(), ex);
+                m_watchServiceFailed = true;
+                return null;
+            }
+            final WatchService watchService = m_watchService;
+            final Thread watcher =
+                new Thread(() -> processEvents(watchService), "KNIME Local Workspace Watcher (" + m_mountID + ")");
+            watcher.setDaemon(true);
+            watcher.start();
+        }
+        return m_watchService;
+    }
+
+    private void processEvents(final WatchService watchService) {
+        try {
+            while (true) {
+                final WatchKey key = watchService.take();
+                final Path dir = (Path)key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == OVERFLOW) {
+                        invalidateAll();
+                        continue;
+                    }
+                    final Path name = (Path)event.context();
+                    if (event.kind() == ENTRY_MODIFY) {
+                        // the content changed, not the type
+                        m_generation.incrementAndGet();
+                        m_entries.remove(dir.resolve(name));
+                        if (name.toString().equals(WorkflowPersistor.TEMPLATE_FILE)) {
+                            m_entries.remove(dir);
+                        }
+                    } else {
+                        invalidate(dir.resolve(name));
+                    }
+                }
+                if (!key.reset()) {
+                    // the directory is gone or it isn't watched anymore
+                    m_watchedDirectories.remove(dir, key);
+                    invalidateTree(dir);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ex) {
+            // cache disposed
+        }
+    }
+
+    private synchronized void close() {
+        m_watchServiceFailed = true;
+        if (m_watchService != null) {
+            try {
+                m_watchService.close();
+            } catch (IOException ex) {
+                LOGGER.debug("Could not close the local workspace watch service: " + ex.getMessage(), ex);
+            }
+            m_watchService = null;
+        }
+        m_watchedDirectories.clear();
+        invalidateAll();
+    }
+
+    /** The cached information about one file. */
+    private static final class Entry {
+        private final boolean m_exists;
+
+        private final boolean m_directory;
+
+        private final long m_lastModified;
+
+        private final long m_length;
+
+        private final boolean m_hasWorkflowFile;
+
+        private final boolean m_hasTemplateFile;
+
+        private final boolean m_hasSettingsFile;
+
+        private final long m_created = System.nanoTime();
+
+        /** Whether changes of the entry are noticed by the watch service. */
+        private boolean m_watched;
+
+        /** Template type, read on demand. */
+        private volatile Boolean m_isComponent;
+
+        private Entry(final boolean exists, final boolean directory, final long lastModified, final long length,
+            final boolean hasWorkflowFile, final boolean hasTemplateFile, final boolean hasSettingsFile) {
+            m_exists = exists;
+            m_directory = directory;
+            m_lastModified = lastModified;
+            m_length = length;
+            m_hasWorkflowFile = hasWorkflowFile;
+            m_hasTemplateFile = hasTemplateFile;
+            m_hasSettingsFile = hasSettingsFile;
+        }
+    }
+}
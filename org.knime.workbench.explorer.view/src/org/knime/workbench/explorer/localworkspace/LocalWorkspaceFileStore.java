@@ -52,6 +52,7 @@
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Objects;
 
@@ -130,6 +131,9 @@ public boolean equals(final Object obj) {
     public void copy(final IFileStore destination, final int options,
             final IProgressMonitor monitor) throws CoreException {
         super.copy(destination, options, monitor);
+        if (destination instanceof LocalWorkspaceFileStore) {
+            ((LocalWorkspaceFileStore)destination).invalidateStatus();
+        }
     }
 
     /**
@@ -175,7 +179,28 @@ public String[] childNames(final int options, final IProgressMonitor monitor)
      */
     @Override
     public LocalWorkspaceFileInfo fetchInfo() {
-        return new LocalWorkspaceFileInfo(m_file);
+        return new LocalWorkspaceFileInfo(m_file, LocalWorkspaceFileStatusCache.getInstance(getMountID()));
+    }
+
+    /**
+     * Invalidates the cached file information of this file and all files below it.
+     */
+    private void invalidateStatus() {
+        LocalWorkspaceFileStatusCache.getInstance(getMountID()).invalidate(toPath());
+    }
+
+    /**
+     * Stops watching this file and all directories below it, so that it can be moved or deleted.
+     */
+    private void unwatchStatus() {
+        LocalWorkspaceFileStatusCache.getInstance(getMountID()).unwatchTree(toPath());
+    }
+
+    /**
+     * @return the path of the file in the local file system
+     */
+    java.nio.file.Path toPath() {
+        return Paths.get(m_file.toURI());
     }
 
     /**
@@ -234,6 +259,7 @@ public void refresh() {
      */
     @Override
     public void refresh(final IProgressMonitor monitor) {
+        invalidateStatus();
         refreshResource(this);
     }
 
@@ -248,6 +274,7 @@ private static void refreshResource(final LocalExplorerFileStore fileStore) {
     public void delete(final int options, final IProgressMonitor monitor)
             throws CoreException {
         java.nio.file.Path srcFile = toLocalFile(options, monitor).toPath();
+        unwatchStatus();
         try {
             if (Files.isDirectory(srcFile)) {
                 PathUtils.deleteDirectoryIfExists(srcFile);
@@ -258,6 +285,7 @@ public void delete(final int options, final IProgressMonitor monitor)
             String message = "Could not delete \"" + srcFile.toAbsolutePath() + "\".";
             throw new CoreException(new Status(IStatus.ERROR, ExplorerActivator.PLUGIN_ID, message, e));
         }
+        invalidateStatus();
         refreshResource(getParent());
     }
 
@@ -268,6 +296,7 @@ public void delete(final int options, final IProgressMonitor monitor)
     public AbstractExplorerFileStore mkdir(final int options,
             final IProgressMonitor monitor) throws CoreException {
         m_file.mkdir(options, monitor);
+        invalidateStatus();
         refreshResource(getParent());
         return this;
     }
@@ -297,8 +326,13 @@ public void move(final IFileStore destination, final int options,
         }
         super.cleanupDestination(destination, options, monitor);
 
+        unwatchStatus();
         try {
             if (srcFile.renameTo(dstFile)) {
+                invalidateStatus();
+                if (destination instanceof LocalWorkspaceFileStore) {
+                    ((LocalWorkspaceFileStore)destination).invalidateStatus();
+                }
                 // if rename works: refresh
                 final LocalExplorerFileStore srcParent = getParent();
                 IFileStore destParent = destination.getParent();
@@ -180,6 +180,8 @@ public enum LinkType {
 
     private final String m_id;
 
+    private ExplorerSearchIndex m_searchIndex;
+
     /**
      * @param myCreator the factory creating this instance.
      * @param id mount id of this content provider
@@ -235,10 +237,43 @@ public final void refresh() {
     }
 
     public final void refresh(final AbstractExplorerFileStore changedChild) {
+        final ExplorerSearchIndex searchIndex;
+        synchronized (this) {
+            searchIndex = m_searchIndex;
+        }
+        if (searchIndex != null) {
+            searchIndex.refresh(changedChild);
+        }
         fireLabelProviderChanged(new LabelProviderChangedEvent(this,
                 changedChild));
     }
 
+    /**
+     * Returns the search index of this mount point that is used for filtering the explorer. It is created on first
+     * access but not populated until {@link ExplorerSearchIndex#build()} is called.
+     *
+     * @return the search index, never <code>null</code>
+     * @since 8.7
+     */
+    public synchronized ExplorerSearchIndex getSearchIndex() {
+        if (m_searchIndex == null) {
+            m_searchIndex = new ExplorerSearchIndex(this);
+        }
+        return m_searchIndex;
+    }
+
+    /**
+     * Stops building the search index and drops it. Subclasses should call this when they are disposed.
+     *
+     * @since 8.7
+     */
+    protected final synchronized void disposeSearchIndex() {
+        if (m_searchIndex != null) {
+            m_searchIndex.dispose();
+            m_searchIndex = null;
+        }
+    }
+
     /**
      * Save state and parameters.
      *
@@ -1594,6 +1629,18 @@ protected void onDoubleClick(final AbstractExplorerFileStore fileStore, final Ex
         //do nothing by default
     }
 
+    /**
+     * Called when an item of this provider has been expanded or collapsed in an explorer view. The default
+     * implementation does nothing.
+     *
+     * @param fileStore the file store of the expanded or collapsed item
+     * @param expanded <code>true</code> if the item has been expanded, <code>false</code> if it has been collapsed
+     * @since 8.7
+     */
+    protected void expansionChanged(final AbstractExplorerFileStore fileStore, final boolean expanded) {
+        //do nothing by default
+    }
+
     /**
      * Returns the upload limit in bytes. By default this is set to {@link Long#MAX_VALUE}.
      *
@@ -45,10 +45,17 @@
 package org.knime.workbench.explorer.view;
 
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.jface.viewers.AbstractTreeViewer;
+import org.eclipse.jface.viewers.StructuredViewer;
+import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
 import org.knime.core.node.NodeLogger;
 import org.knime.workbench.explorer.filesystem.AbstractExplorerFileStore;
 import org.knime.workbench.explorer.filesystem.MessageFileStore;
@@ -65,6 +72,90 @@ public class ExplorerFilter extends TextualViewFilter {
 
     private String m_queryString;
 
+    private final Map<ExplorerSearchIndex, Runnable> m_indexListeners = new IdentityHashMap<>();
+
+    /**
+     * Items of local mount points are selected using the mount point's {@link ExplorerSearchIndex} which avoids
+     * listing all workflow groups on the UI thread. While the index is being built only items that match themselves
+     * are shown, the viewer is refreshed once the index is available. Remote mount points and mount points whose index
+     * cannot be built are filtered by listing their items.
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean select(final Viewer viewer, final Object parentElement, final Object element) {
+        if (!hasNonEmptyQuery()) {
+            return true;
+        }
+        final AbstractExplorerFileStore fileStore;
+        if (element instanceof ContentObject) {
+            fileStore = ((ContentObject)element).getObject();
+        } else if (element instanceof AbstractExplorerFileStore) {
+            fileStore = (AbstractExplorerFileStore)element;
+        } else {
+            return super.select(viewer, parentElement, element);
+        }
+        final AbstractContentProvider contentProvider = fileStore.getContentProvider();
+        if ((contentProvider == null) || match(fileStore)) {
+            return super.select(viewer, parentElement, element);
+        }
+        final ExplorerSearchIndex index = contentProvider.getSearchIndex();
+        addIndexListener(viewer, index);
+        if (index.isComplete()) {
+            return index.getSelection(m_queryString, m_usingKnimeProtocol).isSelected(fileStore.getFullName());
+        }
+        if (contentProvider.isRemote() || index.hasFailed()) {
+            return super.select(viewer, parentElement, element);
+        }
+        index.build();
+        return false;
+    }
+
+    /**
+     * Refreshes the viewer whenever the given index changes while a query is set. Refreshes are coalesced so that
+     * at most one is pending at any time.
+     */
+    private void addIndexListener(final Viewer viewer, final ExplorerSearchIndex index) {
+        if (!(viewer instanceof StructuredViewer) || m_indexListeners.containsKey(index)) {
+            return;
+        }
+        final Control control = viewer.getControl();
+        if ((control == null) || control.isDisposed()) {
+            return;
+        }
+        final Display display = control.getDisplay();
+        final AtomicBoolean refreshPending = new AtomicBoolean();
+        final Runnable listener = new Runnable() {
+            @Override
+            public void run() {
+                if (display.isDisposed() || !refreshPending.compareAndSet(false, true)) {
+                    return;
+                }
+                display.asyncExec(() -> {
+                    refreshPending.set(false);
+                    if (control.isDisposed()) {
+                        index.removeChangeListener(this);
+                        m_indexListeners.remove(index);
+                        return;
+                    }
+                    if (!hasNonEmptyQuery()) {
+                        return;
+                    }
+                    control.setRedraw(false);
+                    try {
+                        ((StructuredViewer)viewer).refresh();
+                        if (viewer instanceof AbstractTreeViewer) {
+                            ((AbstractTreeViewer)viewer).expandAll();
+                        }
+                    } finally {
+                        control.setRedraw(true);
+                    }
+                });
+            }
+        };
+        m_indexListeners.put(index, listener);
+        index.addChangeListener(listener);
+    }
+
     /**
      *  An element is selected if itself, a parent or a
      * child contains the query string in its name.
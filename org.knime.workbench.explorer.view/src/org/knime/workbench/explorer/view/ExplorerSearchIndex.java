@@ -0,0 +1,442 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.workbench.explorer.view;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.knime.core.node.NodeLogger;
+import org.knime.workbench.explorer.filesystem.AbstractExplorerFileStore;
+import org.knime.workbench.explorer.filesystem.MessageFileStore;
+
+/**
+ * Index over the full names and <tt>knime://</tt> URIs of all items of one mount point. It is used by the
+ * {@link ExplorerFilter} to determine whether an item or any of its descendants matches the current query without
+ * listing workflow groups on the UI thread.
+ *
+ * <p>
+ * For local mount points the index is built by a background job that lists all workflow groups, and it is updated
+ * incrementally whenever the content provider is refreshed. Remote mount points are not indexed (listing them is
+ * expensive and asynchronous). If the index cannot be built, e.g. because listing the mount point fails or the job is
+ * cancelled, it is marked as failed and the filter falls back to listing the items itself.
+ *
+ * <p>
+ * Items are kept sorted by their full name so that the subtree of a group is a contiguous range. Queries are answered
+ * by a scan over the upper case names held in memory which is computed once per query and index version.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 8.7
+ */
+public final class ExplorerSearchIndex {
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(ExplorerSearchIndex.class);
+
+    private final AbstractContentProvider m_provider;
+
+    private final NavigableMap<String, Entry> m_entries = new ConcurrentSkipListMap<>();
+
+    private final AtomicLong m_version = new AtomicLong();
+
+    private final ConcurrentLinkedQueue<String> m_pendingPaths = new ConcurrentLinkedQueue<>();
+
+    private final List<Runnable> m_listeners = new CopyOnWriteArrayList<>();
+
+    private final Object m_jobLock = new Object();
+
+    private IndexJob m_job;
+
+    private volatile boolean m_complete;
+
+    private volatile boolean m_failed;
+
+    private volatile boolean m_disposed;
+
+    private volatile Selection m_lastSelection;
+
+    ExplorerSearchIndex(final AbstractContentProvider provider) {
+        m_provider = provider;
+    }
+
+    /**
+     * Returns whether the index covers all items of the mount point. Before that, query results are incomplete.
+     *
+     * @return <code>true</code> if the index is complete, <code>false</code> otherwise
+     */
+    public boolean isComplete() {
+        return m_complete;
+    }
+
+    /**
+     * Returns whether building the index has failed or has been cancelled. The index is built again with the next
+     * refresh of the content provider.
+     *
+     * @return <code>true</code> if the index cannot be used, <code>false</code> otherwise
+     */
+    public boolean hasFailed() {
+        return m_failed;
+    }
+
+    /**
+     * Starts building the index in the background, if this hasn't been done yet. Remote mount points are not indexed.
+     */
+    public void build() {
+        if (!m_provider.isRemote()) {
+            synchronized (m_jobLock) {
+                if (m_job == null) {
+                    crawl("/");
+                }
+            }
+        }
+    }
+
+    /**
+     * Notifies the index that the given item has changed. The subtree of its parent is listed again in the background
+     * and replaces the indexed subtree once it is complete. Until then queries are answered from the previous state.
+     *
+     * @param changedChild the changed item, <code>null</code> or the root if all items may have changed
+     */
+    void refresh(final AbstractExplorerFileStore changedChild) {
+        synchronized (m_jobLock) {
+            if (m_job == null || m_provider.isRemote()) {
+                // nothing has been indexed yet or remote mount points, which are not indexed
+                return;
+            }
+        }
+        // list the whole mount point again as long as it hasn't been listed completely, e.g. because it has failed
+        String path = "/";
+        if (m_complete && (changedChild != null)) {
+            final AbstractExplorerFileStore parent = changedChild.getParent();
+            if (parent != null) {
+                path = parent.getFullName();
+            } else if (changedChild.getFullName() != null) {
+                path = changedChild.getFullName();
+            }
+        }
+        crawl(path);
+    }
+
+    /**
+     * Stops all background work and drops the index.
+     */
+    void dispose() {
+        m_disposed = true;
+        synchronized (m_jobLock) {
+            if (m_job != null) {
+                m_job.cancel();
+            }
+        }
+        m_pendingPaths.clear();
+        m_listeners.clear();
+        m_entries.clear();
+        m_lastSelection = null;
+    }
+
+    /**
+     * Adds a listener that is notified (in an arbitrary thread) whenever the content of the index has changed.
+     *
+     * @param listener the listener
+     */
+    public void addChangeListener(final Runnable listener) {
+        if (!m_listeners.contains(listener)) {
+            m_listeners.add(listener);
+        }
+    }
+
+    /**
+     * @param listener the listener to remove
+     */
+    public void removeChangeListener(final Runnable listener) {
+        m_listeners.remove(listener);
+    }
+
+    /**
+     * @return the number of indexed items
+     */
+    public int size() {
+        return m_entries.size();
+    }
+
+    /**
+     * Returns all items that match the given query together with all their ancestors. An item matches if its full
+     * name contains the query, or, if the query is a <tt>knime://</tt> URL, if its URI starts with the query. The
+     * result is cached until the query or the content of the index changes.
+     *
+     * @param upperCaseQuery the query in upper case
+     * @param usingKnimeProtocol whether the query is a <tt>knime://</tt> URL
+     * @return the selected items
+     */
+    public Selection getSelection(final String upperCaseQuery, final boolean usingKnimeProtocol) {
+        final long version = m_version.get();
+        Selection selection = m_lastSelection;
+        if ((selection != null) && (selection.m_version == version) && selection.m_query.equals(upperCaseQuery)
+            && (selection.m_usingKnimeProtocol == usingKnimeProtocol)) {
+            return selection;
+        }
+        final Set<String> selected = new HashSet<>();
+        for (Map.Entry<String, Entry> e : m_entries.entrySet()) {
+            final Entry entry = e.getValue();
+            final boolean matches = usingKnimeProtocol ? entry.m_upperUri.startsWith(upperCaseQuery)
+                : entry.m_upperName.contains(upperCaseQuery);
+            if (matches) {
+                String name = e.getKey();
+                while ((name != null) && selected.add(name)) {
+                    name = parentName(name);
+                }
+            }
+        }
+        selection = new Selection(upperCaseQuery, usingKnimeProtocol, version, selected);
+        m_lastSelection = selection;
+        return selection;
+    }
+
+    private void crawl(final String path) {
+        if (m_disposed) {
+            return;
+        }
+        m_pendingPaths.add(path);
+        synchronized (m_jobLock) {
+            if (m_job == null) {
+                m_job = new IndexJob();
+            }
+            m_job.schedule();
+        }
+    }
+
+    private void changed() {
+        m_version.incrementAndGet();
+        for (Runnable l : m_listeners) {
+            try {
+                l.run();
+            } catch (RuntimeException ex) {
+                LOGGER.error("Error while notifying search index listener: " + ex.getMessage(), ex);
+            }
+        }
+    }
+
+    /**
+     * Lists the given group and all workflow groups below it and replaces the indexed subtree with the result.
+     *
+     * @param path the full name of the group
+     * @param monitor a progress monitor for cancellation
+     * @return <code>true</code> if the subtree has been indexed, <code>false</code> if indexing has been cancelled
+     */
+    boolean index(final String path, final IProgressMonitor monitor) {
+        final NavigableMap<String, Entry> subtree = new TreeMap<>();
+        if (!list(path, subtree, monitor)) {
+            return false;
+        }
+        synchronized (m_entries) {
+            descendants(m_entries, childPrefix(path)).clear();
+            if (subtree.isEmpty()) {
+                m_entries.remove(path);
+            }
+            m_entries.putAll(subtree);
+        }
+        return true;
+    }
+
+    /**
+     * Lists the given group and all workflow groups below it. Only groups are expanded, which is consistent with the
+     * items the {@link ExplorerFilter} descends into.
+     */
+    private boolean list(final String path, final NavigableMap<String, Entry> target,
+        final IProgressMonitor monitor) {
+        final AbstractExplorerFileStore root = m_provider.getFileStore(path);
+        if ((root == null) || !root.fetchInfo().exists()) {
+            // the group has been deleted, its subtree is dropped from the index
+            return true;
+        }
+        final List<AbstractExplorerFileStore> stack = new ArrayList<>();
+        stack.add(root);
+        put(target, root);
+        while (!stack.isEmpty()) {
+            if (monitor.isCanceled() || m_disposed) {
+                return false;
+            }
+            final AbstractExplorerFileStore group = stack.remove(stack.size() - 1);
+            if (!AbstractExplorerFileStore.isWorkflowGroup(group)) {
+                continue;
+            }
+            final AbstractExplorerFileStore[] children = m_provider.getChildren(group);
+            if (children == null) {
+                continue;
+            }
+            for (AbstractExplorerFileStore child : children) {
+                if (!(child instanceof MessageFileStore)) {
+                    put(target, child);
+                    stack.add(child);
+                }
+            }
+        }
+        return true;
+    }
+
+    private static String put(final Map<String, Entry> target, final AbstractExplorerFileStore store) {
+        final String name = store.getFullName();
+        final Object uri = store.toURI();
+        target.put(name, new Entry(name.toUpperCase(), (uri == null) ? "" : uri.toString().toUpperCase()));
+        return name;
+    }
+
+    private static String childPrefix(final String path) {
+        return path.endsWith("/") ? path : (path + "/");
+    }
+
+    private static NavigableMap<String, Entry> descendants(final NavigableMap<String, Entry> map,
+        final String prefix) {
+        // '0' is the character following '/'
+        return map.subMap(prefix, true, prefix.substring(0, prefix.length() - 1) + '0', false);
+    }
+
+    private static String parentName(final String name) {
+        final int index = name.lastIndexOf('/');
+        if ((index < 0) || "/".equals(name)) {
+            return null;
+        }
+        return (index == 0) ? "/" : name.substring(0, index);
+    }
+
+    private final class IndexJob extends ExplorerJob {
+        IndexJob() {
+            super("Indexing " + m_provider.getMountID());
+            setUser(false);
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(final IProgressMonitor monitor) {
+            final long start = System.currentTimeMillis();
+            try {
+                String path;
+                while ((path = m_pendingPaths.poll()) != null) {
+                    try {
+                        if (!index(path, monitor)) {
+                            return Status.CANCEL_STATUS;
+                        }
+                    } catch (RuntimeException ex) {
+                        LOGGER.warn("Could not index " + m_provider.getMountID() + ":" + path + ": "
+                            + ex.getMessage(), ex);
+                        continue;
+                    }
+                    if ("/".equals(path)) {
+                        m_complete = true;
+                        m_failed = false;
+                    }
+                    changed();
+                }
+            } finally {
+                if (!m_complete && !m_disposed) {
+                    // otherwise the filter would wait for the index forever
+                    m_failed = true;
+                    changed();
+                }
+            }
+            LOGGER.debug("Indexed " + m_entries.size() + " items of " + m_provider.getMountID() + " in "
+                + (System.currentTimeMillis() - start) + "ms");
+            return Status.OK_STATUS;
+        }
+    }
+
+    private static final class Entry {
+        private final String m_upperName;
+
+        private final String m_upperUri;
+
+        Entry(final String upperName, final String upperUri) {
+            m_upperName = upperName;
+            m_upperUri = upperUri;
+        }
+    }
+
+    /**
+     * The items selected by one query, i.e. all matching items and their ancestors.
+     */
+    public static final class Selection {
+        private final String m_query;
+
+        private final boolean m_usingKnimeProtocol;
+
+        private final long m_version;
+
+        private final Set<String> m_selected;
+
+        private Selection(final String query, final boolean usingKnimeProtocol, final long version,
+            final Set<String> selected) {
+            m_query = query;
+            m_usingKnimeProtocol = usingKnimeProtocol;
+            m_version = version;
+            m_selected = selected;
+        }
+
+        /**
+         * @param fullName the full name of an item
+         * @return <code>true</code> if the item or any of its descendants matches the query
+         */
+        public boolean isSelected(final String fullName) {
+            return m_selected.contains(fullName);
+        }
+
+        /**
+         * @return the number of selected items
+         */
+        public int size() {
+            return m_selected.size();
+        }
+    }
+}
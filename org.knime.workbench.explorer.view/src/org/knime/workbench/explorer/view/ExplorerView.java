@@ -77,8 +77,10 @@
 import org.eclipse.jface.viewers.IDoubleClickListener;
 import org.eclipse.jface.viewers.ISelectionChangedListener;
 import org.eclipse.jface.viewers.IStructuredSelection;
+import org.eclipse.jface.viewers.ITreeViewerListener;
 import org.eclipse.jface.viewers.SelectionChangedEvent;
 import org.eclipse.jface.viewers.StructuredSelection;
+import org.eclipse.jface.viewers.TreeExpansionEvent;
 import org.eclipse.jface.viewers.TreeSelection;
 import org.eclipse.jface.viewers.TreeViewer;
 import org.eclipse.jface.viewers.ViewerFilter;
@@ -486,6 +488,17 @@ public void run() {
                 });
             }
         });
+        m_viewer.addTreeListener(new ITreeViewerListener() {
+            @Override
+            public void treeExpanded(final TreeExpansionEvent event) {
+                forwardExpansion(event.getElement(), true);
+            }
+
+            @Override
+            public void treeCollapsed(final TreeExpansionEvent event) {
+                forwardExpansion(event.getElement(), false);
+            }
+        });
         m_viewer.addSelectionChangedListener(this);
         // this allows other plugins to see our selection.
         getSite().setSelectionProvider(m_viewer);
@@ -497,6 +510,14 @@ public void run() {
 
     }
 
+    /** Tells the provider of the expanded or collapsed tree item about the change. */
+    private static void forwardExpansion(final Object element, final boolean expanded) {
+        final AbstractExplorerFileStore fileStore = ContentDelegator.getFileStore(element);
+        if (fileStore != null && fileStore.getContentProvider() != null) {
+            fileStore.getContentProvider().expansionChanged(fileStore, expanded);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
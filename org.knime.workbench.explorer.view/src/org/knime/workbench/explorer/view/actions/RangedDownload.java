@@ -0,0 +1,326 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.workbench.explorer.view.actions;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongConsumer;
+
+import org.knime.core.node.NodeLogger;
+import org.knime.workbench.explorer.filesystem.RemoteDownloadStream;
+
+/**
+ * Downloads the content of a {@link RemoteDownloadStream} that {@link RemoteDownloadStream#supportsRanges() supports
+ * byte ranges} into a local file. The content is split into chunks that are fetched in parallel and written to their
+ * position in the file. A chunk that fails is resumed from the last received byte after a growing delay, so an
+ * interrupted connection doesn't restart the whole download.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class RangedDownload {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(RangedDownload.class);
+
+    /** Size of the ranges requested from the server. */
+    static final long CHUNK_SIZE = 8L * 1024 * 1024;
+
+    /** Number of ranges that are downloaded at the same time. */
+    static final int DEFAULT_PARALLELISM = 4;
+
+    /** Number of failed attempts without any received bytes after which a chunk is given up. */
+    static final int MAX_RETRIES = 5;
+
+    private static final long INITIAL_RETRY_DELAY = 500;
+
+    private static final long MAX_RETRY_DELAY = 16000;
+
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    private final RemoteDownloadStream m_stream;
+
+    private final long m_length;
+
+    private final File m_target;
+
+    private final int m_parallelism;
+
+    private final AtomicLong m_downloaded = new AtomicLong();
+
+    private volatile boolean m_canceled;
+
+    private long m_initialRetryDelay = INITIAL_RETRY_DELAY;
+
+    /**
+     * @param stream the stream to download, must support ranges and be ready for download
+     * @param length the number of bytes to download
+     * @param target the file to write to, it is created or overwritten
+     * @param parallelism the number of ranges to download at the same time
+     */
+    RangedDownload(final RemoteDownloadStream stream, final long length, final File target, final int parallelism) {
+        m_stream = stream;
+        m_length = length;
+        m_target = target;
+        m_parallelism = Math.max(1, parallelism);
+    }
+
+    /** Only used by tests to avoid long waits. */
+    void setInitialRetryDelay(final long millis) {
+        m_initialRetryDelay = millis;
+    }
+
+    /**
+     * Downloads all chunks. Progress is reported on the calling thread.
+     *
+     * @param canceled polled on the calling thread, the download stops as soon as it returns true
+     * @param progress receives the total number of downloaded bytes, called on the calling thread
+     * @return true if the download completed, false if it was canceled
+     * @throws IOException if a chunk can't be downloaded or the file can't be written
+     */
+    boolean run(final BooleanSupplier canceled, final LongConsumer progress) throws IOException {
+        final int chunks = (int)Math.max(1, (m_length + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        final ExecutorService executor = createExecutor(Math.min(m_parallelism, chunks));
+        final List<Future<Void>> futures = new ArrayList<>(chunks);
+        try (RandomAccessFile file = new RandomAccessFile(m_target, "rw")) {
+            file.setLength(m_length);
+            final FileChannel channel = file.getChannel();
+            for (long offset = 0; offset < m_length; offset += CHUNK_SIZE) {
+                final long start = offset;
+                final long length = Math.min(CHUNK_SIZE, m_length - offset);
+                futures.add(executor.submit(() -> {
+                    downloadChunk(channel, start, length);
+                    return null;
+                }));
+            }
+            for (Future<Void> future : futures) {
+                while (true) {
+                    if (canceled.getAsBoolean()) {
+                        m_canceled = true;
+                        return false;
+                    }
+                    try {
+                        future.get(200, TimeUnit.MILLISECONDS);
+                        break;
+                    } catch (TimeoutException e) { // NOSONAR report progress and check for cancellation
+                        progress.accept(m_downloaded.get());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        m_canceled = true;
+                        return false;
+                    } catch (ExecutionException e) {
+                        final Throwable cause = e.getCause();
+                        if (cause instanceof IOException) {
+                            throw (IOException)cause;
+                        }
+                        throw new IOException(cause.getMessage(), cause);
+                    }
+                }
+            }
+            progress.accept(m_downloaded.get());
+            return true;
+        } finally {
+            m_canceled |= futures.stream().anyMatch(f -> !f.isDone());
+            futures.forEach(f -> f.cancel(true));
+            executor.shutdownNow();
+            try {
+                // don't leave writers behind on the file that the caller is going to delete
+                executor.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void downloadChunk(final FileChannel channel, final long offset, final long length) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long done = 0;
+        int failures = 0;
+        long delay = m_initialRetryDelay;
+        while (done < length) {
+            checkCanceled();
+            final long before = done;
+            try (InputStream in = m_stream.openRange(offset + done, length - done)) {
+                int read;
+                while (done < length
+                    && (read = in.read(buffer.array(), 0, (int)Math.min(BUFFER_SIZE, length - done))) >= 0) {
+                    checkCanceled();
+                    buffer.position(0).limit(read);
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer, offset + done + buffer.position());
+                    }
+                    done += read;
+                    m_downloaded.addAndGet(read);
+                }
+                if (done < length) {
+                    throw new IOException("Server closed the connection after " + (offset + done) + " of "
+                        + (offset + length) + " bytes");
+                }
+            } catch (IOException e) {
+                checkCanceled();
+                if (done > before) {
+                    // the connection worked for a while, start over with the retries
+                    failures = 0;
+                    delay = m_initialRetryDelay;
+                }
+                if (++failures > MAX_RETRIES) {
+                    throw e;
+                }
+                LOGGER.debug("Download of bytes " + (offset + done) + "-" + (offset + length - 1) + " failed ("
+                    + e.getMessage() + "), resuming in " + delay + " ms");
+                sleep(delay);
+                delay = Math.min(MAX_RETRY_DELAY, delay * 2);
+            }
+        }
+    }
+
+    private void checkCanceled() throws InterruptedIOException {
+        if (m_canceled || Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Canceled.");
+        }
+    }
+
+    private static void sleep(final long millis) throws InterruptedIOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Canceled.");
+        }
+    }
+
+    /**
+     * Creates a digest for the checksum the stream provides.
+     *
+     * @param stream the download stream
+     * @return a new digest or null if the stream doesn't provide a checksum or the algorithm is unknown
+     */
+    static MessageDigest createDigest(final RemoteDownloadStream stream) {
+        final String algorithm = stream.getChecksumAlgorithm();
+        if (algorithm == null || stream.getChecksum() == null) {
+            return null;
+        }
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            LOGGER.warn("Unable to verify download, unknown checksum algorithm \"" + algorithm + "\"", e);
+            return null;
+        }
+    }
+
+    /**
+     * Compares the digest's value with the checksum of the stream.
+     *
+     * @param stream the download stream
+     * @param digest the digest of the downloaded content, see {@link #createDigest(RemoteDownloadStream)}
+     * @throws IOException if the checksums don't match
+     */
+    static void verifyChecksum(final RemoteDownloadStream stream, final MessageDigest digest) throws IOException {
+        final StringBuilder actual = new StringBuilder();
+        for (byte b : digest.digest()) {
+            actual.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        if (!actual.toString().equalsIgnoreCase(stream.getChecksum().trim())) {
+            throw new IOException("Downloaded data is corrupt, expected " + digest.getAlgorithm() + " checksum "
+                + stream.getChecksum() + " but got " + actual);
+        }
+    }
+
+    /**
+     * Computes the digest of a downloaded file and compares it with the checksum of the stream.
+     *
+     * @param stream the download stream
+     * @param file the downloaded file
+     * @throws IOException if the file can't be read or the checksums don't match
+     */
+    static void verifyChecksum(final RemoteDownloadStream stream, final File file) throws IOException {
+        final MessageDigest digest = createDigest(stream);
+        if (digest == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath())) {
+            final ByteBuffer buffer = ByteBuffer.allocate(1024 * 1024);
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        verifyChecksum(stream, digest);
+    }
+
+    private static ExecutorService createExecutor(final int threads) {
+        return Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private final AtomicInteger m_threadCounter = new AtomicInteger();
+
+            @Override
+            public Thread newThread(final Runnable r) {
+                Thread t = new Thread(r, "KNIME Workflow Download-" + m_threadCounter.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+}
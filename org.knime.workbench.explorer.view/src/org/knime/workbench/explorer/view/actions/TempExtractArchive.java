@@ -52,7 +52,6 @@
 import java.io.IOException;
 import java.util.Iterator;
 import java.util.List;
-import java.util.zip.ZipEntry;
 import java.util.zip.ZipException;
 import java.util.zip.ZipFile;
 
@@ -68,7 +67,6 @@
 import org.knime.workbench.explorer.view.actions.imports.IWorkflowImportElement;
 import org.knime.workbench.explorer.view.actions.imports.WorkflowImportElementFromArchive;
 import org.knime.workbench.explorer.view.actions.imports.WorkflowImportOperation;
-import org.knime.workbench.ui.navigator.ZipLeveledStructProvider;
 
 /**
  * An action to temporary extract a workflow archive file into a directory.
@@ -208,18 +206,7 @@ protected void unpackWorkflowIntoLocalDir() throws Exception {
 
         LocalExplorerFileStore destWorkflowDir = m_targetDir.getParent();
 
-        ZipFile zFile = new ZipFile(m_source);
-        ZipLeveledStructProvider importStructureProvider = new ZipLeveledStructProvider(zFile);
-        importStructureProvider.setStrip(1);
-
-        ZipEntry rootEntry = (ZipEntry)importStructureProvider.getRoot();
-        // method return type changed from "List<ZipEntry>" (org.eclipse.ui.ide_3.13.1)
-        // to "List<?>" (org.eclipse.ui.ide_3.17.0), though the implementation itself is still type to the former
-        List<ZipEntry> rootChild = (List<ZipEntry>)importStructureProvider.getChildren(rootEntry);
-        if (rootChild.size() == 1) {
-            // the zipped workflow normally contains only one dir
-            rootEntry = rootChild.get(0);
-        }
+        // the archive is opened once, its structure is built from the central directory
         WorkflowImportElementFromArchive root = collectWorkflowsFromZipFile(m_source);
         IWorkflowImportElement element = null;
         if (root.getChildren().size() == 1) {
@@ -236,15 +223,14 @@ protected void unpackWorkflowIntoLocalDir() throws Exception {
         try {
             importOp.run(m_monitor);
         } finally {
-            importStructureProvider.closeArchive();
+            // the operation closes the provider as well, closing it twice is harmless
+            root.getProvider().closeArchive();
         }
     }
 
     private WorkflowImportElementFromArchive collectWorkflowsFromZipFile(final File zipFile)
         throws ZipException, IOException {
-        ILeveledImportStructureProvider provider = null;
-        ZipFile sourceFile = new ZipFile(zipFile);
-        provider = new ZipLeveledStructureProvider(sourceFile);
+        ZipLeveledStructureProvider provider = new ZipLeveledStructureProvider(new ZipFile(zipFile));
         // TODO: store only the workflows (dirs are created automatically)
         Object child = provider.getRoot();
         WorkflowImportElementFromArchive root = new WorkflowImportElementFromArchive(provider, child, 0);
@@ -48,12 +48,15 @@
 import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
-import org.apache.commons.io.FileUtils;
 import org.eclipse.core.filesystem.EFS;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -153,7 +156,9 @@ protected void extractDownloadToTarget(final File downloadedFile)
         }
 
         if (info.isFile()) {
-            FileUtils.copyFile(downloadedFile, getTargetDir().toLocalFile());
+            // the download is already complete on disk, no need to copy it again
+            Files.move(downloadedFile.toPath(), getTargetDir().toLocalFile().toPath(),
+                StandardCopyOption.REPLACE_EXISTING);
         } else if (info.isWorkflow() || info.isWorkflowTemplate() || info.isWorkflowGroup()) {
             setSourceArchiveFile(downloadedFile);
             unpackWorkflowIntoLocalDir();
@@ -258,6 +263,11 @@ protected IStatus run(final IProgressMonitor monitor2) {
      */
     protected static class DownloadRunnable implements Runnable {
 
+        /** First delay between two checks whether the server is ready, doubled on every check. */
+        private static final long MIN_POLL_DELAY = 50;
+
+        private static final long MAX_POLL_DELAY = 2000;
+
         private final RemoteExplorerFileStore m_source;
 
         private final AtomicBoolean m_cancel = new AtomicBoolean(false);
@@ -320,7 +330,8 @@ public void run(final IProgressMonitor monitor) {
                 }
                 RemoteDownloadStream in =
                         m_source.openDownloadStream();
-                // wait for the server to finish zipping
+                // wait for the server to finish zipping, small flows are ready quickly so start with short delays
+                long pollDelay = MIN_POLL_DELAY;
                 while (!in.readyForDownload()) {
                     if (monitor != null && monitor.isCanceled()) {
                         m_cancel.set(true);
@@ -332,12 +343,12 @@ public void run(final IProgressMonitor monitor) {
                         in.close();
                         return;
                     }
-                   Thread.sleep(1000);
+                    Thread.sleep(pollDelay);
+                    pollDelay = Math.min(MAX_POLL_DELAY, 2 * pollDelay);
                 }
 
                 String size = " / <unknown>";
                 final String taskMessage = "Downloading " + m_source.getFullName()+ ": ";
-                long downloaded = 0;
                 boolean useKB = false;
                 boolean useGB = false;
 
@@ -364,28 +375,38 @@ public void run(final IProgressMonitor monitor) {
                         + "', storing it '"
                         + m_tmpFile.getAbsolutePath() + "'");
 
-                try (BufferedInputStream inStream = new BufferedInputStream(in, 1024 * 1024);
-                        FileOutputStream outStream = new FileOutputStream(m_tmpFile)) {
-                    int b;
-                    byte[] buffer = new byte[1024 * 1024];
-                    while ((b = inStream.read(buffer)) >= 0) {
-                        outStream.write(buffer, 0, b);
-                        if (monitor != null) {
-                            monitor.worked(b >> 10);
-                            downloaded += b;
-                            monitor.setTaskName(taskMessage
-                                + (useKB ? (downloaded >> 10) + " kB" : getDecimalSize(downloaded >> 10, useGB))
-                                + size);
-                            if (monitor.isCanceled()) {
-                                m_cancel.set(true);
+                final long length = in.length();
+                final boolean useRanges = length > 0 && in.supportsRanges();
+                if (useRanges) {
+                    // fetch byte ranges in parallel, failed ranges are resumed instead of restarting the download
+                    final String sizeMsg = size;
+                    final boolean kb = useKB;
+                    final boolean gb = useGB;
+                    final long[] reported = new long[1];
+                    final RangedDownload ranged =
+                        new RangedDownload(in, length, m_tmpFile, RangedDownload.DEFAULT_PARALLELISM);
+                    final boolean completed =
+                        ranged.run(() -> m_cancel.get() || (monitor != null && monitor.isCanceled()), total -> {
+                            if (monitor != null && total > reported[0]) {
+                                monitor.worked((int)((total >> 10) - (reported[0] >> 10)));
+                                reported[0] = total;
+                                monitor.setTaskName(taskMessage
+                                    + (kb ? (total >> 10) + " kB" : getDecimalSize(total >> 10, gb)) + sizeMsg);
                             }
-                        }
-                        if (m_cancel.get()) {
-                            m_tmpFile.delete();
-                            m_tmpFile = null;
-                            m_errorMsg = "Canceled.";
-                            return;
-                        }
+                        });
+                    if (!completed) {
+                        m_cancel.set(true);
+                        m_tmpFile.delete();
+                        m_tmpFile = null;
+                        m_errorMsg = "Canceled.";
+                        in.close();
+                        return;
+                    }
+                    RangedDownload.verifyChecksum(in, m_tmpFile);
+                } else {
+                    downloadStream(in, monitor, taskMessage, size, useKB, useGB);
+                    if (m_tmpFile == null) {
+                        return;
                     }
                 }
                 m_errorMsg = null;
@@ -409,7 +430,14 @@ public void run(final IProgressMonitor monitor) {
                             "Could not download all contained files due to "
                             + "missing permissions. Skipped items:", null);
                 }
+                if (useRanges) {
+                    // the stream itself was not consumed
+                    in.close();
+                }
             } catch (Throwable e) {
+                if (m_tmpFile != null) {
+                    m_tmpFile.delete();
+                }
                 m_tmpFile = null;
                 m_errorMsg = e.getMessage();
             } finally {
@@ -417,6 +445,45 @@ public void run(final IProgressMonitor monitor) {
             }
         }
 
+        /**
+         * Copies the download stream sequentially into the temp file. Sets the temp file to null if canceled.
+         */
+        private void downloadStream(final RemoteDownloadStream in, final IProgressMonitor monitor,
+            final String taskMessage, final String size, final boolean useKB, final boolean useGB) throws IOException {
+            final MessageDigest digest = RangedDownload.createDigest(in);
+            long downloaded = 0;
+            try (BufferedInputStream inStream = new BufferedInputStream(in, 1024 * 1024);
+                    FileOutputStream outStream = new FileOutputStream(m_tmpFile)) {
+                int b;
+                byte[] buffer = new byte[1024 * 1024];
+                while ((b = inStream.read(buffer)) >= 0) {
+                    outStream.write(buffer, 0, b);
+                    if (digest != null) {
+                        digest.update(buffer, 0, b);
+                    }
+                    if (monitor != null) {
+                        monitor.worked(b >> 10);
+                        downloaded += b;
+                        monitor.setTaskName(taskMessage
+                            + (useKB ? (downloaded >> 10) + " kB" : getDecimalSize(downloaded >> 10, useGB))
+                            + size);
+                        if (monitor.isCanceled()) {
+                            m_cancel.set(true);
+                        }
+                    }
+                    if (m_cancel.get()) {
+                        m_tmpFile.delete();
+                        m_tmpFile = null;
+                        m_errorMsg = "Canceled.";
+                        return;
+                    }
+                }
+            }
+            if (digest != null) {
+                RangedDownload.verifyChecksum(in, digest);
+            }
+        }
+
         /**
          * Gets the size of the file with the first decimal digit.
          *
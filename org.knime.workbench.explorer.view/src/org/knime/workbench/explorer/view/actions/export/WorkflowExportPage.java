@@ -69,6 +69,7 @@
 import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.layout.GridLayout;
 import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Combo;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.FileDialog;
 import org.eclipse.swt.widgets.Group;
@@ -90,6 +91,10 @@
  */
 public class WorkflowExportPage extends WizardPage {
 
+    /** Labels of the compression levels, the index is the level. */
+    private static final String[] COMPRESSION_LEVELS = {"0 (no compression)", "1 (fastest)", "2", "3", "4", "5",
+        "6", "7", "8", "9 (smallest archive)"};
+
     private static final String[] FILTER_EXTENSION =
         {"*." + KNIMEConstants.KNIME_ARCHIVE_FILE_EXTENSION + ";*." + KNIMEConstants.KNIME_WORKFLOW_FILE_EXTENSION};
 
@@ -99,6 +104,8 @@ public class WorkflowExportPage extends WizardPage {
 
     private Button m_excludeData;
 
+    private Combo m_compressionLevel;
+
     private AbstractExplorerFileStore m_selection;
 
     private ExplorerFileStoreProvider m_provider;
@@ -212,6 +219,19 @@ public void widgetSelected(final SelectionEvent e) {
         m_excludeData.setSelection(true);
         m_excludeData.setText("Reset Workflow(s) before export");
 
+        final Composite compressionComp = new Composite(group, SWT.NONE);
+        final GridLayout compressionLayout = new GridLayout(2, false);
+        compressionLayout.marginWidth = 0;
+        compressionComp.setLayout(compressionLayout);
+        new Label(compressionComp, SWT.NONE).setText("Compression level:");
+        m_compressionLevel = new Combo(compressionComp, SWT.READ_ONLY | SWT.DROP_DOWN);
+        for (int i = 0; i < COMPRESSION_LEVELS.length; i++) {
+            m_compressionLevel.add(COMPRESSION_LEVELS[i]);
+        }
+        m_compressionLevel.select(WorkflowExporter.DEFAULT_COMPRESSION_LEVEL);
+        m_compressionLevel.setToolTipText("Higher levels create smaller archives but take longer. "
+            + "Files that are compressed already (e.g. images, archives) are always stored as they are.");
+
         createTreeViewer(container);
 
         initialize();
@@ -288,6 +308,16 @@ private void initialize() {
             if (lastSelected != null && !lastSelected.isEmpty()) {
                 lastSelectedTargetLocation = lastSelected;
             }
+            if (settings.get(KEY_COMPRESSION_LEVEL) != null) {
+                try {
+                    int level = settings.getInt(KEY_COMPRESSION_LEVEL);
+                    if (level >= 0 && level < COMPRESSION_LEVELS.length) {
+                        m_compressionLevel.select(level);
+                    }
+                } catch (NumberFormatException nfe) {
+                    // keep the default
+                }
+            }
         }
         if (sel != null) {
             m_containerText.setText(sel.getMountIDWithFullPath());
@@ -391,6 +421,13 @@ boolean excludeData() {
         return m_excludeData.getSelection();
     }
 
+    /**
+     * @return the selected compression level, 0 (no compression) to 9 (best compression)
+     */
+    int getCompressionLevel() {
+        return m_compressionLevel.getSelectionIndex();
+    }
+
     /**
      * Uses the standard file selection dialog to choose the export file name.
      */
@@ -553,6 +590,8 @@ public String getFileName() {
 
     private static final String KEY_LOC = "destination-location";
 
+    private static final String KEY_COMPRESSION_LEVEL = "compression-level";
+
     /**
      * Saves the last selected location (the parent of the last export file).
      *
@@ -563,6 +602,7 @@ public void saveDialogSettings() {
         IDialogSettings settings = getDialogSettings();
         if (settings != null) {
             settings.put(KEY_LOC, lastSelectedTargetLocation);
+            settings.put(KEY_COMPRESSION_LEVEL, getCompressionLevel());
         }
     }
 
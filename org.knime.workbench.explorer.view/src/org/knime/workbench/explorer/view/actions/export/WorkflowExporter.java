@@ -88,6 +88,15 @@ public final class WorkflowExporter {
 
     private final File m_exportFile;
 
+    private final int m_compressionLevel;
+
+    /**
+     * The default compression level (best compression).
+     *
+     * @since 8.7
+     */
+    public static final int DEFAULT_COMPRESSION_LEVEL = Zipper.COMPR_LEVEL;
+
     /**
      * @param exportFile
      * @param commonParent
@@ -96,10 +105,28 @@ public final class WorkflowExporter {
      */
     public WorkflowExporter(final File exportFile, final AbstractExplorerFileStore commonParent,
         final Collection<AbstractExplorerFileStore> elementsToExport, final boolean excludeData) {
+        this(exportFile, commonParent, elementsToExport, excludeData, DEFAULT_COMPRESSION_LEVEL);
+    }
+
+    /**
+     * @param exportFile
+     * @param commonParent
+     * @param elementsToExport
+     * @param excludeData
+     * @param compressionLevel the compression level, 0 (no compression) to 9 (best compression); files that are
+     *            already compressed are always stored
+     * @since 8.7
+     */
+    public WorkflowExporter(final File exportFile, final AbstractExplorerFileStore commonParent,
+        final Collection<AbstractExplorerFileStore> elementsToExport, final boolean excludeData,
+        final int compressionLevel) {
         m_commonParent = CheckUtils.checkArgumentNotNull(commonParent);
         m_exportFile = CheckUtils.checkArgumentNotNull(exportFile);
         m_excludeData = CheckUtils.checkArgumentNotNull(excludeData);
         m_elementsToExport = CheckUtils.checkArgumentNotNull(elementsToExport);
+        CheckUtils.checkArgument(compressionLevel >= 0 && compressionLevel <= 9,
+            "Invalid compression level: %d", compressionLevel);
+        m_compressionLevel = compressionLevel;
     }
 
     /**
@@ -133,7 +160,8 @@ public void doFinish(final IProgressMonitor monitor) throws CoreException {
                 // keep the common workflow group (if exists) in the archive
                 stripOff = stripOff - 1;
             }
-            Zipper.zipFiles(resourceList, m_exportFile, stripOff, sub);
+            Zipper.zipFiles(resourceList, m_exportFile, stripOff, m_compressionLevel,
+                Runtime.getRuntime().availableProcessors(), sub);
 
         } catch (final IOException t) {
             LOGGER.debug("Export of KNIME workflow(s) failed: " + t.getMessage(), t);
@@ -0,0 +1,415 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.workbench.explorer.view.actions.export;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.ZipException;
+
+/**
+ * Minimal ZIP archive writer that accepts entry data that has already been compressed (raw deflate) or is stored
+ * as-is. This allows to compress the entries on other threads, which {@link java.util.zip.ZipOutputStream} doesn't.
+ * Writes ZIP64 records if sizes, offsets or the number of entries exceed the limits of the original format.
+ *
+ * <p>
+ * Entries whose size or CRC is not known when their data starts are written with {@link #beginEntry(String, long,
+ * boolean, long)}, {@link #write(byte[], int, int)} and {@link #endEntry(long, long)}; the local header is patched
+ * once the entry is complete.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class ZipArchiveWriter implements Closeable {
+
+    private static final int LOCAL_HEADER_SIG = 0x04034b50;
+
+    private static final int CENTRAL_HEADER_SIG = 0x02014b50;
+
+    private static final int END_SIG = 0x06054b50;
+
+    private static final int ZIP64_END_SIG = 0x06064b50;
+
+    private static final int ZIP64_LOCATOR_SIG = 0x07064b50;
+
+    private static final int ZIP64_EXTRA_ID = 0x0001;
+
+    private static final long MAX_32 = 0xFFFFFFFFL;
+
+    private static final int MAX_16 = 0xFFFF;
+
+    /** Language encoding flag, entry names are UTF-8. */
+    private static final int FLAG_UTF8 = 1 << 11;
+
+    private static final int METHOD_STORED = 0;
+
+    private static final int METHOD_DEFLATED = 8;
+
+    /**
+     * Entries with an expected size above this get ZIP64 local headers when their final size is not known in advance;
+     * the margin covers deflate's worst case expansion.
+     */
+    static final long ZIP64_THRESHOLD = 0xF0000000L;
+
+    private final FileChannel m_channel;
+
+    private final OutputStream m_out;
+
+    private final ByteBuffer m_header = ByteBuffer.allocate(128 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+
+    private final List<CentralEntry> m_entries = new ArrayList<>();
+
+    private final Set<String> m_names = new HashSet<>();
+
+    private long m_position;
+
+    /** the entry started with beginEntry, null if none. */
+    private CentralEntry m_current;
+
+    private static final class CentralEntry {
+        private final byte[] m_name;
+
+        private final int m_dosTime;
+
+        private final int m_method;
+
+        private final long m_offset;
+
+        private final boolean m_zip64Local;
+
+        private long m_crc;
+
+        private long m_compressedSize;
+
+        private long m_size;
+
+        CentralEntry(final byte[] name, final int dosTime, final int method, final long offset,
+            final boolean zip64Local) {
+            m_name = name;
+            m_dosTime = dosTime;
+            m_method = method;
+            m_offset = offset;
+            m_zip64Local = zip64Local;
+        }
+    }
+
+    /**
+     * Creates the archive file, replacing an existing file.
+     *
+     * @param file the archive file
+     * @throws IOException if the file can't be created
+     */
+    ZipArchiveWriter(final File file) throws IOException {
+        m_channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+        m_out = new BufferedOutputStream(Channels.newOutputStream(m_channel), 1 << 16);
+    }
+
+    /**
+     * Writes a complete entry.
+     *
+     * @param name the entry name, directories end with '/'
+     * @param time the modification time in milliseconds
+     * @param deflated true if the data is raw deflate data, false if it is stored
+     * @param crc the CRC-32 of the uncompressed data
+     * @param size the uncompressed size
+     * @param data the (compressed) data
+     * @param off offset of the data in the array
+     * @param len length of the (compressed) data
+     * @throws IOException if writing fails or the name is a duplicate
+     */
+    void writeEntry(final String name, final long time, final boolean deflated, final long crc, final long size,
+        final byte[] data, final int off, final int len) throws IOException {
+        CentralEntry e = newEntry(name, time, deflated, size >= MAX_32 || len >= MAX_32);
+        e.m_crc = crc;
+        e.m_compressedSize = len;
+        e.m_size = size;
+        writeLocalHeader(e);
+        write(data, off, len);
+        m_entries.add(e);
+    }
+
+    /**
+     * Starts an entry whose CRC and sizes are provided by {@link #endEntry(long, long)}.
+     *
+     * @param name the entry name
+     * @param time the modification time in milliseconds
+     * @param deflated true if the data is raw deflate data, false if it is stored
+     * @param expectedSize the expected uncompressed size, determines whether ZIP64 sizes are used
+     * @throws IOException if writing fails or the name is a duplicate
+     */
+    void beginEntry(final String name, final long time, final boolean deflated, final long expectedSize)
+        throws IOException {
+        if (m_current != null) {
+            throw new IllegalStateException("Entry " + new String(m_current.m_name, StandardCharsets.UTF_8)
+                + " not finished");
+        }
+        m_current = newEntry(name, time, deflated, expectedSize >= ZIP64_THRESHOLD);
+        writeLocalHeader(m_current);
+    }
+
+    /**
+     * Writes (compressed) data of the current entry.
+     *
+     * @param data the data
+     * @param off the offset
+     * @param len the length
+     * @throws IOException if writing fails
+     */
+    void write(final byte[] data, final int off, final int len) throws IOException {
+        m_out.write(data, off, len);
+        m_position += len;
+    }
+
+    /**
+     * Completes the entry started with {@link #beginEntry(String, long, boolean, long)}.
+     *
+     * @param crc the CRC-32 of the uncompressed data
+     * @param size the uncompressed size
+     * @throws IOException if writing fails or the entry exceeds 4GB without a ZIP64 header
+     */
+    void endEntry(final long crc, final long size) throws IOException {
+        CentralEntry e = m_current;
+        m_current = null;
+        e.m_crc = crc;
+        e.m_size = size;
+        e.m_compressedSize = m_position - e.m_offset - 30 - e.m_name.length - (e.m_zip64Local ? 20 : 0);
+        if (!e.m_zip64Local && (size >= MAX_32 || e.m_compressedSize >= MAX_32)) {
+            throw new ZipException("Entry " + new String(e.m_name, StandardCharsets.UTF_8)
+                + " is larger than expected (" + size + " bytes)");
+        }
+        // patch crc and sizes in the local header
+        m_out.flush();
+        ByteBuffer patch = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+        patch.putInt((int)crc).flip();
+        writeFully(patch, e.m_offset + 14);
+        patch.clear();
+        if (e.m_zip64Local) {
+            patch.putLong(size).putLong(e.m_compressedSize).flip();
+            writeFully(patch, e.m_offset + 30 + e.m_name.length + 4);
+        } else {
+            patch.putInt((int)e.m_compressedSize).putInt((int)size).flip();
+            writeFully(patch, e.m_offset + 18);
+        }
+        m_entries.add(e);
+    }
+
+    private void writeFully(final ByteBuffer buffer, final long position) throws IOException {
+        long pos = position;
+        while (buffer.hasRemaining()) {
+            pos += m_channel.write(buffer, pos);
+        }
+    }
+
+    private CentralEntry newEntry(final String name, final long time, final boolean deflated,
+        final boolean zip64Local) throws IOException {
+        if (!m_names.add(name)) {
+            throw new ZipException("duplicate entry: " + name);
+        }
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        if (nameBytes.length > MAX_16) {
+            throw new ZipException("Entry name too long: " + name);
+        }
+        return new CentralEntry(nameBytes, toDosTime(time), deflated ? METHOD_DEFLATED : METHOD_STORED, m_position,
+            zip64Local);
+    }
+
+    private void writeLocalHeader(final CentralEntry e) throws IOException {
+        int version = e.m_zip64Local ? 45 : 20;
+        ByteBuffer h = m_header;
+        h.clear();
+        h.putInt(LOCAL_HEADER_SIG);
+        h.putShort((short)version);
+        h.putShort((short)FLAG_UTF8);
+        h.putShort((short)e.m_method);
+        h.putInt(e.m_dosTime);
+        h.putInt((int)e.m_crc);
+        if (e.m_zip64Local) {
+            h.putInt((int)MAX_32);
+            h.putInt((int)MAX_32);
+        } else {
+            h.putInt((int)e.m_compressedSize);
+            h.putInt((int)e.m_size);
+        }
+        h.putShort((short)e.m_name.length);
+        h.putShort((short)(e.m_zip64Local ? 20 : 0));
+        h.put(e.m_name);
+        if (e.m_zip64Local) {
+            h.putShort((short)ZIP64_EXTRA_ID);
+            h.putShort((short)16);
+            h.putLong(e.m_size);
+            h.putLong(e.m_compressedSize);
+        }
+        writeHeader();
+    }
+
+    private void writeHeader() throws IOException {
+        m_out.write(m_header.array(), 0, m_header.position());
+        m_position += m_header.position();
+    }
+
+    /**
+     * Writes the central directory and closes the file.
+     *
+     * @throws IOException if writing fails
+     */
+    void finish() throws IOException {
+        final long cdOffset = m_position;
+        for (CentralEntry e : m_entries) {
+            boolean sizeOverflow = e.m_size >= MAX_32;
+            boolean compressedSizeOverflow = e.m_compressedSize >= MAX_32;
+            boolean offsetOverflow = e.m_offset >= MAX_32;
+            int extraLength =
+                (sizeOverflow ? 8 : 0) + (compressedSizeOverflow ? 8 : 0) + (offsetOverflow ? 8 : 0);
+            boolean zip64 = extraLength > 0 || e.m_zip64Local;
+            int version = zip64 ? 45 : 20;
+            ByteBuffer h = m_header;
+            h.clear();
+            h.putInt(CENTRAL_HEADER_SIG);
+            h.putShort((short)version); // made by
+            h.putShort((short)version); // needed to extract
+            h.putShort((short)FLAG_UTF8);
+            h.putShort((short)e.m_method);
+            h.putInt(e.m_dosTime);
+            h.putInt((int)e.m_crc);
+            h.putInt((int)(compressedSizeOverflow ? MAX_32 : e.m_compressedSize));
+            h.putInt((int)(sizeOverflow ? MAX_32 : e.m_size));
+            h.putShort((short)e.m_name.length);
+            h.putShort((short)(extraLength > 0 ? extraLength + 4 : 0));
+            h.putShort((short)0); // comment length
+            h.putShort((short)0); // disk number
+            h.putShort((short)0); // internal attributes
+            h.putInt(0); // external attributes
+            h.putInt((int)(offsetOverflow ? MAX_32 : e.m_offset));
+            h.put(e.m_name);
+            if (extraLength > 0) {
+                h.putShort((short)ZIP64_EXTRA_ID);
+                h.putShort((short)extraLength);
+                if (sizeOverflow) {
+                    h.putLong(e.m_size);
+                }
+                if (compressedSizeOverflow) {
+                    h.putLong(e.m_compressedSize);
+                }
+                if (offsetOverflow) {
+                    h.putLong(e.m_offset);
+                }
+            }
+            writeHeader();
+        }
+        final long cdSize = m_position - cdOffset;
+        final int count = m_entries.size();
+        ByteBuffer h = m_header;
+        h.clear();
+        if (count >= MAX_16 || cdOffset >= MAX_32 || cdSize >= MAX_32) {
+            final long zip64EndOffset = m_position;
+            h.putInt(ZIP64_END_SIG);
+            h.putLong(44); // size of the remaining record
+            h.putShort((short)45);
+            h.putShort((short)45);
+            h.putInt(0);
+            h.putInt(0);
+            h.putLong(count);
+            h.putLong(count);
+            h.putLong(cdSize);
+            h.putLong(cdOffset);
+            h.putInt(ZIP64_LOCATOR_SIG);
+            h.putInt(0);
+            h.putLong(zip64EndOffset);
+            h.putInt(1);
+        }
+        h.putInt(END_SIG);
+        h.putShort((short)0);
+        h.putShort((short)0);
+        h.putShort((short)Math.min(count, MAX_16));
+        h.putShort((short)Math.min(count, MAX_16));
+        h.putInt((int)Math.min(cdSize, MAX_32));
+        h.putInt((int)Math.min(cdOffset, MAX_32));
+        h.putShort((short)0); // comment length
+        writeHeader();
+        close();
+    }
+
+    /**
+     * Closes the file without writing the central directory (if called before {@link #finish()}).
+     */
+    @Override
+    public void close() throws IOException {
+        if (m_channel.isOpen()) {
+            try {
+                m_out.flush();
+            } finally {
+                m_channel.close();
+            }
+        }
+    }
+
+    /** Converts a Java time to the MS-DOS date/time format used in ZIP headers. */
+    private static int toDosTime(final long time) {
+        LocalDateTime d = LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault());
+        if (d.getYear() < 1980) {
+            return (1 << 21) | (1 << 16); // 1980-01-01 00:00
+        }
+        return ((d.getYear() - 1980) << 25) | (d.getMonthValue() << 21) | (d.getDayOfMonth() << 16)
+            | (d.getHour() << 11) | (d.getMinute() << 5) | (d.getSecond() >> 1);
+    }
+}
@@ -47,16 +47,25 @@
  */
 package org.knime.workbench.explorer.view.actions.export;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
 
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.core.runtime.IPath;
@@ -65,14 +74,127 @@
 import org.eclipse.core.runtime.Path;
 
 /**
+ * Creates ZIP archives. Files are split into chunks that are deflated independently on worker threads (each chunk
+ * uses the end of its predecessor as dictionary, so the compression ratio hardly suffers) and written to the archive
+ * in the original order. Files that are already compressed, judged by their extension or a sample of their content,
+ * are stored instead of deflated.
  *
  * @author ohl, University of Konstanz
  */
 final class Zipper {
 
-    private static final int BUFFSIZE = 1024 * 2048;
+    /** The default compression level (best compression). */
+    static final int COMPR_LEVEL = 9;
 
-    private static final int COMPR_LEVEL = 9;
+    /** Size of the independently compressed chunks. */
+    private static final int CHUNK_SIZE = 1024 * 1024;
+
+    /** The deflate window size, the tail of a chunk of this size is the dictionary of the next chunk. */
+    private static final int DICT_SIZE = 32 * 1024;
+
+    /** Amount of data compressed to test whether a large file is compressible at all. */
+    private static final int SAMPLE_SIZE = 64 * 1024;
+
+    /** Extensions of files whose content is compressed already. */
+    private static final Set<String> STORED_EXTENSIONS = Set.of("zip", "gz", "tgz", "bz2", "xz", "zst", "lz4", "7z",
+        "rar", "jar", "knwf", "knar", "parquet", "orc", "snappy", "png", "jpg", "jpeg", "gif", "webp", "mp3", "mp4",
+        "mov", "avi", "mkv", "ogg", "docx", "xlsx", "pptx", "odt", "ods", "odp");
+
+    private final ZipArchiveWriter m_zout;
+
+    private final File m_outputFile;
+
+    private final ExecutorService m_executor;
+
+    private final IProgressMonitor m_monitor;
+
+    private final int m_level;
+
+    private final int m_maxPending;
+
+    private final ArrayDeque<Chunk> m_pending = new ArrayDeque<>();
+
+    /** CRC of the data of the current multi-chunk entry written so far. */
+    private long m_crc;
+
+    /** Size of the data of the current multi-chunk entry written so far. */
+    private long m_size;
+
+    /** Progress (in megabytes) reported for the current entry so far. */
+    private int m_worked;
+
+    /** A chunk of an entry, compressed asynchronously. */
+    private static final class Chunk {
+        private final String m_entryName;
+
+        private final long m_time;
+
+        private final long m_expectedSize;
+
+        private final boolean m_first;
+
+        private final boolean m_last;
+
+        private final Future<Compressed> m_result;
+
+        Chunk(final String entryName, final long time, final long expectedSize, final boolean first,
+            final boolean last, final Future<Compressed> result) {
+            m_entryName = entryName;
+            m_time = time;
+            m_expectedSize = expectedSize;
+            m_first = first;
+            m_last = last;
+            m_result = result;
+        }
+    }
+
+    /** The result of compressing a chunk. */
+    private static final class Compressed {
+        private static final Compressed EMPTY = new Compressed(new byte[0], 0, new CRC32().getValue(), 0, false);
+
+        private final byte[] m_data;
+
+        private final int m_length;
+
+        private final long m_crc;
+
+        private final int m_size;
+
+        private final boolean m_deflated;
+
+        Compressed(final byte[] data, final int length, final long crc, final int size, final boolean deflated) {
+            m_data = data;
+            m_length = length;
+            m_crc = crc;
+            m_size = size;
+            m_deflated = deflated;
+        }
+    }
+
+    private Zipper(final ZipArchiveWriter zout, final File outputFile, final ExecutorService executor,
+        final int threads, final int level, final IProgressMonitor monitor) {
+        m_zout = zout;
+        m_outputFile = outputFile;
+        m_executor = executor;
+        m_level = level;
+        m_monitor = monitor;
+        m_maxPending = 2 * threads + 2;
+    }
+
+    /**
+     * Compresses multiple files into one archive with the best compression using all available processors.
+     *
+     * @param files files to add to the archive
+     * @param outputFile the compressed output archive
+     * @param stripOff number of leading path segments to strip off
+     * @param mon to report progress and check for cancellation (can be null)
+     * @throws IOException if an an I/O error occurred or the user canceled
+     * @see #zipFiles(Collection, File, int, int, int, IProgressMonitor)
+     */
+    public static void zipFiles(final Collection<File> files, final File outputFile, final int stripOff,
+        final IProgressMonitor mon) throws IOException {
+        zipFiles(files, outputFile, stripOff, COMPR_LEVEL, Runtime.getRuntime().availableProcessors(), mon);
+    }
 
     /**
      * Compresses multiple files into one archive. Allows for removing leading path segments of each file's path.
@@ -82,35 +204,36 @@ final class Zipper {
      * @param outputFile the compressed output archive
      * @param stripOff number of segments in the path of each file that are stripped off before storing (if zero or
      *            negative nothing is stripped off). The device is always removed.
+     * @param level the compression level, 0 (store all files) to 9 (best compression)
+     * @param threads the number of threads compressing in parallel
      * @param mon to report progress and check for cancellation (can be null)
      * @throws IOException if an an I/O error occurred, the user canceled, one of the specified didn't exist or anything
      *             else went wrong. It tries to delete the partially created output file before then.
      */
     public static void zipFiles(final Collection<File> files, final File outputFile, final int stripOff,
-        final IProgressMonitor mon) throws IOException {
-
+        final int level, final int threads, final IProgressMonitor mon) throws IOException {
+        if (level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Invalid compression level: " + level);
+        }
         IProgressMonitor monitor = mon;
         if (monitor == null) {
             monitor = new NullProgressMonitor();
         }
 
-        byte[] buf = new byte[BUFFSIZE];
         IOException ioException = null;
-
-        try (FileOutputStream outStream = new FileOutputStream(outputFile);
-                ZipOutputStream zout = new ZipOutputStream(new BufferedOutputStream(outStream, BUFFSIZE))) {
+        ExecutorService executor = null;
+        try (ZipArchiveWriter zout = new ZipArchiveWriter(outputFile)) {
             if (files.size() == 0) {
-                // cleanup done in the finally block
+                zout.finish();
                 return;
             }
 
-            zout.setLevel(COMPR_LEVEL);
             if (mon != null) {
                 // set the overall progress to the overall megabyte
                 int wrk = 0;
                 int nrFiles = 0;
                 for (File f : files) {
-                    if (!f.isDirectory()) {
+                    if (f != null && !f.isDirectory()) {
                         int megaBytes = (int)(f.length() >>> 20);
                         wrk += megaBytes + 1;
                         nrFiles += 1;
@@ -118,17 +241,14 @@ public static void zipFiles(final Collection<File> files, final File outputFile,
                 }
                 monitor.beginTask("Compressing " + nrFiles + " files...", wrk);
             }
+            int nrThreads = Math.max(1, threads);
+            executor = createExecutor(nrThreads);
+            Zipper zipper = new Zipper(zout, outputFile, executor, nrThreads, level, monitor);
             for (File f : files) {
                 if (f == null) {
-                    ioException = new IOException("Illegal file in archive list: <null>!");
-                    // cleanup done in the finally block
-                    return;
-                }
-                if (monitor.isCanceled()) {
-                    ioException = new IOException("Canceled.");
-                    // cleanup done in the finally block
-                    return;
+                    throw new IOException("Illegal file in archive list: <null>!");
                 }
+                zipper.checkCanceled();
 
                 IPath path = new Path(f.getAbsolutePath()).setDevice(null);
                 if (stripOff > 0 && path.segmentCount() > stripOff) {
@@ -137,40 +257,26 @@ public static void zipFiles(final Collection<File> files, final File outputFile,
                 String entryName = path.makeRelative().toString();
                 if (f.isDirectory()) {
                     // mostly for empty directories (but non-empty dirs are accepted also)
-                    zout.putNextEntry(new ZipEntry(StringUtils.appendIfMissing(entryName, "/")));
-                    zout.closeEntry();
+                    zipper.addEmpty(StringUtils.appendIfMissing(entryName, "/"), f.lastModified());
                 } else if (f.length() == 0) {
                     // this is mainly for the .knimeLock file of open workflows; the file is locked and windows forbids
                     // mmap-ing locked files but FileInputStream seems to mmap files which leads to exceptions while
                     // reading the (non-existing) contents of the file
-                    zout.putNextEntry(new ZipEntry(entryName));
-                    zout.closeEntry();
+                    zipper.addEmpty(entryName, f.lastModified());
                 } else {
-                    try (InputStream in = new BufferedInputStream(new FileInputStream(f), BUFFSIZE)) {
-                        zout.putNextEntry(new ZipEntry(entryName));
-                        int read;
-                        while ((read = in.read(buf)) >= 0) {
-                            if (monitor.isCanceled()) {
-                                ioException = new IOException("Canceled.");
-                                // cleanup done in the finally block
-                                return;
-                            }
-                            zout.write(buf, 0, read);
-                        }
-                    } catch (IOException ioe) {
-                        ioException = new IOException(String.format("Unable to add file \"%s\" to archive \"%s\": %s",
-                            f.getAbsolutePath(), outputFile.getAbsoluteFile(), ioe.getMessage()), ioe);
-
-                    } finally {
-                        zout.closeEntry();
-                    }
+                    zipper.addFile(f, entryName);
                 }
-                int megaBytes = (int)(f.length() >>> 20);
-                monitor.worked(megaBytes + 1);
             }
+            while (!zipper.m_pending.isEmpty()) {
+                zipper.writeNext();
+            }
+            zout.finish();
         } catch (IOException ioe) {
             ioException = ioe; // catch it to have variable assigned for finally block
         } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
             monitor.done();
             if (ioException != null) {
                 outputFile.delete();
@@ -179,4 +285,284 @@ public static void zipFiles(final Collection<File> files, final File outputFile,
         }
 
     }
+
+    private static ExecutorService createExecutor(final int threads) {
+        return Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private final AtomicInteger m_threadCounter = new AtomicInteger();
+
+            @Override
+            public Thread newThread(final Runnable r) {
+                Thread t = new Thread(r, "KNIME Workflow Export-" + m_threadCounter.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+
+    private void checkCanceled() throws IOException {
+        if (m_monitor.isCanceled()) {
+            throw new IOException("Canceled.");
+        }
+    }
+
+    private void addEmpty(final String entryName, final long time) throws IOException {
+        enqueue(new Chunk(entryName, time, 0, true, true, CompletableFuture.completedFuture(Compressed.EMPTY)));
+    }
+
+    private void addFile(final File f, final String entryName) throws IOException {
+        final long length = f.length();
+        final long time = f.lastModified();
+        boolean deflate = m_level > 0 && !STORED_EXTENSIONS.contains(getExtension(f.getName()));
+        try (InputStream in = open(f)) {
+            byte[] cur = readChunk(in, f);
+            if (cur == null) {
+                // truncated in the meantime
+                addEmpty(entryName, time);
+                return;
+            }
+            byte[] next = readChunk(in, f);
+            if (deflate && next != null) {
+                // the compression method of large files can't be changed later, so test it beforehand
+                deflate = isCompressible(cur);
+            }
+            byte[] dict = null;
+            boolean first = true;
+            while (cur != null) {
+                checkCanceled();
+                final byte[] data = cur;
+                final byte[] dictionary = dict;
+                final boolean last = next == null;
+                final boolean single = first && last;
+                final boolean compress = deflate;
+                enqueue(new Chunk(entryName, time, length, first, last,
+                    m_executor.submit(() -> compress(data, dictionary, compress, last, single, m_level))));
+                if (deflate) {
+                    dict = Arrays.copyOfRange(cur, Math.max(0, cur.length - DICT_SIZE), cur.length);
+                }
+                first = false;
+                cur = next;
+                next = cur == null ? null : readChunk(in, f);
+            }
+        }
+    }
+
+    private InputStream open(final File f) throws IOException {
+        try {
+            return new FileInputStream(f);
+        } catch (FileNotFoundException fnfe) {
+            throw readError(f, fnfe);
+        }
+    }
+
+    /** Reads the next chunk of the file, returns null at its end. */
+    private byte[] readChunk(final InputStream in, final File f) throws IOException {
+        byte[] buf = new byte[CHUNK_SIZE];
+        int length = 0;
+        try {
+            int read;
+            while (length < buf.length && (read = in.read(buf, length, buf.length - length)) >= 0) {
+                length += read;
+            }
+        } catch (IOException ioe) {
+            throw readError(f, ioe);
+        }
+        if (length == 0) {
+            return null;
+        }
+        return length == buf.length ? buf : Arrays.copyOf(buf, length);
+    }
+
+    private IOException readError(final File f, final IOException ioe) {
+        return new IOException(String.format("Unable to add file \"%s\" to archive \"%s\": %s", f.getAbsolutePath(),
+            m_outputFile.getAbsoluteFile(), ioe.getMessage()), ioe);
+    }
+
+    /** Adds a chunk to the queue, writes out finished chunks if the queue is full. */
+    private void enqueue(final Chunk chunk) throws IOException {
+        m_pending.add(chunk);
+        while (m_pending.size() > m_maxPending) {
+            writeNext();
+        }
+    }
+
+    /** Waits for the oldest chunk and writes it to the archive. */
+    private void writeNext() throws IOException {
+        Chunk c = m_pending.poll();
+        Compressed r;
+        try {
+            r = c.m_result.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Canceled.", ie);
+        } catch (ExecutionException ee) {
+            Throwable cause = ee.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException)cause;
+            }
+            throw new IOException("Unable to compress \"" + c.m_entryName + "\": " + cause.getMessage(), cause);
+        }
+        if (c.m_first && c.m_last) {
+            m_zout.writeEntry(c.m_entryName, c.m_time, r.m_deflated, r.m_crc, r.m_size, r.m_data, 0, r.m_length);
+        } else {
+            if (c.m_first) {
+                m_zout.beginEntry(c.m_entryName, c.m_time, r.m_deflated, c.m_expectedSize);
+                m_crc = 0;
+                m_size = 0;
+                m_worked = 0;
+            }
+            m_zout.write(r.m_data, 0, r.m_length);
+            m_crc = crc32Combine(m_crc, r.m_crc, r.m_size);
+            m_size += r.m_size;
+            if (c.m_last) {
+                m_zout.endEntry(m_crc, m_size);
+            } else {
+                m_monitor.worked(1);
+                m_worked++;
+            }
+        }
+        if (c.m_last && !c.m_entryName.endsWith("/")) {
+            int megaBytes = (int)(c.m_expectedSize >>> 20);
+            m_monitor.worked(Math.max(0, megaBytes + 1 - m_worked));
+            m_worked = 0;
+        }
+    }
+
+    /**
+     * Compresses a chunk (run on the worker threads).
+     *
+     * @param data the uncompressed data
+     * @param dict the preceding data of the same entry, or null
+     * @param deflate false if the data is to be stored
+     * @param last whether it is the last chunk of the entry
+     * @param single whether it is the only chunk of the entry, in which case it is stored if deflating doesn't help
+     * @param level the compression level
+     */
+    private static Compressed compress(final byte[] data, final byte[] dict, final boolean deflate,
+        final boolean last, final boolean single, final int level) {
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length);
+        if (!deflate) {
+            return new Compressed(data, data.length, crc.getValue(), data.length, false);
+        }
+        Deflater def = new Deflater(level, true);
+        try {
+            if (dict != null) {
+                def.setDictionary(dict);
+            }
+            def.setInput(data);
+            byte[] out = new byte[data.length + (data.length >> 3) + 64];
+            int length = 0;
+            if (last) {
+                def.finish();
+                while (!def.finished()) {
+                    if (length == out.length) {
+                        out = Arrays.copyOf(out, 2 * out.length);
+                    }
+                    length += def.deflate(out, length, out.length - length);
+                }
+            } else {
+                // a sync flush ends the chunk on a byte boundary, so the chunks can be concatenated
+                do {
+                    if (length == out.length) {
+                        out = Arrays.copyOf(out, 2 * out.length);
+                    }
+                    length += def.deflate(out, length, out.length - length, Deflater.SYNC_FLUSH);
+                } while (length == out.length);
+            }
+            if (single && length >= data.length) {
+                return new Compressed(data, data.length, crc.getValue(), data.length, false);
+            }
+            return new Compressed(out, length, crc.getValue(), data.length, true);
+        } finally {
+            def.end();
+        }
+    }
+
+    /** Whether a fast compression of the start of the data saves at least 10%. */
+    private static boolean isCompressible(final byte[] data) {
+        int sampleLength = Math.min(SAMPLE_SIZE, data.length);
+        Deflater def = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            def.setInput(data, 0, sampleLength);
+            def.finish();
+            byte[] out = new byte[sampleLength];
+            int length = 0;
+            while (!def.finished() && length < out.length) {
+                length += def.deflate(out, length, out.length - length);
+            }
+            return def.finished() && length < sampleLength * 0.9;
+        } finally {
+            def.end();
+        }
+    }
+
+    private static String getExtension(final String name) {
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? "" : name.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Computes the CRC-32 of the concatenation of two byte sequences from their CRCs (see zlib's crc32_combine).
+     *
+     * @param crc1 CRC of the first sequence
+     * @param crc2 CRC of the second sequence
+     * @param length2 length of the second sequence
+     * @return the combined CRC
+     */
+    static long crc32Combine(final long crc1, final long crc2, final long length2) {
+        if (length2 <= 0) {
+            return crc1;
+        }
+        long[] even = new long[32]; // even-power-of-two zeros operator
+        long[] odd = new long[32]; // odd-power-of-two zeros operator
+        // operator for one zero bit
+        odd[0] = 0xedb88320L; // CRC-32 polynomial
+        long row = 1;
+        for (int n = 1; n < 32; n++) {
+            odd[n] = row;
+            row <<= 1;
+        }
+        // operator for two and four zero bits
+        gf2MatrixSquare(even, odd);
+        gf2MatrixSquare(odd, even);
+        // apply length2 zero bytes to crc1 (first square puts the operator for one zero byte in even)
+        long crc = crc1;
+        long len = length2;
+        do {
+            gf2MatrixSquare(even, odd);
+            if ((len & 1) != 0) {
+                crc = gf2MatrixTimes(even, crc);
+            }
+            len >>= 1;
+            if (len == 0) {
+                break;
+            }
+            gf2MatrixSquare(odd, even);
+            if ((len & 1) != 0) {
+                crc = gf2MatrixTimes(odd, crc);
+            }
+            len >>= 1;
+        } while (len != 0);
+        return crc ^ crc2;
+    }
+
+    private static long gf2MatrixTimes(final long[] mat, final long vec) {
+        long sum = 0;
+        long v = vec;
+        int i = 0;
+        while (v != 0) {
+            if ((v & 1) != 0) {
+                sum ^= mat[i];
+            }
+            v >>>= 1;
+            i++;
+        }
+        return sum;
+    }
+
+    private static void gf2MatrixSquare(final long[] square, final long[] mat) {
+        for (int n = 0; n < 32; n++) {
+            square[n] = gf2MatrixTimes(mat, mat[n]);
+        }
+    }
 }
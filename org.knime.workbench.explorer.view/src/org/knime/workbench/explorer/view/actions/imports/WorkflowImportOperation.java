@@ -58,6 +58,7 @@
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.zip.ZipEntry;
 
 import org.eclipse.core.filesystem.EFS;
 import org.eclipse.core.runtime.CoreException;
@@ -71,6 +72,7 @@
 import org.eclipse.ui.actions.WorkspaceModifyOperation;
 import org.eclipse.ui.internal.wizards.datatransfer.ArchiveFileManipulations;
 import org.eclipse.ui.internal.wizards.datatransfer.ILeveledImportStructureProvider;
+import org.eclipse.ui.internal.wizards.datatransfer.ZipLeveledStructureProvider;
 import org.knime.core.node.workflow.WorkflowPersistor;
 import org.knime.core.util.FileUtil;
 import org.knime.workbench.explorer.ExplorerMountTable;
@@ -259,7 +261,15 @@ protected void importWorkflowFromArchive(final WorkflowImportElementFromArchive
             } else {
                 tmpDestDir = destination;
             }
-            importArchiveEntry(archiveElement.getProvider(), archiveElement.getEntry(), tmpDestDir, monitor);
+            final ILeveledImportStructureProvider provider = archiveElement.getProvider();
+            // zip entries are extracted in parallel once the directory structure exists
+            final ZipEntryExtractor extractor = provider instanceof ZipLeveledStructureProvider
+                ? new ZipEntryExtractor(((ZipLeveledStructureProvider)provider).getZipFile()) : null;
+            importArchiveEntry(provider, archiveElement.getEntry(), tmpDestDir, extractor, monitor);
+            if (extractor != null) {
+                extractor.extract(monitor);
+                tmpDestDir.refresh();
+            }
             if (destination instanceof RemoteExplorerFileStore) {
                 destination.getContentProvider().performUploadAsync((LocalExplorerFileStore)tmpDestDir,
                     (RemoteExplorerFileStore)destination, true, destination.getContentProvider().isForceResetOnUpload(),
@@ -269,10 +279,11 @@ protected void importWorkflowFromArchive(final WorkflowImportElementFromArchive
     }
 
     /**
-     * Import the entire subtree.
+     * Import the entire subtree. Files are only queued if an extractor is given.
      */
     private void importArchiveEntry(final ILeveledImportStructureProvider importProvider, final Object entry,
-        final AbstractExplorerFileStore destination, final IProgressMonitor monitor) throws IOException {
+        final AbstractExplorerFileStore destination, final ZipEntryExtractor extractor, final IProgressMonitor monitor)
+        throws IOException {
 
         //assert !destination.fetchInfo().exists();
 
@@ -294,22 +305,28 @@ private void importArchiveEntry(final ILeveledImportStructureProvider importProv
 
                 if (!isUnchecked) {
                     AbstractExplorerFileStore childDest = destination.getChild(new Path(path).lastSegment());
-                    importArchiveEntry(importProvider, child, childDest, monitor);
+                    importArchiveEntry(importProvider, child, childDest, extractor, monitor);
                 }
             }
         } else {
-            try (InputStream inStream = importProvider.getContents(entry);
-                    OutputStream outStream = destination.openOutputStream(EFS.NONE, monitor)) {
-                byte[] buffer = new byte[BUFFSIZE];
-                int read;
-                while ((read = inStream.read(buffer)) >= 0) {
-                    if (monitor.isCanceled()) {
-                        throw new IOException("Canceled.");
+            final File localFile =
+                extractor != null && entry instanceof ZipEntry ? toLocalFile(destination) : null;
+            if (localFile != null) {
+                extractor.add((ZipEntry)entry, localFile);
+            } else {
+                try (InputStream inStream = importProvider.getContents(entry);
+                        OutputStream outStream = destination.openOutputStream(EFS.NONE, monitor)) {
+                    byte[] buffer = new byte[BUFFSIZE];
+                    int read;
+                    while ((read = inStream.read(buffer)) >= 0) {
+                        if (monitor.isCanceled()) {
+                            throw new IOException("Canceled.");
+                        }
+                        outStream.write(buffer, 0, read);
                     }
-                    outStream.write(buffer, 0, read);
+                } catch (CoreException ex) {
+                    throw new IOException(ex);
                 }
-            } catch (CoreException ex) {
-                throw new IOException(ex);
             }
         }
 
@@ -317,6 +334,14 @@ private void importArchiveEntry(final ILeveledImportStructureProvider importProv
         m_importedFiles.add(path.endsWith("/") ? path.substring(0, path.length() - 1) : path);
     }
 
+    private static File toLocalFile(final AbstractExplorerFileStore store) throws IOException {
+        try {
+            return store.toLocalFile();
+        } catch (CoreException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
     /**
      * Copies the content of the provided file element to the destination.
      *
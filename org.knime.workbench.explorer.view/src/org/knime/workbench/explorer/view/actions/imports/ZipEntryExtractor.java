@@ -0,0 +1,395 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.workbench.explorer.view.actions.imports;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.knime.core.node.NodeLogger;
+
+/**
+ * Extracts the file entries of a zip archive in parallel. Entries are read with random access through the
+ * {@link ZipFile}, so several entries are inflated at the same time on a bounded thread pool. Large entries that are
+ * stored without compression are copied directly from the archive into the target file with
+ * {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}.
+ *
+ * <p>
+ * Entries are first collected with {@link #add(ZipEntry, File)} and are extracted when {@link #extract(IProgressMonitor)}
+ * is called. Target directories must exist at that point.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class ZipEntryExtractor {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(ZipEntryExtractor.class);
+
+    /** Stored entries of at least this size are copied with {@link FileChannel#transferTo}. */
+    static final long TRANSFER_THRESHOLD = 1024 * 1024;
+
+    private static final int MAX_THREADS = 8;
+
+    private static final int BUFFSIZE = 256 * 1024;
+
+    private static final int LOCAL_HEADER_SIG = 0x04034b50;
+
+    private static final int CENTRAL_HEADER_SIG = 0x02014b50;
+
+    private static final int END_SIG = 0x06054b50;
+
+    private static final int ZIP64_LOCATOR_SIG = 0x07064b50;
+
+    private static final int ZIP64_END_SIG = 0x06064b50;
+
+    private static final int ZIP64_EXTRA_ID = 0x0001;
+
+    private final ZipFile m_zipFile;
+
+    private final int m_threads;
+
+    private final List<ZipEntry> m_entries = new ArrayList<>();
+
+    private final List<File> m_targets = new ArrayList<>();
+
+    /**
+     * @param zipFile the opened archive to extract from
+     */
+    ZipEntryExtractor(final ZipFile zipFile) {
+        this(zipFile, Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * @param zipFile the opened archive to extract from
+     * @param threads the number of threads to extract with
+     */
+    ZipEntryExtractor(final ZipFile zipFile, final int threads) {
+        m_zipFile = zipFile;
+        m_threads = Math.max(1, threads);
+    }
+
+    /**
+     * Adds a file entry to extract.
+     *
+     * @param entry a file entry of the archive
+     * @param target the file to write the entry's content to, its parent directory must exist when extracting
+     */
+    void add(final ZipEntry entry, final File target) {
+        m_entries.add(entry);
+        m_targets.add(target);
+    }
+
+    /**
+     * Extracts all added entries. Returns when all entries are written or throws the first failure after the
+     * remaining extractions are stopped.
+     *
+     * @param monitor checked for cancellation
+     * @throws IOException if an entry can't be extracted or the user canceled
+     */
+    void extract(final IProgressMonitor monitor) throws IOException {
+        if (m_entries.isEmpty()) {
+            return;
+        }
+        final Map<String, Long> offsets = readStoredEntryOffsets();
+        try (FileChannel archive = offsets.isEmpty() ? null
+            : FileChannel.open(new File(m_zipFile.getName()).toPath(), StandardOpenOption.READ)) {
+            if (m_threads == 1 || m_entries.size() == 1) {
+                for (int i = 0; i < m_entries.size(); i++) {
+                    extractEntry(m_entries.get(i), m_targets.get(i), archive, offsets, monitor);
+                }
+                return;
+            }
+            final ExecutorService executor = createExecutor(Math.min(m_threads, m_entries.size()));
+            final Deque<Future<Void>> pending = new ArrayDeque<>();
+            try {
+                for (int i = 0; i < m_entries.size(); i++) {
+                    final ZipEntry entry = m_entries.get(i);
+                    final File target = m_targets.get(i);
+                    pending.add(executor.submit(() -> {
+                        extractEntry(entry, target, archive, offsets, monitor);
+                        return null;
+                    }));
+                }
+                while (!pending.isEmpty()) {
+                    awaitNext(pending, monitor);
+                }
+            } finally {
+                pending.forEach(f -> f.cancel(true));
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private static void awaitNext(final Deque<Future<Void>> pending, final IProgressMonitor monitor)
+        throws IOException {
+        final Future<Void> next = pending.peek();
+        while (true) {
+            checkCanceled(monitor);
+            try {
+                next.get(100, TimeUnit.MILLISECONDS);
+                pending.poll();
+                return;
+            } catch (TimeoutException e) { // NOSONAR check for cancellation and wait again
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Canceled.", e);
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException)cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException)cause;
+                }
+                throw new IOException(cause.getMessage(), cause);
+            }
+        }
+    }
+
+    private void extractEntry(final ZipEntry entry, final File target, final FileChannel archive,
+        final Map<String, Long> offsets, final IProgressMonitor monitor) throws IOException {
+        checkCanceled(monitor);
+        final Long localHeaderOffset = offsets.get(entry.getName());
+        if (localHeaderOffset != null && transferStoredEntry(entry, target, archive, localHeaderOffset, monitor)) {
+            return;
+        }
+        try (InputStream in = m_zipFile.getInputStream(entry);
+                OutputStream out = Files.newOutputStream(target.toPath())) {
+            final byte[] buffer = new byte[BUFFSIZE];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                checkCanceled(monitor);
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    /** Copies the raw data of a stored entry, returns <code>false</code> if the local header is not as expected. */
+    private static boolean transferStoredEntry(final ZipEntry entry, final File target, final FileChannel archive,
+        final long localHeaderOffset, final IProgressMonitor monitor) throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(30).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(archive, header, localHeaderOffset);
+        if (header.getInt(0) != LOCAL_HEADER_SIG) {
+            LOGGER.debug("Unexpected local header of zip entry \"" + entry.getName() + "\", reading it as stream");
+            return false;
+        }
+        long position = localHeaderOffset + 30 + Short.toUnsignedInt(header.getShort(26))
+            + Short.toUnsignedInt(header.getShort(28));
+        long remaining = entry.getSize();
+        try (FileChannel out = FileChannel.open(target.toPath(), StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (remaining > 0) {
+                checkCanceled(monitor);
+                final long transferred = archive.transferTo(position, Math.min(remaining, 64L * BUFFSIZE), out);
+                if (transferred <= 0) {
+                    throw new IOException("Unexpected end of zip archive while extracting \"" + entry.getName() + "\"");
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads the central directory of the archive and returns the local header offsets of all stored entries that are
+     * large enough to be transferred directly. The map is empty if there are no such entries or the central directory
+     * can't be read, in which case all entries are read through the {@link ZipFile}.
+     */
+    Map<String, Long> readStoredEntryOffsets() {
+        final Map<String, ZipEntry> candidates = new HashMap<>();
+        for (ZipEntry entry : m_entries) {
+            if (entry.getMethod() == ZipEntry.STORED && entry.getSize() >= TRANSFER_THRESHOLD
+                && entry.getSize() == entry.getCompressedSize()) {
+                candidates.put(entry.getName(), entry);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        try (FileChannel channel = FileChannel.open(new File(m_zipFile.getName()).toPath(), StandardOpenOption.READ)) {
+            final ByteBuffer cd = readCentralDirectory(channel);
+            final Map<String, Long> offsets = new HashMap<>();
+            while (cd.remaining() >= 46 && cd.getInt(cd.position()) == CENTRAL_HEADER_SIG) {
+                final int start = cd.position();
+                final int method = Short.toUnsignedInt(cd.getShort(start + 10));
+                long compressedSize = Integer.toUnsignedLong(cd.getInt(start + 20));
+                long size = Integer.toUnsignedLong(cd.getInt(start + 24));
+                final int nameLength = Short.toUnsignedInt(cd.getShort(start + 28));
+                final int extraLength = Short.toUnsignedInt(cd.getShort(start + 30));
+                final int commentLength = Short.toUnsignedInt(cd.getShort(start + 32));
+                long offset = Integer.toUnsignedLong(cd.getInt(start + 42));
+                final byte[] name = new byte[nameLength];
+                cd.position(start + 46);
+                cd.get(name);
+                // ZIP64 extended information, values are only present if the central header field is 0xFFFFFFFF
+                int extra = cd.position();
+                final int extraEnd = extra + extraLength;
+                while (extra + 4 <= extraEnd) {
+                    final int id = Short.toUnsignedInt(cd.getShort(extra));
+                    final int length = Short.toUnsignedInt(cd.getShort(extra + 2));
+                    if (id == ZIP64_EXTRA_ID) {
+                        int field = extra + 4;
+                        if (size == 0xFFFFFFFFL) {
+                            size = cd.getLong(field);
+                            field += 8;
+                        }
+                        if (compressedSize == 0xFFFFFFFFL) {
+                            compressedSize = cd.getLong(field);
+                            field += 8;
+                        }
+                        if (offset == 0xFFFFFFFFL) {
+                            offset = cd.getLong(field);
+                        }
+                        break;
+                    }
+                    extra += 4 + length;
+                }
+                cd.position(extraEnd + commentLength);
+                final ZipEntry entry = candidates.get(new String(name, StandardCharsets.UTF_8));
+                if (entry != null && method == ZipEntry.STORED && size == entry.getSize()
+                    && compressedSize == size) {
+                    offsets.put(entry.getName(), offset);
+                }
+            }
+            return offsets;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debug("Unable to read the central directory of \"" + m_zipFile.getName()
+                + "\", extracting all entries as streams: " + e.getMessage(), e);
+            return Collections.emptyMap();
+        }
+    }
+
+    private static ByteBuffer readCentralDirectory(final FileChannel channel) throws IOException {
+        final long fileSize = channel.size();
+        // end of central directory record: 22 bytes plus a comment of at most 65535 bytes
+        final int tailLength = (int)Math.min(fileSize, 22 + 0xFFFF);
+        final ByteBuffer tail = ByteBuffer.allocate(tailLength).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(channel, tail, fileSize - tailLength);
+        int end = tailLength - 22;
+        while (end >= 0 && tail.getInt(end) != END_SIG) {
+            end--;
+        }
+        if (end < 0) {
+            throw new IOException("End of central directory not found");
+        }
+        long cdSize = Integer.toUnsignedLong(tail.getInt(end + 12));
+        long cdOffset = Integer.toUnsignedLong(tail.getInt(end + 16));
+        if ((cdSize == 0xFFFFFFFFL || cdOffset == 0xFFFFFFFFL || tail.getShort(end + 10) == (short)0xFFFF)
+            && end >= 20 && tail.getInt(end - 20) == ZIP64_LOCATOR_SIG) {
+            final ByteBuffer zip64End = ByteBuffer.allocate(56).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, zip64End, tail.getLong(end - 12));
+            if (zip64End.getInt(0) != ZIP64_END_SIG) {
+                throw new IOException("Invalid zip64 end of central directory record");
+            }
+            cdSize = zip64End.getLong(40);
+            cdOffset = zip64End.getLong(48);
+        }
+        if (cdSize > Integer.MAX_VALUE) {
+            throw new IOException("Central directory too large");
+        }
+        final ByteBuffer cd = ByteBuffer.allocate((int)cdSize).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(channel, cd, cdOffset);
+        return cd;
+    }
+
+    private static void readFully(final FileChannel channel, final ByteBuffer buffer, final long position)
+        throws IOException {
+        long pos = position;
+        while (buffer.hasRemaining()) {
+            final int read = channel.read(buffer, pos);
+            if (read < 0) {
+                throw new IOException("Unexpected end of zip archive");
+            }
+            pos += read;
+        }
+        buffer.flip();
+    }
+
+    private static void checkCanceled(final IProgressMonitor monitor) throws IOException {
+        if (monitor.isCanceled()) {
+            throw new IOException("Canceled.");
+        }
+    }
+
+    private static ExecutorService createExecutor(final int threads) {
+        return Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private final AtomicInteger m_threadCounter = new AtomicInteger();
+
+            @Override
+            public Thread newThread(final Runnable r) {
+                Thread t = new Thread(r, "KNIME Workflow Import-" + m_threadCounter.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+}
@@ -51,6 +51,11 @@
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
@@ -61,10 +66,13 @@
 import org.eclipse.jetty.server.Request;
 import org.eclipse.jetty.server.handler.AbstractHandler;
 import org.knime.core.node.NodeLogger;
+import org.knime.workbench.helpview.ResourceCache.Resource;
 import org.osgi.framework.Bundle;
 
 /**
- * Handler for Jetty that resolves node-relative and bundle-relative links.
+ * Handler for Jetty that resolves node-relative and bundle-relative links. The files are kept in a
+ * {@link ResourceCache}; responses carry strong entity tags derived from the bundle version and the file's path, so
+ * that the browser can revalidate them cheaply. Range requests and gzip encoding are supported.
  *
  * @author Thorsten Meinl, University of Konstanz
  */
@@ -76,9 +84,29 @@ final class FileHandler extends AbstractHandler {
 
     private static final NodeLogger logger = NodeLogger.getLogger(FileHandler.class);
 
+    /** The maximum number of bytes kept in memory by the cache. */
+    private static final long MAX_CACHE_SIZE = 32L * 1024 * 1024;
+
+    /**
+     * Bundle files only change when the bundle is updated, which requires a restart. Caching them for some time saves
+     * the browser from revalidating them for every page.
+     */
+    private static final String CACHE_CONTROL = "private, max-age=3600";
+
+    private final ResourceCache m_cache = new ResourceCache(MAX_CACHE_SIZE);
+
     private FileHandler() {
     }
 
+    /**
+     * Returns the cache of this handler, e.g. for reading its hit rate.
+     *
+     * @return the cache
+     */
+    ResourceCache getCache() {
+        return m_cache;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -94,37 +122,187 @@ public void handle(final String target, final Request baseRequest, final HttpSer
             return;
         }
 
-        URL url = null;
-        if ("/bundle/".equals(target)) {
-            url = bundle.getEntry(file);
-        } else if ("/node/".equals(target)) {
-            String packageLoc =
-                    request.getParameter("package").replace('.', '/');
-            url = bundle.getResource(packageLoc + "/" + file);
+        String packageLoc = null;
+        if ("/node/".equals(target)) {
+            packageLoc = request.getParameter("package").replace('.', '/');
+        }
+        String key = bundle.getSymbolicName() + "_" + bundle.getVersion() + target
+            + (packageLoc != null ? packageLoc + "/" : "") + file;
+
+        Resource resource = m_cache.get(key);
+        if (resource == null) {
+            URL url = null;
+            if ("/bundle/".equals(target)) {
+                url = bundle.getEntry(file);
+            } else if ("/node/".equals(target)) {
+                url = bundle.getResource(packageLoc + "/" + file);
+            }
+            if (url == null) {
+                logger.warn("File for '" + request.getRequestURI() + "' not found");
+                response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+
+            InputStream in = url.openStream();
+            if (in == null) {
+                logger.warn("Could not open stream for '" + url + "'");
+                response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            byte[] content;
+            try {
+                content = in.readAllBytes();
+            } finally {
+                in.close();
+            }
+            resource = Resource.create(content, MIME_MAP.getMimeByExtension(file), createETag(key));
+            m_cache.put(key, resource);
+        }
+
+        send(resource, request, response);
+        baseRequest.setHandled(true);
+    }
+
+    private static void send(final Resource resource, final HttpServletRequest request,
+        final HttpServletResponse response) throws IOException {
+        response.setContentType(resource.getContentType());
+        response.setHeader("Cache-Control", CACHE_CONTROL);
+        response.setHeader("Accept-Ranges", "bytes");
+        if (resource.getGzipped() != null) {
+            response.setHeader("Vary", "Accept-Encoding");
+        }
+
+        // ranges are served from the uncompressed content
+        String rangeHeader = request.getHeader("Range");
+        String ifRange = request.getHeader("If-Range");
+        if ((rangeHeader != null) && (ifRange != null) && !ifRange.equals(resource.getETag())) {
+            rangeHeader = null;
         }
-        if (url == null) {
-            logger.warn("File for '" + request.getRequestURI() + "' not found");
-            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+        boolean gzip = (resource.getGzipped() != null) && (rangeHeader == null)
+            && acceptsGzip(request.getHeader("Accept-Encoding"));
+        response.setHeader("ETag", gzip ? resource.getGzipETag() : resource.getETag());
+
+        if (matchesETag(request.getHeader("If-None-Match"), resource)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
             return;
         }
 
-        InputStream in = url.openStream();
-        if (in == null) {
-            logger.warn("Could not open stream for '" + url + "'");
-            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+        byte[] content = gzip ? resource.getGzipped() : resource.getContent();
+        int start = 0;
+        int end = content.length - 1;
+        int[] range = (rangeHeader != null) ? parseRange(rangeHeader, content.length) : null;
+        if (range == null) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            if (gzip) {
+                response.setHeader("Content-Encoding", "gzip");
+            }
+        } else if (range.length == 0) {
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            response.setHeader("Content-Range", "bytes */" + content.length);
             return;
+        } else {
+            start = range[0];
+            end = range[1];
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader("Content-Range", "bytes " + start + "-" + end + "/" + content.length);
+        }
+        response.setContentLength(end - start + 1);
+
+        if (!"HEAD".equals(request.getMethod())) {
+            OutputStream out = response.getOutputStream();
+            out.write(content, start, end - start + 1);
+            out.close();
+        }
+    }
+
+    /**
+     * Parses a single byte range. Multiple ranges are not supported, the whole content is sent instead, which is
+     * allowed by RFC 7233.
+     *
+     * @return the first and last byte of the range, an empty array if the range cannot be satisfied, or
+     *         <code>null</code> if the header should be ignored
+     */
+    static int[] parseRange(final String rangeHeader, final int length) {
+        if (!rangeHeader.startsWith("bytes=") || (rangeHeader.indexOf(',') >= 0)) {
+            return null;
+        }
+        String spec = rangeHeader.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
         }
+        try {
+            long start;
+            long end;
+            if (dash == 0) {
+                // suffix range, the last n bytes
+                long suffix = Long.parseLong(spec.substring(1));
+                if (suffix <= 0) {
+                    return (suffix == 0) ? new int[0] : null;
+                }
+                start = Math.max(0, length - suffix);
+                end = length - 1;
+            } else {
+                start = Long.parseLong(spec.substring(0, dash));
+                end = (dash == spec.length() - 1) ? (length - 1)
+                    : Math.min(length - 1, Long.parseLong(spec.substring(dash + 1)));
+                if (end < start) {
+                    return (start < length) ? null : new int[0];
+                }
+            }
+            if (start >= length) {
+                return new int[0];
+            }
+            return new int[]{(int)start, (int)end};
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
 
-        response.setStatus(HttpServletResponse.SC_OK);
-        response.setContentType(MIME_MAP.getMimeByExtension(file));
+    /** Checks whether the client accepts gzip encoding, i.e. lists it in the header without a quality of 0. */
+    static boolean acceptsGzip(final String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if ("gzip".equalsIgnoreCase(parts[0].trim())) {
+                for (int i = 1; i < parts.length; i++) {
+                    String param = parts[i].replace(" ", "");
+                    if (param.startsWith("q=") && param.matches("q=0(\\.0*)?")) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesETag(final String ifNoneMatch, final Resource resource) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String t = tag.trim();
+            if (t.startsWith("W/")) {
+                // weak comparison is used for If-None-Match
+                t = t.substring(2);
+            }
+            if (t.equals("*") || t.equals(resource.getETag()) || t.equals(resource.getGzipETag())) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        byte[] buf = new byte[16384];
-        OutputStream out = response.getOutputStream();
-        int read = 0;
-        while ((read = in.read(buf)) > -1) {
-            out.write(buf, 0, read);
+    /** Creates a strong entity tag from the cache key, which contains the bundle version and the file's path. */
+    private static String createETag(final String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 12)) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new RuntimeException(ex);
         }
-        in.close();
-        out.close();
     }
 }
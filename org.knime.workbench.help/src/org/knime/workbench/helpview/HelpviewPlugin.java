@@ -134,6 +134,7 @@ public void start(final BundleContext context) throws Exception {
     public void stop(final BundleContext context) throws Exception {
         super.stop(context);
         m_server.stop();
+        logger.debug("Embedded webserver cache: " + FileHandler.instance.getCache());
         plugin = null;
     }
 
@@ -80,6 +80,10 @@ public class KNIMEHelpFilesBuilder implements IApplication {
 
     private static final String DESTINATION_ARG = "-destination";
 
+    private static final String THREADS_ARG = "-threads";
+
+    private static final String INCREMENTAL_ARG = "-incremental";
+
     private static void printUsage() {
         System.err.println("Usage: KNIMEHelpFilesBuilder options");
         System.err.println("Allowed options are:");
@@ -90,6 +94,11 @@ private static void printUsage() {
         System.err.println("\t-destination dir : directory where "
                 + "the result should be written to; if missing, files"
                 + "are directly written into the plug-in");
+        System.err.println("\t-threads n : number of threads that "
+                + "write the node descriptions in parallel; if missing, "
+                + "the number of available processors is used");
+        System.err.println("\t-incremental : only node descriptions that "
+                + "have changed since the last run are written");
     }
 
     /**
@@ -110,6 +119,10 @@ public Object start(final IApplicationContext context) throws Exception {
                     pluginPattern = Pattern.compile(args[i + 1]);
                 } else if (args[i].equals(DESTINATION_ARG)) {
                     destinationDir = new File(args[i + 1]);
+                } else if (args[i].equals(THREADS_ARG)) {
+                    NodeDescriptionConverter.instance().setThreads(Integer.parseInt(args[i + 1]));
+                } else if (args[i].equals(INCREMENTAL_ARG)) {
+                    NodeDescriptionConverter.instance().setIncremental(true);
                 } else if (args[i].equals("-help")) {
                     printUsage();
                     return EXIT_OK;
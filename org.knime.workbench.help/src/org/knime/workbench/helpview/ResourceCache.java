@@ -0,0 +1,238 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.workbench.helpview;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Size-bounded in-memory cache for the files served by the {@link FileHandler}. The least recently used files are
+ * evicted once the total size exceeds the limit. Compressible files are gzip-encoded once when they are added, so that
+ * compressed responses cost nothing. The methods of this class may be called concurrently.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class ResourceCache {
+    /** A file read from a bundle, together with its compressed form. */
+    static final class Resource {
+        private final byte[] m_content;
+
+        private final byte[] m_gzipped;
+
+        private final String m_contentType;
+
+        private final String m_etag;
+
+        private Resource(final byte[] content, final byte[] gzipped, final String contentType, final String etag) {
+            m_content = content;
+            m_gzipped = gzipped;
+            m_contentType = contentType;
+            m_etag = etag;
+        }
+
+        /**
+         * Creates a new resource. The content is compressed if its type is compressible and compression saves at
+         * least a tenth of the size.
+         *
+         * @param content the file's content
+         * @param contentType the mime type, may be <code>null</code>
+         * @param etag the strong entity tag of the uncompressed content, including the quotes
+         * @return a new resource
+         * @throws IOException if compressing fails
+         */
+        static Resource create(final byte[] content, final String contentType, final String etag)
+            throws IOException {
+            byte[] gzipped = null;
+            if (isCompressible(contentType)) {
+                ByteArrayOutputStream bos = new ByteArrayOutputStream(content.length / 2 + 64);
+                try (GZIPOutputStream out = new GZIPOutputStream(bos)) {
+                    out.write(content);
+                }
+                if (bos.size() < content.length * 0.9) {
+                    gzipped = bos.toByteArray();
+                }
+            }
+            return new Resource(content, gzipped, contentType, etag);
+        }
+
+        byte[] getContent() {
+            return m_content;
+        }
+
+        /** @return the gzip-encoded content or <code>null</code> if the content is not worth compressing */
+        byte[] getGzipped() {
+            return m_gzipped;
+        }
+
+        String getContentType() {
+            return m_contentType;
+        }
+
+        String getETag() {
+            return m_etag;
+        }
+
+        /** @return the entity tag of the compressed content, a different representation needs a different tag */
+        String getGzipETag() {
+            return m_etag.substring(0, m_etag.length() - 1) + "-gzip\"";
+        }
+
+        long getSize() {
+            return m_content.length + (m_gzipped != null ? m_gzipped.length : 0);
+        }
+    }
+
+    private final long m_maxSize;
+
+    private final LinkedHashMap<String, Resource> m_entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    private long m_size;
+
+    private final AtomicLong m_hits = new AtomicLong();
+
+    private final AtomicLong m_misses = new AtomicLong();
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxSize the maximum number of bytes kept in memory, compressed and uncompressed content is counted
+     */
+    ResourceCache(final long maxSize) {
+        m_maxSize = maxSize;
+    }
+
+    /**
+     * Returns the cached file and counts the lookup as hit or miss.
+     *
+     * @param key the key of the file
+     * @return the file or <code>null</code> if it is not cached
+     */
+    synchronized Resource get(final String key) {
+        Resource r = m_entries.get(key);
+        if (r != null) {
+            m_hits.incrementAndGet();
+        } else {
+            m_misses.incrementAndGet();
+        }
+        return r;
+    }
+
+    /**
+     * Adds a file to the cache and evicts the least recently used ones if the cache gets too big. Files that are
+     * larger than a quarter of the cache are not added.
+     *
+     * @param key the key of the file
+     * @param resource the file
+     */
+    synchronized void put(final String key, final Resource resource) {
+        if (resource.getSize() > m_maxSize / 4) {
+            return;
+        }
+        Resource old = m_entries.put(key, resource);
+        if (old != null) {
+            m_size -= old.getSize();
+        }
+        m_size += resource.getSize();
+        for (Iterator<Resource> it = m_entries.values().iterator(); it.hasNext() && (m_size > m_maxSize);) {
+            m_size -= it.next().getSize();
+            it.remove();
+        }
+    }
+
+    /**
+     * Returns whether files of the given type benefit from compression. Images (except SVG) and fonts are already
+     * compressed.
+     *
+     * @param contentType a mime type, may be <code>null</code>
+     * @return <code>true</code> if the type is compressible, <code>false</code> otherwise
+     */
+    static boolean isCompressible(final String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        return contentType.startsWith("text/") || contentType.contains("javascript") || contentType.contains("json")
+            || contentType.contains("xml");
+    }
+
+    /** @return the number of lookups that have been answered from the cache */
+    long getHits() {
+        return m_hits.get();
+    }
+
+    /** @return the number of lookups of files that were not in the cache */
+    long getMisses() {
+        return m_misses.get();
+    }
+
+    /** @return the fraction of lookups that have been answered from the cache, 0 if there were no lookups */
+    double getHitRate() {
+        long hits = m_hits.get();
+        long total = hits + m_misses.get();
+        return (total == 0) ? 0 : (hits / (double)total);
+    }
+
+    /** @return the number of bytes currently kept in memory */
+    synchronized long getSize() {
+        return m_size;
+    }
+
+    /** @return the number of files currently in the cache */
+    synchronized int getEntryCount() {
+        return m_entries.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d hits, %d misses (%.1f%% hit rate), %d files with %d bytes cached", getHits(),
+            getMisses(), getHitRate() * 100, getEntryCount(), getSize());
+    }
+}
@@ -63,6 +63,9 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.jar.Attributes;
 import java.util.jar.Manifest;
 import java.util.regex.Pattern;
@@ -95,7 +98,9 @@
 import org.knime.workbench.repository.model.MetaNodeTemplate;
 import org.knime.workbench.repository.model.NodeTemplate;
 import org.knime.workbench.repository.model.Root;
+import org.knime.workbench.repository.util.DescriptionChecksums;
 import org.knime.workbench.repository.util.DynamicNodeDescriptionCreator;
+import org.knime.workbench.repository.util.NodeFactoryHTMLCreator;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
@@ -154,9 +159,45 @@ public final class NodeDescriptionConverter {
 
     private boolean m_canceled = false;
 
+    private int m_threads = Runtime.getRuntime().availableProcessors();
+
+    private boolean m_incremental = false;
+
+    /** Renders and writes the node descriptions of the current plugin. */
+    private ForkJoinPool m_pool;
+
+    /** Pending node descriptions of the current plugin. */
+    private final List<Future<?>> m_pendingWrites = new ArrayList<>();
+
+    /** Checksums of the previous run, only set in incremental mode. */
+    private DescriptionChecksums m_checksums;
+
     private NodeDescriptionConverter() {
     }
 
+    /**
+     * Sets the number of threads that render and write the node descriptions in parallel. The table of contents is
+     * always written in the order of the node repository. The default is the number of available processors.
+     *
+     * @param threads the number of threads, at least 1
+     * @since 4.5
+     */
+    public synchronized void setThreads(final int threads) {
+        m_threads = Math.max(1, threads);
+    }
+
+    /**
+     * Sets whether only node descriptions that have changed since the last run into the same destination should be
+     * written. A description is considered as changed if its XML or the stylesheet used for rendering it has changed.
+     *
+     * @param incremental <code>true</code> if unchanged descriptions should be skipped, <code>false</code> if all
+     *            descriptions are written (the default)
+     * @since 4.5
+     */
+    public synchronized void setIncremental(final boolean incremental) {
+        m_incremental = incremental;
+    }
+
     /**
      *
      * @return all extensions to the knmie node and knime category extension
@@ -345,8 +386,25 @@ public void run() {
         if (m_dialog != null) {
             m_dialog.setCancelable(false);
         }
-        // processing
-        processAll(root.getChildren(), null);
+        // processing, the node descriptions are written by the pool
+        m_checksums = m_incremental ? DescriptionChecksums.load(nodesDir.toPath()) : null;
+        m_pool = new ForkJoinPool(m_threads);
+        try {
+            processAll(root.getChildren(), null);
+            for (Future<?> f : m_pendingWrites) {
+                try {
+                    f.get();
+                } catch (ExecutionException ex) {
+                    throw (ex.getCause() instanceof Exception) ? (Exception)ex.getCause() : ex;
+                }
+            }
+        } finally {
+            m_pendingWrites.clear();
+            m_pool.shutdownNow();
+        }
+        if (m_checksums != null) {
+            m_checksums.save();
+        }
 
         // at the end -> persist plugin.xml
         Document doc = m_pluginXML;
@@ -604,11 +662,6 @@ private boolean processNode(final NodeTemplate node, final Document nodeToc)
             throws Exception {
         assert nodeToc != null;
         if (node.getContributingPlugin().equals(m_pluginID)) {
-            // create HTML file
-            StringBuilder builder = new StringBuilder();
-            DynamicNodeDescriptionCreator.instance().addDescription(node,
-                    false, builder);
-
             String nodeID = node.getID();
             int index = nodeID.lastIndexOf('.');
             if (index >= 0) {
@@ -618,10 +671,12 @@ private boolean processNode(final NodeTemplate node, final Document nodeToc)
             String relativePath =
                     HTML_DIR + "/" + NODES_DIR + "/" + fileName(nodeID)
                             + ".html";
+            // create HTML file asynchronously
             File nodeDescription = new File(m_destinationDir, relativePath);
-            Writer writer = new OutputStreamWriter(new FileOutputStream(nodeDescription), "UTF-8");
-            writer.write(builder.toString());
-            writer.close();
+            m_pendingWrites.add(m_pool.submit(() -> {
+                writeNodeDescription(node, nodeDescription);
+                return null;
+            }));
             // append topic
             Element topic = nodeToc.createElement("topic");
             topic.setAttribute("label", htmlString(node.getName()));
@@ -633,6 +688,35 @@ private boolean processNode(final NodeTemplate node, final Document nodeToc)
         return false;
     }
 
+    /**
+     * Renders the description of the node and writes it into the given file, unless it has not changed since the last
+     * run. Called concurrently for different nodes.
+     */
+    private void writeNodeDescription(final NodeTemplate node, final File nodeDescription) throws IOException {
+        String checksum = null;
+        if (m_checksums != null) {
+            try {
+                checksum = NodeFactoryHTMLCreator.instance
+                    .getDescriptionChecksum(node.createFactoryInstance().getXMLDescription());
+            } catch (Exception ex) {
+                // the description cannot be rendered either, always write the replacement
+            }
+            if ((checksum != null)
+                && m_checksums.isUnchanged(nodeDescription.getName(), checksum, nodeDescription.toPath())) {
+                return;
+            }
+        }
+        StringBuilder builder = new StringBuilder();
+        DynamicNodeDescriptionCreator.instance().addDescription(node,
+                false, builder);
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(nodeDescription), "UTF-8")) {
+            writer.write(builder.toString());
+        }
+        if (checksum != null) {
+            m_checksums.update(nodeDescription.getName(), checksum);
+        }
+    }
+
     /**
      * Returns the file object of the current plugin.
      *
@@ -0,0 +1,183 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.workbench.repository.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.w3c.dom.Element;
+import org.xml.sax.InputSource;
+
+/**
+ * Tests {@link DescriptionChecksums} and {@link NodeFactoryHTMLCreator#getDescriptionChecksum(Element)}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class DescriptionChecksumsTest {
+
+    private static final String DESCRIPTION = "<knimeNode xmlns=\"http://knime.org/node/v4.1\" type=\"Manipulator\">"
+        + "<name>Test</name><shortDescription>Short</shortDescription>"
+        + "<fullDescription><intro>%s</intro></fullDescription></knimeNode>";
+
+    @Rule
+    public TemporaryFolder m_tempFolder = new TemporaryFolder();
+
+    /**
+     * Tests that a description is unchanged in the next run only if its checksum has been recorded after it was
+     * generated and its file still exists.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testUnchangedAfterUpdate() throws Exception {
+        Path dir = m_tempFolder.newFolder("docs").toPath();
+        Path output = dir.resolve("a.html");
+
+        DescriptionChecksums checksums = DescriptionChecksums.load(dir);
+        assertFalse("Description without previous checksum unchanged", checksums.isUnchanged("a.html", "1", output));
+        Files.write(output, "a".getBytes(StandardCharsets.UTF_8));
+        checksums.update("a.html", "1");
+        checksums.save();
+
+        checksums = DescriptionChecksums.load(dir);
+        assertTrue("Description with same checksum changed", checksums.isUnchanged("a.html", "1", output));
+        assertFalse("Description with other checksum unchanged", checksums.isUnchanged("a.html", "2", output));
+        Files.delete(output);
+        assertFalse("Description without output unchanged", checksums.isUnchanged("a.html", "1", output));
+    }
+
+    /**
+     * Tests that the checksum of a description whose generation failed is not recorded, so that it is generated again
+     * in the next run.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testFailedGenerationNotRecorded() throws Exception {
+        Path dir = m_tempFolder.newFolder("docs").toPath();
+        Path output = dir.resolve("a.html");
+        Files.write(output, "old".getBytes(StandardCharsets.UTF_8));
+
+        DescriptionChecksums checksums = DescriptionChecksums.load(dir);
+        checksums.isUnchanged("a.html", "1", output);
+        // generating the description fails, update is not called
+        checksums.save();
+
+        checksums = DescriptionChecksums.load(dir);
+        assertFalse("Failed description unchanged", checksums.isUnchanged("a.html", "1", output));
+    }
+
+    /**
+     * Tests that the checksums of descriptions that are not looked at anymore can be removed.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testRemoveUnvisited() throws Exception {
+        Path dir = m_tempFolder.newFolder("docs").toPath();
+        Path a = dir.resolve("a.html");
+        Path b = dir.resolve("b.html");
+        Files.write(a, "a".getBytes(StandardCharsets.UTF_8));
+        Files.write(b, "b".getBytes(StandardCharsets.UTF_8));
+        DescriptionChecksums checksums = DescriptionChecksums.load(dir);
+        checksums.update("a.html", "1");
+        checksums.update("b.html", "2");
+        checksums.save();
+
+        checksums = DescriptionChecksums.load(dir);
+        assertTrue("Description unchanged", checksums.isUnchanged("a.html", "1", a));
+        assertEquals("Removed descriptions", Collections.singleton("b.html"), checksums.removeUnvisited());
+        checksums.save();
+
+        checksums = DescriptionChecksums.load(dir);
+        assertTrue("Visited description forgotten", checksums.isUnchanged("a.html", "1", a));
+        assertFalse("Removed description still recorded", checksums.isUnchanged("b.html", "2", b));
+    }
+
+    /**
+     * Tests that the description checksum only depends on the content and structure of the description.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testDescriptionChecksum() throws Exception {
+        NodeFactoryHTMLCreator creator = NodeFactoryHTMLCreator.instance;
+        String checksum = creator.getDescriptionChecksum(parse(String.format(DESCRIPTION, "Intro")));
+        assertEquals("Length of SHA-256 checksum", 43, checksum.length());
+        assertEquals("Checksum of equal description", checksum,
+            creator.getDescriptionChecksum(parse(String.format(DESCRIPTION, "Intro"))));
+        assertNotEquals("Checksum of changed text", checksum,
+            creator.getDescriptionChecksum(parse(String.format(DESCRIPTION, "Intro."))));
+        assertNotEquals("Checksum of changed attribute", checksum, creator.getDescriptionChecksum(
+            parse(String.format(DESCRIPTION, "Intro").replace("Manipulator", "Source"))));
+        // same text, different structure
+        assertNotEquals("Checksum of changed structure",
+            creator.getDescriptionChecksum(parse(String.format(DESCRIPTION, "<b>In</b>tro"))),
+            creator.getDescriptionChecksum(parse(String.format(DESCRIPTION, "<b>Intro</b>"))));
+        assertEquals("Checksum of missing description", "howto", creator.getDescriptionChecksum(null));
+    }
+
+    private static Element parse(final String xml) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory.newDocumentBuilder().parse(new InputSource(new StringReader(xml))).getDocumentElement();
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   17.10.2026: created
+ */
+package org.knime.workbench.repository.view;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.knime.core.node.NodeFactory.NodeType;
+import org.knime.core.node.NodeLogger;
+import org.knime.workbench.repository.model.Category;
+import org.knime.workbench.repository.model.DefaultNodeTemplate;
+import org.knime.workbench.repository.model.IContainerObject;
+import org.knime.workbench.repository.model.IRepositoryObject;
+import org.knime.workbench.repository.model.Root;
+
+/**
+ * Testcases for {@link RepositorySearchIndex}. The selection computed by the index must be the same as the one of the
+ * filters' {@link TextualViewFilter#doSelect(Object, Object, boolean)}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class RepositorySearchIndexTest {
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(RepositorySearchIndexTest.class);
+
+    private static final String[] WORDS = {"Row", "Column", "Filter", "Splitter", "Joiner", "Reader", "Writer",
+        "Table", "String", "Manipulation", "Math", "Formula", "Group", "By", "Pivot", "Sorter", "Rule", "Engine",
+        "Learner", "Predictor", "Tree", "Ensemble", "Cluster", "Partitioning", "Scorer", "Image", "Text"};
+
+    private static final String[] QUERIES =
+        {"r", "ro", "row filt", "colum", "COLUMN FILTER", "rulw engine", "gropu by", "xyz", "table reader", "e"};
+
+    private static Root root;
+
+    private static List<IRepositoryObject> objects;
+
+    /**
+     * Creates a synthetic repository with 5,000 nodes in nested categories.
+     */
+    @BeforeClass
+    public static void createRepository() {
+        Random rand = new Random(42);
+        root = new Root();
+        objects = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Category cat = new Category("cat" + i, randomName(rand, 1), "org.knime.test");
+            root.addChild(cat);
+            for (int j = 0; j < 4; j++) {
+                Category subCat = new Category("cat" + i + "_" + j, randomName(rand, 2), "org.knime.test");
+                cat.addChild(subCat);
+                for (int k = 0; k < 25; k++) {
+                    subCat.addChild(new DefaultNodeTemplate("org.knime.test.Node" + i + "_" + j + "_" + k + "Factory",
+                        randomName(rand, 3), "org.knime.test", "/cat" + i + "/cat" + i + "_" + j,
+                        NodeType.Manipulator));
+                }
+            }
+        }
+        collect(root);
+    }
+
+    private static String randomName(final Random rand, final int words) {
+        StringBuilder buf = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                buf.append(' ');
+            }
+            buf.append(WORDS[rand.nextInt(WORDS.length)]);
+        }
+        return buf.toString();
+    }
+
+    private static void collect(final IContainerObject container) {
+        for (IRepositoryObject child : container.getChildren()) {
+            objects.add(child);
+            if (child instanceof IContainerObject) {
+                collect((IContainerObject)child);
+            }
+        }
+    }
+
+    /**
+     * Checks that the substring search selects the same objects as {@link RepositoryViewFilter}.
+     */
+    @Test
+    public void testContainsSearch() {
+        checkSameSelection(new RepositoryViewFilter());
+    }
+
+    /**
+     * Checks that the fuzzy search selects the same objects as {@link TanimotoTextualViewFilter}.
+     */
+    @Test
+    public void testFuzzySearch() {
+        checkSameSelection(new TanimotoTextualViewFilter());
+    }
+
+    /**
+     * Checks that the index is rebuilt after invalidation.
+     */
+    @Test
+    public void testInvalidation() {
+        Root r = new Root();
+        Category cat = new Category("c", "Some Category", "org.knime.test");
+        r.addChild(cat);
+        RepositorySearchIndex index = RepositorySearchIndex.getInstance(r);
+        assertThat("Index not cached", RepositorySearchIndex.getInstance(r) == index, is(true));
+        assertThat("Unexpected number of matches", index.findContaining("CATEGORY").size(), is(1));
+
+        RepositorySearchIndex.invalidate(r);
+        assertThat("Index still valid after invalidation", index.isValidFor(r), is(false));
+        cat.addChild(new DefaultNodeTemplate("org.knime.test.NewFactory", "New Node", "org.knime.test", "/c",
+            NodeType.Manipulator));
+        assertThat("Unexpected number of matches", RepositorySearchIndex.getInstance(r).findContaining("NODE").size(),
+            is(2));
+    }
+
+    private static void checkSameSelection(final TextualViewFilter filter) {
+        RepositorySearchIndex index = RepositorySearchIndex.getInstance(root);
+        for (String query : QUERIES) {
+            filter.setQueryString(query);
+
+            long start = System.nanoTime();
+            RepositorySearchIndex.Matches matches = filter.computeMatches(index, filter.getQueryString());
+            long indexTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int expectedCount = 0;
+            for (IRepositoryObject o : objects) {
+                boolean expected = filter.doSelect(o.getParent(), o, true);
+                if (expected) {
+                    expectedCount++;
+                }
+                assertThat("Unexpected selection of '" + o.getName() + "' for query '" + query + "'",
+                    matches.isSelected(o), is(expected));
+            }
+            long filterTime = System.nanoTime() - start;
+            assertThat("Unexpected number of matches for query '" + query + "'", matches.size(), is(expectedCount));
+
+            LOGGER.debug(filter.getClass().getSimpleName() + " '" + query + "': " + expectedCount + " of "
+                + objects.size() + " objects selected, index " + (indexTime / 1000) + "us, filter "
+                + (filterTime / 1000) + "us");
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.workbench.repository;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.knime.core.node.NodeLogger;
+
+/**
+ * Persistent key/value store for the additional information of node templates, see
+ * {@link AdditionalInfoProvider}. For each key it contains the information of all node IDs it has been computed for,
+ * including the nodes without information. The store is kept next to the {@link RepositorySnapshot} in the plug-in's
+ * state location and is discarded if the installed bundles change. If the state location is not available the store
+ * is only kept in memory.
+ *
+ * <p>
+ * The store is not thread-safe, callers must synchronize on it.
+ * </p>
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class AdditionalInfoStore {
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(AdditionalInfoStore.class);
+
+    private static final String FILE_NAME = "node-info.store";
+
+    private static final int MAGIC = 0x4B4E4149; // "KNAI"
+
+    /** Must be increased whenever the format changes. */
+    private static final int VERSION = 1;
+
+    private final File m_file;
+
+    private final String m_fingerprint;
+
+    /** Key -> node ID -> information (<code>null</code> values are stored for nodes without information). */
+    private final Map<String, Map<String, String>> m_infos = new HashMap<>();
+
+    private boolean m_dirty;
+
+    private AdditionalInfoStore(final File file, final String fingerprint) {
+        m_file = file;
+        m_fingerprint = fingerprint;
+    }
+
+    /**
+     * Creates the store for the current installation and reads its content from disk, if available.
+     *
+     * @return a new store, never <code>null</code>
+     */
+    static AdditionalInfoStore load() {
+        KNIMERepositoryPlugin plugin = KNIMERepositoryPlugin.getDefault();
+        if ((plugin == null)
+            || !Boolean.parseBoolean(System.getProperty(RepositorySnapshot.PROPERTY_SNAPSHOT, "true"))) {
+            return new AdditionalInfoStore(null, null);
+        }
+        AdditionalInfoStore store;
+        try {
+            store = new AdditionalInfoStore(plugin.getStateLocation().append(FILE_NAME).toFile(),
+                RepositorySnapshot.getFingerprint());
+        } catch (IllegalStateException | NoSuchAlgorithmException ex) {
+            LOGGER.debug("Persistent node info store not available: " + ex.getMessage(), ex);
+            return new AdditionalInfoStore(null, null);
+        }
+        store.read();
+        return store;
+    }
+
+    private void read() {
+        if (!m_file.isFile()) {
+            return;
+        }
+        final long start = System.nanoTime();
+        Map<String, Map<String, String>> infos = new HashMap<>();
+        try (DataInputStream in =
+            new DataInputStream(new BufferedInputStream(Files.newInputStream(m_file.toPath())))) {
+            if ((in.readInt() != MAGIC) || (in.readInt() != VERSION) || !m_fingerprint.equals(in.readUTF())) {
+                LOGGER.debug("Node info store is outdated, ignoring it");
+                return;
+            }
+            final int keyCount = in.readInt();
+            for (int i = 0; i < keyCount; i++) {
+                final String key = in.readUTF();
+                final int nodeCount = in.readInt();
+                Map<String, String> values = new HashMap<>(nodeCount * 4 / 3 + 1);
+                for (int j = 0; j < nodeCount; j++) {
+                    final String nodeId = in.readUTF();
+                    values.put(nodeId, in.readBoolean() ? in.readUTF() : null);
+                }
+                infos.put(key, values);
+            }
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.warn("Could not read node info store from " + m_file + ": " + ex.getMessage(), ex);
+            return;
+        }
+        m_infos.putAll(infos);
+        LOGGER.debugWithFormat("Read node info store in %d us", (System.nanoTime() - start) / 1000);
+    }
+
+    /**
+     * @param key an information key
+     * @param nodeId a node ID
+     * @return <code>true</code> if the information for the node is known (it may be <code>null</code> though)
+     */
+    boolean contains(final String key, final String nodeId) {
+        Map<String, String> values = m_infos.get(key);
+        return (values != null) && values.containsKey(nodeId);
+    }
+
+    /**
+     * @param key an information key
+     * @param nodeId a node ID
+     * @return the information, <code>null</code> if there is none or it is not known
+     */
+    String get(final String key, final String nodeId) {
+        Map<String, String> values = m_infos.get(key);
+        return (values != null) ? values.get(nodeId) : null;
+    }
+
+    /**
+     * Stores the information for a node.
+     *
+     * @param key an information key
+     * @param nodeId a node ID
+     * @param info the information, may be <code>null</code>
+     */
+    void put(final String key, final String nodeId, final String info) {
+        m_infos.computeIfAbsent(key, k -> new HashMap<>()).put(nodeId, info);
+        m_dirty = true;
+    }
+
+    /**
+     * Writes the store to disk if it has been changed since it was read. The file is replaced atomically.
+     */
+    void flush() {
+        if ((m_file == null) || !m_dirty) {
+            return;
+        }
+        try {
+            Path target = m_file.toPath();
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), FILE_NAME, ".tmp");
+            try {
+                try (DataOutputStream out =
+                    new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                    out.writeInt(MAGIC);
+                    out.writeInt(VERSION);
+                    out.writeUTF(m_fingerprint);
+                    out.writeInt(m_infos.size());
+                    for (Map.Entry<String, Map<String, String>> e : m_infos.entrySet()) {
+                        out.writeUTF(e.getKey());
+                        out.writeInt(e.getValue().size());
+                        for (Map.Entry<String, String> v : e.getValue().entrySet()) {
+                            out.writeUTF(v.getKey());
+                            out.writeBoolean(v.getValue() != null);
+                            if (v.getValue() != null) {
+                                out.writeUTF(v.getValue());
+                            }
+                        }
+                    }
+                }
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            m_dirty = false;
+        } catch (IOException ex) {
+            LOGGER.warn("Could not write node info store to " + m_file + ": " + ex.getMessage(), ex);
+        }
+    }
+}
@@ -79,6 +79,7 @@
 import org.knime.core.util.Pair;
 import org.knime.workbench.core.util.ImageRepository;
 import org.knime.workbench.core.util.ImageRepository.SharedImages;
+import org.knime.workbench.repository.model.AbstractNodeTemplate;
 import org.knime.workbench.repository.model.Category;
 import org.knime.workbench.repository.model.DefaultNodeTemplate;
 import org.knime.workbench.repository.model.DynamicNodeTemplate;
@@ -110,26 +111,53 @@ private RepositoryFactory() {
      * @throws InvalidNodeFactoryExtensionException if the element is not compatible (e.g.
      *             wrong attributes, or factory class not found)
      */
-    @SuppressWarnings("unchecked")
     static Pair<DefaultNodeTemplate, Boolean> createNode(final NodeFactoryExtension nodeFactoryExtension)
         throws InvalidNodeFactoryExtensionException {
+        Pair<DefaultNodeTemplate, NodeFactory<? extends NodeModel>> nodePair =
+            createNodeTemplate(nodeFactoryExtension);
+        DefaultNodeTemplate node = nodePair.getFirst();
+        setNodeIcon(node, nodePair.getSecond());
+        return Pair.create(node, Boolean.valueOf(nodePair.getSecond().isDeprecated()));
+    }
+
+    /**
+     * Creates a new node repository object together with the factory instance it was created from. In contrast to
+     * {@link #createNode(NodeFactoryExtension)} the icon is not loaded, which allows calling this method from
+     * several threads concurrently (see {@link #setNodeIcon(AbstractNodeTemplate, NodeFactory)}).
+     *
+     * @param nodeFactoryExtension from {@link NodeFactoryExtensionManager}.
+     * @return the node template and the factory instance
+     * @throws InvalidNodeFactoryExtensionException if the element is not compatible (e.g.
+     *             wrong attributes, or factory class not found)
+     */
+    @SuppressWarnings("unchecked")
+    static Pair<DefaultNodeTemplate, NodeFactory<? extends NodeModel>>
+        createNodeTemplate(final NodeFactoryExtension nodeFactoryExtension)
+            throws InvalidNodeFactoryExtensionException {
         // Try to load the node factory class...
         NodeFactory<? extends NodeModel> factory = nodeFactoryExtension.getFactory();
-        boolean isDeprecated = factory.isDeprecated();
 
         String pluginID = nodeFactoryExtension.getPlugInSymbolicName();
         String categoryPath = nodeFactoryExtension.getCategoryPath();
         DefaultNodeTemplate node = new DefaultNodeTemplate((Class<NodeFactory<? extends NodeModel>>)factory.getClass(),
             factory.getNodeName(), pluginID, categoryPath, factory.getType());
         node.setAfterID(nodeFactoryExtension.getAfterID());
+        return Pair.create(node, factory);
+    }
 
+    /**
+     * Loads the icon of the given node factory and sets it on the node template, unless we are running headless.
+     * Must not be called concurrently because the underlying image registry is not thread-safe.
+     *
+     * @param node the node template
+     * @param factory the factory the template was created from
+     */
+    static void setNodeIcon(final AbstractNodeTemplate node, final NodeFactory<? extends NodeModel> factory) {
         if (!Boolean.getBoolean("java.awt.headless")) {
             // Load images from declaring plugin
             Image icon = ImageRepository.getIconImage(factory);
             node.setIcon(icon);
         }
-
-        return Pair.create(node, Boolean.valueOf(isDeprecated));
     }
 
     /**
@@ -319,15 +347,43 @@ private static String str(final String s, final String defaultString) {
      */
     public static Collection<DynamicNodeTemplate> createNodeSet(
             final NodeSetFactoryExtension set, final Root root, final boolean isIncludeDeprecated) {
-        String iconPath = set.getDefaultCategoryIconPath().orElse(null);
+        Collection<DynamicNodeTemplate> dynamicNodeTemplates = new ArrayList<>();
+
+        for (Pair<DynamicNodeTemplate, NodeFactory<? extends NodeModel>> nodePair : createNodeSetTemplates(set)) {
+            DynamicNodeTemplate node = nodePair.getFirst();
+            NodeFactory<? extends NodeModel> factory = nodePair.getSecond();
 
+            // DynamicNodeFactory implementations can set deprecation independently from extension
+            if ((set.isDeprecated() || factory.isDeprecated()) && !isIncludeDeprecated) {
+                continue;
+            }
+
+            setNodeIcon(node, factory);
+            dynamicNodeTemplates.add(node);
+            addNodeSetCategories(set, root, node.getCategoryPath());
+        }
+
+        return dynamicNodeTemplates;
+    }
+
+    /**
+     * Creates the dynamic node templates of a node set together with the factory instances they were created from.
+     * Deprecated nodes are included, icons are not loaded and no categories are created. Hence this method can be
+     * called from several threads concurrently.
+     *
+     * @param set the node set factory extension to load the nodes from
+     * @return the created dynamic node templates and their factories, an empty collection if the node set is hidden
+     */
+    static Collection<Pair<DynamicNodeTemplate, NodeFactory<? extends NodeModel>>>
+        createNodeSetTemplates(final NodeSetFactoryExtension set) {
         // Try to load the node set factory class...
         NodeSetFactory nodeSet = set.getNodeSetFactory();
         if (nodeSet.isHidden()) {
             return Collections.emptyList();
         }
 
-        Collection<DynamicNodeTemplate> dynamicNodeTemplates = new ArrayList<>();
+        Collection<Pair<DynamicNodeTemplate, NodeFactory<? extends NodeModel>>> dynamicNodeTemplates =
+            new ArrayList<>();
 
         // for all nodes in the node set
         for (String factoryId : set.getNodeFactoryIds()) {
@@ -338,12 +394,6 @@ public static Collection<DynamicNodeTemplate> createNodeSet(
             }
 
             NodeFactory<? extends NodeModel> factory = factoryOptional.get();
-
-            // DynamicNodeFactory implementations can set deprecation independently from extension
-            if ((set.isDeprecated() || factory.isDeprecated()) && !isIncludeDeprecated ) {
-                continue;
-            }
-
             String categoryPath = nodeSet.getCategoryPath(factoryId);
             NodeType nodeType = factory.getType();
 
@@ -353,51 +403,54 @@ public static Collection<DynamicNodeTemplate> createNodeSet(
                 factory.getNodeName(), categoryPath, nodeType);
 
             node.setAfterID(nodeSet.getAfterID(factoryId));
+            dynamicNodeTemplates.add(Pair.create(node, factory));
+        }
 
-            if (!Boolean.getBoolean("java.awt.headless")) {
-                Image icon = ImageRepository.getIconImage(factory);
-                node.setIcon(icon);
-            }
-
-            dynamicNodeTemplates.add(node);
+        return dynamicNodeTemplates;
+    }
 
-            String pluginID = set.getPlugInSymbolicName();
+    /**
+     * Creates all categories on the given path that do not exist in the root yet.
+     *
+     * @param set the node set factory extension that contributed the path
+     * @param root the root to add the missing categories in
+     * @param categoryPath the category path of a node from the node set
+     */
+    static void addNodeSetCategories(final NodeSetFactoryExtension set, final Root root,
+        final String categoryPath) {
+        String iconPath = set.getDefaultCategoryIconPath().orElse(null);
+        String pluginID = set.getPlugInSymbolicName();
 
-            //
-            // Insert in proper location, create all categories on
-            // the path
-            // if not already there
-            //
-            String path = node.getCategoryPath();
-            if (path.startsWith("/")) {
-                path = path.substring(1);
-            }
-            // split the path
-            String[] segments = path.split("/");
-            // start at root
-            IContainerObject container = root;
-            String currentPath = "";
-            for (int i = 0; i < segments.length; i++) {
-                IRepositoryObject obj =
-                        container.getChildByID(segments[i], false);
-                currentPath += segments[i];
-                if (obj == null) {
-                    Category cat =
-                            createCategory(pluginID, segments[i], "",
-                                    segments[i], "", iconPath, currentPath);
-                    // append the newly created category to the container
-                    container.addChild(cat);
-                    obj = cat;
-                }
-                currentPath += "/";
-                // continue at this level
-                container = (IContainerObject)obj;
+        //
+        // Insert in proper location, create all categories on
+        // the path
+        // if not already there
+        //
+        String path = categoryPath;
+        if (path.startsWith("/")) {
+            path = path.substring(1);
+        }
+        // split the path
+        String[] segments = path.split("/");
+        // start at root
+        IContainerObject container = root;
+        String currentPath = "";
+        for (int i = 0; i < segments.length; i++) {
+            IRepositoryObject obj =
+                    container.getChildByID(segments[i], false);
+            currentPath += segments[i];
+            if (obj == null) {
+                Category cat =
+                        createCategory(pluginID, segments[i], "",
+                                segments[i], "", iconPath, currentPath);
+                // append the newly created category to the container
+                container.addChild(cat);
+                obj = cat;
             }
-
-        } // for node sets
-
-        return dynamicNodeTemplates;
-
+            currentPath += "/";
+            // continue at this level
+            container = (IContainerObject)obj;
+        }
     }
 
     /* Little helper to create a category */
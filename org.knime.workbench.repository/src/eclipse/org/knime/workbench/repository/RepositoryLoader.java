@@ -0,0 +1,787 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.workbench.repository;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.IExtension;
+import org.eclipse.core.runtime.IExtensionPoint;
+import org.eclipse.core.runtime.IExtensionRegistry;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.Platform;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.extension.InvalidNodeFactoryExtensionException;
+import org.knime.core.node.extension.NodeFactoryExtension;
+import org.knime.core.node.extension.NodeFactoryExtensionManager;
+import org.knime.core.node.extension.NodeSetFactoryExtension;
+import org.knime.core.util.Pair;
+import org.knime.workbench.repository.RepositoryManager.Listener;
+import org.knime.workbench.repository.model.AbstractContainerObject;
+import org.knime.workbench.repository.model.Category;
+import org.knime.workbench.repository.model.DefaultNodeTemplate;
+import org.knime.workbench.repository.model.DynamicNodeTemplate;
+import org.knime.workbench.repository.model.IContainerObject;
+import org.knime.workbench.repository.model.IRepositoryObject;
+import org.knime.workbench.repository.model.MetaNodeTemplate;
+import org.knime.workbench.repository.model.NodeTemplate;
+import org.knime.workbench.repository.model.Root;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
+
+/**
+ * Reads the node repository from the extension registry. The registry is scanned only once and every node factory is
+ * instantiated only once (spread over a bounded pool of worker threads), although two repository trees are built from
+ * the result: the regular tree and the complete tree which additionally contains deprecated nodes. Both trees are
+ * assembled sequentially in the order of the extension registry, hence they are the same as if they had been read one
+ * after the other.
+ *
+ * <p>
+ * The number of worker threads can be set with the system property {@value #PROPERTY_LOADER_THREADS}; a value of 1
+ * instantiates all factories in the calling thread.
+ * </p>
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class RepositoryLoader {
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(RepositoryLoader.class);
+
+    /** System property for the number of threads used for instantiating node factories. */
+    static final String PROPERTY_LOADER_THREADS = "knime.repository.loaderThreads";
+
+    // ID of "category" extension point
+    private static final String ID_CATEGORY = "org.knime.workbench.repository.categories";
+
+    private static final String ID_META_NODE = "org.knime.workbench.repository.metanode";
+
+    private static final int MAX_THREADS = 8;
+
+    private final List<Listener> m_loadListeners;
+
+    private final Map<String, NodeTemplate> m_nodesById;
+
+    private List<IConfigurationElement> m_categoryElements;
+
+    private List<NodeFactoryExtension> m_nodeExtensions;
+
+    private List<NodeSetFactoryExtension> m_nodeSetExtensions;
+
+    private List<IConfigurationElement> m_metanodeElements;
+
+    private final List<LoadedNode<DefaultNodeTemplate>> m_nodes = new ArrayList<>();
+
+    private final List<List<LoadedNode<DynamicNodeTemplate>>> m_nodeSets = new ArrayList<>();
+
+    private final List<MetaNodeTemplate> m_metanodes = new ArrayList<>();
+
+    private final Map<String, String> m_iconReferences = new HashMap<>();
+
+    /**
+     * Creates a new loader.
+     *
+     * @param loadListeners listeners that are notified while the regular repository tree is assembled
+     * @param nodesById map into which all loaded node templates are put by their ID
+     */
+    RepositoryLoader(final List<Listener> loadListeners, final Map<String, NodeTemplate> nodesById) {
+        m_loadListeners = loadListeners;
+        m_nodesById = nodesById;
+    }
+
+    /**
+     * Reads the repository and fills the two (empty) roots.
+     *
+     * @param monitor a progress monitor, mainly used for canceling
+     * @param root the root for the regular repository
+     * @param completeRoot the root for the complete repository, including deprecated nodes
+     */
+    void load(final IProgressMonitor monitor, final Root root, final Root completeRoot) {
+        assert !root.hasChildren() && !completeRoot.hasChildren();
+        final long start = System.currentTimeMillis();
+
+        long phaseStart = System.currentTimeMillis();
+        scanRegistry();
+        logPhase("Scanning the extension registry", phaseStart);
+        if (monitor.isCanceled()) {
+            return;
+        }
+
+        phaseStart = System.currentTimeMillis();
+        instantiateFactories(monitor);
+        logPhase("Instantiating " + m_nodeExtensions.size() + " node factories and " + m_nodeSetExtensions.size()
+            + " node set factories", phaseStart);
+        if (monitor.isCanceled()) {
+            return;
+        }
+
+        phaseStart = System.currentTimeMillis();
+        loadIcons();
+        readMetanodes(monitor);
+        logPhase("Loading icons and metanodes", phaseStart);
+        if (monitor.isCanceled()) {
+            return;
+        }
+
+        phaseStart = System.currentTimeMillis();
+        assemble(monitor, root, false);
+        if (monitor.isCanceled()) {
+            return;
+        }
+        assemble(monitor, completeRoot, true);
+        logPhase("Assembling the repository trees", phaseStart);
+
+        LOGGER.debugWithFormat("Reading the node repository took %d ms in total", System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Reads only the metanodes from the extension registry and adds them to the two roots. This is used if the rest of
+     * the repository has been restored from a {@link RepositorySnapshot}, because metanode templates cannot be
+     * restored from a snapshot.
+     *
+     * @param monitor a progress monitor, mainly used for canceling
+     * @param root the regular root
+     * @param completeRoot the complete root
+     */
+    void loadMetanodes(final IProgressMonitor monitor, final Root root, final Root completeRoot) {
+        m_metanodeElements = new ArrayList<>();
+        for (IExtension ext : getExtensions(ID_META_NODE)) {
+            m_metanodeElements.addAll(Arrays.asList(ext.getConfigurationElements()));
+        }
+        readMetanodes(monitor);
+        addMetanodes(monitor, root, m_loadListeners, false);
+        addMetanodes(monitor, completeRoot, Collections.emptyList(), true);
+    }
+
+    /**
+     * Returns references to the icons of all categories and nodes that have been loaded, see
+     * {@link RepositorySnapshot#getCategoryKey(IRepositoryObject)} and
+     * {@link RepositorySnapshot#getNodeKey(NodeTemplate)} for the keys.
+     *
+     * @return a map from keys to icon references
+     */
+    Map<String, String> getIconReferences() {
+        return m_iconReferences;
+    }
+
+    /**
+     * Returns the class names of all (non-hidden) node factories in the extension registry, including the ones that
+     * could not be instantiated.
+     *
+     * @return a list of class names in registry order
+     */
+    List<String> getNodeFactoryClassNames() {
+        List<String> classNames = new ArrayList<>();
+        for (NodeFactoryExtension ext : m_nodeExtensions) {
+            classNames.add(ext.getFactoryClassName());
+        }
+        return classNames;
+    }
+
+    private static void logPhase(final String phase, final long phaseStart) {
+        LOGGER.debugWithFormat("%s took %d ms", phase, System.currentTimeMillis() - phaseStart);
+    }
+
+    private void scanRegistry() {
+        m_categoryElements = new ArrayList<>();
+        for (IExtension ext : getExtensions(ID_CATEGORY)) {
+            m_categoryElements.addAll(Arrays.asList(ext.getConfigurationElements()));
+        }
+        // remove duplicated categories
+        removeDuplicatesFromCategories(m_categoryElements);
+        // sort first by path-depth, so that everything is there in the
+        // right order
+        Collections.sort(m_categoryElements, (o1, o2) -> {
+            String element1 = o1.getAttribute("path");
+            String element2 = o2.getAttribute("path");
+            if (element1 == element2) {
+                return 0;
+            } else if (element1 == null) {
+                return -1;
+            } else if (element2 == null) {
+                return 1;
+            } else if (element1.equals(element2)) {
+                return 0;
+            } else if ("/".equals(element1)) {
+                return -1;
+            } else if ("/".equals(element2)) {
+                return 1;
+            } else {
+                return countSlashes(element1) - countSlashes(element2);
+            }
+        });
+
+        m_nodeExtensions = new ArrayList<>();
+        for (NodeFactoryExtension ext : NodeFactoryExtensionManager.getInstance().getNodeFactoryExtensions()) {
+            if (!ext.isHidden()) {
+                m_nodeExtensions.add(ext);
+            }
+        }
+
+        m_nodeSetExtensions = new ArrayList<>();
+        for (NodeSetFactoryExtension set : NodeFactoryExtensionManager.getInstance().getNodeSetFactoryExtensions()) {
+            m_nodeSetExtensions.add(set);
+        }
+
+        m_metanodeElements = new ArrayList<>();
+        for (IExtension ext : getExtensions(ID_META_NODE)) {
+            m_metanodeElements.addAll(Arrays.asList(ext.getConfigurationElements()));
+        }
+    }
+
+    private static int countSlashes(final String path) {
+        int count = 0;
+        for (int i = 0; i < path.length(); i++) {
+            if (path.charAt(i) == '/') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Instantiates all node (set) factories. The tasks are submitted in registry order and their results are
+     * collected in the same order, so that the result does not depend on the scheduling.
+     */
+    private void instantiateFactories(final IProgressMonitor monitor) {
+        final int threads = getNumberOfThreads();
+        final ExecutorService executor = (threads > 1) ? createExecutor(threads) : null;
+        try {
+            final List<Future<LoadedNode<DefaultNodeTemplate>>> nodeFutures = new ArrayList<>();
+            for (NodeFactoryExtension ext : m_nodeExtensions) {
+                nodeFutures.add(submit(executor, () -> monitor.isCanceled() ? null : createNode(ext)));
+            }
+            final List<Future<List<LoadedNode<DynamicNodeTemplate>>>> setFutures = new ArrayList<>();
+            for (NodeSetFactoryExtension set : m_nodeSetExtensions) {
+                setFutures.add(submit(executor,
+                    () -> monitor.isCanceled() ? Collections.emptyList() : createNodeSet(set)));
+            }
+
+            for (Future<LoadedNode<DefaultNodeTemplate>> f : nodeFutures) {
+                LoadedNode<DefaultNodeTemplate> node = get(f);
+                if (node != null) {
+                    m_nodes.add(node);
+                }
+            }
+            for (Future<List<LoadedNode<DynamicNodeTemplate>>> f : setFutures) {
+                List<LoadedNode<DynamicNodeTemplate>> nodes = get(f);
+                m_nodeSets.add(nodes == null ? Collections.emptyList() : nodes);
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private static int getNumberOfThreads() {
+        final int defaultThreads = Math.min(Runtime.getRuntime().availableProcessors(), MAX_THREADS);
+        final String prop = System.getProperty(PROPERTY_LOADER_THREADS);
+        if (prop != null) {
+            try {
+                return Math.max(1, Integer.parseInt(prop.trim()));
+            } catch (NumberFormatException ex) {
+                LOGGER.warn("Invalid value for system property " + PROPERTY_LOADER_THREADS + ": '" + prop
+                    + "', using " + defaultThreads + " threads instead");
+            }
+        }
+        return defaultThreads;
+    }
+
+    private static ExecutorService createExecutor(final int threads) {
+        return Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private final AtomicInteger m_threadCounter = new AtomicInteger();
+
+            @Override
+            public Thread newThread(final Runnable r) {
+                Thread t = new Thread(r, "KNIME Node Repository Loader-" + m_threadCounter.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+
+    private static <T> Future<T> submit(final ExecutorService executor, final Callable<T> task) {
+        if (executor != null) {
+            return executor.submit(task);
+        }
+        FutureTask<T> future = new FutureTask<>(task);
+        future.run();
+        return future;
+    }
+
+    private static <T> T get(final Future<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            Throwable cause = (ex.getCause() != null) ? ex.getCause() : ex;
+            LOGGER.error("Unexpected error while reading the node repository: " + cause.getMessage(), cause);
+        } catch (CancellationException ex) {
+            // only happens if the loader is canceled, nothing to report
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    private static LoadedNode<DefaultNodeTemplate> createNode(final NodeFactoryExtension nodeFactoryExtension) {
+        try {
+            Pair<DefaultNodeTemplate, NodeFactory<? extends NodeModel>> nodePair =
+                RepositoryFactory.createNodeTemplate(nodeFactoryExtension);
+            DefaultNodeTemplate node = nodePair.getFirst();
+            boolean isDeprecatedInExtension = nodeFactoryExtension.isDeprecated();
+            node.setDeprecated(isDeprecatedInExtension);
+            // nodeFactoryExtension.isDeprecated() - reads the flag from the plugin.xml
+            // isDeprecatedInNode -- reads FooNodeFactory.xml header _AND_ plugin.xml
+            //                                                             (injected via NodeFactoryExtension)
+            // if they are different then the node is deprecated via the FooFactory.xml but not in the plugin.xml...
+            boolean isDeprecatedInNode = nodePair.getSecond().isDeprecated();
+            if (isDeprecatedInExtension != isDeprecatedInNode) {
+                LOGGER.codingWithFormat(
+                    "%s \"%s\" is declared 'deprecated' in its node description but not in "
+                        + "the extension point contribution (plug-in \"%s\")",
+                    NodeFactory.class.getSimpleName(), nodeFactoryExtension.getFactoryClassName(),
+                    nodeFactoryExtension.getPlugInSymbolicName());
+            }
+            return new LoadedNode<>(node, nodePair.getSecond(), nodeFactoryExtension.getPlugInSymbolicName(), null,
+                isDeprecatedInExtension || isDeprecatedInNode);
+        } catch (InvalidNodeFactoryExtensionException t) {
+            LOGGER.error(t.getMessage(), t);
+            return null;
+        }
+    }
+
+    private static List<LoadedNode<DynamicNodeTemplate>> createNodeSet(final NodeSetFactoryExtension set) {
+        List<LoadedNode<DynamicNodeTemplate>> nodes = new ArrayList<>();
+        for (Pair<DynamicNodeTemplate, NodeFactory<? extends NodeModel>> nodePair : RepositoryFactory
+            .createNodeSetTemplates(set)) {
+            // DynamicNodeFactory implementations can set deprecation independently from extension
+            boolean isDeprecated = set.isDeprecated() || nodePair.getSecond().isDeprecated();
+            nodes.add(new LoadedNode<>(nodePair.getFirst(), nodePair.getSecond(), set.getPlugInSymbolicName(), set,
+                isDeprecated));
+        }
+        return nodes;
+    }
+
+    /** Icons are loaded sequentially because the image registry is not thread-safe. */
+    private void loadIcons() {
+        for (LoadedNode<DefaultNodeTemplate> node : m_nodes) {
+            loadIcon(node);
+        }
+        for (List<LoadedNode<DynamicNodeTemplate>> nodeSet : m_nodeSets) {
+            for (LoadedNode<DynamicNodeTemplate> node : nodeSet) {
+                loadIcon(node);
+            }
+        }
+    }
+
+    private void loadIcon(final LoadedNode<? extends NodeTemplate> node) {
+        RepositoryFactory.setNodeIcon(node.m_template, node.m_factory);
+        URL iconURL = node.m_factory.getIcon();
+        Bundle bundle = FrameworkUtil.getBundle(node.m_factory.getClass());
+        if ((iconURL != null) && (bundle != null)) {
+            m_iconReferences.put(RepositorySnapshot.getNodeKey(node.m_template),
+                RepositorySnapshot.createIconReference(bundle.getSymbolicName(), iconURL.getPath()));
+        }
+    }
+
+    private void readMetanodes(final IProgressMonitor monitor) {
+        // iterate over the meta node config elements
+        // and create meta node templates
+        for (IConfigurationElement mnConfig : m_metanodeElements) {
+            if (monitor.isCanceled()) {
+                return;
+            }
+
+            try {
+                MetaNodeTemplate metaNode = RepositoryFactory.createMetaNode(mnConfig);
+                LOGGER.debug("Found meta node definition '" + metaNode.getID() + "': " + metaNode.getName());
+                m_metanodes.add(metaNode);
+            } catch (Throwable t) {
+                String message = "MetaNode " + mnConfig.getAttribute("id") + "' from plugin '"
+                    + mnConfig.getNamespaceIdentifier() + "' could not be created: " + t.getMessage();
+                Bundle bundle = Platform.getBundle(mnConfig.getNamespaceIdentifier());
+
+                if ((bundle == null) || (bundle.getState() != Bundle.ACTIVE)) {
+                    // if the plugin is null, the plugin could not
+                    // be activated maybe due to a not
+                    // activateable plugin
+                    // (plugin class cannot be found)
+                    message = message + " The corresponding plugin bundle could not be activated!";
+                }
+
+                LOGGER.error(message, t);
+            }
+        }
+    }
+
+    /**
+     * Builds one repository tree from the loaded templates. The complete tree is built from copies of the templates
+     * because a repository object can only have one parent.
+     */
+    private void assemble(final IProgressMonitor monitor, final Root root, final boolean isIncludeDeprecated) {
+        final List<Listener> listeners = isIncludeDeprecated ? Collections.emptyList() : m_loadListeners;
+        final boolean copy = isIncludeDeprecated;
+
+        addCategories(monitor, root, listeners);
+        if (monitor.isCanceled()) {
+            return;
+        }
+        addNodes(monitor, root, listeners, isIncludeDeprecated, copy);
+        if (monitor.isCanceled()) {
+            return;
+        }
+        addNodeSets(monitor, root, listeners, isIncludeDeprecated, copy);
+        if (monitor.isCanceled()) {
+            return;
+        }
+        addMetanodes(monitor, root, listeners, copy);
+        if (monitor.isCanceled()) {
+            return;
+        }
+        removeEmptyCategories(root);
+    }
+
+    private void addCategories(final IProgressMonitor monitor, final Root root, final List<Listener> listeners) {
+        for (IConfigurationElement e : m_categoryElements) {
+            if (monitor.isCanceled()) {
+                return;
+            }
+            try {
+                Category category = RepositoryFactory.createCategory(root, e);
+                String iconPath = e.getAttribute("icon");
+                if ((iconPath != null) && (category.getParent() != null)) {
+                    m_iconReferences.put(RepositorySnapshot.getCategoryKey(category), RepositorySnapshot
+                        .createIconReference(e.getDeclaringExtension().getNamespaceIdentifier(), iconPath));
+                }
+                LOGGER.debug("Found category extension '" + category.getID() + "' on path '" + category.getPath()
+                    + "'");
+                for (Listener l : listeners) {
+                    l.newCategory(root, category);
+                }
+            } catch (Exception ex) {
+                String message = "Category '" + e.getAttribute("level-id") + "' from plugin '"
+                    + e.getDeclaringExtension().getNamespaceIdentifier() + "' could not be created in parent path '"
+                    + e.getAttribute("path") + "'.";
+                LOGGER.error(message, ex);
+            }
+        }
+    }
+
+    private void addNodes(final IProgressMonitor monitor, final Root root, final List<Listener> listeners,
+        final boolean isIncludeDeprecated, final boolean copy) {
+        IContainerObject uncategorized = root.findContainer("/uncategorized");
+        if (uncategorized == null) {
+            // this should never happen, but who knows...
+            uncategorized = root;
+        }
+
+        for (LoadedNode<DefaultNodeTemplate> loadedNode : m_nodes) {
+            if (monitor.isCanceled()) {
+                return;
+            }
+            if (loadedNode.m_isDeprecated && !isIncludeDeprecated) { // deprecate nodes are hidden
+                continue;
+            }
+
+            DefaultNodeTemplate node = loadedNode.getTemplate(copy);
+            LOGGER.debugWithFormat("Found node extension '%s': %s", node.getID(), node.getName());
+            for (Listener l : listeners) {
+                l.newNode(root, node);
+            }
+            addToIndex(node, copy);
+
+            // Ask the root to lookup the category-container located at
+            // the given path
+            IContainerObject parentContainer = root.findContainer(node.getCategoryPath());
+
+            // If parent category is illegal, log an error and append
+            // the node to the repository root.
+            if (parentContainer == null) {
+                if (!copy) {
+                    LOGGER.coding("Unknown category for node " + node.getID() + " (plugin: "
+                        + node.getContributingPlugin() + "): " + node.getCategoryPath()
+                        + ". Node will be added to 'Uncategorized' instead");
+                }
+                uncategorized.addChild(node);
+            } else {
+                String nodePluginId = loadedNode.m_pluginId;
+                String categoryPluginId = parentContainer.getContributingPlugin();
+                if (categoryPluginId == null) {
+                    categoryPluginId = "";
+                }
+                int secondDotIndex = nodePluginId.indexOf('.', nodePluginId.indexOf('.') + 1);
+                if (secondDotIndex == -1) {
+                    secondDotIndex = 0;
+                }
+
+                if (!parentContainer.isLocked() ||
+                        nodePluginId.equals(categoryPluginId) ||
+                        nodePluginId.startsWith("org.knime.") ||
+                        nodePluginId.startsWith("com.knime.") ||
+                        nodePluginId.regionMatches(0, categoryPluginId, 0, secondDotIndex)) {
+                    // container not locked, or node and category from same plug-in
+                    // or the vendor is the same (comparing the first two parts of the plug-in ids)
+                    parentContainer.addChild(node);
+                } else {
+                    if (!copy) {
+                        LOGGER.coding("Locked category for node " + node.getID() + ": " + node.getCategoryPath()
+                            + ". Node will be added to 'Uncategorized' instead");
+                    }
+                    uncategorized.addChild(node);
+                }
+            }
+        }
+    }
+
+    /**
+     * Categories created for node sets get the node set's default icon, unless they have been created before from a
+     * category extension.
+     */
+    private void addNodeSetIconReferences(final NodeSetFactoryExtension set, final String categoryPath) {
+        String iconPath = set.getDefaultCategoryIconPath().orElse(null);
+        if (iconPath == null) {
+            return;
+        }
+        String iconReference = RepositorySnapshot.createIconReference(set.getPlugInSymbolicName(), iconPath);
+        StringBuilder key = new StringBuilder();
+        for (String segment : categoryPath.split("/")) {
+            if (!segment.isEmpty()) {
+                key.append('/').append(segment);
+                m_iconReferences.putIfAbsent(RepositorySnapshot.CATEGORY_KEY_PREFIX + key, iconReference);
+            }
+        }
+    }
+
+    /** Nodes from the regular tree take precedence, the complete tree only adds the deprecated ones. */
+    private void addToIndex(final NodeTemplate node, final boolean copy) {
+        if (copy) {
+            m_nodesById.putIfAbsent(node.getID(), node);
+        } else {
+            m_nodesById.put(node.getID(), node);
+        }
+    }
+
+    private void addNodeSets(final IProgressMonitor monitor, final Root root, final List<Listener> listeners,
+        final boolean isIncludeDeprecated, final boolean copy) {
+        for (List<LoadedNode<DynamicNodeTemplate>> nodeSet : m_nodeSets) {
+            // categories of a node set are created before any of its nodes is added, as in
+            // RepositoryFactory#createNodeSet
+            List<DynamicNodeTemplate> nodes = new ArrayList<>();
+            for (LoadedNode<DynamicNodeTemplate> loadedNode : nodeSet) {
+                if (loadedNode.m_isDeprecated && !isIncludeDeprecated) {
+                    continue;
+                }
+                DynamicNodeTemplate node = loadedNode.getTemplate(copy);
+                RepositoryFactory.addNodeSetCategories(loadedNode.m_nodeSet, root, node.getCategoryPath());
+                addNodeSetIconReferences(loadedNode.m_nodeSet, node.getCategoryPath());
+                nodes.add(node);
+            }
+
+            for (DynamicNodeTemplate node : nodes) {
+                if (monitor.isCanceled()) {
+                    return;
+                }
+                for (Listener l : listeners) {
+                    l.newNode(root, node);
+                }
+                addToIndex(node, copy);
+
+                // Ask the root to lookup the category-container located at the given path
+                IContainerObject parentContainer = root.findContainer(node.getCategoryPath());
+
+                // If parent category is illegal, log an error and append the node to the repository root.
+                if (parentContainer == null) {
+                    LOGGER.warnWithFormat("Invalid category-path for node contribution: '%s' - adding to root instead",
+                        node.getCategoryPath());
+                    root.addChild(node);
+                } else {
+                    // everything is fine, add the node to its parent
+                    // category
+                    parentContainer.addChild(node);
+                }
+            }
+        }
+    }
+
+    private void addMetanodes(final IProgressMonitor monitor, final Root root, final List<Listener> listeners,
+        final boolean copy) {
+        for (MetaNodeTemplate template : m_metanodes) {
+            if (monitor.isCanceled()) {
+                return;
+            }
+            MetaNodeTemplate metaNode = copy ? (MetaNodeTemplate)template.deepCopy() : template;
+            for (Listener l : listeners) {
+                l.newMetanode(root, metaNode);
+            }
+
+            IContainerObject parentContainer = root.findContainer(metaNode.getCategoryPath());
+            // If parent category is illegal, log an error and
+            // append the node to the repository root.
+            if (parentContainer == null) {
+                LOGGER.warn("Invalid category-path for node contribution: '" + metaNode.getCategoryPath()
+                    + "' - adding to root instead");
+                root.addChild(metaNode);
+            } else {
+                // everything is fine, add the node to its parent
+                // category
+                parentContainer.addChild(metaNode);
+            }
+        }
+    }
+
+    /**
+     * Returns the extensions for a given extension point.
+     *
+     * @param pointID The extension point ID
+     *
+     * @return The extensions
+     */
+    private static IExtension[] getExtensions(final String pointID) {
+        IExtensionRegistry registry = Platform.getExtensionRegistry();
+        IExtensionPoint point = registry.getExtensionPoint(pointID);
+        if (point == null) {
+            throw new IllegalStateException("Invalid extension point : " + pointID);
+        }
+        return point.getExtensions();
+    }
+
+    private static void removeDuplicatesFromCategories(final List<IConfigurationElement> allElements) {
+        // brute force search
+        for (int i = 0; i < allElements.size(); i++) {
+            for (int j = allElements.size() - 1; j > i; j--) {
+
+                String pathOuter = allElements.get(i).getAttribute("path");
+                String levelIdOuter = allElements.get(i).getAttribute("level-id");
+                String pathInner = allElements.get(j).getAttribute("path");
+                String levelIdInner = allElements.get(j).getAttribute("level-id");
+
+                if (pathOuter.equals(pathInner) && levelIdOuter.equals(levelIdInner)) {
+
+                    String nameI = allElements.get(i).getAttribute("name");
+                    String nameJ = allElements.get(j).getAttribute("name");
+
+                    // the removal is only reported in case the names
+                    // are not equal (if they are equal,the user will not
+                    // notice any difference (except possibly the picture))
+                    if (!nameI.equals(nameJ)) {
+                        String pluginI = allElements.get(i).getDeclaringExtension().getNamespaceIdentifier();
+                        String pluginJ = allElements.get(j).getDeclaringExtension().getNamespaceIdentifier();
+
+                        String message = "Category '" + pathOuter + "/" + levelIdOuter
+                            + "' was found twice. Names are '" + nameI + "'(Plugin: " + pluginI + ") and '" + nameJ
+                            + "'(Plugin: " + pluginJ + "). The category with name '" + nameJ + "' is ignored.";
+
+                        LOGGER.warn(message);
+                    }
+
+                    // remove from the end of the list
+                    allElements.remove(j);
+                }
+            }
+        }
+    }
+
+    private static void removeEmptyCategories(final AbstractContainerObject treeNode) {
+        for (IRepositoryObject object : treeNode.getChildren()) {
+            if (object instanceof AbstractContainerObject) {
+                AbstractContainerObject cat = (AbstractContainerObject)object;
+                removeEmptyCategories(cat);
+                if (!cat.hasChildren() && (cat.getParent() != null)) {
+                    cat.getParent().removeChild((AbstractContainerObject)object);
+                }
+            }
+        }
+    }
+
+    /**
+     * A node template together with the factory instance it has been created from.
+     *
+     * @param <T> the type of the template
+     */
+    private static final class LoadedNode<T extends NodeTemplate> {
+        private final T m_template;
+
+        private final NodeFactory<? extends NodeModel> m_factory;
+
+        private final String m_pluginId;
+
+        private final NodeSetFactoryExtension m_nodeSet;
+
+        private final boolean m_isDeprecated;
+
+        LoadedNode(final T template, final NodeFactory<? extends NodeModel> factory, final String pluginId,
+            final NodeSetFactoryExtension nodeSet, final boolean isDeprecated) {
+            m_template = template;
+            m_factory = factory;
+            m_pluginId = pluginId;
+            m_nodeSet = nodeSet;
+            m_isDeprecated = isDeprecated;
+        }
+
+        @SuppressWarnings("unchecked")
+        T getTemplate(final boolean copy) {
+            return copy ? (T)m_template.deepCopy() : m_template;
+        }
+    }
+}
@@ -47,43 +47,35 @@
  */
 package org.knime.workbench.repository;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collection;
+import java.io.IOException;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
-import org.eclipse.core.runtime.IConfigurationElement;
-import org.eclipse.core.runtime.IExtension;
-import org.eclipse.core.runtime.IExtensionPoint;
-import org.eclipse.core.runtime.IExtensionRegistry;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
-import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.knime.core.node.InvalidSettingsException;
 import org.knime.core.node.NodeFactory;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.NodeModel;
 import org.knime.core.node.extension.InvalidNodeFactoryExtensionException;
-import org.knime.core.node.extension.NodeFactoryExtension;
-import org.knime.core.node.extension.NodeFactoryExtensionManager;
-import org.knime.core.node.extension.NodeSetFactoryExtension;
 import org.knime.core.node.workflow.FileNativeNodeContainerPersistor;
-import org.knime.core.util.Pair;
-import org.knime.workbench.repository.model.AbstractContainerObject;
+import org.knime.core.util.KNIMEJob;
+import org.knime.workbench.repository.model.AbstractRepositoryObject;
 import org.knime.workbench.repository.model.Category;
-import org.knime.workbench.repository.model.DefaultNodeTemplate;
 import org.knime.workbench.repository.model.DynamicNodeTemplate;
 import org.knime.workbench.repository.model.IContainerObject;
 import org.knime.workbench.repository.model.IRepositoryObject;
 import org.knime.workbench.repository.model.MetaNodeTemplate;
 import org.knime.workbench.repository.model.NodeTemplate;
 import org.knime.workbench.repository.model.Root;
-import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
 
 /**
  * Manages the (global) KNIME Repository. This class collects all the
@@ -91,6 +83,8 @@
  * model. The repository is created on-demand as soon as one of the three public
  * methods is called. Thus the first call can take some time to return.
  * Subsequent calls will return immediately with the full repository tree.
+ * The regular and the complete repository (including deprecated nodes) are
+ * always read together, see {@link RepositoryLoader}.
  *
  * @author Florian Georg, University of Konstanz
  * @author Thorsten Meinl, University of Konstanz
@@ -128,22 +122,16 @@ public interface Listener {
         public void newMetanode(Root root, MetaNodeTemplate metanode);
     }
 
-    private static final NodeLogger LOGGER = NodeLogger
-            .getLogger(RepositoryManager.class);
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(RepositoryManager.class);
 
     /** The singleton instance. */
     public static final RepositoryManager INSTANCE = new RepositoryManager();
 
-    // ID of "category" extension point
-    private static final String ID_CATEGORY
-            = "org.knime.workbench.repository.categories";
-
-    private static final String ID_META_NODE
-            = "org.knime.workbench.repository.metanode";
-
     private final List<Listener> m_loadListeners =
             new CopyOnWriteArrayList<Listener>();
 
+    private final List<Runnable> m_changeListeners = new CopyOnWriteArrayList<>();
+
     private final Root m_root = new Root();
 
     private final Map<String, NodeTemplate> m_nodesById =
@@ -151,6 +139,10 @@ public interface Listener {
 
     private final Root m_completeRoot = new Root();
 
+    private final Object m_additionalInfoLock = new Object();
+
+    private AdditionalInfoStore m_additionalInfoStore;
+
     /**
      * Creates the repository model. This instantiates all contributed
      * category/node extensions found in the global Eclipse PluginRegistry, and
@@ -159,404 +151,83 @@ public interface Listener {
     private RepositoryManager() {
     }
 
+    /**
+     * Reads the regular and the complete repository in one pass, see {@link RepositoryLoader}. If a valid
+     * {@link RepositorySnapshot} exists, the repository is restored from it instead and only the metanodes are read
+     * from the extension registry. An outdated snapshot is discarded and rewritten after the repository has been
+     * read from the extension registry. Since the nodes contributed by node set factories can only be checked by
+     * instantiating the factories, a restored repository is validated in the background; if it turns out to be
+     * outdated it is read again, the snapshot is rewritten and the change listeners are notified.
+     */
     private void readRepository(final IProgressMonitor monitor) {
-        assert !m_root.hasChildren();
-        readCategories(monitor, m_root);
-        if (monitor.isCanceled()) {
-            return;
-        }
-        readNodes(monitor, m_root, false);
-        if (monitor.isCanceled()) {
-            return;
-        }
-        readNodeSets(monitor, m_root, false);
-        if (monitor.isCanceled()) {
-            return;
-        }
-        readMetanodes(monitor, m_root);
-        if (monitor.isCanceled()) {
-            return;
+        assert !m_root.hasChildren() && !m_completeRoot.hasChildren();
+        final RepositorySnapshot snapshot = RepositorySnapshot.getInstance();
+        if ((snapshot != null) && snapshot.restore(m_root, m_completeRoot, m_nodesById, m_loadListeners)) {
+            new RepositoryLoader(m_loadListeners, m_nodesById).loadMetanodes(monitor, m_root, m_completeRoot);
+            scheduleSnapshotJob("Node Repository Snapshot Validator", m -> validateSnapshot(snapshot, m));
+        } else {
+            final RepositoryLoader loader = new RepositoryLoader(m_loadListeners, m_nodesById);
+            loader.load(monitor, m_root, m_completeRoot);
+            if ((snapshot != null) && !monitor.isCanceled()) {
+                scheduleSnapshotJob("Node Repository Snapshot Writer",
+                    m -> writeSnapshot(snapshot, loader, m_root, m_completeRoot));
+            }
         }
-        removeEmptyCategories(m_root);
         m_loadListeners.clear();
     }
 
-    private void readCompleteRepository(final IProgressMonitor monitor) {
-        assert !m_completeRoot.hasChildren();
-        readCategories(monitor, m_completeRoot);
-        if (monitor.isCanceled()) {
-            return;
-        }
-        readNodes(monitor, m_completeRoot, true);
-        if (monitor.isCanceled()) {
+    private void validateSnapshot(final RepositorySnapshot snapshot, final IProgressMonitor monitor) {
+        if (snapshot.validateNodeSets(monitor) || monitor.isCanceled()) {
             return;
         }
-        readNodeSets(monitor, m_completeRoot, true);
+        final Root root = new Root();
+        final Root completeRoot = new Root();
+        final Map<String, NodeTemplate> nodesById = new HashMap<>();
+        final RepositoryLoader loader = new RepositoryLoader(Collections.emptyList(), nodesById);
+        loader.load(monitor, root, completeRoot);
         if (monitor.isCanceled()) {
             return;
         }
-        readMetanodes(monitor, m_completeRoot);
-        if (monitor.isCanceled()) {
-            return;
-        }
-        removeEmptyCategories(m_completeRoot);
-        m_loadListeners.clear();
-    }
-
-    private void readMetanodes(final IProgressMonitor monitor, final Root root) {
-        // iterate over the meta node config elements
-        // and create meta node templates
-        IExtension[] metanodeExtensions = getExtensions(ID_META_NODE);
-        for (IExtension mnExt : metanodeExtensions) {
-            IConfigurationElement[] mnConfigElems =
-                    mnExt.getConfigurationElements();
-            for (IConfigurationElement mnConfig : mnConfigElems) {
-                if (monitor.isCanceled()) {
-                    return;
-                }
-
-                try {
-                    MetaNodeTemplate metaNode =
-                            RepositoryFactory.createMetaNode(mnConfig);
-                    LOGGER.debug("Found meta node definition '"
-                        + metaNode.getID() + "': " + metaNode.getName());
-                    for (Listener l : m_loadListeners) {
-                        l.newMetanode(root, metaNode);
-                    }
-
-                    IContainerObject parentContainer =
-                            root.findContainer(metaNode.getCategoryPath());
-                    // If parent category is illegal, log an error and
-                    // append the node to the repository root.
-                    if (parentContainer == null) {
-                        LOGGER.warn("Invalid category-path for node "
-                                + "contribution: '"
-                                + metaNode.getCategoryPath()
-                                + "' - adding to root instead");
-                        root.addChild(metaNode);
-                    } else {
-                        // everything is fine, add the node to its parent
-                        // category
-                        parentContainer.addChild(metaNode);
-                    }
-                } catch (Throwable t) {
-                    String message =
-                            "MetaNode " + mnConfig.getAttribute("id")
-                                    + "' from plugin '"
-                                    + mnConfig.getNamespaceIdentifier()
-                                    + "' could not be created: "
-                                    + t.getMessage();
-                    Bundle bundle =
-                            Platform.getBundle(mnConfig
-                                    .getNamespaceIdentifier());
-
-                    if ((bundle == null)
-                            || (bundle.getState() != Bundle.ACTIVE)) {
-                        // if the plugin is null, the plugin could not
-                        // be activated maybe due to a not
-                        // activateable plugin
-                        // (plugin class cannot be found)
-                        message =
-                                message + " The corresponding plugin "
-                                        + "bundle could not be activated!";
-                    }
-
-                    LOGGER.error(message, t);
-                }
-            }
-        }
-    }
-
-    private void readCategories(final IProgressMonitor monitor, final Root root) {
-        //
-        // First, process the contributed categories
-        //
-        IExtension[] categoryExtensions = getExtensions(ID_CATEGORY);
-        ArrayList<IConfigurationElement> allElements =
-                new ArrayList<IConfigurationElement>();
-
-        for (IExtension ext : categoryExtensions) {
-            // iterate through the config elements and create 'Category' objects
-            IConfigurationElement[] elements = ext.getConfigurationElements();
-            allElements.addAll(Arrays.asList(elements));
-        }
-
-        // remove duplicated categories
-        removeDuplicatesFromCategories(allElements);
-
-        // sort first by path-depth, so that everything is there in the
-        // right order
-        Collections.sort(allElements, new Comparator<IConfigurationElement>() {
-            @Override
-            public int compare(final IConfigurationElement o1,
-                    final IConfigurationElement o2) {
-                String element1 = o1.getAttribute("path");
-                String element2 = o2.getAttribute("path");
-                if (element1 == element2) {
-                    return 0;
-                } else if (element1 == null) {
-                    return -1;
-                } else if (element2 == null) {
-                    return 1;
-                } else if (element1.equals(element2)) {
-                    return 0;
-                } else if ("/".equals(element1)) {
-                    return -1;
-                } else if ("/".equals(element2)) {
-                    return 1;
-                } else {
-                    int countSlashes1 = 0;
-                    for (int i = 0; i < element1.length(); i++) {
-                        if (element1.charAt(i) == '/') { countSlashes1++; }
-                    }
-
-                    int countSlashes2 = 0;
-                    for (int i = 0; i < element2.length(); i++) {
-                        if (element2.charAt(i) == '/') { countSlashes2++; }
-                    }
-                    return countSlashes1 - countSlashes2;
-                }
-            }
-        });
-
-        for (IConfigurationElement e : allElements) {
-            if (monitor.isCanceled()) {
-                return;
-            }
-            try {
-                Category category = RepositoryFactory.createCategory(root, e);
-                LOGGER.debug("Found category extension '" + category.getID()
-                        + "' on path '" + category.getPath() + "'");
-                for (Listener l : m_loadListeners) {
-                    l.newCategory(root, category);
-                }
-            } catch (Exception ex) {
-                String message =
-                        "Category '"
-                                + e.getAttribute("level-id")
-                                + "' from plugin '"
-                                + e.getDeclaringExtension()
-                                        .getNamespaceIdentifier()
-                                + "' could not be created in parent path '"
-                                + e.getAttribute("path") + "'.";
-                LOGGER.error(message, ex);
-            }
-        }
-    }
-
-
-    private void readNodes(final IProgressMonitor monitor, final Root root, final boolean isIncludeDeprecated) {
-        IContainerObject uncategorized = root.findContainer("/uncategorized");
-        if (uncategorized == null) {
-            // this should never happen, but who knows...
-            uncategorized = root;
+        writeSnapshot(snapshot, loader, root, completeRoot);
+        synchronized (this) {
+            replaceChildren(root, m_root);
+            replaceChildren(completeRoot, m_completeRoot);
+            m_nodesById.clear();
+            m_nodesById.putAll(nodesById);
         }
-
-        for (NodeFactoryExtension nodeFactoryExtension : NodeFactoryExtensionManager.getInstance()
-            .getNodeFactoryExtensions()) {
-            if (monitor.isCanceled()) {
-                return;
-            }
-
-            try {
-                if (nodeFactoryExtension.isDeprecated() && !isIncludeDeprecated) { // deprecate nodes are hidden
-                    continue;
-                }
-                if (nodeFactoryExtension.isHidden()) {
-                    continue;
-                }
-
-                Pair<DefaultNodeTemplate, Boolean> nodePair = RepositoryFactory.createNode(nodeFactoryExtension);
-                DefaultNodeTemplate node = nodePair.getFirst();
-                node.setDeprecated(nodeFactoryExtension.isDeprecated());
-                Boolean isDeprecatedInNode = nodePair.getSecond();
-
-                // nodeFactoryExtension.isDeprecated() - reads the flag from the plugin.xml
-                // isDeprecatedInNode -- reads FooNodeFactory.xml header _AND_ plugin.xml
-                //                                                             (injected via NodeFactoryExtension)
-                // if they are different then the node is deprecated via the FooFactory.xml but not in the plugin.xml...
-                if (nodeFactoryExtension.isDeprecated() != isDeprecatedInNode) {
-                    LOGGER.codingWithFormat(
-                        "%s \"%s\" is declared 'deprecated' in its node description but not in "
-                            + "the extension point contribution (plug-in \"%s\")",
-                        NodeFactory.class.getSimpleName(), nodeFactoryExtension.getFactoryClassName(),
-                        nodeFactoryExtension.getPlugInSymbolicName());
-                    if (!isIncludeDeprecated) {
-                        continue;
-                    }
-                }
-
-                LOGGER.debugWithFormat("Found node extension '%s': %s", node.getID(), node.getName());
-                for (Listener l : m_loadListeners) {
-                    l.newNode(root, node);
-                }
-
-                m_nodesById.put(node.getID(), node);
-                String nodeName = node.getID();
-                nodeName = nodeName.substring(nodeName.lastIndexOf('.') + 1);
-
-                // Ask the root to lookup the category-container located at
-                // the given path
-                IContainerObject parentContainer =
-                        root.findContainer(node.getCategoryPath());
-
-                // If parent category is illegal, log an error and append
-                // the node to the repository root.
-                if (parentContainer == null) {
-                    LOGGER.coding("Unknown category for node " + node.getID() + " (plugin: "
-                            + node.getContributingPlugin() + "): " + node.getCategoryPath()
-                            + ". Node will be added to 'Uncategorized' instead");
-                    uncategorized.addChild(node);
-                } else {
-                    String nodePluginId = nodeFactoryExtension.getPlugInSymbolicName();
-                    String categoryPluginId = parentContainer.getContributingPlugin();
-                    if (categoryPluginId == null) {
-                        categoryPluginId = "";
-                    }
-                    int secondDotIndex = nodePluginId.indexOf('.', nodePluginId.indexOf('.') + 1);
-                    if (secondDotIndex == -1) {
-                        secondDotIndex = 0;
-                    }
-
-                    if (!parentContainer.isLocked() ||
-                            nodePluginId.equals(categoryPluginId) ||
-                            nodePluginId.startsWith("org.knime.") ||
-                            nodePluginId.startsWith("com.knime.") ||
-                            nodePluginId.regionMatches(0, categoryPluginId, 0, secondDotIndex)) {
-                        // container not locked, or node and category from same plug-in
-                        // or the vendor is the same (comparing the first two parts of the plug-in ids)
-                        parentContainer.addChild(node);
-                    } else {
-                        LOGGER.coding("Locked category for node " + node.getID() + ": " + node.getCategoryPath()
-                                    + ". Node will be added to 'Uncategorized' instead");
-                        uncategorized.addChild(node);
-                    }
-                }
-
-            } catch (InvalidNodeFactoryExtensionException t) {
-                LOGGER.error(t.getMessage(), t);
-            }
-
-        } // for configuration elements
-    }
-
-
-    private void readNodeSets(final IProgressMonitor monitor, final Root root, final boolean isIncludeDeprecated) {
-        for (NodeSetFactoryExtension set : NodeFactoryExtensionManager.getInstance().getNodeSetFactoryExtensions()) {
-            Collection<DynamicNodeTemplate> dynamicNodeTemplates =
-                    RepositoryFactory.createNodeSet(set, root, isIncludeDeprecated);
-
-            for (DynamicNodeTemplate node : dynamicNodeTemplates) {
-                if (monitor.isCanceled()) {
-                    return;
-                }
-                for (Listener l : m_loadListeners) {
-                    l.newNode(root, node);
-                }
-
-                m_nodesById.put(node.getID(), node);
-                String nodeName = node.getID();
-                nodeName = nodeName.substring(nodeName.lastIndexOf('.') + 1);
-
-                // Ask the root to lookup the category-container located at the given path
-                IContainerObject parentContainer = root.findContainer(node.getCategoryPath());
-
-                // If parent category is illegal, log an error and append the node to the repository root.
-                if (parentContainer == null) {
-                    LOGGER.warnWithFormat("Invalid category-path for node contribution: '%s' - adding to root instead",
-                        node.getCategoryPath());
-                    root.addChild(node);
-                } else {
-                    // everything is fine, add the node to its parent
-                    // category
-                    parentContainer.addChild(node);
-                }
-
-            }
+        for (Runnable l : m_changeListeners) {
+            l.run();
         }
     }
 
-    /**
-     * Returns the extensions for a given extension point.
-     *
-     * @param pointID The extension point ID
-     *
-     * @return The extensions
-     */
-    private static IExtension[] getExtensions(final String pointID) {
-        IExtensionRegistry registry = Platform.getExtensionRegistry();
-        IExtensionPoint point = registry.getExtensionPoint(pointID);
-        if (point == null) {
-            throw new IllegalStateException("Invalid extension point : "
-                    + pointID);
-
+    private static void replaceChildren(final Root from, final Root to) {
+        to.removeAllChildren();
+        for (IRepositoryObject child : from.getChildren()) {
+            to.addChild((AbstractRepositoryObject)child);
         }
-        return point.getExtensions();
+        from.removeAllChildren();
     }
 
-    private static void removeDuplicatesFromCategories(
-            final ArrayList<IConfigurationElement> allElements) {
-
-        // brute force search
-        for (int i = 0; i < allElements.size(); i++) {
-            for (int j = allElements.size() - 1; j > i; j--) {
-
-                String pathOuter = allElements.get(i).getAttribute("path");
-                String levelIdOuter =
-                        allElements.get(i).getAttribute("level-id");
-                String pathInner = allElements.get(j).getAttribute("path");
-                String levelIdInner =
-                        allElements.get(j).getAttribute("level-id");
-
-                if (pathOuter.equals(pathInner)
-                        && levelIdOuter.equals(levelIdInner)) {
-
-                    String nameI = allElements.get(i).getAttribute("name");
-                    String nameJ = allElements.get(j).getAttribute("name");
-
-                    // the removal is only reported in case the names
-                    // are not equal (if they are equal,the user will not
-                    // notice any difference (except possibly the picture))
-                    if (!nameI.equals(nameJ)) {
-                        String pluginI =
-                                allElements.get(i).getDeclaringExtension()
-                                        .getNamespaceIdentifier();
-                        String pluginJ =
-                                allElements.get(j).getDeclaringExtension()
-                                        .getNamespaceIdentifier();
-
-                        String message =
-                                "Category '" + pathOuter + "/" + levelIdOuter
-                                        + "' was found twice. Names are '"
-                                        + nameI + "'(Plugin: " + pluginI
-                                        + ") and '" + nameJ + "'(Plugin: "
-                                        + pluginJ
-                                        + "). The category with name '" + nameJ
-                                        + "' is ignored.";
-
-                        LOGGER.warn(message);
-                    }
-
-                    // remove from the end of the list
-                    allElements.remove(j);
-
-                }
-            }
+    private static void writeSnapshot(final RepositorySnapshot snapshot, final RepositoryLoader loader,
+        final Root root, final Root completeRoot) {
+        try {
+            snapshot.write(root, completeRoot, loader.getIconReferences(), loader.getNodeFactoryClassNames());
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.warn("Could not write node repository snapshot: " + ex.getMessage(), ex);
         }
     }
 
-    private static void removeEmptyCategories(
-            final AbstractContainerObject treeNode) {
-        for (IRepositoryObject object : treeNode.getChildren()) {
-            if (object instanceof AbstractContainerObject) {
-                AbstractContainerObject cat = (AbstractContainerObject)object;
-                removeEmptyCategories(cat);
-                if (!cat.hasChildren() && (cat.getParent() != null)) {
-                    cat.getParent()
-                            .removeChild((AbstractContainerObject)object);
-                }
+    private void scheduleSnapshotJob(final String name, final Consumer<IProgressMonitor> task) {
+        final Job job = new KNIMEJob(name, FrameworkUtil.getBundle(getClass())) {
+            @Override
+            protected IStatus run(final IProgressMonitor monitor) {
+                task.accept(monitor);
+                return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
             }
-        }
+        };
+        job.setSystem(true);
+        job.setPriority(Job.DECORATE);
+        job.schedule();
     }
 
     /**
@@ -570,7 +241,7 @@ private static void removeEmptyCategories(
      * @return the root object
      */
     public synchronized Root getRoot(final IProgressMonitor monitor) {
-        if (!m_root.hasChildren()) {
+        if (!m_root.hasChildren() && !m_completeRoot.hasChildren()) {
             readRepository(monitor);
         }
         return m_root;
@@ -601,8 +272,8 @@ public synchronized Root getRoot() {
      * @return the root object
      */
     public synchronized Root getCompleteRoot(final IProgressMonitor monitor) {
-        if (!m_completeRoot.hasChildren()) {
-            readCompleteRepository(monitor);
+        if (!m_completeRoot.hasChildren() && !m_root.hasChildren()) {
+            readRepository(monitor);
         }
         return m_completeRoot;
     }
@@ -633,6 +304,87 @@ public void addLoadListener(final Listener listener) {
         m_loadListeners.add(listener);
     }
 
+    /**
+     * Adds a listener which is notified (in a background thread) whenever the contents of the roots returned by
+     * {@link #getRoot()} and {@link #getCompleteRoot()} have been replaced, e.g. because the repository restored from
+     * the snapshot turned out to be outdated. The additional information of the node templates has to be added again
+     * in this case.
+     *
+     * @param listener a listener
+     * @since 4.5
+     */
+    public void addChangeListener(final Runnable listener) {
+        m_changeListeners.add(listener);
+    }
+
+    /**
+     * Removes a listener added with {@link #addChangeListener(Runnable)}.
+     *
+     * @param listener a listener
+     * @since 4.5
+     */
+    public void removeChangeListener(final Runnable listener) {
+        m_changeListeners.remove(listener);
+    }
+
+    /**
+     * Adds the additional information computed by the given provider to all node templates below the given repository
+     * object, see {@link org.knime.workbench.repository.model.AbstractRepositoryObject#getAdditionalInfo(String)}. The
+     * information is persisted, so that it is only computed for nodes it is not known for yet; it is computed again if
+     * the installed bundles change.
+     *
+     * @param parent a repository object, usually a root
+     * @param provider the provider computing the information
+     * @param monitor a progress monitor, mainly used for canceling; must not be <code>null</code>
+     * @param computedCallback called for each node template whose information had to be computed, may be
+     *            <code>null</code>
+     * @since 4.5
+     */
+    public void addAdditionalInfo(final IRepositoryObject parent, final AdditionalInfoProvider provider,
+        final IProgressMonitor monitor, final Consumer<NodeTemplate> computedCallback) {
+        synchronized (m_additionalInfoLock) {
+            if (m_additionalInfoStore == null) {
+                m_additionalInfoStore = AdditionalInfoStore.load();
+            }
+            addAdditionalInfo(parent, provider, m_additionalInfoStore, monitor, computedCallback);
+            m_additionalInfoStore.flush();
+        }
+    }
+
+    private static void addAdditionalInfo(final IRepositoryObject parent, final AdditionalInfoProvider provider,
+        final AdditionalInfoStore store, final IProgressMonitor monitor, final Consumer<NodeTemplate> computedCallback) {
+        if (monitor.isCanceled()) {
+            return;
+        }
+        if (parent instanceof IContainerObject) {
+            for (IRepositoryObject child : ((IContainerObject)parent).getChildren()) {
+                addAdditionalInfo(child, provider, store, monitor, computedCallback);
+            }
+        } else if (parent instanceof NodeTemplate) {
+            NodeTemplate template = (NodeTemplate)parent;
+            final String key = provider.getKey();
+            final boolean isKnown = store.contains(key, template.getID());
+            String info;
+            if (isKnown) {
+                info = store.get(key, template.getID());
+            } else {
+                try {
+                    info = provider.computeInfo(template);
+                } catch (Throwable t) {
+                    LOGGER.error("Unable to compute '" + key + "' for the node " + template.getID(), t);
+                    return;
+                }
+                store.put(key, template.getID(), info);
+            }
+            if (info != null) {
+                template.addAdditionalInfo(key, info);
+            }
+            if (!isKnown && (computedCallback != null)) {
+                computedCallback.accept(template);
+            }
+        }
+    }
+
     /**
      * Returns the node template with the given id, or <code>null</code> if no such node exists.
      *
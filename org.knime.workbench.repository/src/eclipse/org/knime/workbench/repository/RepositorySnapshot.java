@@ -0,0 +1,550 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.workbench.repository;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.swt.graphics.Image;
+import org.knime.core.node.NodeFactory.NodeType;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.extension.NodeFactoryExtension;
+import org.knime.core.node.extension.NodeFactoryExtensionManager;
+import org.knime.core.node.extension.NodeSetFactoryExtension;
+import org.knime.core.util.Pair;
+import org.knime.workbench.core.util.ImageRepository;
+import org.knime.workbench.core.util.ImageRepository.SharedImages;
+import org.knime.workbench.repository.RepositoryManager.Listener;
+import org.knime.workbench.repository.model.AbstractContainerObject;
+import org.knime.workbench.repository.model.AbstractRepositoryObject;
+import org.knime.workbench.repository.model.Category;
+import org.knime.workbench.repository.model.DefaultNodeTemplate;
+import org.knime.workbench.repository.model.DynamicNodeTemplate;
+import org.knime.workbench.repository.model.IContainerObject;
+import org.knime.workbench.repository.model.IRepositoryObject;
+import org.knime.workbench.repository.model.NodeTemplate;
+import org.knime.workbench.repository.model.Root;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
+
+/**
+ * Versioned binary snapshot of the node repository (categories and node templates of both the regular and the
+ * complete repository). The snapshot is stored in the plug-in's state location inside the workspace metadata and is
+ * only valid for the set of installed bundles it has been created with. Node templates restored from a snapshot load
+ * their factory classes lazily when they are used for the first time. Metanode templates are not part of the snapshot
+ * because they contain a full workflow; they are always read from the extension registry. The nodes contributed by
+ * node set factories may change without any bundle changing, hence they are checked in the background after the
+ * repository has been restored, see {@link #validateNodeSets(IProgressMonitor)}.
+ *
+ * <p>
+ * The snapshot can be disabled by setting the system property {@value #PROPERTY_SNAPSHOT} to <code>false</code>.
+ * </p>
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class RepositorySnapshot {
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(RepositorySnapshot.class);
+
+    /** System property for disabling the repository snapshot. */
+    static final String PROPERTY_SNAPSHOT = "knime.repository.snapshot";
+
+    /** Prefix of the keys for category icon references. */
+    static final String CATEGORY_KEY_PREFIX = "cat:";
+
+    /** Prefix of the keys for node icon references. */
+    static final String NODE_KEY_PREFIX = "node:";
+
+    private static final String FILE_NAME = "node-repository.snapshot";
+
+    private static final int MAGIC = 0x4B4E5253; // "KNRS"
+
+    /** Must be increased whenever the format changes. */
+    private static final int VERSION = 2;
+
+    private static final byte TYPE_CATEGORY = 1;
+
+    private static final byte TYPE_NODE = 2;
+
+    private static final byte TYPE_DYNAMIC_NODE = 3;
+
+    private static String fingerprint;
+
+    private final File m_file;
+
+    private final String m_fingerprint;
+
+    private final Set<String> m_registryFactories = new HashSet<>();
+
+    private final Set<String> m_nodeSetNodes = new HashSet<>();
+
+    private RepositorySnapshot(final File file, final String fingerprint) {
+        m_file = file;
+        m_fingerprint = fingerprint;
+    }
+
+    /**
+     * Returns the snapshot for the current installation, or <code>null</code> if snapshots are disabled or the
+     * workspace location is not available.
+     *
+     * @return a snapshot or <code>null</code>
+     */
+    static RepositorySnapshot getInstance() {
+        if (!Boolean.parseBoolean(System.getProperty(PROPERTY_SNAPSHOT, "true"))) {
+            return null;
+        }
+        KNIMERepositoryPlugin plugin = KNIMERepositoryPlugin.getDefault();
+        if (plugin == null) {
+            return null;
+        }
+        try {
+            File file = plugin.getStateLocation().append(FILE_NAME).toFile();
+            return new RepositorySnapshot(file, getFingerprint());
+        } catch (IllegalStateException | NoSuchAlgorithmException ex) {
+            LOGGER.debug("Node repository snapshot not available: " + ex.getMessage(), ex);
+            return null;
+        }
+    }
+
+    /**
+     * Returns a fingerprint of all installed bundles (symbolic names, versions and modification timestamps). It is
+     * computed only once per session.
+     *
+     * @return the fingerprint
+     * @throws NoSuchAlgorithmException if SHA-256 is not available
+     * @throws IllegalStateException if the bundle context is not available
+     */
+    static synchronized String getFingerprint() throws NoSuchAlgorithmException {
+        if (fingerprint == null) {
+            fingerprint = computeFingerprint();
+        }
+        return fingerprint;
+    }
+
+    private static String computeFingerprint() throws NoSuchAlgorithmException {
+        Bundle ownBundle = FrameworkUtil.getBundle(RepositorySnapshot.class);
+        if ((ownBundle == null) || (ownBundle.getBundleContext() == null)) {
+            throw new IllegalStateException("Bundle context not available");
+        }
+        List<String> bundles = new ArrayList<>();
+        for (Bundle b : ownBundle.getBundleContext().getBundles()) {
+            bundles.add(b.getSymbolicName() + "_" + b.getVersion() + "_" + b.getLastModified());
+        }
+        bundles.sort(null);
+
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        for (String b : bundles) {
+            digest.update(b.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte)'\n');
+        }
+        StringBuilder buf = new StringBuilder();
+        for (byte b : digest.digest()) {
+            buf.append(String.format("%02x", b));
+        }
+        return buf.toString();
+    }
+
+    /**
+     * Returns the key of a category in the icon reference map, which is the path of category IDs from the root.
+     *
+     * @param category a category that is part of a repository tree
+     * @return the key
+     */
+    static String getCategoryKey(final IRepositoryObject category) {
+        StringBuilder path = new StringBuilder();
+        IRepositoryObject current = category;
+        while ((current != null) && !(current instanceof Root)) {
+            path.insert(0, current.getID()).insert(0, '/');
+            current = current.getParent();
+        }
+        return CATEGORY_KEY_PREFIX + path;
+    }
+
+    /**
+     * Returns the key of a node in the icon reference map.
+     *
+     * @param node a node template
+     * @return the key
+     */
+    static String getNodeKey(final NodeTemplate node) {
+        return NODE_KEY_PREFIX + node.getID();
+    }
+
+    /**
+     * Creates a reference to an icon inside a bundle.
+     *
+     * @param bundleName the bundle's symbolic name
+     * @param path the path of the icon inside the bundle
+     * @return an icon reference
+     */
+    static String createIconReference(final String bundleName, final String path) {
+        return bundleName + ":" + path;
+    }
+
+    /**
+     * Restores the repository from the snapshot. Listeners are notified about all categories and nodes of the regular
+     * root. If the snapshot does not exist, does not match the installed bundles or node factories, or cannot be read,
+     * the roots are left untouched.
+     *
+     * @param root the (empty) regular root
+     * @param completeRoot the (empty) complete root
+     * @param nodesById map into which all restored node templates are put by their ID
+     * @param listeners listeners to notify
+     * @return <code>true</code> if the repository has been restored, <code>false</code> otherwise
+     */
+    boolean restore(final Root root, final Root completeRoot, final Map<String, NodeTemplate> nodesById,
+        final List<Listener> listeners) {
+        if (!m_file.isFile()) {
+            return false;
+        }
+        final long start = System.currentTimeMillis();
+        Root tempRoot = new Root();
+        Root tempCompleteRoot = new Root();
+        try (DataInputStream in =
+            new DataInputStream(new BufferedInputStream(Files.newInputStream(m_file.toPath())))) {
+            if ((in.readInt() != MAGIC) || (in.readInt() != VERSION)) {
+                LOGGER.debug("Node repository snapshot has an unsupported format, ignoring it");
+                return false;
+            }
+            if (!m_fingerprint.equals(in.readUTF())) {
+                LOGGER.debug("Installed bundles have changed since the node repository snapshot has been created");
+                return false;
+            }
+            final int factoryCount = in.readInt();
+            for (int i = 0; i < factoryCount; i++) {
+                m_registryFactories.add(in.readUTF());
+            }
+            readChildren(in, tempRoot);
+            readChildren(in, tempCompleteRoot);
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.warn("Could not read node repository snapshot from " + m_file + ": " + ex.getMessage(), ex);
+            return false;
+        }
+        if (!validate()) {
+            return false;
+        }
+
+        moveChildren(tempRoot, root);
+        moveChildren(tempCompleteRoot, completeRoot);
+        indexAndNotify(root, root, nodesById, listeners, false);
+        indexAndNotify(completeRoot, completeRoot, nodesById, listeners, true);
+        collectNodeSetNodes(root);
+        collectNodeSetNodes(completeRoot);
+        LOGGER.debugWithFormat("Restored node repository from snapshot in %d ms",
+            System.currentTimeMillis() - start);
+        return true;
+    }
+
+    private static void moveChildren(final Root from, final Root to) {
+        for (IRepositoryObject child : from.getChildren()) {
+            to.addChild((AbstractRepositoryObject)child);
+        }
+        from.removeAllChildren();
+    }
+
+    private static void indexAndNotify(final Root root, final IContainerObject container,
+        final Map<String, NodeTemplate> nodesById, final List<Listener> listeners, final boolean isCompleteRoot) {
+        for (IRepositoryObject child : container.getChildren()) {
+            if (child instanceof Category) {
+                if (!isCompleteRoot) {
+                    for (Listener l : listeners) {
+                        l.newCategory(root, (Category)child);
+                    }
+                }
+                indexAndNotify(root, (Category)child, nodesById, listeners, isCompleteRoot);
+            } else if (child instanceof NodeTemplate) {
+                NodeTemplate node = (NodeTemplate)child;
+                if (isCompleteRoot) {
+                    nodesById.putIfAbsent(node.getID(), node);
+                } else {
+                    nodesById.put(node.getID(), node);
+                    for (Listener l : listeners) {
+                        l.newNode(root, node);
+                    }
+                }
+            }
+        }
+    }
+
+    private void collectNodeSetNodes(final IContainerObject container) {
+        for (IRepositoryObject child : container.getChildren()) {
+            if (child instanceof IContainerObject) {
+                collectNodeSetNodes((IContainerObject)child);
+            } else if (child instanceof DynamicNodeTemplate) {
+                m_nodeSetNodes.add(getNodeSetKey((DynamicNodeTemplate)child));
+            }
+        }
+    }
+
+    private static String getNodeSetKey(final DynamicNodeTemplate node) {
+        return node.getID() + '\n' + node.getFactoryId();
+    }
+
+    private static void readChildren(final DataInputStream in, final AbstractContainerObject container)
+        throws IOException {
+        final int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            final byte type = in.readByte();
+            if (type == TYPE_CATEGORY) {
+                Category cat = new Category(readString(in), readString(in), readString(in), in.readBoolean());
+                cat.setDescription(readString(in));
+                cat.setAfterID(readString(in));
+                cat.setPath(readString(in));
+                cat.setIcon(loadIcon(readString(in), SharedImages.DefaultCategoryIcon));
+                container.addChild(cat);
+                readChildren(in, cat);
+            } else if ((type == TYPE_NODE) || (type == TYPE_DYNAMIC_NODE)) {
+                final String id = readString(in);
+                final String factoryId = (type == TYPE_DYNAMIC_NODE) ? readString(in) : null;
+                final String name = readString(in);
+                final String plugin = readString(in);
+                final String categoryPath = readString(in);
+                final NodeType nodeType = NodeType.valueOf(readString(in));
+                NodeTemplate node = (type == TYPE_DYNAMIC_NODE)
+                    ? new DynamicNodeTemplate(id, factoryId, name, plugin, categoryPath, nodeType)
+                    : new DefaultNodeTemplate(id, name, plugin, categoryPath, nodeType);
+                node.setAfterID(readString(in));
+                node.setDeprecated(in.readBoolean());
+                node.setIcon(loadIcon(readString(in), SharedImages.DefaultNodeIcon));
+                container.addChild(node);
+            } else {
+                throw new IOException("Unknown repository object type " + type);
+            }
+        }
+    }
+
+    private static Image loadIcon(final String iconReference, final SharedImages defaultIcon) {
+        if (Boolean.getBoolean("java.awt.headless")) {
+            return null;
+        }
+        Image img = null;
+        if (iconReference != null) {
+            int sep = iconReference.indexOf(':');
+            img = ImageRepository.getIconImage(iconReference.substring(0, sep), iconReference.substring(sep + 1));
+        }
+        return (img != null) ? img : ImageRepository.getIconImage(defaultIcon);
+    }
+
+    /**
+     * Writes the repository into the snapshot file. The file is replaced atomically so that a concurrently starting
+     * instance never sees a partially written snapshot.
+     *
+     * @param root the regular root
+     * @param completeRoot the complete root
+     * @param iconReferences references to the icons of categories and nodes, see
+     *            {@link RepositoryLoader#getIconReferences()}
+     * @param registryFactories the class names of all node factories in the extension registry, see
+     *            {@link RepositoryLoader#getNodeFactoryClassNames()}
+     * @throws IOException if an I/O error occurs
+     */
+    void write(final Root root, final Root completeRoot, final Map<String, String> iconReferences,
+        final Collection<String> registryFactories) throws IOException {
+        final long start = System.currentTimeMillis();
+        Path target = m_file.toPath();
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), FILE_NAME, ".tmp");
+        try {
+            try (DataOutputStream out =
+                new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(m_fingerprint);
+                out.writeInt(registryFactories.size());
+                for (String factory : registryFactories) {
+                    out.writeUTF(factory);
+                }
+                writeChildren(out, root, iconReferences);
+                writeChildren(out, completeRoot, iconReferences);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        LOGGER.debugWithFormat("Wrote node repository snapshot to %s in %d ms", target,
+            System.currentTimeMillis() - start);
+    }
+
+    private static void writeChildren(final DataOutputStream out, final IContainerObject container,
+        final Map<String, String> iconReferences) throws IOException {
+        List<IRepositoryObject> children = new ArrayList<>();
+        for (IRepositoryObject child : container.getChildren()) {
+            // metanodes are not part of the snapshot
+            if ((child instanceof Category) || (child instanceof DefaultNodeTemplate)
+                || (child instanceof DynamicNodeTemplate)) {
+                children.add(child);
+            }
+        }
+        out.writeInt(children.size());
+        for (IRepositoryObject child : children) {
+            if (child instanceof Category) {
+                Category cat = (Category)child;
+                out.writeByte(TYPE_CATEGORY);
+                writeString(out, cat.getID());
+                writeString(out, cat.getName());
+                writeString(out, cat.getContributingPlugin());
+                out.writeBoolean(cat.isLocked());
+                writeString(out, cat.getDescription());
+                writeString(out, cat.getAfterID());
+                writeString(out, cat.getPath());
+                writeString(out, iconReferences.get(getCategoryKey(cat)));
+                writeChildren(out, cat, iconReferences);
+            } else {
+                NodeTemplate node = (NodeTemplate)child;
+                if (node instanceof DynamicNodeTemplate) {
+                    out.writeByte(TYPE_DYNAMIC_NODE);
+                    writeString(out, node.getID());
+                    writeString(out, ((DynamicNodeTemplate)node).getFactoryId());
+                } else {
+                    out.writeByte(TYPE_NODE);
+                    writeString(out, node.getID());
+                }
+                writeString(out, node.getName());
+                writeString(out, node.getContributingPlugin());
+                writeString(out, node.getCategoryPath());
+                writeString(out, node.getType().name());
+                writeString(out, node.getAfterID());
+                out.writeBoolean(node.isDeprecated());
+                writeString(out, iconReferences.get(getNodeKey(node)));
+            }
+        }
+    }
+
+    private static void writeString(final DataOutputStream out, final String s) throws IOException {
+        out.writeBoolean(s != null);
+        if (s != null) {
+            out.writeUTF(s);
+        }
+    }
+
+    private static String readString(final DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    /**
+     * Checks whether the node factories in the extension registry are still the ones the restored snapshot has been
+     * created from. This does not instantiate any node factories. If they differ (e.g. because a bundle has been
+     * replaced without changing its version) the snapshot is deleted.
+     *
+     * @return <code>true</code> if the snapshot is still valid, <code>false</code> if it has been deleted
+     */
+    private boolean validate() {
+        Set<String> registryFactories = new HashSet<>();
+        for (NodeFactoryExtension ext : NodeFactoryExtensionManager.getInstance().getNodeFactoryExtensions()) {
+            if (!ext.isHidden()) {
+                registryFactories.add(ext.getFactoryClassName());
+            }
+        }
+        if (registryFactories.equals(m_registryFactories)) {
+            return true;
+        }
+        LOGGER.info("Node repository snapshot is out of date and will be rebuilt");
+        invalidate();
+        return false;
+    }
+
+    /**
+     * Checks whether the nodes contributed by node set factories are still the ones the restored snapshot contains.
+     * Unlike {@link #validate()} this instantiates all node set factories and their node factories and should
+     * therefore only be called in the background, after the restored repository is shown. If the nodes differ (e.g.
+     * because a node set factory creates its nodes from configuration files that have changed) the snapshot is
+     * deleted.
+     *
+     * @param monitor a progress monitor, mainly used for canceling
+     * @return <code>true</code> if the snapshot is still valid or the check has been canceled, <code>false</code> if
+     *         it has been deleted
+     */
+    boolean validateNodeSets(final IProgressMonitor monitor) {
+        Set<String> nodeSetNodes = new HashSet<>();
+        for (NodeSetFactoryExtension set : NodeFactoryExtensionManager.getInstance().getNodeSetFactoryExtensions()) {
+            if (monitor.isCanceled()) {
+                return true;
+            }
+            try {
+                for (Pair<DynamicNodeTemplate, ?> nodePair : RepositoryFactory.createNodeSetTemplates(set)) {
+                    nodeSetNodes.add(getNodeSetKey(nodePair.getFirst()));
+                }
+            } catch (RuntimeException ex) {
+                // the repository loader skips such node sets as well and reports the error when it reads them
+                LOGGER.debug("Could not validate nodes of " + set + ": " + ex.getMessage(), ex);
+            }
+        }
+        if (nodeSetNodes.equals(m_nodeSetNodes)) {
+            return true;
+        }
+        LOGGER.info("Nodes contributed by node set factories have changed, node repository snapshot will be rebuilt");
+        invalidate();
+        return false;
+    }
+
+    /**
+     * Deletes the snapshot file.
+     */
+    void invalidate() {
+        try {
+            Files.deleteIfExists(m_file.toPath());
+        } catch (IOException ex) {
+            LOGGER.warn("Could not delete node repository snapshot " + m_file + ": " + ex.getMessage(), ex);
+        }
+    }
+}
@@ -50,6 +50,7 @@
 import org.knime.core.node.NodeFactory;
 import org.knime.core.node.NodeFactory.NodeType;
 import org.knime.core.node.NodeModel;
+import org.knime.core.node.workflow.FileNativeNodeContainerPersistor;
 
 /**
  * Class that realizes a (contributed) node in the repository tree. This is used
@@ -65,7 +66,9 @@
  */
 public class DefaultNodeTemplate extends NodeTemplate {
 
-    private final Class<? extends NodeFactory<? extends NodeModel>> m_factory;
+    private volatile Class<? extends NodeFactory<? extends NodeModel>> m_factory;
+
+    private final String m_factoryCanonicalName;
 
     /**
      * Creates a copy of the given node template.
@@ -75,6 +78,7 @@ public class DefaultNodeTemplate extends NodeTemplate {
     protected DefaultNodeTemplate(final DefaultNodeTemplate copy) {
         super(copy);
         this.m_factory = copy.m_factory;
+        this.m_factoryCanonicalName = copy.m_factoryCanonicalName;
     }
 
     /**
@@ -90,10 +94,51 @@ public DefaultNodeTemplate(final Class<NodeFactory<? extends NodeModel>> factory
         final String contributingPlugin, final String categoryPath, final NodeType nodeType) {
         super(factoryClass.getName(), name, contributingPlugin, categoryPath, nodeType);
         m_factory = factoryClass;
+        m_factoryCanonicalName = factoryClass.getCanonicalName();
+    }
+
+    /**
+     * Constructs a new node template whose factory class is only loaded when it is used for the first time, e.g.
+     * when the template has been restored from a repository snapshot.
+     *
+     * @param factoryClassName the fully qualified name of the factory class
+     * @param name a human-readable name for this node
+     * @param contributingPlugin the contributing plug-in's ID
+     * @param categoryPath category path as per ext point.
+     * @param nodeType Node's type.
+     * @since 4.5
+     */
+    public DefaultNodeTemplate(final String factoryClassName, final String name, final String contributingPlugin,
+        final String categoryPath, final NodeType nodeType) {
+        super(factoryClassName, name, contributingPlugin, categoryPath, nodeType);
+        m_factoryCanonicalName = factoryClassName.replace('$', '.');
     }
 
     @Override
     public Class<? extends NodeFactory<? extends NodeModel>> getFactory() {
+        try {
+            return loadFactory();
+        } catch (Exception ex) {
+            throw new IllegalStateException(
+                "Node factory '" + getID() + "' could not be loaded: " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Returns the factory class, loading it first if the template has been created lazily.
+     *
+     * @throws Exception if the factory class cannot be loaded
+     */
+    @SuppressWarnings("unchecked")
+    private Class<? extends NodeFactory<? extends NodeModel>> loadFactory() throws Exception {
+        if (m_factory == null) {
+            synchronized (this) {
+                if (m_factory == null) {
+                    m_factory = (Class<? extends NodeFactory<? extends NodeModel>>)FileNativeNodeContainerPersistor
+                        .loadNodeFactory(getID()).getClass();
+                }
+            }
+        }
         return m_factory;
     }
 
@@ -104,13 +149,13 @@ public Class<? extends NodeFactory<? extends NodeModel>> getFactory() {
     @Override
     public NodeFactory<? extends NodeModel> createFactoryInstance()
             throws Exception {
-        return m_factory.newInstance();
+        return loadFactory().newInstance();
     }
 
     @Override
     public int hashCode() {
         // see equals method for comment on this
-        return m_factory.getCanonicalName().hashCode();
+        return m_factoryCanonicalName.hashCode();
     }
 
     @Override
@@ -128,7 +173,7 @@ public boolean equals(final Object obj) {
         // to be sure only check for the full class name
         // seems that different built versions of the class have led to
         // duplicates
-        return m_factory.getCanonicalName().equals(((NodeTemplate)obj).getFactory().getCanonicalName());
+        return m_factoryCanonicalName.equals(((DefaultNodeTemplate)obj).m_factoryCanonicalName);
     }
 
     /**
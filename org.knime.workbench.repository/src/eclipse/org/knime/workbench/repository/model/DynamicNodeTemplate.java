@@ -52,6 +52,7 @@
 import org.knime.core.node.NodeFactory.NodeType;
 import org.knime.core.node.NodeModel;
 import org.knime.core.node.NodeSetFactory;
+import org.knime.core.node.extension.NodeFactoryExtensionManager;
 import org.knime.core.node.extension.NodeSetFactoryExtension;
 
 /**
@@ -70,9 +71,9 @@ public class DynamicNodeTemplate extends NodeTemplate {
      */
     private static final String NODE_NAME_SEP = "#";
 
-    private final NodeSetFactoryExtension m_nodeSetFactoryExtension;
+    private volatile NodeSetFactoryExtension m_nodeSetFactoryExtension;
 
-    private final Class<? extends NodeFactory<? extends NodeModel>> m_factoryClass;
+    private volatile Class<? extends NodeFactory<? extends NodeModel>> m_factoryClass;
 
     private final String m_factoryId;
 
@@ -97,6 +98,24 @@ public DynamicNodeTemplate(final NodeSetFactoryExtension nodeSetFactoryExtension
         m_nodeSetFactoryExtension = nodeSetFactoryExtension;
     }
 
+    /**
+     * Constructs a new DynamicNodeTemplate whose node set factory extension and factory class are only looked up when
+     * they are used for the first time, e.g. when the template has been restored from a repository snapshot.
+     *
+     * @param id the template's id (<code>&#60;node-factory class name&#62;#&#60;node name&#62;</code>)
+     * @param factoryId The id of the NodeFactory, must not be <code>null</code>
+     * @param name the name of this repository entry, must not be <code>null</code>
+     * @param contributingPlugin the plug-in that contributes the node set factory extension
+     * @param categoryPath category path as per {@link NodeSetFactory#getCategoryPath(String)}
+     * @param nodeType type as per node's (runtime generated) factory xml descriptin.
+     * @since 4.5
+     */
+    public DynamicNodeTemplate(final String id, final String factoryId, final String name,
+        final String contributingPlugin, final String categoryPath, final NodeType nodeType) {
+        super(id, name, contributingPlugin, categoryPath, nodeType);
+        m_factoryId = factoryId;
+    }
+
     /**
      * Creates a copy of the given object.
      *
@@ -109,16 +128,81 @@ protected DynamicNodeTemplate(final DynamicNodeTemplate copy) {
         m_factoryId = copy.m_factoryId;
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public Class<? extends NodeFactory<? extends NodeModel>> getFactory() {
+        if (m_factoryClass == null) {
+            synchronized (this) {
+                if (m_factoryClass == null) {
+                    final NodeSetFactoryExtension set;
+                    try {
+                        set = getNodeSetFactoryExtension();
+                    } catch (InstantiationException ex) {
+                        throw new IllegalStateException(ex.getMessage(), ex);
+                    }
+                    m_factoryClass = (Class<? extends NodeFactory<? extends NodeModel>>)set.getNodeFactory(m_factoryId)
+                        .orElseThrow(() -> new IllegalStateException(String.format(
+                            "Can't create node for id \"%s\" from node set factory extension %s", m_factoryId, set)))
+                        .getClass();
+                }
+            }
+        }
         return m_factoryClass;
     }
 
+    /**
+     * Returns the node set factory extension this template belongs to. If the template has been created lazily the
+     * extension is looked up by the contributing plug-in and the node factory id.
+     *
+     * @throws InstantiationException if no node set factory extension provides the node (anymore)
+     */
+    private NodeSetFactoryExtension getNodeSetFactoryExtension() throws InstantiationException {
+        if (m_nodeSetFactoryExtension == null) {
+            synchronized (this) {
+                if (m_nodeSetFactoryExtension == null) {
+                    for (NodeSetFactoryExtension set : NodeFactoryExtensionManager.getInstance()
+                        .getNodeSetFactoryExtensions()) {
+                        if (set.getPlugInSymbolicName().equals(getContributingPlugin())
+                            && containsFactoryId(set)) {
+                            m_nodeSetFactoryExtension = set;
+                            break;
+                        }
+                    }
+                    if (m_nodeSetFactoryExtension == null) {
+                        throw new InstantiationException(String.format(
+                            "No node set factory extension in plug-in \"%s\" provides the node \"%s\"",
+                            getContributingPlugin(), m_factoryId));
+                    }
+                }
+            }
+        }
+        return m_nodeSetFactoryExtension;
+    }
+
+    private boolean containsFactoryId(final NodeSetFactoryExtension set) {
+        for (String factoryId : set.getNodeFactoryIds()) {
+            if (m_factoryId.equals(factoryId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the id of the node factory within its node set.
+     *
+     * @return the factory id
+     * @since 4.5
+     */
+    public String getFactoryId() {
+        return m_factoryId;
+    }
+
     @Override
     public NodeFactory<? extends NodeModel> createFactoryInstance() throws Exception {
         // exception is unexpected here as the constructor was called with a concrete instance already
         // (which for some reason we never re-use but create a new factory instead)
-        return m_nodeSetFactoryExtension.createNodeFactory(m_factoryId).orElseThrow(//
+        return getNodeSetFactoryExtension().createNodeFactory(m_factoryId).orElseThrow(//
             () -> new RuntimeException(
                 String.format("Can't create node for id \"%s\" from node set factory extension %s", m_factoryId,
                     m_nodeSetFactoryExtension)));
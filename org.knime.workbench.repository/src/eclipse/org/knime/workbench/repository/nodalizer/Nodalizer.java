@@ -56,15 +56,26 @@
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.apache.commons.io.IOUtils;
@@ -109,6 +120,7 @@
 import org.knime.workbench.repository.nodalizer.DynamicPortGroup.DynamicPortType;
 import org.knime.workbench.repository.nodalizer.ExtensionInfo.LicenseInfo;
 import org.knime.workbench.repository.nodalizer.NodeInfo.LinkInformation;
+import org.knime.workbench.repository.util.DescriptionChecksums;
 import org.knime.workbench.repository.util.NodeFactoryHTMLCreator;
 import org.knime.workbench.repository.util.NodeUtil;
 import org.osgi.framework.BundleContext;
@@ -141,6 +153,20 @@ public class Nodalizer implements IApplication {
     private static final String DEFAULT_OWNER = "-defaultOwner";
     private static final String FEATURES = "-features";
     private static final String BLACKLIST = "-blacklist";
+    private static final String THREADS = "-threads";
+    private static final String INCREMENTAL = "-incremental";
+
+    /** Extracts the nodes and reads the update sites in parallel, the repository is walked on the calling thread. */
+    private ExecutorService m_pool;
+
+    /** Node extractions that have been submitted to the pool and may still be running. */
+    private final List<Future<?>> m_pendingNodes = new ArrayList<>();
+
+    /** Files that have been assigned to nodes during this run, in repository order. */
+    private final Set<File> m_claimedFiles = new HashSet<>();
+
+    /** Checksums of the nodes written by the previous run, only set in incremental mode. */
+    private DescriptionChecksums m_checksums;
 
     /**
      * {@inheritDoc}
@@ -165,6 +191,11 @@ public class Nodalizer implements IApplication {
      * <li>-blacklist &lt;path-to-blacklist-file&gt;, a file in which each line contains a <b>regex rule</b> for an
      * extension which should be "blacklisted" (not parsed). Also if a blacklist file is provided it may be written to
      * if an extension is found which does not have a category path AND contains no nodes</li>
+     * <li>-threads &lt;n&gt;, the number of threads which extract nodes and read update sites in parallel. If not
+     * provided the number of available processors is used. The output does not depend on the number of threads.</li>
+     * <li>-incremental, if provided the output directory is updated in place: nodes whose factory class, description
+     * and bundle version have not changed since the last run into the same directory are skipped, and the JSON of
+     * nodes which no longer exist is removed</li>
      * </ul>
      */
     @Override
@@ -183,6 +214,8 @@ public Object start(final IApplicationContext context) throws Exception {
         List<String> features = null;
         Path blacklistFile = null;
         List<String> blacklist = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean incremental = false;
         if (args instanceof String[]) {
             final String[] params = (String[])args;
             for (int i = 0; i < params.length; i++) {
@@ -240,6 +273,12 @@ public Object start(final IApplicationContext context) throws Exception {
                         LOGGER.warn("Invalid blacklist file: " + blacklistFile.toString());
                     }
                 }
+                if (params[i].equalsIgnoreCase(THREADS) && (params.length > (i + 1))) {
+                    threads = Math.max(1, Integer.parseInt(params[i + 1]));
+                }
+                if (params[i].equalsIgnoreCase(INCREMENTAL)) {
+                    incremental = true;
+                }
             }
         }
 
@@ -269,102 +308,149 @@ public Object start(final IApplicationContext context) throws Exception {
             }
         }
 
-        File nodeDir = outputDir;
-        File extDir = null;
-        Map<String, ExtensionInfo> extensions = new HashMap<>();
-        List<String> bundles = null;
-        if (updateSites != null) {
-            nodeDir = new File(outputDir, "nodes");
-            extDir = new File(outputDir, "extensions");
-            if (!nodeDir.exists()) {
-                nodeDir.mkdir();
-            }
-            if (!extDir.exists()) {
-                extDir.mkdir();
-            }
-            final BundleContext c = FrameworkUtil.getBundle(getClass()).getBundleContext();
-            final ServiceReference<IProvisioningAgent> ref = c.getServiceReference(IProvisioningAgent.class);
-            final IProvisioningAgent agent = c.getService(ref);
-            bundles = new ArrayList<>();
-            for (final URI site : updateSites) {
-                getSymbolicBundleNames(site, agent, bundles);
-            }
-            if (bundles.isEmpty()) {
-                return IApplication.EXIT_OK;
-            }
+        final AtomicInteger threadCount = new AtomicInteger();
+        m_pool = Executors.newFixedThreadPool(threads, r -> {
+            final Thread t = new Thread(r, "KNIME Nodalizer-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            File nodeDir = outputDir;
+            File extDir = null;
+            Map<String, ExtensionInfo> extensions = new HashMap<>();
+            List<String> bundles = null;
+            if (updateSites != null) {
+                nodeDir = new File(outputDir, "nodes");
+                extDir = new File(outputDir, "extensions");
+                if (!nodeDir.exists()) {
+                    nodeDir.mkdir();
+                }
+                if (!extDir.exists()) {
+                    extDir.mkdir();
+                }
+                final BundleContext c = FrameworkUtil.getBundle(getClass()).getBundleContext();
+                final ServiceReference<IProvisioningAgent> ref = c.getServiceReference(IProvisioningAgent.class);
+                final IProvisioningAgent agent = c.getService(ref);
+                // read the update sites in parallel, but merge their results in the given order
+                final Map<String, String> siteOwners = owners;
+                final String siteDefaultOwner = defaultOwner;
+                final List<String> siteFeatures = features;
+                final List<String> siteBlacklist = blacklist;
+                final List<Future<List<String>>> siteBundles = new ArrayList<>();
+                final List<Future<Map<String, ExtensionInfo>>> siteExtensions = new ArrayList<>();
+                for (final URI site : updateSites) {
+                    siteBundles.add(m_pool.submit(() -> {
+                        final List<String> b = new ArrayList<>();
+                        getSymbolicBundleNames(site, agent, b);
+                        return b;
+                    }));
+                    siteExtensions.add(m_pool.submit(() -> parseExtensions(site, agent, siteOwners,
+                        siteDefaultOwner, siteFeatures, siteBlacklist, new HashMap<>())));
+                }
+                bundles = new ArrayList<>();
+                for (final Future<List<String>> b : siteBundles) {
+                    bundles.addAll(getResult(b));
+                }
+                if (bundles.isEmpty()) {
+                    return IApplication.EXIT_OK;
+                }
 
-            for (final URI site : updateSites) {
-                parseExtensions(site, agent, owners, defaultOwner, features, blacklist, extensions);
-            }
-            if (extensions.isEmpty()) {
-                return IApplication.EXIT_OK;
-            }
-            if (features != null) {
-                for (final String feature : features) {
-                    final String cleanedName = NodalizerUtil.cleanSymbolicName(feature.split("/")[0]);
-                    if (!extensions.containsKey(cleanedName)) {
-                        LOGGER.warn(cleanedName + " extension not found on given update sites");
+                for (final Future<Map<String, ExtensionInfo>> e : siteExtensions) {
+                    final Map<String, ExtensionInfo> siteExtension = getResult(e);
+                    if (siteExtension != null) {
+                        extensions.putAll(siteExtension);
+                    }
+                }
+                if (extensions.isEmpty()) {
+                    return IApplication.EXIT_OK;
+                }
+                if (features != null) {
+                    for (final String feature : features) {
+                        final String cleanedName = NodalizerUtil.cleanSymbolicName(feature.split("/")[0]);
+                        if (!extensions.containsKey(cleanedName)) {
+                            LOGGER.warn(cleanedName + " extension not found on given update sites");
+                        }
                     }
                 }
             }
-        }
 
-        // unless the user specified this property, we set it to true here
-        // (true means no icons etc will be loaded, if it is false, the
-        // loading of the repository manager freezes
-        if (System.getProperty("java.awt.headless") == null) {
-            System.setProperty("java.awt.headless", "true");
-        }
-        final Root root = RepositoryManager.INSTANCE.getCompleteRoot();
-        List<String> previouslyReadFactories = new ArrayList<>();
+            // unless the user specified this property, we set it to true here
+            // (true means no icons etc will be loaded, if it is false, the
+            // loading of the repository manager freezes
+            if (System.getProperty("java.awt.headless") == null) {
+                System.setProperty("java.awt.headless", "true");
+            }
+            final Root root = RepositoryManager.INSTANCE.getCompleteRoot();
+            // the factories are added concurrently by the pool
+            List<String> previouslyReadFactories = Collections.synchronizedList(new ArrayList<>());
+            m_checksums = incremental ? DescriptionChecksums.load(nodeDir.toPath()) : null;
 
-        parseNodesInRoot(root, null, nodeDir, extensions, bundles, previouslyReadFactories);
-        if (factoryList != null) {
-            parseDeprecatedNodeList(factoryList, nodeDir, extensions, bundles, previouslyReadFactories);
-        }
+            parseNodesInRoot(root, null, nodeDir, extensions, bundles, previouslyReadFactories);
+            awaitPendingNodes();
+            if (factoryList != null) {
+                parseDeprecatedNodeList(factoryList, nodeDir, extensions, bundles, previouslyReadFactories);
+                awaitPendingNodes();
+            }
+            if (m_checksums != null) {
+                // remove nodes which no longer exist
+                for (final String removed : m_checksums.removeUnvisited()) {
+                    Files.deleteIfExists(new File(nodeDir, removed).toPath());
+                }
+                m_checksums.save();
+            }
 
-        // Write extensions
-        if (!extensions.isEmpty()) {
-            for (final ExtensionInfo ext : extensions.values()) {
-                if (ext.hasNodes() || !ext.getCategoryPath().isEmpty()) {
-                    try {
-                        final String fileName =
-                            ext.getSymbolicName().replaceAll("\\.", "_") + "_" + ext.getId().substring(1);
-                        NodalizerUtil.writeFile(extDir, fileName, ext);
-                    } catch (final JsonProcessingException | FileNotFoundException ex) {
-                        LOGGER.error("Failed to write extension " + ext.getName() + " " + ext.getSymbolicName(), ex);
-                    }
-                } else {
-                    final String msg = "Extension " + ext.getName() + " " + ext.getSymbolicName() + " does not exist"
-                        + " at any category path and has no nodes. Skipping ...";
-                    // no blacklist file specified, print warning about skipping nodes
-                    if (blacklistFile == null) {
-                        LOGGER.warn(msg);
-                    } else {
-                        // create blacklist file, if file was specified but doesn't actually exist
-                        if (!Files.exists(blacklistFile)) {
-                            Files.createFile(blacklistFile);
+            // Write extensions
+            if (!extensions.isEmpty()) {
+                for (final ExtensionInfo ext : extensions.values()) {
+                    if (ext.hasNodes() || !ext.getCategoryPath().isEmpty()) {
+                        try {
+                            final String fileName =
+                                ext.getSymbolicName().replaceAll("\\.", "_") + "_" + ext.getId().substring(1);
+                            if (incremental) {
+                                // update in place, the names are unique as there is one extension per symbolic name
+                                NodalizerUtil.writeFile(
+                                    new File(extDir, NodalizerUtil.cleanFileName(fileName) + ".json"), ext);
+                            } else {
+                                NodalizerUtil.writeFile(extDir, fileName, ext);
+                            }
+                        } catch (final JsonProcessingException | FileNotFoundException ex) {
+                            LOGGER.error(
+                                "Failed to write extension " + ext.getName() + " " + ext.getSymbolicName(), ex);
                         }
+                    } else {
+                        final String msg = "Extension " + ext.getName() + " " + ext.getSymbolicName() + " does not exist"
+                            + " at any category path and has no nodes. Skipping ...";
+                        // no blacklist file specified, print warning about skipping nodes
+                        if (blacklistFile == null) {
+                            LOGGER.warn(msg);
+                        } else {
+                            // create blacklist file, if file was specified but doesn't actually exist
+                            if (!Files.exists(blacklistFile)) {
+                                Files.createFile(blacklistFile);
+                            }
 
-                        final String blsn = ext.getSymbolicName() + ".feature.group";
-                        final String escaped = blsn.replaceAll("\\.", "\\\\.");
-                        if (!blacklist.contains(escaped)) {
-                            LOGGER.warn(msg); // extension wasn't on blacklist, and is being skipped
-                            try {
-                                Files.write(blacklistFile, Collections.singletonList(escaped),
-                                    StandardOpenOption.APPEND);
-                            } catch (final Exception ex) {
-                                LOGGER.error("Failed to write extension, " + blsn + ", to blacklist: "
-                                    + blacklistFile.toString(), ex);
+                            final String blsn = ext.getSymbolicName() + ".feature.group";
+                            final String escaped = blsn.replaceAll("\\.", "\\\\.");
+                            if (!blacklist.contains(escaped)) {
+                                LOGGER.warn(msg); // extension wasn't on blacklist, and is being skipped
+                                try {
+                                    Files.write(blacklistFile, Collections.singletonList(escaped),
+                                        StandardOpenOption.APPEND);
+                                } catch (final Exception ex) {
+                                    LOGGER.error("Failed to write extension, " + blsn + ", to blacklist: "
+                                        + blacklistFile.toString(), ex);
+                                }
                             }
                         }
                     }
                 }
             }
-        }
 
-        LOGGER.info("Node (and Extension) JSON generation complete!");
-        return IApplication.EXIT_OK;
+            LOGGER.info("Node (and Extension) JSON generation complete!");
+            return IApplication.EXIT_OK;
+        } finally {
+            m_pool.shutdownNow();
+        }
     }
 
     /** {@inheritDoc} */
@@ -381,9 +467,21 @@ private void parseNodesInRoot(final IRepositoryObject object, final List<String>
                 final NodeTemplate template = (NodeTemplate)object;
                 final NodeFactory<? extends NodeModel> fac = template.createFactoryInstance();
                 final NodeAndBundleInformation nodeAndBundleInfo = NodeAndBundleInformationPersistor.create(fac);
-                parseNodeAndPrint(fac, fac.getClass().getName(), path, template.getCategoryPath(), template.getName(),
-                    nodeAndBundleInfo, template.isDeprecated(), directory, extensions, bundles);
-                readFactories.add(fac.getClass().toString());
+                final Callable<Void> extraction = parseNodeAndPrint(fac, fac.getClass().getName(), path,
+                    template.getCategoryPath(), template.getName(), nodeAndBundleInfo, template.isDeprecated(),
+                    directory, extensions, bundles);
+                if (extraction == null) {
+                    readFactories.add(fac.getClass().toString());
+                } else {
+                    m_pendingNodes.add(m_pool.submit(() -> {
+                        try {
+                            extraction.call();
+                            readFactories.add(fac.getClass().toString());
+                        } catch (final Throwable e) {
+                            LOGGER.error("Failed to read node: " + object.getName() + ".", e);
+                        }
+                    }));
+                }
             } catch (final Throwable e) {
                 LOGGER.error("Failed to read node: " + object.getName() + ".", e);
             }
@@ -403,7 +501,7 @@ private void parseNodesInRoot(final IRepositoryObject object, final List<String>
         }
     }
 
-    private static void parseDeprecatedNodeList(final Path factoryListFile, final File directory,
+    private void parseDeprecatedNodeList(final Path factoryListFile, final File directory,
         final Map<String, ExtensionInfo> extensions, final List<String> bundles, final List<String> previouslyReadFactories) {
         if (factoryListFile == null) {
             return;
@@ -443,8 +541,17 @@ private static void parseDeprecatedNodeList(final Path factoryListFile, final Fi
                     // always pass true for isDeprecated, even though the factory may not say it is deprecated
                     // pass the factory name in the file, not the name of the loaded class - due to factory class
                     // mapping these may not match
-                    parseNodeAndPrint(fac, parts[0], path, categoryPath, fac.getNodeName(), b, true, directory,
-                        extensions, bundles);
+                    final Callable<Void> extraction = parseNodeAndPrint(fac, parts[0], path, categoryPath,
+                        fac.getNodeName(), b, true, directory, extensions, bundles);
+                    if (extraction != null) {
+                        m_pendingNodes.add(m_pool.submit(() -> {
+                            try {
+                                extraction.call();
+                            } catch (final Throwable e) {
+                                LOGGER.warn("Failed to read factory from list: " + factory + ". ", e);
+                            }
+                        }));
+                    }
                 } else {
                     if (!b.getBundleName().isPresent()) {
                         LOGGER.warn("Bundle name is missing! " + factory);
@@ -463,15 +570,24 @@ private static void parseDeprecatedNodeList(final Path factoryListFile, final Fi
         }
     }
 
-    private static void parseNodeAndPrint(final NodeFactory<?> fac, final String factoryString, final List<String> path,
-        final String categoryPath, final String name, final NodeAndBundleInformation nodeAndBundleInfo,
-        final boolean isDeprecated, final File directory, final Map<String, ExtensionInfo> extensions,
-        final List<String> bundles) throws Exception {
+    /**
+     * Reads the information of the node which is cheap to get and which determines the output file. The expensive
+     * part, i.e. instantiating the node and parsing its description, is returned as a task that can be run
+     * concurrently.
+     *
+     * @return the task which extracts the node and writes it to its file, or <code>null</code> if the node is skipped
+     *         or has not changed since the last run
+     */
+    private Callable<Void> parseNodeAndPrint(final NodeFactory<?> fac, final String factoryString,
+        final List<String> path, final String categoryPath, final String name,
+        final NodeAndBundleInformation nodeAndBundleInfo, final boolean isDeprecated, final File directory,
+        final Map<String, ExtensionInfo> extensions, final List<String> bundles) throws Exception {
         // Read update site info
         // Do this early to prevent instantiating unnecessary nodes.
         String extensionId = null;
         SiteInfo updateSite = null;
         String owner = null;
+        Version extensionVersion = null;
         NodeAndBundleInformation nabi = nodeAndBundleInfo;
         if (extensions != null && bundles != null) {
             // TODO: Check symbolic name and version once we support reading multiple extension versions
@@ -489,6 +605,7 @@ private static void parseNodeAndPrint(final NodeFactory<?> fac, final String fac
                 updateSite = e.getUpdateSite();
                 extensionId = e.getId();
                 owner = e.getOwner();
+                extensionVersion = e.getVersion();
                 nabi = new NodeAndBundleInformation(nodeAndBundleInfo.getFactoryClass(),
                     nodeAndBundleInfo.getBundleSymbolicName(), nodeAndBundleInfo.getBundleName(),
                     nodeAndBundleInfo.getBundleVendor(), nodeAndBundleInfo.getNodeName(),
@@ -498,31 +615,67 @@ private static void parseNodeAndPrint(final NodeFactory<?> fac, final String fac
             } else if (!nabi.getFeatureSymbolicName().isPresent()
                 && bundles.contains(nabi.getBundleSymbolicName().orElse(null))) {
                 LOGGER.warn(fac.getClass() + " does not contain extension information, skipping ...");
-                return;
+                return null;
             } else {
                 // Node doesn't belong to this update site, so skip. With any KNIME installation there will be
                 // around 500 nodes installed. So it is not worth printing all the nodes that don't belong
                 // to the update site being read.
-                return;
+                return null;
             }
         }
 
-        @SuppressWarnings("unchecked")
-        final org.knime.core.node.Node kcn = new org.knime.core.node.Node((NodeFactory<NodeModel>)fac);
+        final Element nodeXML = fac.getXMLDescription();
+        if (nodeXML == null) {
+            LOGGER.warn("Node factory XML not found for " + fac.getClass() + ". Skipping ...");
+            return null;
+        }
+
         final NodeInfo nInfo = new NodeInfo();
         nInfo.setAdditionalSiteInformation(updateSite);
         nInfo.setBundleInformation(nabi, extensionId);
         nInfo.setOwner(owner);
 
-        // Read from node
+        // Read from factory
         final NodeSettings settings = new NodeSettings("");
         fac.saveAdditionalFactorySettings(settings);
         final String factoryName = factoryString + ConfigUtils.contentBasedHashString(settings);
         nInfo.setFactoryName(factoryName);
         nInfo.setTitle(name.trim());
-        nInfo.setNodeType(kcn.getType().toString());
         nInfo.setPath(path);
         nInfo.setDeprecated(isDeprecated);
+
+        // Assign the file here, so that nodes with the same name get the same file in every run
+        final File file = claimFile(directory, categoryPath + "/" + name + "_" + nInfo.getId().substring(1));
+        final String checksum;
+        if (m_checksums != null) {
+            checksum = getChecksum(fac.getClass().getName(), factoryName,
+                NodeFactoryHTMLCreator.instance.getDescriptionChecksum(nodeXML),
+                nabi.getBundleSymbolicName().orElse(null), nabi.getBundleVersion().map(Object::toString).orElse(null),
+                nabi.getFeatureSymbolicName().orElse(null), Objects.toString(extensionVersion, null), extensionId,
+                owner, updateSite != null ? updateSite.getURL() : null, String.join("/", path), categoryPath, name,
+                Boolean.toString(isDeprecated));
+            if (m_checksums.isUnchanged(file.getName(), checksum, file.toPath())) {
+                return null;
+            }
+        } else {
+            checksum = null;
+        }
+
+        return () -> {
+            extractNode(fac, nodeXML, nInfo);
+            NodalizerUtil.writeFile(file, nInfo);
+            if (checksum != null) {
+                m_checksums.update(file.getName(), checksum);
+            }
+            return null;
+        };
+    }
+
+    private static void extractNode(final NodeFactory<?> fac, final Element nodeXML, final NodeInfo nInfo)
+        throws Exception {
+        @SuppressWarnings("unchecked")
+        final org.knime.core.node.Node kcn = new org.knime.core.node.Node((NodeFactory<NodeModel>)fac);
+        nInfo.setNodeType(kcn.getType().toString());
         nInfo.setStreamable(NodeUtil.isStreamable(kcn));
 
         // Read icon
@@ -539,12 +692,7 @@ private static void parseNodeAndPrint(final NodeFactory<?> fac, final String fac
         nInfo.setIcon(iconBase64);
 
         // Parse HTML, and read fields
-        final Element nodeXML = fac.getXMLDescription();
         Document nodeHTML = null;
-        if (nodeXML == null) {
-            LOGGER.warn("Node factory XML not found for " + fac.getClass() + ". Skipping ...");
-            return;
-        }
         final String s = NodeFactoryHTMLCreator.instance.readFullDescription(nodeXML);
         nodeHTML = Jsoup.parse(s);
         String descriptHTML = "";
@@ -631,9 +779,50 @@ private static void parseNodeAndPrint(final NodeFactory<?> fac, final String fac
             nInfo.setDynInPorts(dynInports);
             nInfo.setDynOutPorts(dynOutports);
         }
+    }
 
-        // Write to file
-        NodalizerUtil.writeFile(directory, categoryPath + "/" + name + "_" + nInfo.getId().substring(1), nInfo);
+    /**
+     * Assigns a file to a node. Like {@link NodalizerUtil#writeFile(File, String, Object)} a number is appended to
+     * the name if it is already taken. In incremental mode only files assigned during this run are considered as
+     * taken, the others are overwritten.
+     */
+    private File claimFile(final File directory, final String baseFileName) {
+        final String fileName = NodalizerUtil.cleanFileName(baseFileName);
+        File f = new File(directory, fileName + ".json");
+        int count = 2;
+        while (!m_claimedFiles.add(f) || (m_checksums == null && f.exists())) {
+            f = new File(directory, fileName + count + ".json");
+            count++;
+        }
+        return f;
+    }
+
+    private static String getChecksum(final String... parts) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (final String part : parts) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte)0);
+            }
+            return Base64.getUrlEncoder().encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    private void awaitPendingNodes() throws InterruptedException, ExecutionException {
+        for (final Future<?> f : m_pendingNodes) {
+            f.get();
+        }
+        m_pendingNodes.clear();
+    }
+
+    private static <T> T getResult(final Future<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            throw (ex.getCause() instanceof Exception) ? (Exception)ex.getCause() : ex;
+        }
     }
 
     private static List<DynamicPortGroup> parseDynamicPorts(final Element nodeXML, final String xmlTag,
@@ -207,23 +207,48 @@ public static String getColorAsHex(final int color) {
      */
     public static void writeFile(final File outputDir, final String baseFileName, final Object pojoToWrite)
         throws JsonProcessingException, FileNotFoundException, UnsupportedEncodingException {
-        final ObjectMapper map = new ObjectMapper();
-        map.setSerializationInclusion(Include.NON_ABSENT);
-        map.enable(SerializationFeature.INDENT_OUTPUT);
-        final String json = map.writeValueAsString(pojoToWrite);
-        final String regex = "\\W+";
-        String fileName = baseFileName.replaceAll(regex, "_");
+        String fileName = cleanFileName(baseFileName);
         File f = new File(outputDir, fileName + ".json");
         int count = 2;
         while (f.exists()) {
             f = new File(outputDir, fileName + count + ".json");
             count++;
         }
-        try (final PrintWriter pw = new PrintWriter(f, StandardCharsets.UTF_8.displayName())) {
+        writeFile(f, pojoToWrite);
+    }
+
+    /**
+     * Writes the node/extension POJO as JSON to the given file. An existing file is overwritten.
+     *
+     * @param file the file to write to
+     * @param pojoToWrite the POJO to write to a file (i.e. {@link NodeInfo} or {@link ExtensionInfo})
+     * @throws JsonProcessingException if an error occurs when writing the POJOs to JSON
+     * @throws FileNotFoundException if the parent directory of the file does not exist
+     * @throws UnsupportedEncodingException if the file encoding (UTF-8) is not supported
+     * @since 4.5
+     */
+    public static void writeFile(final File file, final Object pojoToWrite)
+        throws JsonProcessingException, FileNotFoundException, UnsupportedEncodingException {
+        final ObjectMapper map = new ObjectMapper();
+        map.setSerializationInclusion(Include.NON_ABSENT);
+        map.enable(SerializationFeature.INDENT_OUTPUT);
+        final String json = map.writeValueAsString(pojoToWrite);
+        try (final PrintWriter pw = new PrintWriter(file, StandardCharsets.UTF_8.displayName())) {
             pw.write(json);
         }
     }
 
+    /**
+     * Cleans a given "base" file name by replacing all non word characters with "_".
+     *
+     * @param baseFileName the "base" of the file name (i.e. factoryName or symbolicName)
+     * @return the cleaned file name, without extension
+     * @since 4.5
+     */
+    public static String cleanFileName(final String baseFileName) {
+        return baseFileName.replaceAll("\\W+", "_");
+    }
+
     /**
      * Cleans a given symbolic name by stripping the trailing ".feature.group". This ending is added automatically to
      * extensions but is not actually in the {@code feature.xml}.
@@ -0,0 +1,163 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.workbench.repository.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers the checksums of the node descriptions that have been written into a documentation directory, so that an
+ * incremental run can skip the descriptions that have not changed since the last run. The checksums are stored in a
+ * file inside the documentation directory. The methods of this class may be called concurrently.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 4.5
+ * @see NodeFactoryHTMLCreator#getDescriptionChecksum(org.w3c.dom.Element)
+ */
+public final class DescriptionChecksums {
+    /** The name of the file in which the checksums are stored. */
+    public static final String FILE_NAME = ".description-checksums";
+
+    private final Path m_file;
+
+    private final Map<String, String> m_previous = new ConcurrentHashMap<>();
+
+    private final Map<String, String> m_current = new ConcurrentHashMap<>();
+
+    private final Set<String> m_visited = ConcurrentHashMap.newKeySet();
+
+    private DescriptionChecksums(final Path file) {
+        m_file = file;
+    }
+
+    /**
+     * Loads the checksums of the last run from the given directory. If the directory does not contain any checksums,
+     * all descriptions are considered as changed.
+     *
+     * @param directory the documentation directory
+     * @return the checksums, never <code>null</code>
+     * @throws IOException if the checksums cannot be read
+     */
+    public static DescriptionChecksums load(final Path directory) throws IOException {
+        DescriptionChecksums checksums = new DescriptionChecksums(directory.resolve(FILE_NAME));
+        if (Files.isRegularFile(checksums.m_file)) {
+            Properties props = new Properties();
+            try (InputStream in = Files.newInputStream(checksums.m_file)) {
+                props.load(in);
+            }
+            for (String key : props.stringPropertyNames()) {
+                checksums.m_previous.put(key, props.getProperty(key));
+            }
+            checksums.m_current.putAll(checksums.m_previous);
+        }
+        return checksums;
+    }
+
+    /**
+     * Checks whether the checksum of a description is the same as in the last run. Once the description has been
+     * (re-)generated, its new checksum must be recorded with {@link #update(String, String)}.
+     *
+     * @param key identifies the description, e.g. the name of the generated file
+     * @param checksum the current checksum of the description
+     * @param output the file generated from the description
+     * @return <code>true</code> if the checksum has not changed and the generated file still exists,
+     *         <code>false</code> if the file needs to be (re-)generated
+     */
+    public boolean isUnchanged(final String key, final String checksum, final Path output) {
+        m_visited.add(key);
+        return Objects.equals(m_previous.get(key), checksum) && Files.isRegularFile(output);
+    }
+
+    /**
+     * Records the checksum of a description that has been generated successfully.
+     *
+     * @param key identifies the description, e.g. the name of the generated file
+     * @param checksum the checksum of the generated description
+     */
+    public void update(final String key, final String checksum) {
+        m_visited.add(key);
+        m_current.put(key, checksum);
+    }
+
+    /**
+     * Forgets the checksums of all descriptions from the last run that have not been looked at during this run, e.g.
+     * because the nodes no longer exist.
+     *
+     * @return the keys of the forgotten descriptions in ascending order, the caller may want to delete the
+     *         corresponding files
+     */
+    public Set<String> removeUnvisited() {
+        Set<String> unvisited = new TreeSet<>(m_current.keySet());
+        unvisited.removeAll(m_visited);
+        m_current.keySet().removeAll(unvisited);
+        return unvisited;
+    }
+
+    /**
+     * Writes the checksums recorded so far back into the documentation directory. Checksums of descriptions that have
+     * not been looked at during this run are kept unless they have been removed with {@link #removeUnvisited()}.
+     *
+     * @throws IOException if the checksums cannot be written
+     */
+    public void save() throws IOException {
+        Properties props = new Properties();
+        props.putAll(m_current);
+        try (OutputStream out = Files.newOutputStream(m_file)) {
+            props.store(out, "Checksums of the generated node descriptions");
+        }
+    }
+}
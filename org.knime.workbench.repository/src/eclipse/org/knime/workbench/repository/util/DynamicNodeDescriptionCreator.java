@@ -48,7 +48,14 @@
 package org.knime.workbench.repository.util;
 
 import java.io.FileNotFoundException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactoryConfigurationError;
@@ -61,7 +68,9 @@
 import org.knime.core.ui.node.workflow.SubNodeContainerUI;
 import org.knime.core.ui.node.workflow.WorkflowManagerUI;
 import org.knime.core.ui.node.workflow.lazy.LazyWorkflowManagerUI;
+import org.knime.workbench.repository.RepositoryManager;
 import org.knime.workbench.repository.model.Category;
+import org.knime.workbench.repository.model.IContainerObject;
 import org.knime.workbench.repository.model.IRepositoryObject;
 import org.knime.workbench.repository.model.MetaNodeTemplate;
 import org.knime.workbench.repository.model.NodeTemplate;
@@ -85,7 +94,46 @@ public final class DynamicNodeDescriptionCreator {
     private static final DynamicNodeDescriptionCreator instance =
             new DynamicNodeDescriptionCreator();
 
+    /**
+     * The maximum number of descriptions queued for pre-rendering, well below the number of descriptions cached by
+     * {@link NodeFactoryHTMLCreator} so that pre-rendering doesn't evict the descriptions viewed recently.
+     */
+    private static final int MAX_PRERENDERED_DESCRIPTIONS = 32;
+
+    private static final int MAX_CACHED_DESCRIPTIONS = 256;
+
+    /**
+     * Full descriptions of node templates by template ID, so that their factories don't need to be instantiated
+     * again. Cleared when the repository is reloaded.
+     */
+    private final Map<String, CachedDescription> m_fullDescriptions =
+        Collections.synchronizedMap(new LinkedHashMap<String, CachedDescription>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, CachedDescription> eldest) {
+                return size() > MAX_CACHED_DESCRIPTIONS;
+            }
+        });
+
+    /**
+     * Single line descriptions of node templates by template ID, they are small and shown in lists of whole
+     * categories. Cleared when the repository is reloaded.
+     */
+    private final Map<String, CachedDescription> m_singleLineDescriptions = new ConcurrentHashMap<>();
+
+    /** IDs of the templates whose full descriptions are currently queued for pre-rendering. */
+    private final Set<String> m_queuedTemplates = ConcurrentHashMap.newKeySet();
+
+    /** Renders descriptions in the background, created lazily. */
+    private ExecutorService m_prerenderExecutor;
+
     private DynamicNodeDescriptionCreator() {
+        RepositoryManager.INSTANCE.addChangeListener(this::clearCaches);
+    }
+
+    /** Forgets the cached descriptions, the templates they were created for may have been replaced. */
+    private void clearCaches() {
+        m_fullDescriptions.clear();
+        m_singleLineDescriptions.clear();
     }
 
     /**
@@ -124,6 +172,24 @@ public String getHeader() {
      */
     public void addDescription(final Category cat, final StringBuilder bld,
             final Set<String> idsDisplayed) {
+        addDescription(cat, bld, idsDisplayed, () -> {
+        });
+    }
+
+    /**
+     * Same as {@link #addDescription(Category, StringBuilder, Set)} but calls the given callback after each node that
+     * has been added. The callback may show the partial content or abort by throwing an unchecked exception, which is
+     * passed on to the caller.
+     *
+     * @param cat the category to add the descriptions for.
+     * @param bld the buffer to add the one line strings to.
+     * @param idsDisplayed a set of IDs of categories and templates already displayed. Items appearing twice will be
+     *            skipped.
+     * @param afterEachNode called after the description of each node has been added
+     * @since 4.5
+     */
+    public void addDescription(final Category cat, final StringBuilder bld, final Set<String> idsDisplayed,
+        final Runnable afterEachNode) {
         bld.append("<dl>");
         bld.append("<dt><h2>In <b>");
         bld.append(htmlString(cat.getName()));
@@ -137,13 +203,14 @@ public void addDescription(final Category cat, final StringBuilder bld,
                     Category childCat = (Category)child;
                     if (!idsDisplayed.contains(childCat.getID())) {
                         idsDisplayed.add(childCat.getID());
-                        addDescription(childCat, bld, idsDisplayed);
+                        addDescription(childCat, bld, idsDisplayed, afterEachNode);
                     }
                 } else if (child instanceof NodeTemplate) {
                     NodeTemplate templ = (NodeTemplate)child;
                     if (!idsDisplayed.contains(templ.getID())) {
                         idsDisplayed.add(templ.getID());
                         addDescription(templ, /* useSingleLine */true, bld);
+                        afterEachNode.run();
                     }
                 } else if (child instanceof MetaNodeTemplate) {
                     MetaNodeTemplate templ = (MetaNodeTemplate)child;
@@ -152,6 +219,7 @@ public void addDescription(final Category cat, final StringBuilder bld,
                         NodeContainerUI manager =
                                 ((MetaNodeTemplate)child).getManager();
                         addDescription(manager, /* useSingleLine */true, bld);
+                        afterEachNode.run();
                     }
                 } else {
                     bld.append(" - contains unknown object (internal err!) -");
@@ -176,18 +244,11 @@ public void addDescription(final Category cat, final StringBuilder bld,
      */
     public void addDescription(final NodeTemplate template,
             final boolean useSingleLine, final StringBuilder bld) {
-        NodeFactory<? extends NodeModel> nf = null;
         try {
-            nf = template.createFactoryInstance();
             if (useSingleLine) {
-                bld.append("<dt><b>");
-                bld.append(nf.getNodeName());
-                bld.append(":</b></dt><dd>");
-                bld.append(goodOneLineDescr(NodeFactoryHTMLCreator.instance.readShortDescriptionFromXML(nf
-                    .getXMLDescription())));
-                bld.append("</dd>");
+                bld.append(getSingleLineDescription(template));
             } else {
-                bld.append(NodeFactoryHTMLCreator.instance.readFullDescription(nf.getXMLDescription()));
+                bld.append(getFullDescription(template));
             }
         } catch (Exception e) {
             if (useSingleLine) {
@@ -207,6 +268,85 @@ public void addDescription(final NodeTemplate template,
         }
     }
 
+    private String getSingleLineDescription(final NodeTemplate template) throws Exception {
+        String description = CachedDescription.get(m_singleLineDescriptions, template);
+        if (description == null) {
+            NodeFactory<? extends NodeModel> nf = template.createFactoryInstance();
+            description = "<dt><b>" + nf.getNodeName() + ":</b></dt><dd>"
+                + goodOneLineDescr(NodeFactoryHTMLCreator.instance.readShortDescriptionFromXML(nf.getXMLDescription()))
+                + "</dd>";
+            m_singleLineDescriptions.put(template.getID(), new CachedDescription(template, description));
+        }
+        return description;
+    }
+
+    private String getFullDescription(final NodeTemplate template) throws Exception {
+        String description = CachedDescription.get(m_fullDescriptions, template);
+        if (description == null) {
+            NodeFactory<? extends NodeModel> nf = template.createFactoryInstance();
+            description = NodeFactoryHTMLCreator.instance.readFullDescription(template.getID(), nf.getXMLDescription());
+            m_fullDescriptions.put(template.getID(), new CachedDescription(template, description));
+        }
+        return description;
+    }
+
+    /**
+     * Renders the full descriptions of the nodes in the same category as the given template in the background, so that
+     * they are available without delay when the user selects them next. The nodes next to the given template are
+     * rendered first, at most {@value #MAX_PRERENDERED_DESCRIPTIONS} descriptions are queued at a time.
+     *
+     * @param template a template that has just been selected
+     * @since 4.5
+     */
+    public void prerenderSiblingDescriptions(final NodeTemplate template) {
+        IContainerObject parent = template.getParent();
+        if (parent == null) {
+            return;
+        }
+        IRepositoryObject[] siblings = parent.getChildren();
+        int index = Arrays.asList(siblings).indexOf(template);
+        for (int distance = 1; distance < siblings.length; distance++) {
+            for (int i : new int[]{index - distance, index + distance}) {
+                if (m_queuedTemplates.size() >= MAX_PRERENDERED_DESCRIPTIONS) {
+                    return;
+                }
+                if (i >= 0 && i < siblings.length && siblings[i] instanceof NodeTemplate) {
+                    queuePrerendering((NodeTemplate)siblings[i]);
+                }
+            }
+        }
+    }
+
+    private void queuePrerendering(final NodeTemplate template) {
+        final String id = template.getID();
+        if (CachedDescription.get(m_fullDescriptions, template) != null || !m_queuedTemplates.add(id)) {
+            return;
+        }
+        getPrerenderExecutor().execute(() -> {
+            try {
+                getFullDescription(template);
+            } catch (Exception e) {
+                // the error is shown when the node is selected
+                NodeLogger.getLogger(DynamicNodeDescriptionCreator.class)
+                    .debug("Could not pre-render description of " + id + ": " + e.getMessage(), e);
+            } finally {
+                m_queuedTemplates.remove(id);
+            }
+        });
+    }
+
+    private synchronized ExecutorService getPrerenderExecutor() {
+        if (m_prerenderExecutor == null) {
+            m_prerenderExecutor = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "KNIME Node Description Renderer");
+                t.setDaemon(true);
+                t.setPriority(Thread.MIN_PRIORITY);
+                return t;
+            });
+        }
+        return m_prerenderExecutor;
+    }
+
     /**
      * Adds the description for the node represented by this node edit part to
      * the StringBuilder. If useSingleLine is set it will use the simple one
@@ -237,7 +377,8 @@ public void addDescription(final NodeContainerUI nc,
                 bld.append("</dd>");
             } else {
                 try {
-                    bld.append(NodeFactoryHTMLCreator.instance.readFullDescription(singleNC.getXMLDescription()));
+                    bld.append(NodeFactoryHTMLCreator.instance.readFullDescription(nc.getName(),
+                        singleNC.getXMLDescription()));
                 } catch (FileNotFoundException ex) {
                     NodeLogger.getLogger(DynamicNodeDescriptionCreator.class).error(
                         "Could not create HTML node description: " + ex.getMessage(), ex);
@@ -396,4 +537,25 @@ public static String htmlString(final String s) {
             return s;
         }
     }
+
+    /**
+     * A description together with the template it was created for. A template with the same ID but a different
+     * identity, e.g. after the repository has been reloaded, may describe another node factory or a changed one.
+     */
+    private static final class CachedDescription {
+        private final NodeTemplate m_template;
+
+        private final String m_description;
+
+        CachedDescription(final NodeTemplate template, final String description) {
+            m_template = template;
+            m_description = description;
+        }
+
+        /** @return the description cached for the template, <code>null</code> if there is none or it is outdated */
+        static String get(final Map<String, CachedDescription> cache, final NodeTemplate template) {
+            CachedDescription cached = cache.get(template.getID());
+            return (cached != null) && (cached.m_template == template) ? cached.m_description : null;
+        }
+    }
 }
@@ -62,6 +62,12 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import javax.xml.transform.TransformerException;
 
@@ -74,12 +80,15 @@
 import org.eclipse.swt.graphics.ImageLoader;
 import org.eclipse.swt.widgets.Display;
 import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
 import org.knime.workbench.repository.RepositoryManager;
 import org.knime.workbench.repository.model.Category;
 import org.knime.workbench.repository.model.IContainerObject;
 import org.knime.workbench.repository.model.IRepositoryObject;
 import org.knime.workbench.repository.model.NodeTemplate;
 import org.knime.workbench.repository.model.Root;
+import org.w3c.dom.Element;
 
 /**
  * Creates a summary of the node descriptions of a all available KNIME nodes that can be browsed in a node
@@ -96,6 +105,10 @@ public class NodeDocuGenerator implements IApplication {
 
     private static final String PLUGIN_ARG = "-plugin";
 
+    private static final String THREADS_ARG = "-threads";
+
+    private static final String INCREMENTAL_ARG = "-incremental";
+
     private static void printUsage() {
         System.err.println("Usage: NodeDocuGenerator options");
         System.err.println("Allowed options are:");
@@ -105,6 +118,10 @@ private static void printUsage() {
                 .println("\t-plugin plugin-id : Only nodes of the specified plugin will be considered. If not all available plugins will be processed.\n");
         System.err
                 .println("\t-category category-path (e.g. /community) : Only nodes within the specified category path will be considered. If not specified '/' is used.\n");
+        System.err
+                .println("\t-threads n : Number of threads that generate the node descriptions in parallel. If not specified the number of available processors is used.\n");
+        System.err
+                .println("\t-incremental : Only node descriptions that have changed since the last run into the same directory are generated.\n");
 
     }
 
@@ -124,12 +141,23 @@ private static void printUsage() {
 
     private String m_nodeRepositoryTemplate;
 
-    private StringBuilder m_nodeRepository = new StringBuilder();
+    /* entries of the node repository-like menu in the order of the repository, nodes are generated asynchronously */
+    private final List<Future<String>> m_nodeRepository = new ArrayList<>();
 
     private String m_pluginId = null;
 
     private String m_catPath = "/";
 
+    private int m_threads = Runtime.getRuntime().availableProcessors();
+
+    private boolean m_incremental = false;
+
+    /* generates the node descriptions and writes them to disc */
+    private ForkJoinPool m_pool;
+
+    /* checksums of the previous run, only set in incremental mode */
+    private DescriptionChecksums m_checksums;
+
     /**
      * {@inheritDoc}
      */
@@ -146,6 +174,10 @@ public Object start(final IApplicationContext context) throws Exception {
                     m_catPath = args[i + 1];
                 } else if (args[i].equals(PLUGIN_ARG)) {
                     m_pluginId = args[i + 1];
+                } else if (args[i].equals(THREADS_ARG)) {
+                    m_threads = Math.max(1, Integer.parseInt(args[i + 1]));
+                } else if (args[i].equals(INCREMENTAL_ARG)) {
+                    m_incremental = true;
                 } else if (args[i].equals("-help")) {
                     printUsage();
                     return EXIT_OK;
@@ -190,7 +222,7 @@ private void generate() throws Exception {
         // copy static html files
         copyFiles(FILES_TO_COPY);
 
-        m_nodeRepository.setLength(0);
+        m_nodeRepository.clear();
 
         // write css file
         Writer css = createDocumentWriter("style.css", m_directory);
@@ -229,21 +261,35 @@ private void generate() throws Exception {
         }
         m_catPath = m_catPath.replaceAll("/", ".");
 
-        // recursively generate the node reference and the node description
-        // pages
-        generate(m_directory, root, null);
-
-        // complete and write repository template
-        String nodeRepo = m_nodeRepositoryTemplate.replace("[NODE_REPOSITORY]", m_nodeRepository.toString());
-        Writer out = createDocumentWriter("node_repository.html", m_directory);
-        out.write(nodeRepo);
-        out.close();
+        m_checksums = m_incremental ? DescriptionChecksums.load(m_directory.toPath()) : null;
+        m_pool = new ForkJoinPool(m_threads);
+        try {
+            // recursively generate the node reference; the node description
+            // pages are generated in parallel by the pool
+            generate(m_directory, root, null);
+
+            // complete and write repository template, the entries are
+            // joined in the order of the repository
+            StringBuilder nodeRepository = new StringBuilder();
+            for (Future<String> entry : m_nodeRepository) {
+                nodeRepository.append(getResult(entry));
+            }
+            String nodeRepo = m_nodeRepositoryTemplate.replace("[NODE_REPOSITORY]", nodeRepository.toString());
+            Writer out = createDocumentWriter("node_repository.html", m_directory);
+            out.write(nodeRepo);
+            out.close();
+        } finally {
+            m_pool.shutdownNow();
+        }
+        if (m_checksums != null) {
+            m_checksums.save();
+        }
 
         String header = readFile(HEADER_TEMPLATE);
         header =
                 header.replace("[KNIME_VERSION]", KNIMEConstants.MAJOR + "." + KNIMEConstants.MINOR + "."
                         + KNIMEConstants.REV);
-        out = createDocumentWriter("header.html", m_directory);
+        Writer out = createDocumentWriter("header.html", m_directory);
         out.write(header);
         out.close();
 
@@ -274,9 +320,9 @@ private String cleanNodeIdForFileName(final NodeTemplate nodeTemplate) {
      */
     private boolean generate(final File directory, final IRepositoryObject current, final IRepositoryObject parent)
             throws TransformerException, Exception {
-        // current length of the repository string to be able to revert it to
+        // current number of repository entries to be able to revert it to
         // the current state
-        int currentLength = m_nodeRepository.length();
+        int currentLength = m_nodeRepository.size();
 
         if (current instanceof NodeTemplate) {
 
@@ -295,42 +341,8 @@ private boolean generate(final File directory, final IRepositoryObject current,
                 }
             }
 
-            String nodeIdentifier = cleanNodeIdForFileName((NodeTemplate)current);//((NodeTemplate)current).getID();
-
-            // write icon to disc
-            URL iconURL = ((NodeTemplate)current).createFactoryInstance().getIcon();
-            String nodeIcon;
-            if (iconURL != null) {
-                writeStreamToFile(iconURL.openStream(), nodeIdentifier + ".png");
-                nodeIcon = nodeIdentifier + ".png";
-            } else {
-                nodeIcon = "knime_default_icon.png";
-            }
-
-            // the node repository-like menu
-            m_nodeRepository.append("<li style=\"list-style-image: url(");
-            m_nodeRepository.append(nodeIcon);
-            m_nodeRepository.append(");\" class=\"knime-node\"><span class=\"childs\"><a href=\"");
-            m_nodeRepository.append(current.getID());
-            m_nodeRepository.append(".html\" target=\"Node Description\">");
-            m_nodeRepository.append(((NodeTemplate)current).getName());
-            m_nodeRepository.append("</a></span></li>\n");
-
-            // create page with node description and return, as no more
-            // children
-            // are available
-            Writer nodeDoc = createDocumentWriter(cleanNodeIdForFileName((NodeTemplate)current) + ".html", directory);
-            String nodeDescription =
-                    NodeFactoryHTMLCreator.instance.readFullDescription(((NodeTemplate)current).createFactoryInstance()
-                            .getXMLDescription());
-            // extract the body of the node description html-document
-            nodeDescription =
-                    nodeDescription
-                            .substring(nodeDescription.indexOf("<body>") + 6, nodeDescription.indexOf("</body>"));
-            nodeDescription = m_nodeDescriptionTemplate.replace("[NODE_DESCRIPTION]", nodeDescription);
-            nodeDoc.write(nodeDescription);
-            nodeDoc.flush();
-            nodeDoc.close();
+            final NodeTemplate node = (NodeTemplate)current;
+            m_nodeRepository.add(m_pool.submit(() -> generateNode(directory, node)));
 
             return true;
         } else if (current instanceof Category || current instanceof Root) {
@@ -352,12 +364,9 @@ private boolean generate(final File directory, final IRepositoryObject current,
                     catIcon = "knime_default_icon.png";
                 }
 
-                m_nodeRepository.append("<li class=\"knime-category\">");
-                m_nodeRepository.append("<img width=\"16px\" src=\"");
-                m_nodeRepository.append(catIcon);
-                m_nodeRepository.append("\"/>&nbsp;");
-                m_nodeRepository.append(((Category)current).getName());
-                m_nodeRepository.append("</span><ul>");
+                m_nodeRepository.add(CompletableFuture.completedFuture("<li class=\"knime-category\">"
+                    + "<img width=\"16px\" src=\"" + catIcon + "\"/>&nbsp;" + ((Category)current).getName()
+                    + "</span><ul>"));
             }
 
             boolean hasChildren = false;
@@ -366,11 +375,11 @@ private boolean generate(final File directory, final IRepositoryObject current,
             }
 
             if (hasChildren) {
-                m_nodeRepository.append("</ul></li>");
+                m_nodeRepository.add(CompletableFuture.completedFuture("</ul></li>"));
                 return true;
             } else {
                 // revert all entries done so far
-                m_nodeRepository.setLength(currentLength);
+                m_nodeRepository.subList(currentLength, m_nodeRepository.size()).clear();
                 return false;
             }
 
@@ -383,6 +392,76 @@ private boolean generate(final File directory, final IRepositoryObject current,
 
     }
 
+    /**
+     * Generates the description document of a single node. Called concurrently for different nodes.
+     *
+     * @return the menu entry of the node
+     */
+    private String generateNode(final File directory, final NodeTemplate node) throws Exception {
+        String nodeIdentifier = cleanNodeIdForFileName(node);
+        NodeFactory<? extends NodeModel> factory = node.createFactoryInstance();
+
+        // write icon to disc
+        URL iconURL = factory.getIcon();
+        String nodeIcon;
+        if (iconURL != null) {
+            writeStreamToFile(iconURL.openStream(), nodeIdentifier + ".png");
+            nodeIcon = nodeIdentifier + ".png";
+        } else {
+            nodeIcon = "knime_default_icon.png";
+        }
+
+        // create page with node description unless it has not changed since the last run
+        String fileName = nodeIdentifier + ".html";
+        Element xmlDescription = factory.getXMLDescription();
+        String checksum = null;
+        if (m_checksums != null) {
+            checksum = NodeFactoryHTMLCreator.instance.getDescriptionChecksum(xmlDescription)
+                + Integer.toHexString(m_nodeDescriptionTemplate.hashCode());
+        }
+        File nodeDoc = new File(directory, fileName);
+        if ((checksum == null) || !m_checksums.isUnchanged(fileName, checksum, nodeDoc.toPath())) {
+            String nodeDescription =
+                    NodeFactoryHTMLCreator.instance.readFullDescription(xmlDescription);
+            // extract the body of the node description html-document
+            nodeDescription =
+                    nodeDescription
+                            .substring(nodeDescription.indexOf("<body>") + 6, nodeDescription.indexOf("</body>"));
+            nodeDescription = m_nodeDescriptionTemplate.replace("[NODE_DESCRIPTION]", nodeDescription);
+            try (Writer out = createDocumentWriter(fileName, directory)) {
+                out.write(nodeDescription);
+            }
+            if (checksum != null) {
+                m_checksums.update(fileName, checksum);
+            }
+        }
+
+        // the node repository-like menu
+        StringBuilder entry = new StringBuilder();
+        entry.append("<li style=\"list-style-image: url(");
+        entry.append(nodeIcon);
+        entry.append(");\" class=\"knime-node\"><span class=\"childs\"><a href=\"");
+        entry.append(node.getID());
+        entry.append(".html\" target=\"Node Description\">");
+        entry.append(node.getName());
+        entry.append("</a></span></li>\n");
+        return entry.toString();
+    }
+
+    /*
+     * Waits for an entry of the node repository and rethrows the failure of its generation
+     */
+    private static String getResult(final Future<String> entry) throws Exception {
+        try {
+            return entry.get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof Exception) {
+                throw (Exception)ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
     /*
      * Helper to compose the category names/identifier of the super-categories
      * and the current one
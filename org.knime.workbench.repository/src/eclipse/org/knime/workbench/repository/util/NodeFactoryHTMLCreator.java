@@ -54,12 +54,21 @@
 import java.io.InputStreamReader;
 import java.io.StringWriter;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
@@ -69,10 +78,13 @@
 
 import org.knime.core.node.NodeLogger;
 import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 
 /**
  * Loads an transformer and transforms the XML description of a node (which is passed as a DOM element into HTML.
+ * The methods of this class may be called concurrently, the compiled stylesheets are shared and each thread uses its
+ * own transformers.
  *
  * @author Fabian Dill, University of Konstanz
  */
@@ -83,7 +95,26 @@ public final class NodeFactoryHTMLCreator {
 
     private static final String HOWTO_FILE = "node_description_howto.html";
 
-    private Map<String, Transformer> m_transformers = new HashMap<String, Transformer>();
+    /** The maximum number of rendered descriptions kept in {@link #m_htmlCache}. */
+    private static final int MAX_CACHED_DESCRIPTIONS = 256;
+
+    /** Compiled stylesheets, keyed by the namespace of the node description. */
+    private final Map<String, Templates> m_templates = new ConcurrentHashMap<>();
+
+    /** Transformers are not thread-safe, every thread creates its own from the shared templates. */
+    private final ThreadLocal<Map<String, Transformer>> m_transformers = ThreadLocal.withInitial(HashMap::new);
+
+    /** SHA-256 digests of the stylesheets' sources and the CSS, keyed by the namespace of the node description. */
+    private final Map<String, byte[]> m_stylesheetDigests = new ConcurrentHashMap<>();
+
+    /** Rendered full descriptions, keyed by description ID and hash of the description's content. */
+    private final Map<String, String> m_htmlCache =
+        Collections.synchronizedMap(new LinkedHashMap<String, String>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, String> eldest) {
+                return size() > MAX_CACHED_DESCRIPTIONS;
+            }
+        });
 
     private static final Pattern NAMESPACE_PATTERN = Pattern.compile("http://knime.org/(.*)node(?:2012|/v(\\d+\\.\\d+))");
 
@@ -132,44 +163,207 @@ public String readFullDescription(final Element knimeNode) throws FileNotFoundEx
         }
 
         String namespaceUri = knimeNode.getNamespaceURI();
-        Transformer transformer = m_transformers.get(namespaceUri);
+        Map<String, Transformer> transformers = m_transformers.get();
+        Transformer transformer = transformers.get(namespaceUri);
         if (transformer == null) {
-            Matcher matcher = NAMESPACE_PATTERN.matcher(namespaceUri);
-            if (!matcher.matches()) {
-                throw new IllegalArgumentException("Unsupported namespace for knime node: " + namespaceUri);
-            }
-            final String version;
-            if (matcher.group(2) != null) {
-                version = matcher.group(2);
-            } else {
-                version = "2.7";
-            }
-            String nodeType = matcher.group(1);
-            if (nodeType != null && nodeType.length() > 0) {
-                nodeType = "_" + nodeType;
-            } else {
-                nodeType = "";
-            }
-            String styleFile = "FullNodeDescription" + nodeType + "_v" + version + ".xslt";
-
-            InputStream is = getClass().getResourceAsStream(styleFile);
-            if (is == null) {
-                throw new FileNotFoundException("Could not find stylesheet '" + styleFile + "'");
-            }
-            StreamSource stylesheet = new StreamSource(is);
-            transformer = TransformerFactory.newInstance().newTemplates(stylesheet).newTransformer();
+            transformer = getTemplates(namespaceUri).newTransformer();
             transformer.setParameter("css", m_css);
             transformer.setOutputProperty(OutputKeys.METHOD, "xml");
             transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-            m_transformers.put(namespaceUri, transformer);
+            transformers.put(namespaceUri, transformer);
         }
 
         StreamResult result = new StreamResult(new StringWriter());
         DOMSource source = new DOMSource(knimeNode);
-        transformer.transform(source, result);
+        // DOM implementations are not thread-safe, not even for reading (deferred node expansion)
+        synchronized (getLock(knimeNode)) {
+            transformer.transform(source, result);
+        }
         return result.getWriter().toString();
     }
 
+    /**
+     * Same as {@link #readFullDescription(Element)} but the result is cached. The cache is bounded, it keeps the most
+     * recently used descriptions.
+     *
+     * @param descriptionID identifies the origin of the description, e.g. the ID of the node factory
+     * @param knimeNode DOM tree root of node factory XML description.
+     * @return the full description as HTML
+     * @throws FileNotFoundException if the stylesheet for the node cannot found found
+     * @throws TransformerException if an error happens during the XML->HTML transformation
+     * @since 4.5
+     */
+    public String readFullDescription(final String descriptionID, final Element knimeNode)
+        throws FileNotFoundException, TransformerException {
+        if (knimeNode == null) {
+            return getXMLDescriptionHowTo();
+        }
+        final int hash;
+        synchronized (getLock(knimeNode)) {
+            hash = contentHash(knimeNode);
+        }
+        String key = descriptionID + '#' + Integer.toHexString(hash);
+        String html = m_htmlCache.get(key);
+        if (html == null) {
+            html = readFullDescription(knimeNode);
+            m_htmlCache.put(key, html);
+        }
+        return html;
+    }
+
+    /**
+     * Returns a SHA-256 checksum of the given description together with the stylesheet and the CSS it is rendered
+     * with. As long as the checksum does not change, {@link #readFullDescription(Element)} produces the same HTML. This
+     * can be used to skip descriptions that have not changed since they were last written to disc.
+     *
+     * @param knimeNode DOM tree root of node factory XML description, may be <code>null</code>
+     * @return a checksum of the description and its stylesheet
+     * @throws FileNotFoundException if the stylesheet for the node cannot found found
+     * @since 4.5
+     */
+    public String getDescriptionChecksum(final Element knimeNode) throws FileNotFoundException {
+        if (knimeNode == null) {
+            return "howto";
+        }
+        final MessageDigest digest = newDigest();
+        synchronized (getLock(knimeNode)) {
+            updateDigest(digest, knimeNode);
+        }
+        String namespaceUri = knimeNode.getNamespaceURI();
+        byte[] stylesheetDigest = m_stylesheetDigests.get(namespaceUri);
+        if (stylesheetDigest == null) {
+            MessageDigest stylesheet = newDigest();
+            updateDigest(stylesheet, readStylesheet(getStylesheetName(namespaceUri)));
+            updateDigest(stylesheet, m_css);
+            stylesheetDigest = stylesheet.digest();
+            m_stylesheetDigests.put(namespaceUri, stylesheetDigest);
+        }
+        digest.update(stylesheetDigest);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            // every Java platform supports SHA-256
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /** Adds names, attributes and text of the whole tree to the digest, including its structure. */
+    private static void updateDigest(final MessageDigest digest, final Node node) {
+        digest.update((byte)node.getNodeType());
+        updateDigest(digest, node.getNamespaceURI());
+        updateDigest(digest, node.getNodeName());
+        updateDigest(digest, node.getNodeValue());
+        NamedNodeMap attributes = node.getAttributes();
+        if (attributes != null) {
+            for (int i = 0; i < attributes.getLength(); i++) {
+                Node attribute = attributes.item(i);
+                updateDigest(digest, attribute.getNodeName());
+                updateDigest(digest, attribute.getNodeValue());
+            }
+        }
+        for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+            digest.update((byte)1);
+            updateDigest(digest, child);
+        }
+        // end of the children
+        digest.update((byte)2);
+    }
+
+    private static void updateDigest(final MessageDigest digest, final String value) {
+        if (value == null) {
+            digest.update((byte)1);
+        } else {
+            digest.update((byte)0);
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte)0);
+        }
+    }
+
+    private static Object getLock(final Element knimeNode) {
+        return knimeNode.getOwnerDocument() != null ? knimeNode.getOwnerDocument() : knimeNode;
+    }
+
+    /** A hash of names, attributes and text of the whole tree, much cheaper than transforming it. */
+    private static int contentHash(final Node node) {
+        int hash = Objects.hash(node.getNamespaceURI(), node.getNodeName(), node.getNodeValue());
+        NamedNodeMap attributes = node.getAttributes();
+        if (attributes != null) {
+            for (int i = 0; i < attributes.getLength(); i++) {
+                Node attribute = attributes.item(i);
+                hash = 31 * hash + Objects.hash(attribute.getNodeName(), attribute.getNodeValue());
+            }
+        }
+        for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+            hash = 31 * hash + contentHash(child);
+        }
+        return hash;
+    }
+
+    private Templates getTemplates(final String namespaceUri) throws FileNotFoundException, TransformerException {
+        Templates templates = m_templates.get(namespaceUri);
+        if (templates != null) {
+            return templates;
+        }
+        String styleFile = getStylesheetName(namespaceUri);
+        InputStream is = getClass().getResourceAsStream(styleFile);
+        if (is == null) {
+            throw new FileNotFoundException("Could not find stylesheet '" + styleFile + "'");
+        }
+        try {
+            templates = TransformerFactory.newInstance().newTemplates(new StreamSource(is));
+        } finally {
+            try {
+                is.close();
+            } catch (IOException ex) {
+                // ignore
+            }
+        }
+        // compiling the same stylesheet twice in a race is harmless, the first one wins
+        Templates existing = m_templates.putIfAbsent(namespaceUri, templates);
+        return existing != null ? existing : templates;
+    }
+
+    private static String getStylesheetName(final String namespaceUri) {
+        Matcher matcher = NAMESPACE_PATTERN.matcher(namespaceUri);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Unsupported namespace for knime node: " + namespaceUri);
+        }
+        final String version;
+        if (matcher.group(2) != null) {
+            version = matcher.group(2);
+        } else {
+            version = "2.7";
+        }
+        String nodeType = matcher.group(1);
+        if (nodeType != null && nodeType.length() > 0) {
+            nodeType = "_" + nodeType;
+        } else {
+            nodeType = "";
+        }
+        return "FullNodeDescription" + nodeType + "_v" + version + ".xslt";
+    }
+
+    private String readStylesheet(final String styleFile) throws FileNotFoundException {
+        InputStream is = getClass().getResourceAsStream(styleFile);
+        if (is == null) {
+            throw new FileNotFoundException("Could not find stylesheet '" + styleFile + "'");
+        }
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(is, Charset.forName("UTF-8")))) {
+            StringBuilder buf = new StringBuilder();
+            String line;
+            while ((line = in.readLine()) != null) {
+                buf.append(line).append('\n');
+            }
+            return buf.toString();
+        } catch (IOException ex) {
+            throw new FileNotFoundException("Could not read stylesheet '" + styleFile + "': " + ex.getMessage());
+        }
+    }
+
     private String getXMLDescriptionHowTo() {
         BufferedReader buffer = null;
         try {
@@ -207,15 +401,17 @@ public String readShortDescriptionFromXML(final Element knimeNode) {
         if (knimeNode == null) {
             return "No description available! Please add an XML description.";
         }
-        Node w3cNode = knimeNode.getElementsByTagName(SHORT_DESCR_TAG).item(0);
-        if (w3cNode == null) {
-            return null;
-        }
-        Node w3cNodeChild = w3cNode.getFirstChild();
-        if (w3cNodeChild == null) {
-            return null;
+        synchronized (getLock(knimeNode)) {
+            Node w3cNode = knimeNode.getElementsByTagName(SHORT_DESCR_TAG).item(0);
+            if (w3cNode == null) {
+                return null;
+            }
+            Node w3cNodeChild = w3cNode.getFirstChild();
+            if (w3cNodeChild == null) {
+                return null;
+            }
+            return w3cNodeChild.getNodeValue();
         }
-        return w3cNodeChild.getNodeValue();
     }
 
 
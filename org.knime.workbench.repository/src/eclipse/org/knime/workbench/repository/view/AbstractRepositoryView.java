@@ -55,6 +55,7 @@
 import org.eclipse.core.runtime.IAdaptable;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.action.IMenuListener;
@@ -109,10 +110,10 @@
 import org.knime.core.node.workflow.WorkflowManager;
 import org.knime.core.util.KNIMEJob;
 import org.knime.workbench.core.nodeprovider.NodeProvider;
+import org.knime.workbench.repository.AdditionalInfoProvider;
 import org.knime.workbench.repository.RepositoryManager;
 import org.knime.workbench.repository.model.AbstractRepositoryObject;
 import org.knime.workbench.repository.model.Category;
-import org.knime.workbench.repository.model.IContainerObject;
 import org.knime.workbench.repository.model.IRepositoryObject;
 import org.knime.workbench.repository.model.MetaNodeTemplate;
 import org.knime.workbench.repository.model.NodeTemplate;
@@ -143,6 +144,21 @@ public abstract class AbstractRepositoryView extends ViewPart implements Reposit
      */
     static final String KEY_INFO_STREAMABLE = "info_streamable";
 
+    /* computes whether a node is streamable (or distributable), usually requires the node factory */
+    private static final AdditionalInfoProvider STREAMABLE_INFO_PROVIDER = new AdditionalInfoProvider() {
+        @Override
+        public String getKey() {
+            return KEY_INFO_STREAMABLE;
+        }
+
+        @Override
+        public String computeInfo(final NodeTemplate template) throws Exception {
+            //method has been overriden -> node is probably streamable or distributable
+            //possible TODO: parse xml description and get some more additional information (e.g. short description, ...)
+            return NodeUtil.isStreamable(template) ? "streamable" : null;
+        }
+    };
+
 
     /**
      * The tree component for showing the repository contents. It will be initialized in
@@ -181,6 +197,8 @@ public abstract class AbstractRepositoryView extends ViewPart implements Reposit
     private Thread m_delayedResizeReLayout;
     private final AtomicBoolean m_canReLayoutAfterResize;
 
+    private final Runnable m_repositoryChangeListener = this::onRepositoryChanged;
+
     /**
      * The constructor.
      */
@@ -333,9 +351,19 @@ protected IStatus run(final IProgressMonitor monitor) {
             }
         };
         treeUpdater.setSystem(true);
+        RepositoryManager.INSTANCE.addChangeListener(m_repositoryChangeListener);
         treeUpdater.schedule();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void dispose() {
+        RepositoryManager.INSTANCE.removeChangeListener(m_repositoryChangeListener);
+        super.dispose();
+    }
+
     /**
      * This shows or hides the obscuring layer over the tree view display. This must be call on the SWT thread.
      *
@@ -426,6 +454,18 @@ public void run() {
         onReadingRepositoryDone();
     }
 
+    /* called (in a background thread) after the repository contents have been replaced */
+    private void onRepositoryChanged() {
+        final Root repository = RepositoryManager.INSTANCE.getRoot();
+        if (m_additionalInfoAvailable) {
+            // the new node templates don't have any additional information yet
+            m_additionalInfoAvailable = false;
+            enrichWithAdditionalInfo(repository, new NullProgressMonitor(), m_filterStreamNodesButton.isChecked());
+            m_additionalInfoAvailable = true;
+        }
+        updateRepositoryView(repository);
+    }
+
     /* called as soon as the repository has been read entirely */
     private void onReadingRepositoryDone() {
         m_filterStreamNodesButton.setEnabled(true);
@@ -434,57 +474,37 @@ private void onReadingRepositoryDone() {
 
     /**
      * This methods recursively retrieves and enriches the repository objects with additional information,
-     * e.g. number of ports, whether the node is streamable and/or distributable, etc.
+     * e.g. number of ports, whether the node is streamable and/or distributable, etc. The information is persisted by
+     * the {@link RepositoryManager}, hence the node factories are only instantiated if the installation has changed.
      * Should be called only after the repository content was already loaded with {@link #readRepository(Composite, IProgressMonitor)}.
      */
     protected void enrichWithAdditionalInfo(final IRepositoryObject parent, final IProgressMonitor monitor, final boolean updateTreeStructure) {
-        if(monitor.isCanceled()) {
+        if (monitor.isCanceled() || m_additionalInfoAvailable) {
             return;
         }
-        if (!m_additionalInfoAvailable) {
-            if (parent instanceof IContainerObject) {
-                IRepositoryObject[] children = ((IContainerObject)parent).getChildren();
-                for (IRepositoryObject child : children) {
-                    enrichWithAdditionalInfo(child, monitor, updateTreeStructure);
-                }
-            } else if (parent instanceof NodeTemplate) {
-                NodeTemplate nodeTemplate = (NodeTemplate)parent;
-                try {
-                    if (NodeUtil.isStreamable(nodeTemplate)) {
-                        //method has been overriden -> node is probably streamable or distributable
-                        nodeTemplate.addAdditionalInfo(KEY_INFO_STREAMABLE, "streamable");
-                    }
-
-                    //possible TODO: parse xml description and get some more additional information (e.g. short description, ...)
-                    //                    nodeTemplate.addAdditionalInfo(KEY_INFO_SHORT_DESCRIPTION,
-                    //                        "this could be the short description, number of ports etc.");
-                } catch (Throwable t) {
-                    LOGGER.error("Unable to instantiate the node " + nodeTemplate.getFactory().getName(), t);
-                    return;
-                }
+        // nodes whose information has to be computed are updated one by one, the others all at once afterwards
+        RepositoryManager.INSTANCE.addAdditionalInfo(parent, STREAMABLE_INFO_PROVIDER, monitor,
+            template -> updateViewer(template, updateTreeStructure));
+        updateViewer(null, updateTreeStructure);
+    }
 
-                if (!updateTreeStructure) {
-                    Display.getDefault().asyncExec(new Runnable() {
-                        @Override
-                        public void run() {
-                            if (!m_viewer.getControl().isDisposed()) {
-                                m_viewer.update(parent, null);
-                            }
-                        }
-                    });
-                } else {
-                    Display.getDefault().asyncExec(new Runnable() {
-                        @Override
-                        public void run() {
-                            if (!m_viewer.getControl().isDisposed()) {
-                                m_viewer.update(parent, null);
-                                TreeViewerUpdater.update(m_viewer, true, false);
-                            }
-                        }
-                    });
+    /* updates the given element (or all elements if null) after its additional information has changed */
+    private void updateViewer(final IRepositoryObject element, final boolean updateTreeStructure) {
+        Display.getDefault().asyncExec(new Runnable() {
+            @Override
+            public void run() {
+                if (!m_viewer.getControl().isDisposed()) {
+                    if (element != null) {
+                        m_viewer.update(element, null);
+                    } else {
+                        m_viewer.refresh(true);
+                    }
+                    if (updateTreeStructure) {
+                        TreeViewerUpdater.update(m_viewer, true, false);
+                    }
                 }
             }
-        }
+        });
     }
 
     private void hookDoubleClickAction() {
@@ -498,7 +518,7 @@ public void doubleClick(final DoubleClickEvent event) {
                     try {
                         nodeFact = tmplt.createFactoryInstance();
                     } catch (Exception e) {
-                        LOGGER.error("Unable to instantiate the selected node " + tmplt.getFactory().getName(), e);
+                        LOGGER.error("Unable to instantiate the selected node " + tmplt.getID(), e);
                         return;
                     }
                     NodeProvider.INSTANCE.addNode(nodeFact);
@@ -857,6 +877,8 @@ public void run() {
                     final String message = "Loading node repository... " + m_nodeCounter + " nodes found";
 
                     m_viewer.getControl().setToolTipText(message);
+                    // the repository may have grown since the last update
+                    RepositorySearchIndex.invalidate(transformedRepository);
                     if (m_viewer.getInput() != transformedRepository) {
                         m_viewer.setInput(transformedRepository);
                     } else {
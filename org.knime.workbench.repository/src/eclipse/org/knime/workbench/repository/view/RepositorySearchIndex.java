@@ -0,0 +1,523 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.workbench.repository.view;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.knime.workbench.repository.model.AbstractNodeTemplate;
+import org.knime.workbench.repository.model.Category;
+import org.knime.workbench.repository.model.IContainerObject;
+import org.knime.workbench.repository.model.IRepositoryObject;
+import org.knime.workbench.repository.model.MetaNodeTemplate;
+import org.knime.workbench.repository.model.Root;
+
+/**
+ * Precomputed search index over all categories and node templates of a repository tree. The names are stored upper
+ * case together with their bigrams and trigrams, which are encoded as primitive numbers. Inverted indices (sorted gram
+ * keys with one posting array per key) are used to find all names containing a query or being similar to it according
+ * to the Tanimoto bigram distance. The result of a query is the complete set of repository objects that a
+ * {@link TextualViewFilter} would select, so that the viewer only needs to look up each element.
+ *
+ * <p>
+ * Indices are cached per root and must be {@link #invalidate(Root) invalidated} if the tree changes.
+ * </p>
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class RepositorySearchIndex {
+    /** Roots are compared by identity (all roots are equal), there are only a few of them. */
+    private static final List<RepositorySearchIndex> CACHE = new ArrayList<>();
+
+    private static final long[] NO_GRAMS = new long[0];
+
+    /** All indexed objects in depth-first pre-order. */
+    private final IRepositoryObject[] m_objects;
+
+    /** Index of each object's parent object, -1 for top-level objects. */
+    private final int[] m_parents;
+
+    /** The descendants of object i are the objects in the range (i, m_subtreeEnd[i]). */
+    private final int[] m_subtreeEnd;
+
+    private final Map<Object, Integer> m_objectIndex;
+
+    /** The texts (names) as they are shown. */
+    private final String[] m_originalTexts;
+
+    /** The upper case texts that are searched. */
+    private final String[] m_texts;
+
+    /** Index of the object each text belongs to. */
+    private final int[] m_textOwners;
+
+    /** Number of distinct bigrams in each text. */
+    private final int[] m_bigramCounts;
+
+    private final long[] m_bigramKeys;
+
+    private final int[][] m_bigramPostings;
+
+    private final long[] m_trigramKeys;
+
+    private final int[][] m_trigramPostings;
+
+    private final WeakReference<Root> m_root;
+
+    private volatile boolean m_valid = true;
+
+    private RepositorySearchIndex(final Root root) {
+        m_root = new WeakReference<>(root);
+        final List<IRepositoryObject> objects = new ArrayList<>();
+        final List<Integer> parents = new ArrayList<>();
+        collectObjects(root, -1, objects, parents);
+
+        final int objectCount = objects.size();
+        m_objects = objects.toArray(new IRepositoryObject[objectCount]);
+        m_parents = new int[objectCount];
+        m_subtreeEnd = new int[objectCount];
+        m_objectIndex = new IdentityHashMap<>(objectCount);
+        for (int i = 0; i < objectCount; i++) {
+            m_parents[i] = parents.get(i);
+            m_subtreeEnd[i] = i + 1;
+            m_objectIndex.put(m_objects[i], i);
+        }
+        // objects are in pre-order, hence extending the parents' ranges in reverse order is sufficient
+        for (int i = objectCount - 1; i >= 0; i--) {
+            if (m_parents[i] >= 0) {
+                m_subtreeEnd[m_parents[i]] = Math.max(m_subtreeEnd[m_parents[i]], m_subtreeEnd[i]);
+            }
+        }
+
+        final List<String> texts = new ArrayList<>();
+        final List<Integer> owners = new ArrayList<>();
+        for (int i = 0; i < objectCount; i++) {
+            for (String text : getTexts(m_objects[i])) {
+                if (text != null) {
+                    texts.add(text);
+                    owners.add(i);
+                }
+            }
+        }
+        final int textCount = texts.size();
+        m_originalTexts = texts.toArray(new String[textCount]);
+        m_texts = new String[textCount];
+        m_textOwners = new int[textCount];
+        m_bigramCounts = new int[textCount];
+        final long[][] bigrams = new long[textCount][];
+        final long[][] trigrams = new long[textCount][];
+        for (int t = 0; t < textCount; t++) {
+            m_textOwners[t] = owners.get(t);
+            m_texts[t] = m_originalTexts[t].toUpperCase();
+            bigrams[t] = grams(m_texts[t], 2);
+            trigrams[t] = grams(m_texts[t], 3);
+            m_bigramCounts[t] = bigrams[t].length;
+        }
+        m_bigramKeys = distinctKeys(bigrams);
+        m_bigramPostings = postings(m_bigramKeys, bigrams);
+        m_trigramKeys = distinctKeys(trigrams);
+        m_trigramPostings = postings(m_trigramKeys, trigrams);
+    }
+
+    /**
+     * Returns the (cached) index for the given repository root.
+     *
+     * @param root a repository root
+     * @return the index
+     */
+    static RepositorySearchIndex getInstance(final Root root) {
+        synchronized (CACHE) {
+            final RepositorySearchIndex cached = find(root, false);
+            if (cached != null) {
+                return cached;
+            }
+            final RepositorySearchIndex index = new RepositorySearchIndex(root);
+            CACHE.add(index);
+            return index;
+        }
+    }
+
+    /**
+     * Removes the cached index of the given root, must be called if the tree below the root has changed.
+     *
+     * @param root a repository root
+     */
+    static void invalidate(final Root root) {
+        synchronized (CACHE) {
+            find(root, true);
+        }
+    }
+
+    private static RepositorySearchIndex find(final Root root, final boolean remove) {
+        for (Iterator<RepositorySearchIndex> it = CACHE.iterator(); it.hasNext();) {
+            final RepositorySearchIndex index = it.next();
+            final Root indexedRoot = index.m_root.get();
+            if (indexedRoot == null) {
+                it.remove();
+            } else if (indexedRoot == root) {
+                if (remove) {
+                    index.m_valid = false;
+                    it.remove();
+                }
+                return index;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param root a repository root
+     * @return <code>true</code> if this index has been built for the given root and has not been invalidated since
+     */
+    boolean isValidFor(final Root root) {
+        return m_valid && (m_root.get() == root);
+    }
+
+    private static void collectObjects(final IContainerObject container, final int parentIndex,
+        final List<IRepositoryObject> objects, final List<Integer> parents) {
+        for (IRepositoryObject child : container.getChildren()) {
+            if (!(child instanceof AbstractNodeTemplate) && !(child instanceof Category)) {
+                // unknown objects are not indexed, the filters fall back to their own selection logic
+                continue;
+            }
+            final int index = objects.size();
+            objects.add(child);
+            parents.add(parentIndex);
+            if (child instanceof IContainerObject) {
+                collectObjects((IContainerObject)child, index, objects, parents);
+            }
+        }
+    }
+
+    /** Same texts as matched by {@link RepositoryViewFilter} and {@link TanimotoTextualViewFilter}. */
+    private static String[] getTexts(final IRepositoryObject object) {
+        if (object instanceof MetaNodeTemplate) {
+            // with meta nodes also check the name of the workflow manager
+            return new String[]{((MetaNodeTemplate)object).getName(),
+                ((MetaNodeTemplate)object).getManager().getName()};
+        } else {
+            return new String[]{object.getName()};
+        }
+    }
+
+    /**
+     * Returns the sorted distinct n-grams (n = 2 or 3) of the given string, each encoded as a long.
+     *
+     * @param s a string
+     * @param n the gram length
+     * @return the encoded grams
+     */
+    static long[] grams(final String s, final int n) {
+        final int count = s.length() - n + 1;
+        if (count <= 0) {
+            return NO_GRAMS;
+        }
+        final long[] grams = new long[count];
+        for (int i = 0; i < count; i++) {
+            long code = 0;
+            for (int j = 0; j < n; j++) {
+                code = (code << 16) | s.charAt(i + j);
+            }
+            grams[i] = code;
+        }
+        Arrays.sort(grams);
+        int distinct = 1;
+        for (int i = 1; i < count; i++) {
+            if (grams[i] != grams[distinct - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return (distinct == count) ? grams : Arrays.copyOf(grams, distinct);
+    }
+
+    /**
+     * Computes the Tanimoto distance between two sorted distinct gram arrays.
+     *
+     * @param gramsA the grams of the first string
+     * @param gramsB the grams of the second string
+     * @return the distance, between 0 (equal) and 1 (nothing in common)
+     */
+    static double tanimotoDistance(final long[] gramsA, final long[] gramsB) {
+        int intersection = 0;
+        int i = 0;
+        int j = 0;
+        while ((i < gramsA.length) && (j < gramsB.length)) {
+            if (gramsA[i] == gramsB[j]) {
+                intersection++;
+                i++;
+                j++;
+            } else if (gramsA[i] < gramsB[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return distance(intersection, gramsA.length, gramsB.length);
+    }
+
+    private static double distance(final int intersection, final int sizeA, final int sizeB) {
+        final double denominator = sizeA + sizeB - intersection;
+        return (denominator > 0) ? (1.0 - intersection / denominator) : 1.0;
+    }
+
+    private static long[] distinctKeys(final long[][] grams) {
+        int total = 0;
+        for (long[] g : grams) {
+            total += g.length;
+        }
+        final long[] all = new long[total];
+        int pos = 0;
+        for (long[] g : grams) {
+            System.arraycopy(g, 0, all, pos, g.length);
+            pos += g.length;
+        }
+        Arrays.sort(all);
+        int distinct = 0;
+        for (int i = 0; i < total; i++) {
+            if ((i == 0) || (all[i] != all[distinct - 1])) {
+                all[distinct++] = all[i];
+            }
+        }
+        return Arrays.copyOf(all, distinct);
+    }
+
+    private static int[][] postings(final long[] keys, final long[][] grams) {
+        final int[] sizes = new int[keys.length];
+        for (long[] g : grams) {
+            for (long code : g) {
+                sizes[Arrays.binarySearch(keys, code)]++;
+            }
+        }
+        final int[][] postings = new int[keys.length][];
+        for (int k = 0; k < keys.length; k++) {
+            postings[k] = new int[sizes[k]];
+            sizes[k] = 0;
+        }
+        // texts are added in ascending order, hence the postings are sorted
+        for (int t = 0; t < grams.length; t++) {
+            for (long code : grams[t]) {
+                final int k = Arrays.binarySearch(keys, code);
+                postings[k][sizes[k]++] = t;
+            }
+        }
+        return postings;
+    }
+
+    /**
+     * Finds all objects whose name contains the given query.
+     *
+     * @param upperCaseQuery the non-empty query in upper case
+     * @return the matching objects
+     */
+    Matches findContaining(final String upperCaseQuery) {
+        final BitSet matchingTexts = findContainingTexts(upperCaseQuery);
+        return createMatches(upperCaseQuery, matchingTexts, null);
+    }
+
+    /**
+     * Finds all objects whose name contains the given query or whose Tanimoto bigram distance to the query is smaller
+     * than the given bound. The distances of the matching names are computed in the same pass and are used for
+     * ranking.
+     *
+     * @param upperCaseQuery the non-empty query in upper case
+     * @param upperDistanceBound the excluding upper bound of the distance
+     * @return the matching objects
+     */
+    Matches findSimilar(final String upperCaseQuery, final double upperDistanceBound) {
+        final BitSet matchingTexts = findContainingTexts(upperCaseQuery);
+        final long[] queryGrams = grams(upperCaseQuery, 2);
+        final int[] intersections = new int[m_texts.length];
+        final int[] touched = new int[m_texts.length];
+        int touchedCount = 0;
+        for (long gram : queryGrams) {
+            final int k = Arrays.binarySearch(m_bigramKeys, gram);
+            if (k >= 0) {
+                for (int t : m_bigramPostings[k]) {
+                    if (intersections[t]++ == 0) {
+                        touched[touchedCount++] = t;
+                    }
+                }
+            }
+        }
+
+        final double[] distances = new double[m_texts.length];
+        Arrays.fill(distances, 1.0);
+        for (int i = 0; i < touchedCount; i++) {
+            final int t = touched[i];
+            distances[t] = distance(intersections[t], m_bigramCounts[t], queryGrams.length);
+            if (distances[t] < upperDistanceBound) {
+                matchingTexts.set(t);
+            }
+        }
+        return createMatches(upperCaseQuery, matchingTexts, distances);
+    }
+
+    private BitSet findContainingTexts(final String upperCaseQuery) {
+        final BitSet result = new BitSet(m_texts.length);
+        if (upperCaseQuery.length() < 3) {
+            for (int t = 0; t < m_texts.length; t++) {
+                if (m_texts[t].contains(upperCaseQuery)) {
+                    result.set(t);
+                }
+            }
+            return result;
+        }
+
+        // candidates are the texts in the shortest posting list of the query's trigrams
+        int[] candidates = null;
+        for (long gram : grams(upperCaseQuery, 3)) {
+            final int k = Arrays.binarySearch(m_trigramKeys, gram);
+            if (k < 0) {
+                return result;
+            }
+            if ((candidates == null) || (m_trigramPostings[k].length < candidates.length)) {
+                candidates = m_trigramPostings[k];
+            }
+        }
+        for (int t : candidates) {
+            if (m_texts[t].contains(upperCaseQuery)) {
+                result.set(t);
+            }
+        }
+        return result;
+    }
+
+    private Matches createMatches(final String query, final BitSet matchingTexts, final double[] distances) {
+        final BitSet selected = new BitSet(m_objects.length);
+        final Map<String, Double> nameDistances = new HashMap<>();
+        for (int t = matchingTexts.nextSetBit(0); t >= 0; t = matchingTexts.nextSetBit(t + 1)) {
+            final int o = m_textOwners[t];
+            // the object itself and all its descendants (a node is selected if a parent category matches)
+            selected.set(o, m_subtreeEnd[o]);
+            // all ancestors, so that the object is reachable in the tree
+            for (int p = m_parents[o]; (p >= 0) && !selected.get(p); p = m_parents[p]) {
+                selected.set(p);
+            }
+            if (distances != null) {
+                nameDistances.put(m_originalTexts[t], distances[t]);
+            }
+        }
+        return new Matches(query, selected, nameDistances);
+    }
+
+    /**
+     * The result of a query against the index.
+     */
+    final class Matches {
+        private final String m_query;
+
+        private final BitSet m_selected;
+
+        private final Map<String, Double> m_nameDistances;
+
+        private Matches(final String query, final BitSet selected, final Map<String, Double> nameDistances) {
+            m_query = query;
+            m_selected = selected;
+            m_nameDistances = nameDistances;
+        }
+
+        /**
+         * @return the upper case query this result has been computed for
+         */
+        String getQuery() {
+            return m_query;
+        }
+
+        /**
+         * @param root the root currently shown
+         * @param upperCaseQuery the current query
+         * @return <code>true</code> if this result is still valid for the given root and query
+         */
+        boolean isValidFor(final Root root, final String upperCaseQuery) {
+            return RepositorySearchIndex.this.isValidFor(root) && m_query.equals(upperCaseQuery);
+        }
+
+        /**
+         * @param element a repository object
+         * @return <code>true</code> if the element is part of the index this result has been computed with
+         */
+        boolean isIndexed(final Object element) {
+            return m_objectIndex.containsKey(element);
+        }
+
+        /**
+         * @param element an indexed repository object
+         * @return <code>true</code> if the element should be shown
+         */
+        boolean isSelected(final Object element) {
+            final Integer index = m_objectIndex.get(element);
+            return (index != null) && m_selected.get(index);
+        }
+
+        /**
+         * Returns the distance of the given name to the query, if the name belongs to a matching object and the
+         * distances have been computed during the query. The distance only depends on the name, i.e. it is the same
+         * for all objects with this name.
+         *
+         * @param name an object name
+         * @return the distance or <code>null</code>
+         */
+        Double getDistance(final String name) {
+            return m_nameDistances.get(name);
+        }
+
+        /**
+         * @return the number of selected objects
+         */
+        int size() {
+            return m_selected.cardinality();
+        }
+    }
+}
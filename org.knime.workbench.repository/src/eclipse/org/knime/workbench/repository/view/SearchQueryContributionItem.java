@@ -368,7 +368,7 @@ static private void createNode(final Object o) {
             try {
                 nodeFact = tmplt.createFactoryInstance();
             } catch (Exception e) {
-                LOGGER.error("Unable to instantiate the selected node " + tmplt.getFactory().getName(), e);
+                LOGGER.error("Unable to instantiate the selected node " + tmplt.getID(), e);
                 return;
             }
             boolean added = NodeProvider.INSTANCE.addNode(nodeFact);
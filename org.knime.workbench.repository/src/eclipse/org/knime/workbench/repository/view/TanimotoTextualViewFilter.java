@@ -46,10 +46,10 @@
 package org.knime.workbench.repository.view;
 
 import java.util.Comparator;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
-import org.eclipse.jface.viewers.Viewer;
 import org.knime.workbench.repository.model.AbstractNodeTemplate;
 import org.knime.workbench.repository.model.Category;
 import org.knime.workbench.repository.model.IRepositoryObject;
@@ -72,14 +72,8 @@ final class TanimotoTextualViewFilter extends TextualViewFilter {
      * {@inheritDoc}
      */
     @Override
-    public boolean select(final Viewer viewer, final Object parentElement, final Object element) {
-
-        // this means that the filter has been cleared
-        if (!hasNonEmptyQuery()) {
-            return true;
-        }
-        // call helper method
-        return doSelect(parentElement, element, true);
+    RepositorySearchIndex.Matches computeMatches(final RepositorySearchIndex index, final String upperCaseQuery) {
+        return index.findSimilar(upperCaseQuery, UPPER_DISTANCE_BOUND);
     }
 
     /**
@@ -156,56 +150,11 @@ protected boolean match(final String test) {
 
 
     /**
-     * Copied from the Tanimoto BiGram distance from the distmatrix package.
+     * Copied from the Tanimoto BiGram distance from the distmatrix package, the bigrams are encoded as numbers.
      */
     private static double computeTanimotoBiGramDistance(final String textA, final String textB) {
-
-        String a = textA.toUpperCase();
-        String b = textB.toUpperCase();
-
-        Set<String> gramsA = split(a, 2);
-        Set<String> gramsB = split(b, 2);
-
-        int nominator = cardinalityOfIntersection(gramsA, gramsB);
-        int inAButNotInB = cardinalityOfRelativeComplement(gramsA, gramsB);
-        int inBButNotInA = cardinalityOfRelativeComplement(gramsB, gramsA);
-
-        double denominator = nominator + inAButNotInB + inBButNotInA;
-
-        if (denominator > 0) {
-            return 1.0 - nominator / denominator;
-        } else {
-            return 1.0;
-        }
-    }
-
-    private static int cardinalityOfIntersection(final Set<String> a, final Set<String> b) {
-        int toReturn = 0;
-        for (String gram : a) {
-            if (b.contains(gram)) {
-                toReturn++;
-            }
-        }
-        return toReturn;
-    }
-
-    private static int cardinalityOfRelativeComplement(final Set<String> a, final Set<String> b) {
-        int toReturn = 0;
-        for (String gram : a) {
-            if (!b.contains(gram)) {
-                toReturn++;
-            }
-        }
-        return toReturn;
-    }
-
-    private static Set<String> split(final String a, final int count) {
-        Set<String> toReturn = new HashSet<String>(a.length() > 1 ? a.length() - 1 : 12);
-
-        for (int i = 0; i < a.length() - count + 1; i++) {
-            toReturn.add(a.substring(i, i + count));
-        }
-        return toReturn;
+        return RepositorySearchIndex.tanimotoDistance(RepositorySearchIndex.grams(textA.toUpperCase(), 2),
+            RepositorySearchIndex.grams(textB.toUpperCase(), 2));
     }
 
     /**
@@ -218,14 +167,25 @@ public Comparator<String> createComparator() {
         // so i decided to use a thread safe implementation.
         if (hasNonEmptyQuery()) {
             final String currentQuery = getQueryString();
+            final long[] queryGrams = RepositorySearchIndex.grams(currentQuery, 2);
+            // the distance of each label is computed only once; the distances of the node names are usually
+            // already known from the index query
+            final Map<String, Double> distances = new ConcurrentHashMap<>();
+            final Function<String, Double> distanceFunction = label -> {
+                final RepositorySearchIndex.Matches matches = getCurrentMatches();
+                final Double distance = ((matches != null) && matches.getQuery().equals(currentQuery))
+                    ? matches.getDistance(label) : null;
+                return (distance != null) ? distance
+                    : RepositorySearchIndex.tanimotoDistance(RepositorySearchIndex.grams(label.toUpperCase(), 2),
+                        queryGrams);
+            };
 
             return new Comparator<String>() {
 
                 @Override
                 public int compare(final String o1, final String o2) {
-                    double computeTanimotoBiGramDistanceO1 = computeTanimotoBiGramDistance(currentQuery, o1);
-                    double computeTanimotoBiGramDistanceO2 = computeTanimotoBiGramDistance(currentQuery, o2);
-                    return Double.compare(computeTanimotoBiGramDistanceO1, computeTanimotoBiGramDistanceO2);
+                    return Double.compare(distances.computeIfAbsent(o1, distanceFunction),
+                        distances.computeIfAbsent(o2, distanceFunction));
                 }
             };
 
@@ -49,6 +49,7 @@
 
 import org.eclipse.jface.viewers.Viewer;
 import org.eclipse.jface.viewers.ViewerFilter;
+import org.knime.workbench.repository.model.Root;
 
 /**
  *
@@ -58,6 +59,8 @@
 public abstract class TextualViewFilter extends ViewerFilter {
     private String m_query;
 
+    private volatile RepositorySearchIndex.Matches m_matches;
+
     /**
      * {@inheritDoc}
      */
@@ -69,10 +72,56 @@ public boolean select(final Viewer viewer, final Object parentElement,
         if (!hasNonEmptyQuery()) {
             return true;
         }
+        // if the viewer shows a repository the selection is computed once per query using the search index
+        RepositorySearchIndex.Matches matches = getMatches(viewer);
+        if ((matches != null) && matches.isIndexed(element)) {
+            return matches.isSelected(element);
+        }
         // call helper method
         return doSelect(parentElement, element, true);
     }
 
+    /**
+     * Returns the matches of the current query in the repository shown by the given viewer. They are computed on
+     * first access and reused until the query changes or the repository's index is invalidated.
+     *
+     * @param viewer the viewer being filtered
+     * @return the matches or <code>null</code> if the viewer doesn't show a repository
+     */
+    RepositorySearchIndex.Matches getMatches(final Viewer viewer) {
+        final Object input = (viewer == null) ? null : viewer.getInput();
+        if (!(input instanceof Root)) {
+            return null;
+        }
+        final Root root = (Root)input;
+        RepositorySearchIndex.Matches matches = m_matches;
+        final String query = m_query;
+        if ((matches == null) || !matches.isValidFor(root, query)) {
+            matches = computeMatches(RepositorySearchIndex.getInstance(root), query);
+            m_matches = matches;
+        }
+        return matches;
+    }
+
+    /**
+     * @return the matches last computed by {@link #getMatches(Viewer)}, <code>null</code> if not computed yet
+     */
+    RepositorySearchIndex.Matches getCurrentMatches() {
+        return m_matches;
+    }
+
+    /**
+     * Computes all objects of the index that are selected by the given query. Must be consistent with
+     * {@link #doSelect(Object, Object, boolean)}. The default implementation selects names containing the query.
+     *
+     * @param index the index of the repository
+     * @param upperCaseQuery the non-empty query
+     * @return the matches
+     */
+    RepositorySearchIndex.Matches computeMatches(final RepositorySearchIndex index, final String upperCaseQuery) {
+        return index.findContaining(upperCaseQuery);
+    }
+
     /**
      * Determines if an element shall be selected or not.
      *
@@ -108,6 +157,7 @@ public void setQueryString(final String query) {
         } else {
             m_query = null;
         }
+        m_matches = null;
     }
 
     /**
@@ -0,0 +1,159 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.workbench.ui.layout.commands;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.NodeContainer;
+import org.knime.core.node.workflow.NodeID;
+import org.knime.core.node.workflow.NodeUIInformation;
+import org.knime.core.node.workflow.WorkflowCreationHelper;
+import org.knime.core.node.workflow.WorkflowManager;
+
+/**
+ * Testcases for the incremental layout of {@link AutoLayoutCommand}: only the inserted nodes and their neighbours may
+ * move.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class AutoLayoutCommandTest {
+    private static final PortType[] PORTS = new PortType[]{BufferedDataTable.TYPE};
+
+    private WorkflowManager m_wfm;
+
+    /** a chain of four connected nodes. */
+    private NodeID[] m_chain;
+
+    /**
+     * Creates a workflow with a chain of four nodes and an unconnected node.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Before
+    public void createWorkflow() throws Exception {
+        m_wfm = WorkflowManager.ROOT.createAndAddProject("Test" + UUID.randomUUID(), new WorkflowCreationHelper());
+        m_chain = new NodeID[4];
+        for (int i = 0; i < m_chain.length; i++) {
+            m_chain[i] = addNode(100 + 150 * i, 100);
+            if (i > 0) {
+                m_wfm.addConnection(m_chain[i - 1], 0, m_chain[i], 0);
+            }
+        }
+        addNode(100, 300);
+    }
+
+    /**
+     * Removes the workflow.
+     */
+    @After
+    public void removeWorkflow() {
+        WorkflowManager.ROOT.removeProject(m_wfm.getID());
+    }
+
+    private NodeID addNode(final int x, final int y) {
+        WorkflowManager node = m_wfm.createAndAddSubWorkflow(PORTS, PORTS, "Node");
+        node.setUIInformation(NodeUIInformation.builder().setNodeLocation(x, y, -1, -1).build());
+        return node.getID();
+    }
+
+    private Map<NodeID, int[]> getBounds() {
+        Map<NodeID, int[]> bounds = new HashMap<>();
+        for (NodeContainer nc : m_wfm.getNodeContainers()) {
+            bounds.put(nc.getID(), nc.getUIInformation().getBounds());
+        }
+        return bounds;
+    }
+
+    /**
+     * Checks that an incremental layout after inserting a node behind the chain only moves the inserted node and its
+     * neighbourhood and that undo restores the old positions.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testOnlyInsertedNodesMove() throws Exception {
+        NodeID last = m_chain[m_chain.length - 1];
+        NodeID inserted = addNode(0, 0);
+        m_wfm.addConnection(last, 0, inserted, 0);
+        Map<NodeID, int[]> before = getBounds();
+
+        AutoLayoutCommand cmd = AutoLayoutCommand.createIncremental(m_wfm, Collections.singleton(inserted));
+        cmd.execute();
+
+        Set<NodeID> mayMove = new HashSet<>();
+        mayMove.add(inserted);
+        mayMove.add(last);
+        Map<NodeID, int[]> after = getBounds();
+        for (Map.Entry<NodeID, int[]> e : before.entrySet()) {
+            if (!mayMove.contains(e.getKey())) {
+                assertArrayEquals("Node " + e.getKey() + " has been moved", e.getValue(), after.get(e.getKey()));
+            }
+        }
+        assertTrue("Inserted node not placed right of its predecessor",
+            after.get(inserted)[0] > after.get(last)[0]);
+
+        cmd.undo();
+        Map<NodeID, int[]> undone = getBounds();
+        for (Map.Entry<NodeID, int[]> e : before.entrySet()) {
+            assertArrayEquals("Node " + e.getKey() + " not restored", e.getValue(), undone.get(e.getKey()));
+        }
+    }
+}
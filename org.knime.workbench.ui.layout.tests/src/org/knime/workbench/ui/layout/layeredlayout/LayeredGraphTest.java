@@ -0,0 +1,201 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.workbench.ui.layout.layeredlayout;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.workbench.ui.layout.Graph;
+import org.knime.workbench.ui.layout.Graph.Node;
+
+/**
+ * Testcases for the crossing counting of {@link LayeredGraph}. The results are compared with a brute force count over
+ * all pairs of edges.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class LayeredGraphTest {
+    /**
+     * Creates a random layered graph. Edges only connect nodes of adjacent layers, about every third edge points
+     * upwards. Some edges are duplicated since workflows can contain several connections between the same nodes.
+     *
+     * @param rand the random number generator
+     * @param layerSizes the number of nodes in each layer
+     * @param edgeCount the number of edges between each pair of adjacent layers
+     * @param g the graph to fill
+     * @return the layers
+     */
+    static List<List<Node>> createRandomGraph(final Random rand, final int[] layerSizes, final int edgeCount,
+        final Graph g) {
+        List<List<Node>> layers = new ArrayList<>();
+        for (int i = 0; i < layerSizes.length; i++) {
+            List<Node> layer = new ArrayList<>();
+            for (int p = 0; p < layerSizes[i]; p++) {
+                layer.add(g.createNode(i + "_" + p));
+            }
+            layers.add(layer);
+        }
+        for (int i = 1; i < layerSizes.length; i++) {
+            for (int e = 0; e < edgeCount; e++) {
+                Node upper = layers.get(i - 1).get(rand.nextInt(layerSizes[i - 1]));
+                Node lower = layers.get(i).get(rand.nextInt(layerSizes[i]));
+                if (rand.nextInt(3) == 0) {
+                    g.createEdge(lower, upper);
+                } else {
+                    g.createEdge(upper, lower);
+                }
+            }
+        }
+        return layers;
+    }
+
+    /**
+     * Counts the crossings between layer i - 1 and layer i by comparing all pairs of edges.
+     *
+     * @param lg the layered graph
+     * @param i the index of the lower layer
+     * @return the number of crossings
+     */
+    static long bruteForceCrossings(final LayeredGraph lg, final int i) {
+        List<int[]> edges = new ArrayList<>();
+        for (int u : lg.layer(i - 1)) {
+            for (int k = lg.nextStart(u); k < lg.nextEnd(u); k++) {
+                edges.add(new int[]{lg.pos(u), lg.pos(lg.nextAdj()[k])});
+            }
+        }
+        long crossings = 0;
+        for (int a = 0; a < edges.size(); a++) {
+            for (int b = a + 1; b < edges.size(); b++) {
+                int[] e1 = edges.get(a);
+                int[] e2 = edges.get(b);
+                // edges sharing a node don't cross
+                if (Integer.signum(e1[0] - e2[0]) * Integer.signum(e1[1] - e2[1]) < 0) {
+                    crossings++;
+                }
+            }
+        }
+        return crossings;
+    }
+
+    /**
+     * Checks the crossing count of random bilayer graphs of different density.
+     */
+    @Test
+    public void testBilayerCrossings() {
+        Random rand = new Random(42);
+        for (int run = 0; run < 200; run++) {
+            int[] layerSizes = {1 + rand.nextInt(30), 1 + rand.nextInt(30)};
+            int edgeCount = rand.nextInt(4 * Math.max(layerSizes[0], layerSizes[1]));
+            Graph g = new Graph();
+            LayeredGraph lg = new LayeredGraph(g, createRandomGraph(rand, layerSizes, edgeCount, g), null);
+            for (int shuffle = 0; shuffle < 5; shuffle++) {
+                lg.shuffle(rand.nextInt(2), rand);
+                lg.sortNeighborsByPosition(0);
+                assertEquals("Wrong number of crossings in run " + run, bruteForceCrossings(lg, 1),
+                    lg.countCrossings(1));
+            }
+        }
+    }
+
+    /**
+     * Checks the crossing count between all layers of a random graph with several layers, also after swapping nodes.
+     */
+    @Test
+    public void testMultiLayerCrossings() {
+        Random rand = new Random(4711);
+        Graph g = new Graph();
+        int[] layerSizes = {5, 20, 1, 15, 40};
+        LayeredGraph lg = new LayeredGraph(g, createRandomGraph(rand, layerSizes, 50, g), null);
+        for (int run = 0; run < 50; run++) {
+            int i = rand.nextInt(layerSizes.length);
+            if (layerSizes[i] > 1) {
+                lg.swap(i, rand.nextInt(layerSizes[i] - 1));
+            }
+            for (int l = 0; l < layerSizes.length; l++) {
+                lg.sortNeighborsByPosition(l);
+            }
+            for (int l = 1; l < layerSizes.length; l++) {
+                assertEquals("Wrong number of crossings between layers " + (l - 1) + " and " + l,
+                    bruteForceCrossings(lg, l), lg.countCrossings(l));
+            }
+        }
+    }
+
+    /**
+     * Checks that the crossings between the edges of two nodes of the same layer are counted correctly.
+     */
+    @Test
+    public void testPairCrossings() {
+        Random rand = new Random(7);
+        for (int run = 0; run < 100; run++) {
+            int[] layerSizes = {1 + rand.nextInt(20), 2 + rand.nextInt(10)};
+            Graph g = new Graph();
+            LayeredGraph lg = new LayeredGraph(g, createRandomGraph(rand, layerSizes, 3 * layerSizes[1], g), null);
+            lg.sortNeighborsByPosition(1);
+            int[] lower = lg.layer(1);
+            for (int p = 0; p + 1 < lower.length; p++) {
+                int u = lower[p];
+                int v = lower[p + 1];
+                long expected = 0;
+                for (int k = lg.prevStart(u); k < lg.prevEnd(u); k++) {
+                    for (int j = lg.prevStart(v); j < lg.prevEnd(v); j++) {
+                        if (lg.pos(lg.prevAdj()[j]) < lg.pos(lg.prevAdj()[k])) {
+                            expected++;
+                        }
+                    }
+                }
+                assertEquals("Wrong number of crossings between nodes at " + p + " and " + (p + 1), expected,
+                    lg.countPairCrossings(u, v));
+            }
+        }
+    }
+}
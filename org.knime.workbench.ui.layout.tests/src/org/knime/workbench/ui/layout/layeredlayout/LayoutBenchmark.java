@@ -0,0 +1,134 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.workbench.ui.layout.layeredlayout;
+
+import java.util.Random;
+
+import org.knime.workbench.ui.layout.Graph;
+import org.knime.workbench.ui.layout.Graph.Node;
+
+/**
+ * Benchmark of the {@link SimpleLayeredLayouter} on random directed acyclic graphs with 100 to 10,000 nodes, with a
+ * single and with several crossing minimization attempts. Each layout is warmed up before measuring and the average
+ * times are printed. JMH is not available on the target platform and the benchmark is not a testcase, hence it has to
+ * be run manually via its main method, e.g. from the IDE.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public final class LayoutBenchmark {
+    private static final int WARMUP_ITERATIONS = 3;
+
+    private static final int MEASUREMENT_ITERATIONS = 5;
+
+    private static final int[] NODE_COUNTS = {100, 1000, 10000};
+
+    private static final int[] ATTEMPTS = {1, 8};
+
+    /** The maximum distance (in creation order) between the nodes of an edge, keeps the edges mostly short. */
+    private static final int MAX_EDGE_DISTANCE = 20;
+
+    private LayoutBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args ignored
+     */
+    public static void main(final String[] args) {
+        for (int nodeCount : NODE_COUNTS) {
+            for (int a : ATTEMPTS) {
+                final long time = measure(nodeCount, a);
+                System.out.println(nodeCount + " nodes, " + a + " crossing minimization attempt(s): "
+                    + (time / 1000000) + "ms");
+            }
+        }
+    }
+
+    /** Returns the average time of one layout in nanoseconds; the graphs are created outside of the measurement. */
+    private static long measure(final int nodeCount, final int attempts) {
+        long total = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS + MEASUREMENT_ITERATIONS; i++) {
+            final Graph g = createRandomDag(new Random(i), nodeCount);
+            final SimpleLayeredLayouter layouter = new SimpleLayeredLayouter(i);
+            layouter.setCrossingMinimizationAttempts(attempts);
+            final long start = System.nanoTime();
+            layouter.doLayout(g, null);
+            if (i >= WARMUP_ITERATIONS) {
+                total += System.nanoTime() - start;
+            }
+        }
+        return total / MEASUREMENT_ITERATIONS;
+    }
+
+    /**
+     * Creates a random DAG resembling a large workflow: every node except the first has one predecessor, every tenth
+     * node a second one, among the nodes created shortly before it.
+     *
+     * @param rand the random number generator
+     * @param nodeCount the number of nodes
+     * @return a new graph
+     */
+    static Graph createRandomDag(final Random rand, final int nodeCount) {
+        final Graph g = new Graph();
+        final Node[] nodes = new Node[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            nodes[i] = g.createNode("node " + i, 0, 0);
+        }
+        for (int i = 1; i < nodeCount; i++) {
+            final int predecessors = (rand.nextInt(10) == 0) ? 2 : 1;
+            for (int k = 0; k < predecessors; k++) {
+                final Node pred = nodes[i - 1 - rand.nextInt(Math.min(i, MAX_EDGE_DISTANCE))];
+                if (!g.containsEdge(pred, nodes[i])) {
+                    g.createEdge(pred, nodes[i]);
+                }
+            }
+        }
+        return g;
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.workbench.ui.layout.layeredlayout;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.workbench.ui.layout.Graph;
+import org.knime.workbench.ui.layout.Graph.Edge;
+import org.knime.workbench.ui.layout.Graph.Node;
+
+/**
+ * Testcases comparing the results of {@link CrossingMinimizer} and {@link VerticalCoordinateAssigner} with the
+ * implementations they replaced ({@link LegacyCrossingMinimizer}, {@link LegacyVerticalCoordinateAssigner}). Both are
+ * run on identical random layerings with dummy nodes for long edges, as created by {@link SimpleLayeredLayouter}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class LayoutRegressionTest {
+    /** A layered graph together with its layers and the dummy nodes and edges of its long edges. */
+    private static final class Layering {
+        private final Graph m_g = new Graph();
+
+        private final ArrayList<ArrayList<Node>> m_layers = new ArrayList<>();
+
+        private final ArrayList<Node> m_dummyNodes = new ArrayList<>();
+
+        private final ArrayList<Edge> m_dummyEdges = new ArrayList<>();
+
+        /**
+         * Creates a random layering; the same seed always creates the same layering. All edges point to the next
+         * layer, long edges are split into chains of dummy nodes. The nodes are initially shuffled within each layer.
+         */
+        Layering(final long seed) {
+            Random rand = new Random(seed);
+            int[] layerSizes = new int[2 + rand.nextInt(7)];
+            for (int i = 0; i < layerSizes.length; i++) {
+                layerSizes[i] = 1 + rand.nextInt(12);
+                ArrayList<Node> layer = new ArrayList<>();
+                for (int p = 0; p < layerSizes[i]; p++) {
+                    layer.add(m_g.createNode(i + "_" + p));
+                }
+                m_layers.add(layer);
+            }
+            for (int i = 1; i < layerSizes.length; i++) {
+                int edgeCount = rand.nextInt(3 * layerSizes[i] + 1);
+                for (int e = 0; e < edgeCount; e++) {
+                    Node upper = m_layers.get(i - 1).get(rand.nextInt(layerSizes[i - 1]));
+                    Node lower = m_layers.get(i).get(rand.nextInt(layerSizes[i]));
+                    if (!m_g.containsEdge(upper, lower)) {
+                        m_g.createEdge(upper, lower);
+                    }
+                }
+            }
+            int longEdges = (layerSizes.length > 2) ? rand.nextInt(6) : 0;
+            for (int e = 0; e < longEdges; e++) {
+                int start = rand.nextInt(layerSizes.length - 2);
+                int end = start + 2 + rand.nextInt(layerSizes.length - start - 2);
+                Node last = m_layers.get(start).get(rand.nextInt(layerSizes[start]));
+                for (int i = start + 1; i < end; i++) {
+                    Node dummy = m_g.createNode("bend " + e + ", " + i);
+                    m_layers.get(i).add(dummy);
+                    m_dummyNodes.add(dummy);
+                    m_dummyEdges.add(m_g.createEdge(last, dummy));
+                    last = dummy;
+                }
+                m_g.createEdge(last, m_layers.get(end).get(rand.nextInt(layerSizes[end])));
+            }
+            for (int i = 0; i < m_layers.size(); i++) {
+                Collections.shuffle(m_layers.get(i), rand);
+                for (int p = 0; p < m_layers.get(i).size(); p++) {
+                    m_g.setCoordinates(m_layers.get(i).get(p), i, p);
+                }
+            }
+        }
+
+        /** @return the layer orders according to the nodes' y-coordinates, as node labels */
+        String order() {
+            StringBuilder buf = new StringBuilder();
+            for (ArrayList<Node> layer : m_layers) {
+                ArrayList<Node> sorted = new ArrayList<>(layer);
+                Collections.sort(sorted, new Util.NodeByYComparator(m_g));
+                buf.append(sorted).append('\n');
+            }
+            return buf.toString();
+        }
+
+        /** @return the nodes' y-coordinates */
+        String coordinates() {
+            StringBuilder buf = new StringBuilder();
+            for (Node n : m_g.nodes()) {
+                buf.append(n).append(": ").append(m_g.getY(n)).append('\n');
+            }
+            return buf.toString();
+        }
+
+        ArrayList<Node> firstLayer(final boolean fixed) {
+            return fixed ? m_layers.get(0) : null;
+        }
+
+        ArrayList<Node> lastLayer(final boolean fixed) {
+            return fixed ? m_layers.get(m_layers.size() - 1) : null;
+        }
+    }
+
+    /**
+     * Checks that the crossing minimization results in the same layer orders as before, with and without fixed first
+     * and last layers.
+     */
+    @Test
+    public void testCrossingMinimization() {
+        for (long seed = 0; seed < 500; seed++) {
+            boolean fixedSources = (seed % 4) >= 2;
+            boolean fixedSinks = (seed % 2) == 1;
+            Layering expected = new Layering(seed);
+            new LegacyCrossingMinimizer(expected.m_g, expected.m_layers, expected.firstLayer(fixedSources),
+                expected.lastLayer(fixedSinks)).run();
+            Layering actual = new Layering(seed);
+            new CrossingMinimizer(actual.m_g, actual.m_layers, actual.firstLayer(fixedSources),
+                actual.lastLayer(fixedSinks)).run();
+            assertEquals("Different layering for seed " + seed, expected.order(), actual.order());
+        }
+    }
+
+    /**
+     * Checks that the coordinate assignment results in the same coordinates as before, with and without balanced
+     * branchings.
+     */
+    @Test
+    public void testCoordinateAssignment() {
+        for (long seed = 0; seed < 500; seed++) {
+            boolean balance = (seed % 2) == 0;
+            Layering expected = new Layering(seed);
+            new CrossingMinimizer(expected.m_g, expected.m_layers, null, null).run();
+            LegacyVerticalCoordinateAssigner legacy = new LegacyVerticalCoordinateAssigner(expected.m_g,
+                expected.m_layers, expected.m_dummyNodes, expected.m_dummyEdges);
+            legacy.setBalanceBranchings(balance);
+            legacy.run();
+            Layering actual = new Layering(seed);
+            new CrossingMinimizer(actual.m_g, actual.m_layers, null, null).run();
+            VerticalCoordinateAssigner vca = new VerticalCoordinateAssigner(actual.m_g, actual.m_layers,
+                actual.m_dummyNodes, actual.m_dummyEdges);
+            vca.setBalanceBranchings(balance);
+            vca.run();
+            assertEquals("Different coordinates for seed " + seed, expected.coordinates(), actual.coordinates());
+        }
+    }
+}
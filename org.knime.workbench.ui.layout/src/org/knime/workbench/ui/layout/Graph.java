@@ -52,8 +52,10 @@
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * This class implements a simple graph data structure using an adjacency-list
@@ -73,14 +75,15 @@
 public class Graph {
 
     /**
-     * list of nodes in this graph
+     * nodes in this graph, in order of insertion (sets allow constant time
+     * removal of dummy nodes and edges)
      */
-    private List<Node> nodes;
+    private Set<Node> nodes;
 
     /**
-     * list of edges in this graph
+     * edges in this graph, in order of insertion
      */
-    private List<Edge> edges;
+    private Set<Edge> edges;
 
     /**
      * used to label the nodes (increased by one whenever a new node is created)
@@ -91,8 +94,8 @@ public class Graph {
      * constructor initializing an empty graph
      */
     public Graph() {
-        nodes = new ArrayList<Node>();
-        edges = new ArrayList<Edge>();
+        nodes = new LinkedHashSet<Node>();
+        edges = new LinkedHashSet<Edge>();
     }
 
     /**
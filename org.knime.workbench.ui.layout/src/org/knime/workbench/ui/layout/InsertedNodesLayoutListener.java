@@ -0,0 +1,108 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.workbench.ui.layout;
+
+import java.util.Collection;
+import java.util.Optional;
+
+import org.eclipse.gef.commands.Command;
+import org.knime.core.node.workflow.NodeID;
+import org.knime.core.node.workflow.WorkflowManager;
+import org.knime.workbench.editor2.WorkflowEditorEventListener;
+import org.knime.workbench.ui.layout.commands.AutoLayoutCommand;
+import org.knime.workbench.ui.layout.preferences.LayoutPreferenceInitializer;
+
+/**
+ * Arranges the nodes inserted into a workflow editor via quick insertion or the workflow coach with an incremental
+ * layout, see {@link AutoLayoutCommand#createIncremental(WorkflowManager, Collection)}, if enabled in the preferences.
+ * The layout is part of the insertion, one undo reverts both.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 4.5
+ */
+public final class InsertedNodesLayoutListener implements WorkflowEditorEventListener {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Command createNodesInsertedCommand(final ActiveWorkflowEditorEvent event,
+        final Collection<NodeID> nodeIDs) {
+        if (!Activator.getDefault().getPreferenceStore()
+            .getBoolean(LayoutPreferenceInitializer.P_AUTO_LAYOUT_INSERTED_NODES)) {
+            return null;
+        }
+        final Optional<WorkflowManager> wfm = event.getWorkflowEditor().getWorkflowManager();
+        // remote workflows are not laid out
+        return wfm.isPresent() ? AutoLayoutCommand.createIncremental(wfm.get(), nodeIDs) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void workflowLoaded(final ActiveWorkflowEditorEvent event) {
+        // nothing to do
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void editorClosed(final WorkflowEditorEvent event) {
+        // nothing to do
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void workflowSaved(final ActiveWorkflowEditorEvent event) {
+        // nothing to do
+    }
+}
@@ -52,6 +52,7 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -83,6 +84,12 @@ public class LayoutManager {
 
     private long m_initPlacementSeed;
 
+    private int m_attempts = 1;
+
+    private int m_parallelism = Runtime.getRuntime().availableProcessors();
+
+    private long m_timeBudget = 0;
+
     private HashMap<NodeContainerUI, Node> m_workbenchToGraphNodes;
 
     private HashMap<ConnectionContainerUI, Edge> m_workbenchToGraphEdges;
@@ -128,6 +135,64 @@ public LayoutManager(final WorkflowManagerUI wfManager,
         m_workbenchWFMOutports = new HashMap<Integer, Graph.Node>();
         m_parallelConns = new HashMap<Edge, List<ConnectionContainerUI>>();
         m_g = new Graph();
+        m_oldCoordinates = new HashMap<NodeID, NodeUIInformation>();
+        m_oldBendpoints = new HashMap<ConnectionID, ConnectionUIInformation>();
+    }
+
+    /**
+     * Sets the number of crossing minimization attempts run with different
+     * initial placements derived from the seed; the one with the fewest
+     * crossings is used.
+     *
+     * @param attempts number of attempts, at least 1 (the default)
+     * @param parallelism the maximum number of attempts running in parallel
+     * @param timeBudget time in milliseconds after which no further attempts
+     *            are started, 0 for no limit
+     * @see SimpleLayeredLayouter#setCrossingMinimizationAttempts(int)
+     */
+    public void setCrossingMinimization(final int attempts,
+            final int parallelism, final long timeBudget) {
+        m_attempts = attempts;
+        m_parallelism = parallelism;
+        m_timeBudget = timeBudget;
+    }
+
+    /**
+     * Lays out only the given (e.g. newly inserted) nodes and their direct
+     * predecessors and successors. All other nodes keep their position, nodes
+     * connected to the laid out ones are used as fixed anchors. The effort
+     * depends on the size of the change, not on the size of the workflow.
+     *
+     * @param changedNodes the IDs of the inserted or (dis)connected nodes
+     * @return true if nodes have been moved, false if there was nothing to
+     *         arrange (e.g. a single unconnected node)
+     */
+    public boolean doIncrementalLayout(final Collection<NodeID> changedNodes) {
+        LinkedHashSet<NodeContainerUI> nodes =
+                new LinkedHashSet<NodeContainerUI>();
+        for (NodeID id : changedNodes) {
+            if (!m_wfm.containsNodeContainer(id)) {
+                // removed in the meantime
+                continue;
+            }
+            nodes.add(m_wfm.getNodeContainer(id));
+            for (ConnectionContainerUI conn : m_wfm.getIncomingConnectionsFor(id)) {
+                if (!conn.getSource().equals(m_wfm.getID())) {
+                    nodes.add(m_wfm.getNodeContainer(conn.getSource()));
+                }
+            }
+            for (ConnectionContainerUI conn : m_wfm.getOutgoingConnectionsFor(id)) {
+                if (!conn.getDest().equals(m_wfm.getID())) {
+                    nodes.add(m_wfm.getNodeContainer(conn.getDest()));
+                }
+            }
+        }
+        // doLayout lays out the entire workflow for less than two nodes
+        if (nodes.size() <= 1) {
+            return false;
+        }
+        doLayout(nodes);
+        return true;
     }
 
     /**
@@ -150,8 +215,10 @@ public void doLayout(final Collection<NodeContainerUI> nodes) {
         }
         // add all nodes that should be laid out to the graph
         Collection<NodeContainerUI> allNodes = nodes;
+        boolean layoutAll = false;
         if (allNodes == null || allNodes.size() <= 1) {
             allNodes = m_wfm.getNodeContainers();
+            layoutAll = true;
         }
         // keep the left upper corner of the node cluster.
         // Nodes laid out are placed right and below
@@ -175,7 +242,18 @@ public void doLayout(final Collection<NodeContainerUI> nodes) {
         // keep a flag that states: isClusterInternal
         HashMap<ConnectionContainerUI, Boolean> allConns =
                 new HashMap<ConnectionContainerUI, Boolean>();
-        for (ConnectionContainerUI conn : m_wfm.getConnectionContainers()) {
+        Collection<ConnectionContainerUI> candidateConns;
+        if (layoutAll) {
+            candidateConns = m_wfm.getConnectionContainers();
+        } else {
+            // only look at the connections of the nodes laid out
+            candidateConns = new LinkedHashSet<ConnectionContainerUI>();
+            for (NodeContainerUI nc : allNodes) {
+                candidateConns.addAll(m_wfm.getIncomingConnectionsFor(nc.getID()));
+                candidateConns.addAll(m_wfm.getOutgoingConnectionsFor(nc.getID()));
+            }
+        }
+        for (ConnectionContainerUI conn : candidateConns) {
             Node src = null;
             if (!conn.getSource().equals(m_wfm.getID())) {
                 // if it's not a meta node incoming connection
@@ -285,6 +363,9 @@ public void doLayout(final Collection<NodeContainerUI> nodes) {
 
         SimpleLayeredLayouter layouter = new SimpleLayeredLayouter(m_initPlacementSeed);
         layouter.setBalanceBranchings(!WorkflowEditor.getActiveEditorSnapToGrid());
+        layouter.setCrossingMinimizationAttempts(m_attempts);
+        layouter.setParallelism(m_parallelism);
+        layouter.setTimeBudget(m_timeBudget);
         if (anchorsExist) {
             layouter.doLayout(m_g, anchorNodes);
         } else {
@@ -51,6 +51,7 @@
 import java.util.ArrayList;
 
 import org.eclipse.gef.ui.parts.ScrollingGraphicalViewer;
+import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.knime.core.ui.node.workflow.NodeContainerUI;
 import org.knime.workbench.core.util.ImageRepository;
@@ -59,6 +60,7 @@
 import org.knime.workbench.editor2.editparts.NodeContainerEditPart;
 import org.knime.workbench.ui.layout.Activator;
 import org.knime.workbench.ui.layout.commands.AutoLayoutCommand;
+import org.knime.workbench.ui.layout.preferences.LayoutPreferenceInitializer;
 
 /**
  * Action to trigger auto layout.
@@ -130,6 +132,14 @@ public synchronized void runOnNodes(final NodeContainerEditPart[] parts) {
             }
         }
         AutoLayoutCommand alc = new AutoLayoutCommand(getManager(), nodes);
+        IPreferenceStore prefs = Activator.getDefault().getPreferenceStore();
+        int parallelism = prefs.getInt(LayoutPreferenceInitializer.P_CROSSING_MINIMIZATION_PARALLELISM);
+        if (parallelism < 1) {
+            parallelism = Runtime.getRuntime().availableProcessors();
+        }
+        alc.setCrossingMinimization(
+            Math.max(1, prefs.getInt(LayoutPreferenceInitializer.P_CROSSING_MINIMIZATION_ATTEMPTS)), parallelism,
+            prefs.getInt(LayoutPreferenceInitializer.P_CROSSING_MINIMIZATION_TIME_BUDGET));
         getCommandStack().execute(alc); // enables undo
 
         // update the actions
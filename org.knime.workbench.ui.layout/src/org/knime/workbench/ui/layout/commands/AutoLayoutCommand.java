@@ -59,6 +59,7 @@
 import org.knime.core.node.workflow.NodeUIInformation;
 import org.knime.core.node.workflow.WorkflowManager;
 import org.knime.core.ui.node.workflow.NodeContainerUI;
+import org.knime.core.ui.node.workflow.WorkflowManagerUI;
 import org.knime.core.ui.wrapper.WorkflowManagerWrapper;
 import org.knime.workbench.editor2.commands.AbstractKNIMECommand;
 import org.knime.workbench.ui.layout.LayoutManager;
@@ -73,21 +74,65 @@ public class AutoLayoutCommand extends AbstractKNIMECommand {
 
     private final Collection<NodeContainerUI> m_nodes;
 
+    /** the nodes inserted before an incremental layout, null for a full or selection layout. */
+    private final Collection<NodeID> m_insertedNodes;
+
     private LayoutManager m_layoutMgr;
 
     private long m_seed;
 
     private final Random m_random = new Random();
 
+    private int m_attempts = 1;
+
+    private int m_parallelism = Runtime.getRuntime().availableProcessors();
+
+    private long m_timeBudget = 0;
+
     /**
      * @param wfm
      * @param nodes if null, all nodes are laid out
      */
     public AutoLayoutCommand(final WorkflowManager wfm,
             final Collection<NodeContainerUI> nodes) {
+        this(wfm, nodes, null);
+    }
+
+    private AutoLayoutCommand(final WorkflowManager wfm,
+            final Collection<NodeContainerUI> nodes, final Collection<NodeID> insertedNodes) {
         super(wfm);
         m_wfm = wfm;
         m_nodes = nodes;
+        m_insertedNodes = insertedNodes;
+    }
+
+    /**
+     * Creates a command that arranges only the given inserted nodes and
+     * their direct neighbours.
+     *
+     * @param wfm the workflow
+     * @param insertedNodes the IDs of the nodes just inserted
+     * @return a new command
+     */
+    public static AutoLayoutCommand createIncremental(final WorkflowManager wfm,
+            final Collection<NodeID> insertedNodes) {
+        return new AutoLayoutCommand(wfm, null, insertedNodes);
+    }
+
+    /**
+     * Lets the layout try several initial placements in parallel and keep the
+     * one with the fewest edge crossings.
+     *
+     * @param attempts number of attempts, at least 1 (the default)
+     * @param parallelism the maximum number of attempts running in parallel
+     * @param timeBudget time in milliseconds after which the layout stops
+     *            trying and uses the best result found so far, 0 for no limit
+     */
+    public void setCrossingMinimization(final int attempts,
+            final int parallelism, final long timeBudget) {
+        m_attempts = attempts;
+        m_parallelism = parallelism;
+        m_timeBudget = timeBudget;
     }
 
     /**
@@ -100,8 +145,14 @@ public void execute() {
     }
 
     private void doLayout(final long seed) {
-        m_layoutMgr = new LayoutManager(WorkflowManagerWrapper.wrap(m_wfm), seed);
-        m_layoutMgr.doLayout(m_nodes);
+        WorkflowManagerUI wfmUI = WorkflowManagerWrapper.wrap(m_wfm);
+        m_layoutMgr = new LayoutManager(wfmUI, seed);
+        m_layoutMgr.setCrossingMinimization(m_attempts, m_parallelism, m_timeBudget);
+        if (m_insertedNodes != null) {
+            m_layoutMgr.doIncrementalLayout(m_insertedNodes);
+        } else {
+            m_layoutMgr.doLayout(m_nodes);
+        }
     }
 
     /**
@@ -48,7 +48,7 @@
 package org.knime.workbench.ui.layout.layeredlayout;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.Comparator;
 
 import org.knime.workbench.ui.layout.Graph;
@@ -59,7 +59,12 @@
  * reduces crossings of a given layering according to the average median
  * heuristic followed by a greedy switch (see, e.g., Eades and Wormald, 1994;
  * Mäkinen 1990).
- * 
+ *
+ * The computation works on an index based copy of the layering (see
+ * {@link LayeredGraph}); crossings are counted in O(E log V) with an
+ * accumulator tree, and the greedy switch only evaluates the edges of the two
+ * switched nodes.
+ *
  * @author Martin Mader, University of Konstanz
  */
 public class CrossingMinimizer {
@@ -67,13 +72,15 @@ public class CrossingMinimizer {
 
     private ArrayList<ArrayList<Node>> m_layers;
 
-    private ArrayList<Node> m_fixedSources;
+    private boolean m_fixedSources;
 
-    private ArrayList<Node> m_fixedSinks;
+    private boolean m_fixedSinks;
+
+    private LayeredGraph m_lg;
 
     /**
      * initializes the needed information for crossing minimization.
-     * 
+     *
      * @param g the graph to work on
      * @param layers layering information
      * @param fixedSources list of fixed sources
@@ -84,28 +91,60 @@ public CrossingMinimizer(final Graph g,
             final ArrayList<Node> fixedSources, final ArrayList<Node> fixedSinks) {
         m_g = g;
         m_layers = layers;
+        m_fixedSources = fixedSources != null;
+        m_fixedSinks = fixedSinks != null;
+    }
+
+    /**
+     * initializes crossing minimization on an index based layering, used to
+     * run several attempts concurrently without touching the graph.
+     *
+     * @param lg the layering to work on, its layer order is changed in place
+     * @param fixedSources true if the first layer is fixed
+     * @param fixedSinks true if the last layer is fixed
+     */
+    CrossingMinimizer(final LayeredGraph lg, final boolean fixedSources,
+            final boolean fixedSinks) {
+        m_lg = lg;
         m_fixedSources = fixedSources;
         m_fixedSinks = fixedSinks;
     }
 
     /**
-     * runs crossing minimization.
+     * runs crossing minimization. Afterwards the layers are ordered and the
+     * y-coordinate of each node is its position within its layer.
      */
     public void run() {
         if (m_layers.size() < 2) { // nothing to do
             return;
         }
-        int oldCrossings = Integer.MAX_VALUE;
-        int crossings = numberOfCrossings();
+        m_lg = new LayeredGraph(m_g, m_layers, null);
+        minimize(Long.MAX_VALUE);
+        m_lg.writeBack(m_g, m_layers);
+    }
+
+    /**
+     * reduces the crossings of the index based layering.
+     *
+     * @param deadline value of {@link System#nanoTime()} after which no further
+     *            sweep is started, {@link Long#MAX_VALUE} for no deadline
+     * @return the number of crossings of the resulting layering
+     */
+    long minimize(final long deadline) {
+        if (m_lg.layerCount() < 2) { // nothing to do
+            return 0;
+        }
+        long oldCrossings = Long.MAX_VALUE;
+        long crossings = numberOfCrossings();
         int sourceOffset = 0;
         int sinkOffset = 0;
-        if (m_fixedSources != null) {
+        if (m_fixedSources) {
             sourceOffset = 1;
         }
-        if (m_fixedSinks != null) {
+        if (m_fixedSinks) {
             sinkOffset = 1;
         }
-        ArrayList<ArrayList<Node>> lastLayering;
+        int[][] lastLayering;
         // do layer by layer sweep; if we either have fixed sources or fixed
         // sinks, perform only once, since every other run will yield the same
         // result
@@ -113,244 +152,149 @@ public void run() {
             // store last layering
             lastLayering = copyLayering();
             // rightward sweep
-            for (int i = 1; i < m_layers.size() - sinkOffset; i++) {
-                orderByMedian(m_layers.get(i), m_layers.get(i - 1));
+            for (int i = 1; i < m_lg.layerCount() - sinkOffset; i++) {
+                orderByMedian(i, i - 1);
             }
             // leftward sweep
-            for (int i = m_layers.size() - 2; i >= sourceOffset; i--) {
-                orderByMedian(m_layers.get(i), m_layers.get(i + 1));
+            for (int i = m_lg.layerCount() - 2; i >= sourceOffset; i--) {
+                orderByMedian(i, i + 1);
             }
             // greedy switch
             greedySwitch(sourceOffset, sinkOffset);
             oldCrossings = crossings;
             crossings = numberOfCrossings();
-        } while (crossings < oldCrossings && m_fixedSources != null
-                && m_fixedSinks != null);
+        } while (crossings < oldCrossings && m_fixedSources && m_fixedSinks
+                && isBefore(deadline));
         // if crossing number got worse use the next-to-last layering
         if (crossings > oldCrossings) {
-            m_layers = lastLayering;
-        }
-        for (ArrayList<Node> curLayer : m_layers) {
-            updateY(curLayer);
+            for (int i = 0; i < lastLayering.length; i++) {
+                m_lg.setOrder(i, lastLayering[i]);
+            }
+            crossings = oldCrossings;
         }
+        return crossings;
+    }
+
+    /**
+     * @param deadline a value of {@link System#nanoTime()} or
+     *            {@link Long#MAX_VALUE} for no deadline
+     * @return true if the deadline has not passed yet
+     */
+    static boolean isBefore(final long deadline) {
+        return deadline == Long.MAX_VALUE || System.nanoTime() - deadline < 0;
     }
 
     /**
      * copies the current layering.
-     * 
-     * @return
+     *
+     * @return the order of each layer
      */
-    private ArrayList<ArrayList<Node>> copyLayering() {
-        ArrayList<ArrayList<Node>> layers = new ArrayList<ArrayList<Node>>();
-        for (ArrayList<Node> layer : m_layers) {
-            ArrayList<Node> layerCopy = new ArrayList<Graph.Node>();
-            layers.add(layerCopy);
-            for (Node n : layer) {
-                layerCopy.add(n);
-            }
+    private int[][] copyLayering() {
+        int[][] layers = new int[m_lg.layerCount()][];
+        for (int i = 0; i < layers.length; i++) {
+            layers[i] = m_lg.layer(i).clone();
         }
         return layers;
     }
 
     /**
      * order the current layer by means of the average median of neighbors of
-     * each node in the previous layer.
-     * 
-     * @param curLayer
-     * @param prevLayer
+     * each node in the other (previous or next) layer. If two nodes have equal
+     * median, preference is given to odd-degree nodes, otherwise the current
+     * order is kept.
+     *
+     * @param cur index of the layer to order
+     * @param other index of the adjacent layer whose order is fixed
      */
-    private void orderByMedian(final ArrayList<Node> curLayer,
-            final ArrayList<Node> prevLayer) {
-        for (Node v : curLayer) {
-            // get sorted list of neighbors in the previous layer
-            ArrayList<Node> neighbors = getNeighbors(v, prevLayer);
-            Collections.sort(neighbors, new Util.NodeByYComparator(m_g));
-            // set median position, or average of two medians if degree is even
-            int size = neighbors.size();
-            int m1 = (int)Math.ceil(size / 2.0) - 1;
-            int m2 = m1 + 1; // needed for even degree
+    private void orderByMedian(final int cur, final int other) {
+        final boolean prev = other < cur;
+        final int[] adj = prev ? m_lg.prevAdj() : m_lg.nextAdj();
+        final int[] layer = m_lg.layer(cur);
+        // sort keys: twice the median, odd degree flag, current position
+        final long[] keys = new long[layer.length];
+        int[] positions = new int[8];
+        for (int p = 0; p < layer.length; p++) {
+            final int v = layer[p];
+            final int start = prev ? m_lg.prevStart(v) : m_lg.nextStart(v);
+            final int size = (prev ? m_lg.prevEnd(v) : m_lg.nextEnd(v)) - start;
+            // the median of a node without neighbors is its current position
+            long doubleMedian = 2L * p;
             if (size > 0) {
-                // median heuristic
-                // m_g.setY(v, m_g.getY(neighbors.get(m1)));
-
+                if (positions.length < size) {
+                    positions = new int[size];
+                }
+                for (int k = 0; k < size; k++) {
+                    positions[k] = m_lg.pos(adj[start + k]);
+                }
+                Arrays.sort(positions, 0, size);
                 // average median heuristic
+                int m1 = (size + 1) / 2 - 1;
                 if (size % 2 == 1) {
                     // odd degree
-                    m_g.setY(v, m_g.getY(neighbors.get(m1)));
+                    doubleMedian = 2L * positions[m1];
                 } else {
                     // even degree
-                    double y1 = m_g.getY(neighbors.get(m1));
-                    double y2 = m_g.getY(neighbors.get(m2));
-                    m_g.setY(v, (y1 + y2) / 2);
+                    doubleMedian = positions[m1] + positions[m1 + 1];
                 }
             }
+            final long evenFlag = (size % 2 != 0) ? 0 : 1;
+            keys[p] = (((doubleMedian << 1) | evenFlag) << 32) | p;
         }
-        // sort current layer by medians
-        Collections.sort(curLayer, new LayerSortComparator(prevLayer));
-        // set corresponding y-coordinates
-        updateY(curLayer);
-    }
-
-    private void updateY(final ArrayList<Node> curLayer) {
-        double y = 0;
-        for (Node n : curLayer) {
-            m_g.setY(n, y);
-            y++;
+        Arrays.sort(keys);
+        final int[] order = new int[layer.length];
+        for (int p = 0; p < order.length; p++) {
+            order[p] = layer[(int)(keys[p] & 0xFFFFFFFFL)];
         }
+        m_lg.setOrder(cur, order);
     }
 
     /**
      * perform a greedy switch going from first to last layer. In each layer,
-     * switch consecutive nodes if crossing number is reduced. Fixed layers are
-     * excluded by given offsets.
-     * 
+     * switch consecutive nodes if crossing number (with respect to the
+     * previous layer) is reduced. Fixed layers are excluded by given offsets.
+     *
      * @param sourceOffset
      * @param sinkOffset
      */
     private void greedySwitch(final int sourceOffset, final int sinkOffset) {
-        for (int i = sourceOffset; i < m_layers.size() - sinkOffset; i++) {
-            ArrayList<Node> curLayer = m_layers.get(i);
-            int oldCross = Integer.MAX_VALUE;
-            int cross = numberOfCrossingsPrevLayer(i);
-            int crossTemp = cross;
+        // the first layer has no previous layer, hence no crossings to reduce
+        for (int i = Math.max(1, sourceOffset); i < m_lg.layerCount() - sinkOffset; i++) {
+            // the previous layer is fixed while switching in this layer
+            m_lg.sortNeighborsByPosition(i);
+            final int[] curLayer = m_lg.layer(i);
+            boolean improved;
             do {
-                for (int j = 0; j < curLayer.size() - 1; j++) {
-                    Node u = curLayer.get(j);
-                    Node v = curLayer.get(j + 1);
-                    switchNodes(u, v, curLayer, j);
+                improved = false;
+                for (int j = 0; j < curLayer.length - 1; j++) {
+                    int u = curLayer[j];
+                    int v = curLayer[j + 1];
                     // if switch produces less crossings keep it
-                    // i.e., if switch produces equal or more crossings, switch
-                    // back
-                    int c = numberOfCrossingsPrevLayer(i);
-                    if (c >= crossTemp) {
-                        switchNodes(v, u, curLayer, j);
-                    } else {
-                        // crossing number is reduced -> store new crossing
-                        // number
-                        crossTemp = c;
+                    if (m_lg.countPairCrossings(v, u) < m_lg.countPairCrossings(u, v)) {
+                        m_lg.swap(i, j);
+                        improved = true;
                     }
                 }
-                oldCross = cross;
-                cross = numberOfCrossingsPrevLayer(i);
-            } while (cross < oldCross);
-            Collections.sort(curLayer, new Util.NodeByYComparator(m_g));
+            } while (improved);
         }
     }
 
-    /**
-     * switch y-coordinates of nodes u and v, and their places in the respective
-     * layer. Node u must be at index i, node v is at index i+1.
-     * 
-     * @param u
-     * @param v
-     * @param layer
-     * @param i
-     */
-    private void switchNodes(final Node u, final Node v,
-            final ArrayList<Node> layer, final int i) {
-        // coordinates
-        double temp = m_g.getY(u);
-        m_g.setY(u, m_g.getY(v));
-        m_g.setY(v, temp);
-        // order in layer
-        layer.set(i, v);
-        layer.set(i + 1, u);
-    }
-
     /**
      * counts the number of crossings in the whole layering.
-     * 
-     * @return
-     */
-    private int numberOfCrossings() {
-        int cross = 0;
-        for (int i = 1; i < m_layers.size(); i++) {
-            ArrayList<Node> curLayer = m_layers.get(i);
-            ArrayList<Node> prevLayer = m_layers.get(i - 1);
-            cross += numberCrossingTwoLayer(curLayer, prevLayer);
-        }
-        return cross;
-    }
-
-    /**
-     * counts the number of crossing within layer (i-1) and i (previously also between layer i and
-     * (i+1)).
-     * 
-     * @param i
-     * @return
+     *
+     * @return the number of crossings
      */
-    private int numberOfCrossingsPrevLayer(final int i) {
-        ArrayList<Node> curLayer = m_layers.get(i);
-        ArrayList<Node> prevLayer;
-        // ArrayList<Node> nextLayer;
-        int cross = 0;
-        if (i > 0) {
-            prevLayer = m_layers.get(i - 1);
-            cross += numberCrossingTwoLayer(curLayer, prevLayer);
+    private long numberOfCrossings() {
+        long cross = 0;
+        for (int i = 1; i < m_lg.layerCount(); i++) {
+            m_lg.sortNeighborsByPosition(i - 1);
+            cross += m_lg.countCrossings(i);
         }
-        // if (i < m_layers.size() - 1) {
-        // nextLayer = m_layers.get(i + 1);
-        // cross += numberCrossingTwoLayer(nextLayer, curLayer);
-        // }
         return cross;
     }
 
-    /**
-     * counts the number of crossings between the two given layers. THIS IS
-     * REALLY BRUTE FORCE AND CAN BE MADE MORE EFFICIENT! (e.g., modifying
-     * mergesort to count inversions)
-     * 
-     * @param curLayer
-     * @param prevLayer
-     * @return
-     */
-    private int numberCrossingTwoLayer(final ArrayList<Node> curLayer,
-            final ArrayList<Node> prevLayer) {
-        int cross = 0;
-        for (Node u1 : prevLayer) {
-            for (Node v1 : getNeighbors(u1, curLayer)) {
-                // inspect edge from prev layer to cur layer (u1,v1)
-                // now check against all other edges ending at curLayer at
-                // other nodes than u1 or v1
-                for (Node v2 : curLayer) {
-                    if (v1 != v2) {
-                        for (Node u2 : getNeighbors(v2, prevLayer)) {
-                            if (u2 != u1) {
-                                // check if e1 and e2 are crossing
-                                cross += checkCrossing(u1, v1, u2, v2);
-                            }
-                        }
-                    }
-                }
-            }
-        }
-        // all crossings have been counted twice!
-        return cross / 2;
-    }
-
-    /**
-     * check whether to edges (u1,v1) and (u2,v2) create a crossing.
-     * 
-     * @param u1 node of first edge on first layer
-     * @param v1 node of first edge on second layer
-     * @param u2 node of second edge on first layer
-     * @param v2 node of second edge on second layer
-     * @return 1 if edges cross, 0 otherwise
-     */
-    private int checkCrossing(final Node u1, final Node v1, final Node u2,
-            final Node v2) {
-        if (m_g.getY(u1) < m_g.getY(u2) && m_g.getY(v1) > m_g.getY(v2)) {
-            return 1;
-        } else if (m_g.getY(u1) > m_g.getY(u2) && m_g.getY(v1) < m_g.getY(v2)) {
-            return 1;
-        } else {
-            return 0;
-        }
-    }
-
     /**
      * return the neighbors of a node n on the given layer.
-     * 
+     *
      * @param n
      * @param layer
      * @return
@@ -371,9 +315,12 @@ private ArrayList<Node> getNeighbors(final Node n,
      * used to compare two nodes on a layer, after each nodes y-coordinate is
      * set to the median of its neighbors. If two nodes have equal median,
      * preference is given to odd-degree nodes.
-     * 
+     *
      * @author mader, University of Konstanz
+     * @deprecated the crossing minimization no longer sorts {@link Node}s, it
+     *             is done on the index based representation instead
      */
+    @Deprecated
     public class LayerSortComparator implements
             Comparator<org.knime.workbench.ui.layout.Graph.Node> {
 
@@ -381,7 +328,7 @@ public class LayerSortComparator implements
 
         /**
          * constructor.
-         * 
+         *
          * @param otherLayer if medians are equal decision is made by degree of
          *            a node with respect to this layer
          */
@@ -0,0 +1,435 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.workbench.ui.layout.layeredlayout;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.knime.workbench.ui.layout.Graph;
+import org.knime.workbench.ui.layout.Graph.Edge;
+import org.knime.workbench.ui.layout.Graph.Node;
+
+/**
+ * Index based representation of a layered graph used by the crossing minimization and the coordinate assignment.
+ * Nodes are numbered from 0 to n-1 in the order of {@link Graph#nodes()}; all per-node information is kept in
+ * primitive arrays indexed by this number. The neighbors of each node in the previous and in the next layer are stored
+ * in compressed adjacency arrays (the neighbors of node <code>v</code> in the previous layer are
+ * <code>prevAdj[prevStart[v]]</code> to <code>prevAdj[prevStart[v + 1] - 1]</code>).
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class LayeredGraph {
+
+    private final Node[] m_nodes;
+
+    private final int[][] m_layers;
+
+    private final int[] m_layer;
+
+    private final int[] m_pos;
+
+    private final boolean[] m_dummy;
+
+    private final int[] m_prevStart;
+
+    private final int[] m_prevAdj;
+
+    private final int[] m_nextStart;
+
+    private final int[] m_nextAdj;
+
+    /** Scratch space for crossing counting. */
+    private int[] m_tree = new int[0];
+
+    /**
+     * Creates the index based representation of the given layering. The order of the nodes within a layer is taken
+     * from the given lists.
+     *
+     * @param g the graph, all its nodes must be contained in the layers
+     * @param layers the layers
+     * @param dummyNodes the dummy nodes inserted for long edges, may be <code>null</code>
+     */
+    LayeredGraph(final Graph g, final List<? extends List<Node>> layers, final Collection<Node> dummyNodes) {
+        final int n = g.n();
+        m_nodes = new Node[n];
+        final Map<Node, Integer> ids = new IdentityHashMap<Node, Integer>(n);
+        int id = 0;
+        for (Node node : g.nodes()) {
+            m_nodes[id] = node;
+            ids.put(node, id);
+            id++;
+        }
+        m_layer = new int[n];
+        m_pos = new int[n];
+        m_layers = new int[layers.size()][];
+        for (int i = 0; i < m_layers.length; i++) {
+            final List<Node> layer = layers.get(i);
+            m_layers[i] = new int[layer.size()];
+            for (int p = 0; p < m_layers[i].length; p++) {
+                final int v = ids.get(layer.get(p));
+                m_layers[i][p] = v;
+                m_layer[v] = i;
+                m_pos[v] = p;
+            }
+        }
+        m_dummy = new boolean[n];
+        if (dummyNodes != null) {
+            for (Node d : dummyNodes) {
+                m_dummy[ids.get(d)] = true;
+            }
+        }
+        // count neighbors in adjacent layers, edges within a layer or spanning several layers are ignored
+        m_prevStart = new int[n + 1];
+        m_nextStart = new int[n + 1];
+        for (Edge e : g.edges()) {
+            final int s = ids.get(e.source());
+            final int t = ids.get(e.target());
+            if (m_layer[t] == m_layer[s] + 1) {
+                m_prevStart[t + 1]++;
+                m_nextStart[s + 1]++;
+            } else if (m_layer[s] == m_layer[t] + 1) {
+                m_prevStart[s + 1]++;
+                m_nextStart[t + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            m_prevStart[v + 1] += m_prevStart[v];
+            m_nextStart[v + 1] += m_nextStart[v];
+        }
+        m_prevAdj = new int[m_prevStart[n]];
+        m_nextAdj = new int[m_nextStart[n]];
+        final int[] prevFill = Arrays.copyOf(m_prevStart, n);
+        final int[] nextFill = Arrays.copyOf(m_nextStart, n);
+        for (Edge e : g.edges()) {
+            int upper = ids.get(e.source());
+            int lower = ids.get(e.target());
+            if (m_layer[upper] == m_layer[lower] + 1) {
+                final int tmp = upper;
+                upper = lower;
+                lower = tmp;
+            } else if (m_layer[lower] != m_layer[upper] + 1) {
+                continue;
+            }
+            m_prevAdj[prevFill[lower]++] = upper;
+            m_nextAdj[nextFill[upper]++] = lower;
+        }
+    }
+
+    /**
+     * Creates a copy of the given layered graph whose layer order can be changed independently of the original. The
+     * node and layer assignments are shared, the copy can be used in another thread as long as the original is not
+     * modified concurrently.
+     *
+     * @param other the graph to copy
+     */
+    LayeredGraph(final LayeredGraph other) {
+        m_nodes = other.m_nodes;
+        m_layer = other.m_layer;
+        m_dummy = other.m_dummy;
+        m_prevStart = other.m_prevStart;
+        m_nextStart = other.m_nextStart;
+        m_layers = new int[other.m_layers.length][];
+        for (int i = 0; i < m_layers.length; i++) {
+            m_layers[i] = other.m_layers[i].clone();
+        }
+        m_pos = other.m_pos.clone();
+        m_prevAdj = other.m_prevAdj.clone();
+        m_nextAdj = other.m_nextAdj.clone();
+    }
+
+    /** @return the number of nodes */
+    int n() {
+        return m_nodes.length;
+    }
+
+    /** @return the number of layers */
+    int layerCount() {
+        return m_layers.length;
+    }
+
+    /**
+     * @param i a layer index
+     * @return the nodes of the layer in their current order, the array is modified by {@link #setOrder(int, int[])}
+     */
+    int[] layer(final int i) {
+        return m_layers[i];
+    }
+
+    /**
+     * @param v a node
+     * @return the position of the node in its layer
+     */
+    int pos(final int v) {
+        return m_pos[v];
+    }
+
+    /**
+     * @param v a node
+     * @return the index of the layer of the node
+     */
+    int layerOf(final int v) {
+        return m_layer[v];
+    }
+
+    /**
+     * @param v a node
+     * @return whether the node is a dummy node of a long edge
+     */
+    boolean isDummy(final int v) {
+        return m_dummy[v];
+    }
+
+    /**
+     * @param v a node
+     * @return the first index of the node's neighbors in the previous layer in {@link #prevAdj()}
+     */
+    int prevStart(final int v) {
+        return m_prevStart[v];
+    }
+
+    /**
+     * @param v a node
+     * @return the index after the last of the node's neighbors in the previous layer in {@link #prevAdj()}
+     */
+    int prevEnd(final int v) {
+        return m_prevStart[v + 1];
+    }
+
+    /** @return the adjacency array of neighbors in the previous layer */
+    int[] prevAdj() {
+        return m_prevAdj;
+    }
+
+    /**
+     * @param v a node
+     * @return the first index of the node's neighbors in the next layer in {@link #nextAdj()}
+     */
+    int nextStart(final int v) {
+        return m_nextStart[v];
+    }
+
+    /**
+     * @param v a node
+     * @return the index after the last of the node's neighbors in the next layer in {@link #nextAdj()}
+     */
+    int nextEnd(final int v) {
+        return m_nextStart[v + 1];
+    }
+
+    /** @return the adjacency array of neighbors in the next layer */
+    int[] nextAdj() {
+        return m_nextAdj;
+    }
+
+    /**
+     * Sets the order of a layer.
+     *
+     * @param i the layer index
+     * @param order the nodes of the layer in their new order
+     */
+    void setOrder(final int i, final int[] order) {
+        final int[] layer = m_layers[i];
+        System.arraycopy(order, 0, layer, 0, layer.length);
+        for (int p = 0; p < layer.length; p++) {
+            m_pos[layer[p]] = p;
+        }
+    }
+
+    /**
+     * Randomly permutes the nodes of a layer.
+     *
+     * @param i the layer index
+     * @param rnd the random number generator to use
+     */
+    void shuffle(final int i, final Random rnd) {
+        final int[] layer = m_layers[i];
+        for (int p = layer.length - 1; p > 0; p--) {
+            final int q = rnd.nextInt(p + 1);
+            final int v = layer[p];
+            layer[p] = layer[q];
+            layer[q] = v;
+        }
+        for (int p = 0; p < layer.length; p++) {
+            m_pos[layer[p]] = p;
+        }
+    }
+
+    /**
+     * Swaps the nodes at position p and p + 1 of a layer.
+     *
+     * @param i the layer index
+     * @param p the position of the upper node
+     */
+    void swap(final int i, final int p) {
+        final int[] layer = m_layers[i];
+        final int u = layer[p];
+        layer[p] = layer[p + 1];
+        layer[p + 1] = u;
+        m_pos[layer[p]] = p;
+        m_pos[u] = p + 1;
+    }
+
+    /**
+     * Sorts the neighbors of all nodes of the given layer by their current position, both in the previous and the
+     * next layer.
+     *
+     * @param i the layer index
+     */
+    void sortNeighborsByPosition(final int i) {
+        for (int v : m_layers[i]) {
+            sortByPosition(m_prevAdj, m_prevStart[v], m_prevStart[v + 1]);
+            sortByPosition(m_nextAdj, m_nextStart[v], m_nextStart[v + 1]);
+        }
+    }
+
+    /** Sorts a (usually very short) range of node ids by the nodes' positions using insertion sort. */
+    private void sortByPosition(final int[] nodes, final int from, final int to) {
+        for (int i = from + 1; i < to; i++) {
+            final int v = nodes[i];
+            final int p = m_pos[v];
+            int j = i - 1;
+            while (j >= from && m_pos[nodes[j]] > p) {
+                nodes[j + 1] = nodes[j];
+                j--;
+            }
+            nodes[j + 1] = v;
+        }
+    }
+
+    /**
+     * Counts the crossings between layer i - 1 and layer i using the accumulator tree of Barth, Jünger and Mutzel
+     * ("Simple and efficient bilayer cross counting", GD 2002) in O(E log V). Edges sharing a node are not counted
+     * as crossing. The neighbors of layer i - 1 in layer i must be sorted by position.
+     *
+     * @param i the index of the lower layer, &gt; 0
+     * @return the number of crossings
+     */
+    long countCrossings(final int i) {
+        final int southSize = m_layers[i].length;
+        int firstIndex = 1;
+        while (firstIndex < southSize) {
+            firstIndex <<= 1;
+        }
+        final int treeSize = 2 * firstIndex - 1;
+        if (m_tree.length < treeSize) {
+            m_tree = new int[treeSize];
+        } else {
+            Arrays.fill(m_tree, 0, treeSize, 0);
+        }
+        final int[] tree = m_tree;
+        firstIndex -= 1;
+        long crossings = 0;
+        // edges in lexicographical order of (position north, position south)
+        for (int u : m_layers[i - 1]) {
+            for (int k = m_nextStart[u]; k < m_nextStart[u + 1]; k++) {
+                int index = m_pos[m_nextAdj[k]] + firstIndex;
+                tree[index]++;
+                while (index > 0) {
+                    if (index % 2 == 1) {
+                        crossings += tree[index + 1];
+                    }
+                    index = (index - 1) / 2;
+                    tree[index]++;
+                }
+            }
+        }
+        return crossings;
+    }
+
+    /**
+     * Counts the crossings among the edges from node u and node v to the previous layer if u is placed directly
+     * above v. The neighbors of u and v in the previous layer must be sorted by position.
+     *
+     * @param u the upper node
+     * @param v the lower node
+     * @return the number of crossings between edges of u and edges of v
+     */
+    int countPairCrossings(final int u, final int v) {
+        int crossings = 0;
+        int j = m_prevStart[v];
+        final int vEnd = m_prevStart[v + 1];
+        for (int k = m_prevStart[u]; k < m_prevStart[u + 1]; k++) {
+            final int p = m_pos[m_prevAdj[k]];
+            while (j < vEnd && m_pos[m_prevAdj[j]] < p) {
+                j++;
+            }
+            // all neighbors of v above the current neighbor of u cross its edge
+            crossings += j - m_prevStart[v];
+        }
+        return crossings;
+    }
+
+    /**
+     * Writes the current order back to the given layer lists and sets the y-coordinate of each node to its position.
+     *
+     * @param g the graph
+     * @param layers the layer lists to update
+     */
+    void writeBack(final Graph g, final List<? extends List<Node>> layers) {
+        for (int i = 0; i < m_layers.length; i++) {
+            final List<Node> layer = layers.get(i);
+            for (int p = 0; p < m_layers[i].length; p++) {
+                final Node node = m_nodes[m_layers[i][p]];
+                layer.set(p, node);
+                g.setY(node, p);
+            }
+        }
+    }
+
+    /**
+     * @param v a node
+     * @return the node of the graph
+     */
+    Node node(final int v) {
+        return m_nodes[v];
+    }
+}
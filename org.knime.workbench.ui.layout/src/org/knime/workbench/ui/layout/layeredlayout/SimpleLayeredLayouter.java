@@ -50,8 +50,12 @@
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
 
 import org.knime.workbench.ui.layout.Graph;
 import org.knime.workbench.ui.layout.Graph.Edge;
@@ -75,6 +79,12 @@ public class SimpleLayeredLayouter {
 
     private boolean m_balanceBranching = true;
 
+    private int m_attempts = 1;
+
+    private int m_parallelism = Runtime.getRuntime().availableProcessors();
+
+    private long m_timeBudget = 0;
+
     /**
      * constructor initializing an arbitrary random instance for shuffling
      * layers.
@@ -110,6 +120,50 @@ public void setBalanceBranchings(final boolean balance) {
         m_balanceBranching = balance;
     }
 
+    /**
+     * sets the number of independent crossing minimization attempts. Each
+     * attempt starts from a differently shuffled layering (the shuffle seeds
+     * are drawn from the seed of this layouter) and the layering with the
+     * fewest crossings is kept; among equally good layerings the one of the
+     * earliest attempt wins, hence the result is deterministic for a given
+     * seed (as long as the time budget does not expire). Default is 1.
+     *
+     * @param attempts the number of attempts, at least 1
+     */
+    public void setCrossingMinimizationAttempts(final int attempts) {
+        if (attempts < 1) {
+            throw new IllegalArgumentException(
+                    "Number of attempts must be at least 1: " + attempts);
+        }
+        m_attempts = attempts;
+    }
+
+    /**
+     * sets the maximum number of crossing minimization attempts running in
+     * parallel. Default is the number of available processors.
+     *
+     * @param parallelism the parallelism, at least 1
+     */
+    public void setParallelism(final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(
+                    "Parallelism must be at least 1: " + parallelism);
+        }
+        m_parallelism = parallelism;
+    }
+
+    /**
+     * sets the time budget for crossing minimization. Once it is exceeded no
+     * further attempts are started and the best layering found so far is
+     * used. The first attempt always completes.
+     *
+     * @param timeBudget the budget in milliseconds, 0 or less for no limit
+     *            (the default)
+     */
+    public void setTimeBudget(final long timeBudget) {
+        m_timeBudget = timeBudget;
+    }
+
     /**
      * computes an hierarchical layout of the given graph. If nodes are fixed by
      * means of the given map, they will end up on the first or last layer,
@@ -216,7 +270,10 @@ public void doLayout(final Graph g, final Map<Node, Boolean> fixedNodes)
                 // times in the crossing minimization phase.
                 // I.e., every execution of the algorithm potentially yields
                 // another result!
-                Collections.shuffle(currentLayer, m_rnd);
+                // With several attempts each one shuffles its own copy.
+                if (m_attempts == 1) {
+                    Collections.shuffle(currentLayer, m_rnd);
+                }
                 // ordering could also be initialized by the current ordering
                 // from y-coordinates.
                 // Collections.sort(currentLayer, new
@@ -232,9 +289,14 @@ public void doLayout(final Graph g, final Map<Node, Boolean> fixedNodes)
         }
 
         /* Do crossing minimization */
-        CrossingMinimizer cm =
-                new CrossingMinimizer(g, layers, fixedSources, fixedSinks);
-        cm.run();
+        if (m_attempts > 1 && layers.size() > 1) {
+            minimizeCrossings(g, layers, fixedSources != null,
+                    fixedSinks != null);
+        } else {
+            CrossingMinimizer cm =
+                    new CrossingMinimizer(g, layers, fixedSources, fixedSinks);
+            cm.run();
+        }
 
         /* Do vertical placement */
         VerticalCoordinateAssigner vca =
@@ -259,4 +321,73 @@ public void doLayout(final Graph g, final Map<Node, Boolean> fixedNodes)
         g.cleanBends();
     }
 
+    /**
+     * runs the configured number of crossing minimization attempts on a fork
+     * join pool and applies the layering with the fewest crossings to the
+     * graph and the layer lists.
+     *
+     * @param g the graph
+     * @param layers the layers, non-fixed layers are shuffled per attempt
+     * @param fixedSources true if the first layer is fixed
+     * @param fixedSinks true if the last layer is fixed
+     */
+    private void minimizeCrossings(final Graph g,
+            final ArrayList<ArrayList<Node>> layers,
+            final boolean fixedSources, final boolean fixedSinks) {
+        final LayeredGraph initial = new LayeredGraph(g, layers, null);
+        // draw all seeds up front so the result does not depend on the
+        // scheduling of the attempts
+        final long[] seeds = new long[m_attempts];
+        for (int a = 0; a < seeds.length; a++) {
+            seeds[a] = m_rnd.nextLong();
+        }
+        final long deadline;
+        if (m_timeBudget > 0) {
+            deadline = System.nanoTime()
+                    + TimeUnit.MILLISECONDS.toNanos(m_timeBudget);
+        } else {
+            deadline = Long.MAX_VALUE;
+        }
+        final ForkJoinPool pool =
+                new ForkJoinPool(Math.min(m_parallelism, m_attempts));
+        try {
+            final List<ForkJoinTask<LayeredGraph>> tasks =
+                    new ArrayList<ForkJoinTask<LayeredGraph>>(m_attempts);
+            final long[] crossings = new long[m_attempts];
+            for (int a = 0; a < m_attempts; a++) {
+                final int attempt = a;
+                tasks.add(pool.submit(() -> {
+                    // the first attempt always runs so there is a result
+                    if (attempt > 0 && !CrossingMinimizer.isBefore(deadline)) {
+                        return null;
+                    }
+                    LayeredGraph lg = new LayeredGraph(initial);
+                    Random rnd = new Random(seeds[attempt]);
+                    for (int i = 0; i < lg.layerCount(); i++) {
+                        if ((i == 0 && fixedSources)
+                                || (i == lg.layerCount() - 1 && fixedSinks)) {
+                            continue;
+                        }
+                        lg.shuffle(i, rnd);
+                    }
+                    crossings[attempt] = new CrossingMinimizer(lg,
+                            fixedSources, fixedSinks).minimize(deadline);
+                    return lg;
+                }));
+            }
+            LayeredGraph best = null;
+            long bestCrossings = Long.MAX_VALUE;
+            for (int a = 0; a < m_attempts; a++) {
+                LayeredGraph lg = tasks.get(a).join();
+                if (lg != null && crossings[a] < bestCrossings) {
+                    best = lg;
+                    bestCrossings = crossings[a];
+                }
+            }
+            best.writeBack(g, layers);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
 }
@@ -49,8 +49,7 @@
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.HashSet;
 
 import org.knime.workbench.ui.layout.Graph;
 import org.knime.workbench.ui.layout.Graph.Edge;
@@ -60,45 +59,41 @@
  * handles vertical assignment of coordinates within layers, see
  * "Brandes, Köpf: Fast and simple horizontal coordinate assignment (GD 2001)".
  *
+ * All per-node information is kept in arrays indexed by the node numbers of
+ * a {@link LayeredGraph}.
+ *
  * @author Martin Mader, University of Konstanz
  */
 public class VerticalCoordinateAssigner {
 
-    private static final Double DELTA = 1.0;
+    private static final double DELTA = 1.0;
 
     private Graph m_g;
 
-    private ArrayList<ArrayList<Node>> m_layers;
+    private LayeredGraph m_lg;
 
     // all variables named as close as possible to the above mentioned article
 
-    private HashMap<Node, Integer> m_pos = new HashMap<Graph.Node, Integer>();
-
-    private HashMap<Node, Node> m_pred = new HashMap<Graph.Node, Graph.Node>();
-
-    private HashMap<Edge, Boolean> m_innerSegment =
-            new HashMap<Graph.Edge, Boolean>();
+    /** marked (type 1 conflict) edges, indexed like the previous layer adjacency. */
+    private boolean[] m_marked;
 
-    private HashMap<Edge, Boolean> m_marked =
-            new HashMap<Graph.Edge, Boolean>();
+    private int[] m_align;
 
-    private HashMap<Node, Node> m_align = new HashMap<Graph.Node, Graph.Node>();
+    private int[] m_root;
 
-    private HashMap<Node, Node> m_root = new HashMap<Graph.Node, Graph.Node>();
+    private int[] m_sink;
 
-    private HashMap<Node, Node> m_sink = new HashMap<Graph.Node, Graph.Node>();
+    private double[] m_shift;
 
-    private HashMap<Node, Double> m_shift = new HashMap<Graph.Node, Double>();
+    private double[] m_y;
 
-    private HashMap<Node, Double> m_y = new HashMap<Graph.Node, Double>();
+    private double[] m_yLT;
 
-    private HashMap<Node, Double> m_yLT = new HashMap<Graph.Node, Double>();
+    private double[] m_yLB;
 
-    private HashMap<Node, Double> m_yLB = new HashMap<Graph.Node, Double>();
+    private double[] m_yRT;
 
-    private HashMap<Node, Double> m_yRT = new HashMap<Graph.Node, Double>();
-
-    private HashMap<Node, Double> m_yRB = new HashMap<Graph.Node, Double>();
+    private double[] m_yRB;
 
     private boolean m_balanceBranching = true;
 
@@ -114,40 +109,19 @@ public VerticalCoordinateAssigner(final Graph g,
             final ArrayList<ArrayList<Node>> layers,
             final ArrayList<Node> dummyNodes, final ArrayList<Edge> dummyEdges) {
         m_g = g;
-        m_layers = layers;
-        // initialize pos and pred
-        for (int i = 0; i < m_layers.size(); i++) {
-            ArrayList<Node> layer = m_layers.get(i);
-            for (int pos = 0; pos < layer.size(); pos++) {
-                m_pos.put(layer.get(pos), pos);
-                if (pos == 0) {
-                    m_pred.put(layer.get(pos), null);
-                } else {
-                    m_pred.put(layer.get(pos), layer.get(pos - 1));
-                }
-            }
-        }
-        // initialize edge maps
-        for (Edge e : m_g.edges()) {
-            m_marked.put(e, false);
-            // initialize inner segments, corrected later
-            m_innerSegment.put(e, false);
-        }
-        // initialize node maps
-        for (Node n : m_g.nodes()) {
-            m_align.put(n, n);
-            m_root.put(n, n);
-            m_sink.put(n, n);
-            m_shift.put(n, Double.POSITIVE_INFINITY);
-            m_y.put(n, Double.NaN);
-        }
-        // determine inner segments
-        for (Edge e : dummyEdges) {
-            if (dummyNodes.contains(e.source())
-                    && dummyNodes.contains(e.target())) {
-                m_innerSegment.put(e, true);
-            }
+        // inner segments are edges between two dummy nodes (i.e. dummy edges)
+        m_lg = new LayeredGraph(g, layers, new HashSet<Node>(dummyNodes));
+        for (int i = 0; i < m_lg.layerCount(); i++) {
+            m_lg.sortNeighborsByPosition(i);
         }
+        final int n = m_lg.n();
+        m_marked = new boolean[m_lg.prevAdj().length];
+        m_align = new int[n];
+        m_root = new int[n];
+        m_sink = new int[n];
+        m_shift = new double[n];
+        m_y = new double[n];
+        initNodeMaps();
     }
 
     /**
@@ -171,51 +145,40 @@ public void run() {
         initNodeMaps();
         horizontalAlignmentLeftTopmost();
         verticalCompaction();
-        storeCoordinates(m_yLT);
+        m_yLT = m_y.clone();
         initNodeMaps();
         horizontalAlignmentLeftBottommost();
         verticalCompaction();
-        storeCoordinates(m_yLB);
+        m_yLB = m_y.clone();
         initNodeMaps();
         horizontalAlignmentRightTopmost();
         verticalCompaction();
-        storeCoordinates(m_yRT);
+        m_yRT = m_y.clone();
         initNodeMaps();
         horizontalAlignmentRightBottommost();
         verticalCompaction();
-        storeCoordinates(m_yRB);
+        m_yRB = m_y.clone();
         initNodeMaps();
         // balance between 4 alignments
         balance();
         // set final coordinates
-        for (Node n : m_g.nodes()) {
-            m_g.setY(n, m_y.get(n));
+        for (int v = 0; v < m_lg.n(); v++) {
+            m_g.setY(m_lg.node(v), m_y[v]);
         }
 
     }
 
-    /**
-     * stores current y-coordinates of each node in the graph to the given map.
-     *
-     * @param y
-     */
-    private void storeCoordinates(final HashMap<Node, Double> y) {
-        for (Node n : m_g.nodes()) {
-            y.put(n, m_y.get(n));
-        }
-    }
-
     /**
      * initialize node maps needed for alignment and compaction phases.
      */
     private void initNodeMaps() {
-        for (Node n : m_g.nodes()) {
-            m_align.put(n, n);
-            m_root.put(n, n);
-            m_sink.put(n, n);
-            m_shift.put(n, Double.POSITIVE_INFINITY);
-            m_y.put(n, Double.NaN);
+        for (int v = 0; v < m_lg.n(); v++) {
+            m_align[v] = v;
+            m_root[v] = v;
+            m_sink[v] = v;
         }
+        Arrays.fill(m_shift, Double.POSITIVE_INFINITY);
+        Arrays.fill(m_y, Double.NaN);
     }
 
     /*
@@ -226,33 +189,31 @@ private void initNodeMaps() {
      * mark conflicting edges.
      */
     private void markConflicts() {
-        if (m_layers.size() < 4) {
+        if (m_lg.layerCount() < 4) {
             // no conflicts possible since there cannot be any inner segments
             return;
         }
+        final int[] prevAdj = m_lg.prevAdj();
         // inner segments cannot occur between first and second layer, and
         // next-to-last and last layer
-        for (int i = 1; i < m_layers.size() - 2; i++) {
+        for (int i = 1; i < m_lg.layerCount() - 2; i++) {
+            final int[] nextLayer = m_lg.layer(i + 1);
             int k0 = 0;
             int l = 0;
-            for (int l1 = 0; l1 < m_layers.get(i + 1).size(); l1++) {
-                Node vl1 = m_layers.get(i + 1).get(l1);
-                Edge innerSegment = getInnerSegmentIncidentTo(vl1);
-                if (l1 == m_layers.get(i + 1).size() - 1
-                        || innerSegment != null) {
-                    int k1 = m_layers.get(i).size() - 1;
-                    if (innerSegment != null) {
-                        k1 =
-                                m_layers.get(i).indexOf(
-                                        innerSegment.opposite(vl1));
+            for (int l1 = 0; l1 < nextLayer.length; l1++) {
+                int vl1 = nextLayer[l1];
+                int innerSegmentSource = getInnerSegmentSource(vl1);
+                if (l1 == nextLayer.length - 1 || innerSegmentSource >= 0) {
+                    int k1 = m_lg.layer(i).length - 1;
+                    if (innerSegmentSource >= 0) {
+                        k1 = m_lg.pos(innerSegmentSource);
                     }
                     while (l <= l1) {
-                        Node vl = m_layers.get(i + 1).get(l);
-                        for (Edge e : m_g.inEdges(vl)) {
-                            Node vk = e.opposite(vl);
-                            int k = m_layers.get(i).indexOf(vk);
+                        int vl = nextLayer[l];
+                        for (int s = m_lg.prevStart(vl); s < m_lg.prevEnd(vl); s++) {
+                            int k = m_lg.pos(prevAdj[s]);
                             if (k < k0 || k > k1) {
-                                m_marked.put(e, true);
+                                m_marked[s] = true;
                             }
                         }
                         l++;
@@ -265,21 +226,40 @@ private void markConflicts() {
     }
 
     /**
-     * returns the inner incoming segment of a given node, if such a segment
-     * exists.
+     * returns the upper node of the inner incoming segment of a given node, if
+     * such a segment exists.
      *
      * @param node
-     * @return
+     * @return the upper node or -1
      */
-    private Edge getInnerSegmentIncidentTo(final Node node) {
-        for (Edge e : m_g.inEdges(node)) {
+    private int getInnerSegmentSource(final int node) {
+        if (!m_lg.isDummy(node)) {
+            return -1;
+        }
+        for (int s = m_lg.prevStart(node); s < m_lg.prevEnd(node); s++) {
             // if node is incident to inner segment this will be the only
             // incoming edge
-            if (m_innerSegment.get(e)) {
-                return e;
+            if (m_lg.isDummy(m_lg.prevAdj()[s])) {
+                return m_lg.prevAdj()[s];
             }
         }
-        return null;
+        return -1;
+    }
+
+    /**
+     * returns whether the edge between the given nodes of adjacent layers is
+     * marked.
+     *
+     * @param upper the node in the previous layer
+     * @param lower the node in the next layer
+     */
+    private boolean isMarked(final int upper, final int lower) {
+        for (int s = m_lg.prevStart(lower); s < m_lg.prevEnd(lower); s++) {
+            if (m_lg.prevAdj()[s] == upper) {
+                return m_marked[s];
+            }
+        }
+        return false;
     }
 
     /*
@@ -291,24 +271,23 @@ private Edge getInnerSegmentIncidentTo(final Node node) {
      * fashion.
      */
     private void horizontalAlignmentLeftTopmost() {
-        for (int i = 0; i < m_layers.size(); i++) {
+        final int[] adj = m_lg.prevAdj();
+        for (int i = 0; i < m_lg.layerCount(); i++) {
             int r = -1;
-            for (int k = 0; k < m_layers.get(i).size(); k++) {
-                Node vk = m_layers.get(i).get(k);
-                ArrayList<Node> neighbors = getNeighbors(vk, true);
-                if (!neighbors.isEmpty()) {
-                    int d = neighbors.size();
-                    int m1 = (int)Math.floor((d + 1) / 2.0) - 1;
-                    int m2 = (int)Math.ceil((d + 1) / 2.0) - 1;
+            final int[] layer = m_lg.layer(i);
+            for (int k = 0; k < layer.length; k++) {
+                int vk = layer[k];
+                int start = m_lg.prevStart(vk);
+                int d = m_lg.prevEnd(vk) - start;
+                if (d > 0) {
+                    int m1 = (d + 1) / 2 - 1;
+                    int m2 = d / 2;
                     for (int m = m1; m <= m2; m++) {
-                        if (m_align.get(vk) == vk) {
-                            Node um = neighbors.get(m);
-                            if (!m_marked.get(um.getEdge(vk))
-                                    && r < m_pos.get(um)) {
-                                m_align.put(um, vk);
-                                m_root.put(vk, m_root.get(um));
-                                m_align.put(vk, m_root.get(vk));
-                                r = m_pos.get(um);
+                        if (m_align[vk] == vk) {
+                            int um = adj[start + m];
+                            if (!m_marked[start + m] && r < m_lg.pos(um)) {
+                                align(um, vk);
+                                r = m_lg.pos(um);
                             }
                         }
                     }
@@ -323,24 +302,23 @@ private void horizontalAlignmentLeftTopmost() {
      * fashion.
      */
     private void horizontalAlignmentLeftBottommost() {
-        for (int i = 0; i < m_layers.size(); i++) {
-            int r = m_layers.size();
-            for (int k = m_layers.get(i).size() - 1; k >= 0; k--) {
-                Node vk = m_layers.get(i).get(k);
-                ArrayList<Node> neighbors = getNeighbors(vk, true);
-                if (!neighbors.isEmpty()) {
-                    int d = neighbors.size();
-                    int m1 = (int)Math.floor((d + 1) / 2.0) - 1;
-                    int m2 = (int)Math.ceil((d + 1) / 2.0) - 1;
+        final int[] adj = m_lg.prevAdj();
+        for (int i = 0; i < m_lg.layerCount(); i++) {
+            int r = m_lg.layerCount();
+            final int[] layer = m_lg.layer(i);
+            for (int k = layer.length - 1; k >= 0; k--) {
+                int vk = layer[k];
+                int start = m_lg.prevStart(vk);
+                int d = m_lg.prevEnd(vk) - start;
+                if (d > 0) {
+                    int m1 = (d + 1) / 2 - 1;
+                    int m2 = d / 2;
                     for (int m = m2; m >= m1; m--) {
-                        if (m_align.get(vk) == vk) {
-                            Node um = neighbors.get(m);
-                            if (!m_marked.get(um.getEdge(vk))
-                                    && r > m_pos.get(um)) {
-                                m_align.put(um, vk);
-                                m_root.put(vk, m_root.get(um));
-                                m_align.put(vk, m_root.get(vk));
-                                r = m_pos.get(um);
+                        if (m_align[vk] == vk) {
+                            int um = adj[start + m];
+                            if (!m_marked[start + m] && r > m_lg.pos(um)) {
+                                align(um, vk);
+                                r = m_lg.pos(um);
                             }
                         }
                     }
@@ -355,24 +333,23 @@ private void horizontalAlignmentLeftBottommost() {
      * fashion.
      */
     private void horizontalAlignmentRightTopmost() {
-        for (int i = m_layers.size() - 1; i >= 0; i--) {
+        final int[] adj = m_lg.nextAdj();
+        for (int i = m_lg.layerCount() - 1; i >= 0; i--) {
             int r = -1;
-            for (int k = 0; k < m_layers.get(i).size(); k++) {
-                Node vk = m_layers.get(i).get(k);
-                ArrayList<Node> neighbors = getNeighbors(vk, false);
-                if (!neighbors.isEmpty()) {
-                    int d = neighbors.size();
-                    int m1 = (int)Math.floor((d + 1) / 2.0) - 1;
-                    int m2 = (int)Math.ceil((d + 1) / 2.0) - 1;
+            final int[] layer = m_lg.layer(i);
+            for (int k = 0; k < layer.length; k++) {
+                int vk = layer[k];
+                int start = m_lg.nextStart(vk);
+                int d = m_lg.nextEnd(vk) - start;
+                if (d > 0) {
+                    int m1 = (d + 1) / 2 - 1;
+                    int m2 = d / 2;
                     for (int m = m1; m <= m2; m++) {
-                        if (m_align.get(vk) == vk) {
-                            Node um = neighbors.get(m);
-                            if (!m_marked.get(um.getEdge(vk))
-                                    && r < m_pos.get(um)) {
-                                m_align.put(um, vk);
-                                m_root.put(vk, m_root.get(um));
-                                m_align.put(vk, m_root.get(vk));
-                                r = m_pos.get(um);
+                        if (m_align[vk] == vk) {
+                            int um = adj[start + m];
+                            if (!isMarked(vk, um) && r < m_lg.pos(um)) {
+                                align(um, vk);
+                                r = m_lg.pos(um);
                             }
                         }
                     }
@@ -387,24 +364,23 @@ private void horizontalAlignmentRightTopmost() {
      * fashion.
      */
     private void horizontalAlignmentRightBottommost() {
-        for (int i = m_layers.size() - 1; i >= 0; i--) {
-            int r = m_layers.size();
-            for (int k = m_layers.get(i).size() - 1; k >= 0; k--) {
-                Node vk = m_layers.get(i).get(k);
-                ArrayList<Node> neighbors = getNeighbors(vk, false);
-                if (!neighbors.isEmpty()) {
-                    int d = neighbors.size();
-                    int m1 = (int)Math.floor((d + 1) / 2.0) - 1;
-                    int m2 = (int)Math.ceil((d + 1) / 2.0) - 1;
+        final int[] adj = m_lg.nextAdj();
+        for (int i = m_lg.layerCount() - 1; i >= 0; i--) {
+            int r = m_lg.layerCount();
+            final int[] layer = m_lg.layer(i);
+            for (int k = layer.length - 1; k >= 0; k--) {
+                int vk = layer[k];
+                int start = m_lg.nextStart(vk);
+                int d = m_lg.nextEnd(vk) - start;
+                if (d > 0) {
+                    int m1 = (d + 1) / 2 - 1;
+                    int m2 = d / 2;
                     for (int m = m2; m >= m1; m--) {
-                        if (m_align.get(vk) == vk) {
-                            Node um = neighbors.get(m);
-                            if (!m_marked.get(um.getEdge(vk))
-                                    && r > m_pos.get(um)) {
-                                m_align.put(um, vk);
-                                m_root.put(vk, m_root.get(um));
-                                m_align.put(vk, m_root.get(vk));
-                                r = m_pos.get(um);
+                        if (m_align[vk] == vk) {
+                            int um = adj[start + m];
+                            if (!isMarked(vk, um) && r > m_lg.pos(um)) {
+                                align(um, vk);
+                                r = m_lg.pos(um);
                             }
                         }
                     }
@@ -415,27 +391,12 @@ private void horizontalAlignmentRightBottommost() {
     }
 
     /**
-     * get either left or right neighbors of a node, sorted by their current
-     * y-coordinate.
-     *
-     * @param n
-     * @param left true if left neighbors should be returned, false otherwise
-     * @return
+     * aligns node vk with its median neighbor um.
      */
-    private ArrayList<Node> getNeighbors(final Node n, final boolean left) {
-        ArrayList<Node> neighbors = new ArrayList<Graph.Node>();
-        Iterable<Edge> incidentEdges;
-        if (left) {
-            incidentEdges = m_g.inEdges(n);
-        } else {
-            incidentEdges = m_g.outEdges(n);
-        }
-        for (Edge e : incidentEdges) {
-            neighbors.add(e.opposite(n));
-        }
-        // sort by order in layer
-        Collections.sort(neighbors, new Util.NodeByYComparator(m_g));
-        return neighbors;
+    private void align(final int um, final int vk) {
+        m_align[um] = vk;
+        m_root[vk] = m_root[um];
+        m_align[vk] = m_root[vk];
     }
 
     /*
@@ -447,17 +408,18 @@ private ArrayList<Node> getNeighbors(final Node n, final boolean left) {
      * offsets.
      */
     private void verticalCompaction() {
-        for (Node v : m_g.nodes()) {
-            if (m_root.get(v) == v) {
+        final int n = m_lg.n();
+        for (int v = 0; v < n; v++) {
+            if (m_root[v] == v) {
                 placeBlock(v);
             }
         }
-        for (Node v : m_g.nodes()) {
-            double y = m_y.get(m_root.get(v)).doubleValue();
-            m_y.put(v, y);
-            double shift = m_shift.get(m_sink.get(m_root.get(v))).doubleValue();
+        for (int v = 0; v < n; v++) {
+            double y = m_y[m_root[v]];
+            m_y[v] = y;
+            double shift = m_shift[m_sink[m_root[v]]];
             if (shift < Double.POSITIVE_INFINITY) {
-                m_y.put(v, y + shift);
+                m_y[v] = y + shift;
             }
         }
 
@@ -468,27 +430,26 @@ private void verticalCompaction() {
      *
      * @param v
      */
-    private void placeBlock(final Node v) {
-        if (m_y.get(v).equals(Double.NaN)) {
-            m_y.put(v, 0.0);
-            Node w = v;
+    private void placeBlock(final int v) {
+        if (Double.isNaN(m_y[v])) {
+            m_y[v] = 0.0;
+            int w = v;
             do {
-                if (m_pos.get(w) > 0) {
-                    Node u = m_root.get(m_pred.get(w));
+                int pos = m_lg.pos(w);
+                if (pos > 0) {
+                    int pred = m_lg.layer(m_lg.layerOf(w))[pos - 1];
+                    int u = m_root[pred];
                     placeBlock(u);
-                    if (m_sink.get(v) == v) {
-                        m_sink.put(v, m_sink.get(u));
+                    if (m_sink[v] == v) {
+                        m_sink[v] = m_sink[u];
                     }
-                    if (m_sink.get(v) != m_sink.get(u)) {
-                        double shiftSinkU =
-                                Math.min(m_shift.get(m_sink.get(u)), m_y.get(v)
-                                        - m_y.get(u) - DELTA);
-                        m_shift.put(m_sink.get(u), shiftSinkU);
+                    if (m_sink[v] != m_sink[u]) {
+                        m_shift[m_sink[u]] = Math.min(m_shift[m_sink[u]], m_y[v] - m_y[u] - DELTA);
                     } else {
-                        m_y.put(v, Math.max(m_y.get(v), m_y.get(u) + DELTA));
+                        m_y[v] = Math.max(m_y[v], m_y[u] + DELTA);
                     }
                 }
-                w = m_align.get(w);
+                w = m_align[w];
             } while (w != v);
         }
 
@@ -504,43 +465,21 @@ private void placeBlock(final Node v) {
     private void balance() {
         // align to smallest height layout would come here
         // BUT it is not needed here in my opinion.
-        double[] height = new double[4];
-        height[0] = getHeight(m_yLT);
-        height[1] = getHeight(m_yLB);
-        height[2] = getHeight(m_yRT);
-        height[3] = getHeight(m_yRB);
-        // .... perform alignment ....
 
         // average median
-        for (Node n : m_g.nodes()) {
-            double[] y = new double[4];
-            y[0] = m_yLT.get(n);
-            y[1] = m_yLB.get(n);
-            y[2] = m_yRT.get(n);
-            y[3] = m_yRB.get(n);
+        double[] y = new double[4];
+        for (int v = 0; v < m_lg.n(); v++) {
+            y[0] = m_yLT[v];
+            y[1] = m_yLB[v];
+            y[2] = m_yRT[v];
+            y[3] = m_yRB[v];
             Arrays.sort(y);
             if (m_balanceBranching) {
-                m_y.put(n, (y[1] + y[2]) / 2);
+                m_y[v] = (y[1] + y[2]) / 2;
             } else {
-                m_y.put(n, y[1]);
+                m_y[v] = y[1];
             }
         }
 
     }
-
-    /**
-     * get maximal height difference of coordinates given in y.
-     *
-     * @param y
-     * @return
-     */
-    private double getHeight(final HashMap<Node, Double> y) {
-        double max = 0;
-        double min = Double.POSITIVE_INFINITY;
-        for (Node n : m_g.nodes()) {
-            max = Math.max(max, y.get(n));
-            min = Math.min(min, y.get(n));
-        }
-        return max - min;
-    }
 }
@@ -0,0 +1,102 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.workbench.ui.layout.preferences;
+
+import org.eclipse.core.runtime.preferences.AbstractPreferenceInitializer;
+import org.eclipse.core.runtime.preferences.DefaultScope;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.osgi.framework.FrameworkUtil;
+
+/**
+ * Initializer for the auto layout preferences.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 4.5
+ */
+public class LayoutPreferenceInitializer extends AbstractPreferenceInitializer {
+
+    /**
+     * Preference key for the number of crossing minimization attempts of the auto layout.
+     */
+    public static final String P_CROSSING_MINIMIZATION_ATTEMPTS = "crossing_minimization_attempts";
+
+    /**
+     * Preference key for the maximum number of crossing minimization attempts running in parallel, 0 for the number
+     * of available processors.
+     */
+    public static final String P_CROSSING_MINIMIZATION_PARALLELISM = "crossing_minimization_parallelism";
+
+    /**
+     * Preference key for the time budget of the crossing minimization in milliseconds, 0 for no limit.
+     */
+    public static final String P_CROSSING_MINIMIZATION_TIME_BUDGET = "crossing_minimization_time_budget";
+
+    /**
+     * Preference key for the automatic layout of nodes inserted via quick insertion or the workflow coach.
+     */
+    public static final String P_AUTO_LAYOUT_INSERTED_NODES = "auto_layout_inserted_nodes";
+
+    /**
+     * Default number of crossing minimization attempts.
+     */
+    public static final int DEFAULT_ATTEMPTS = 8;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void initializeDefaultPreferences() {
+        IEclipsePreferences prefs =
+            DefaultScope.INSTANCE.getNode(FrameworkUtil.getBundle(getClass()).getSymbolicName());
+        prefs.putBoolean(P_AUTO_LAYOUT_INSERTED_NODES, false);
+        prefs.putInt(P_CROSSING_MINIMIZATION_ATTEMPTS, DEFAULT_ATTEMPTS);
+        prefs.putInt(P_CROSSING_MINIMIZATION_PARALLELISM, 0);
+        // no time budget by default, the layout must not depend on the speed of the machine
+        prefs.putInt(P_CROSSING_MINIMIZATION_TIME_BUDGET, 0);
+    }
+}
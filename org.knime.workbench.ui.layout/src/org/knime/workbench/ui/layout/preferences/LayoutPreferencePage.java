@@ -0,0 +1,114 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.workbench.ui.layout.preferences;
+
+import org.eclipse.jface.preference.BooleanFieldEditor;
+import org.eclipse.jface.preference.FieldEditorPreferencePage;
+import org.eclipse.jface.preference.IntegerFieldEditor;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.ui.IWorkbench;
+import org.eclipse.ui.IWorkbenchPreferencePage;
+import org.knime.workbench.ui.layout.Activator;
+
+/**
+ * Preference page for the auto layout of workflows.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 4.5
+ */
+public class LayoutPreferencePage extends FieldEditorPreferencePage implements IWorkbenchPreferencePage {
+
+    /**
+     * Constructor.
+     */
+    public LayoutPreferencePage() {
+        super(GRID);
+        setDescription("The auto layout tries several initial placements of the nodes and keeps the one with the "
+            + "fewest crossing connections.\nWith a time budget the layout may differ from run to run, depending on "
+            + "the speed of the machine.");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void createFieldEditors() {
+        final Composite parent = getFieldEditorParent();
+
+        addField(new BooleanFieldEditor(LayoutPreferenceInitializer.P_AUTO_LAYOUT_INSERTED_NODES,
+            "Arrange nodes inserted from the node repository or the workflow coach", parent));
+
+        final IntegerFieldEditor attempts = new IntegerFieldEditor(
+            LayoutPreferenceInitializer.P_CROSSING_MINIMIZATION_ATTEMPTS, "Number of placements tried:", parent);
+        attempts.setValidRange(1, 64);
+        attempts.setTextLimit(2);
+        addField(attempts);
+
+        final IntegerFieldEditor parallelism =
+            new IntegerFieldEditor(LayoutPreferenceInitializer.P_CROSSING_MINIMIZATION_PARALLELISM,
+                "Placements tried in parallel (0 = number of processors):", parent);
+        parallelism.setValidRange(0, 256);
+        parallelism.setTextLimit(3);
+        addField(parallelism);
+
+        final IntegerFieldEditor timeBudget =
+            new IntegerFieldEditor(LayoutPreferenceInitializer.P_CROSSING_MINIMIZATION_TIME_BUDGET,
+                "Time budget in milliseconds (0 = no limit):", parent);
+        timeBudget.setValidRange(0, 60000);
+        timeBudget.setTextLimit(5);
+        addField(timeBudget);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void init(final IWorkbench workbench) {
+        setPreferenceStore(Activator.getDefault().getPreferenceStore());
+    }
+}
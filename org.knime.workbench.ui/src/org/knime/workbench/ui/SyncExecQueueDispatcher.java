@@ -47,11 +47,15 @@
  */
 package org.knime.workbench.ui;
 
-import java.lang.Thread.UncaughtExceptionHandler;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.swt.widgets.Display;
 import org.knime.core.node.NodeLogger;
@@ -70,9 +74,17 @@
  * There are three expensive operations: a static synchronization, the memory
  * allocation for the new array, and the array copy.
  *
- * <p>This class uses a {@link java.util.concurrent.ThreadPoolExecutor} to
- * queue runnables (which are then processed using
- * {@link Display#syncExec(Runnable)}.
+ * <p>This class queues runnables in a lock-free queue. Whenever the queue
+ * becomes non-empty a single {@link Display#asyncExec(Runnable)} is posted
+ * which processes all runnables queued until then as one batch in the UI
+ * thread, in the order in which they were queued. Runnables queued while a
+ * batch is processed are executed with the next batch. Neither the calling
+ * threads nor a dispatcher thread are blocked.
+ *
+ * <p>Runnables may be queued with a coalescing key (see
+ * {@link #coalescingKey(Object, Object)}). If a runnable with the same key is
+ * still pending, it is dropped in favor of the new one, e.g. repeated "mark
+ * dirty" or "refresh node" requests are only executed once.
  *
  * <p>The use of this class fixes bug #1551 (NodeFigure update events block UI),
  * i.e. the update events that are sent by a looping workflow block the UI.
@@ -84,53 +96,269 @@ public final class SyncExecQueueDispatcher {
     private static final NodeLogger LOGGER =
         NodeLogger.getLogger(SyncExecQueueDispatcher.class);
 
-    private static final ExecutorService EXECUTOR =
-        Executors.newSingleThreadExecutor(new ThreadFactory() {
-            private AtomicInteger m_threadCounter = new AtomicInteger();
-            @Override
-            public Thread newThread(final Runnable r) {
-                Thread t = new Thread(r, "KNIME Sync Exec Dispatcher-"
-                        + m_threadCounter.incrementAndGet());
-                t.setUncaughtExceptionHandler(new UncaughtExceptionHandler() {
-                    @Override
-                    public void uncaughtException(
-                            final Thread thread, final Throwable e) {
-                        LOGGER.error("Uncaught exception while queuing events "
-                                + "into main thread", e);
-                    }
-                });
-                t.setDaemon(true);
-                return t;
-            }
-        });
+    /** Maximum time in ms a batch may occupy the UI thread before the
+     * remaining runnables are deferred to the next batch. */
+    private static final long MAX_BATCH_TIME = 100;
+
+    private static final Queue<Task> QUEUE = new ConcurrentLinkedQueue<>();
+
+    private static final AtomicInteger QUEUE_LENGTH = new AtomicInteger();
+
+    private static final Map<Object, Task> PENDING_KEYS =
+        new ConcurrentHashMap<>();
+
+    private static final AtomicBoolean BATCH_SCHEDULED = new AtomicBoolean();
+
+    private static final Runnable BATCH = SyncExecQueueDispatcher::runBatch;
+
+    private static final AtomicLong BATCH_COUNT = new AtomicLong();
+
+    private static final AtomicLong EXECUTED_COUNT = new AtomicLong();
+
+    private static final AtomicLong COALESCED_COUNT = new AtomicLong();
 
-    /** Queues a runnable in a local {@link ExecutorService}, that will hand off
-     * the runnable to the {@link Display#getDefault()} using the
-     * {@link Display#syncExec(Runnable)} method.
+    private static final AtomicLong TOTAL_BATCH_TIME = new AtomicLong();
+
+    private static volatile int maxQueueLength;
+
+    private static volatile int maxBatchSize;
+
+    private static volatile long maxBatchTime;
+
+    /** Queues a runnable that will be executed in the UI thread of
+     * {@link Display#getDefault()} with the next batch.
      * @param runnable the runnable to be processed.
      */
     public static void asyncExec(final Runnable runnable) {
+        asyncExec(null, runnable);
+    }
+
+    /** Queues a runnable that will be executed in the UI thread of
+     * {@link Display#getDefault()} with the next batch. If a runnable with an
+     * equal coalescing key is still pending it will not be executed.
+     * @param coalescingKey the key, <code>null</code> if the runnable must not
+     *            be coalesced with others
+     * @param runnable the runnable to be processed.
+     * @since 4.5
+     */
+    public static void asyncExec(final Object coalescingKey,
+            final Runnable runnable) {
         if (runnable == null) {
             LOGGER.coding("Can't execute null runnable.");
             return;
         }
-        EXECUTOR.execute(new Runnable() {
-            @Override
-            public void run() {
-                Display display = Display.getDefault();
-                if (!display.isDisposed()) {
-                    display.syncExec(runnable);
-                } else {
-                    LOGGER.error("Ignoring async execution of runnable "
-                            + "(full class name \""
-                            + runnable.getClass().getName()
-                            + "\" since device is disposed.");
-                }
+        final Task task = new Task(coalescingKey, runnable);
+        if (coalescingKey != null) {
+            final Task previous = PENDING_KEYS.put(coalescingKey, task);
+            if (previous != null && previous.m_replaced.compareAndSet(false,
+                    true)) {
+                COALESCED_COUNT.incrementAndGet();
+            }
+        }
+        QUEUE.add(task);
+        final int length = QUEUE_LENGTH.incrementAndGet();
+        if (length > maxQueueLength) {
+            maxQueueLength = length;
+        }
+        scheduleBatch();
+    }
+
+    /**
+     * Creates a coalescing key for runnables that update the given item on
+     * behalf of the given source. Sources are compared by identity, items
+     * using {@link Object#equals(Object)}.
+     *
+     * @param source the source of the runnable, e.g. an editor or view
+     * @param item the item that is updated, e.g. a node id or a property
+     * @return a new key
+     * @since 4.5
+     */
+    public static Object coalescingKey(final Object source, final Object item) {
+        return new Key(source, item);
+    }
+
+    private static void scheduleBatch() {
+        if (!BATCH_SCHEDULED.compareAndSet(false, true)) {
+            return;
+        }
+        Display display = Display.getDefault();
+        if (!display.isDisposed()) {
+            try {
+                display.asyncExec(BATCH);
+                return;
+            } catch (RuntimeException e) {
+                // disposed in the meantime, handled below
+            }
+        }
+        BATCH_SCHEDULED.set(false);
+        Task task;
+        while ((task = QUEUE.poll()) != null) {
+            QUEUE_LENGTH.decrementAndGet();
+            LOGGER.error("Ignoring async execution of runnable "
+                    + "(full class name \""
+                    + task.m_runnable.getClass().getName()
+                    + "\" since device is disposed.");
+        }
+    }
+
+    /** Executes all runnables queued so far, called in the UI thread. */
+    private static void runBatch() {
+        // runnables queued from now on need a new batch (unless this one
+        // takes too long and is continued)
+        BATCH_SCHEDULED.set(false);
+        final long start = System.nanoTime();
+        final long deadline = start
+            + TimeUnit.MILLISECONDS.toNanos(MAX_BATCH_TIME);
+        // runnables queued by runnables of this batch go into the next one
+        int remaining = QUEUE_LENGTH.get();
+        int executed = 0;
+        Task task;
+        while (remaining-- > 0 && (task = QUEUE.poll()) != null) {
+            QUEUE_LENGTH.decrementAndGet();
+            if (task.m_key != null) {
+                PENDING_KEYS.remove(task.m_key, task);
+            }
+            if (task.m_replaced.get()) {
+                continue;
+            }
+            executed++;
+            try {
+                task.m_runnable.run();
+            } catch (Throwable e) {
+                LOGGER.error("Uncaught exception while executing queued "
+                        + "event in main thread", e);
             }
-        });
+            if (System.nanoTime() > deadline) {
+                break;
+            }
+        }
+        final long duration = System.nanoTime() - start;
+        BATCH_COUNT.incrementAndGet();
+        EXECUTED_COUNT.addAndGet(executed);
+        TOTAL_BATCH_TIME.addAndGet(duration);
+        if (executed > maxBatchSize) {
+            maxBatchSize = executed;
+        }
+        if (duration > maxBatchTime) {
+            maxBatchTime = duration;
+        }
+        if (TimeUnit.NANOSECONDS.toMillis(duration) > MAX_BATCH_TIME) {
+            LOGGER.debug("Executing " + executed + " queued runnables took "
+                + TimeUnit.NANOSECONDS.toMillis(duration) + "ms, "
+                + QUEUE_LENGTH.get() + " remaining");
+        }
+        if (!QUEUE.isEmpty()) {
+            scheduleBatch();
+        }
+    }
+
+    /**
+     * @return the number of currently queued runnables (including coalesced
+     *         ones that will be skipped)
+     * @since 4.5
+     */
+    public static int getQueueLength() {
+        return QUEUE_LENGTH.get();
+    }
+
+    /**
+     * @return the maximum queue length observed so far
+     * @since 4.5
+     */
+    public static int getMaxQueueLength() {
+        return maxQueueLength;
+    }
+
+    /**
+     * @return the number of batches executed so far
+     * @since 4.5
+     */
+    public static long getBatchCount() {
+        return BATCH_COUNT.get();
+    }
+
+    /**
+     * @return the number of runnables executed so far
+     * @since 4.5
+     */
+    public static long getExecutedCount() {
+        return EXECUTED_COUNT.get();
+    }
+
+    /**
+     * @return the number of runnables that were dropped because a later
+     *         runnable with the same coalescing key was queued
+     * @since 4.5
+     */
+    public static long getCoalescedCount() {
+        return COALESCED_COUNT.get();
+    }
+
+    /**
+     * @return the maximum number of runnables executed in one batch
+     * @since 4.5
+     */
+    public static int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * @return the average time in nanoseconds a batch occupied the UI thread
+     * @since 4.5
+     */
+    public static long getAverageBatchTime() {
+        final long batches = BATCH_COUNT.get();
+        return batches == 0 ? 0 : TOTAL_BATCH_TIME.get() / batches;
+    }
+
+    /**
+     * @return the maximum time in nanoseconds a batch occupied the UI thread
+     * @since 4.5
+     */
+    public static long getMaxBatchTime() {
+        return maxBatchTime;
     }
 
     private SyncExecQueueDispatcher() {
     }
 
+    private static final class Task {
+        private final Object m_key;
+
+        private final Runnable m_runnable;
+
+        private final AtomicBoolean m_replaced = new AtomicBoolean();
+
+        Task(final Object key, final Runnable runnable) {
+            m_key = key;
+            m_runnable = runnable;
+        }
+    }
+
+    private static final class Key {
+        private final Object m_source;
+
+        private final Object m_item;
+
+        Key(final Object source, final Object item) {
+            m_source = source;
+            m_item = item;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(m_source)
+                + Objects.hashCode(m_item);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key)obj;
+            return m_source == other.m_source
+                && Objects.equals(m_item, other.m_item);
+        }
+    }
 }
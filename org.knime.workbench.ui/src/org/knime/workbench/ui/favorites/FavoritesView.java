@@ -152,7 +152,7 @@ public void doubleClick(final DoubleClickEvent event) {
                     } catch (Exception e) {
                         NodeLogger.getLogger(FavoritesView.class).error(
                                 "Unable to instantiate the selected node "
-                                + tmplt.getFactory().getName(), e);
+                                + tmplt.getID(), e);
                         return;
                     }
                     boolean added = NodeProvider.INSTANCE.addNode(nodeFact);
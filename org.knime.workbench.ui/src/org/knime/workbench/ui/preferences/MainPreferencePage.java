@@ -76,6 +76,8 @@ public class MainPreferencePage extends FieldEditorPreferencePage
 
     private RadioGroupFieldEditor m_consoleLogEditor;
 
+    private IntegerFieldEditor m_consoleSizeEditor;
+
     private IntegerFieldEditor m_autoSaveIntervalEditor;
     private BooleanFieldEditor m_autoSaveWithDataEditor;
 
@@ -107,6 +109,11 @@ public void createFieldEditors() {
                 }, parent);
         addField(m_consoleLogEditor);
 
+        m_consoleSizeEditor = new IntegerFieldEditor(KNIMECorePlugin.P_CONSOLE_MAX_SIZE,
+            "Maximum console size (in characters, 0 for unlimited)", parent, 9);
+        m_consoleSizeEditor.setValidRange(0, Integer.MAX_VALUE);
+        addField(m_consoleSizeEditor);
+
         addField(new HorizontalLineField(parent));
         addField(new BooleanFieldEditor(PreferenceConstants.P_CONFIRM_RESET,
                 "Confirm Node Reset", parent));
@@ -208,6 +215,8 @@ protected void initialize() {
         super.initialize();
         m_consoleLogEditor.setPreferenceStore(KNIMECorePlugin.getDefault().getPreferenceStore());
         m_consoleLogEditor.load();
+        m_consoleSizeEditor.setPreferenceStore(KNIMECorePlugin.getDefault().getPreferenceStore());
+        m_consoleSizeEditor.load();
     }
 
     /** {@inheritDoc} */
@@ -216,5 +225,7 @@ protected void performDefaults() {
         super.performDefaults();
         m_consoleLogEditor.setPreferenceStore(KNIMECorePlugin.getDefault().getPreferenceStore());
         m_consoleLogEditor.loadDefault();
+        m_consoleSizeEditor.setPreferenceStore(KNIMECorePlugin.getDefault().getPreferenceStore());
+        m_consoleSizeEditor.loadDefault();
     }
 }
@@ -49,15 +49,19 @@
 package org.knime.workbench.workflowcoach;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.Set;
-import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
@@ -67,16 +71,14 @@
 import org.eclipse.core.runtime.preferences.DefaultScope;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences.IPreferenceChangeListener;
 import org.eclipse.core.runtime.preferences.InstanceScope;
-import org.knime.core.node.NodeFactory.NodeType;
-import org.knime.core.node.NodeInfo;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.NodeTriple;
 import org.knime.core.node.workflow.ConnectionContainer.ConnectionType;
 import org.knime.core.ui.node.workflow.ConnectionContainerUI;
 import org.knime.core.ui.node.workflow.NativeNodeContainerUI;
 import org.knime.core.ui.node.workflow.NodeContainerUI;
-import org.knime.workbench.repository.RepositoryManager;
 import org.knime.workbench.repository.model.NodeTemplate;
+import org.knime.workbench.workflowcoach.NodeRecommendationStatistics.Candidates;
 import org.knime.workbench.workflowcoach.data.NodeTripleProvider;
 import org.knime.workbench.workflowcoach.data.NodeTripleProviderFactory;
 import org.knime.workbench.workflowcoach.data.UpdatableNodeTripleProvider;
@@ -106,17 +108,30 @@ public interface IUpdateListener {
 
     private static final NodeLogger LOGGER = NodeLogger.getLogger(NodeRecommendationManager.class);
 
-    private static final String SOURCE_NODES_KEY = "<source_nodes>";
-
     private static final String NODE_NAME_SEP = "#";
 
     private static final String TRIPLE_PROVIDER_EXTENSION_POINT_ID = "org.knime.workbench.workflowcoach.nodetriples";
 
+    /** The number of recommendation contexts to cache. */
+    private static final int CACHE_SIZE = 32;
+
     private static final NodeRecommendationManager INSTANCE = new NodeRecommendationManager();
 
     private final List<IUpdateListener> m_listeners = new ArrayList<>(1);
 
-    private List<Map<String, List<NodeRecommendation>>> m_recommendations;
+    private List<NodeRecommendationStatistics> m_recommendations;
+
+    /**
+     * Recently determined recommendations by their context (LRU), see
+     * {@link #getNodeRecommendationFor(int, NativeNodeContainerUI...)}.
+     */
+    private final Map<List<Object>, List<NodeRecommendation>[]> m_cache =
+        new LinkedHashMap<List<Object>, List<NodeRecommendation>[]>(CACHE_SIZE, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<List<Object>, List<NodeRecommendation>[]> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        };
 
 
     static {
@@ -179,74 +194,76 @@ public void removeUpdateListener(final IUpdateListener listener) {
     public void loadRecommendations() throws Exception {
         //read from multiple frequency sources
         List<NodeTripleProvider> providers = getNodeTripleProviders();
-        List<Map<String, List<NodeRecommendation>>> recommendations = new ArrayList<>(providers.size());
+        List<NodeRecommendationStatistics> recommendations = new ArrayList<>(providers.size());
 
         for (NodeTripleProvider provider : providers) {
             if (provider.isEnabled() && !updateRequired(provider)) {
-                Map<String, List<NodeRecommendation>> recommendationMap = new HashMap<>();
-                recommendations.add(recommendationMap);
-
-                provider.getNodeTriples().forEach(nf -> fillRecommendationsMap(recommendationMap, nf));
-
-                //aggregate multiple occurring id's
-                //but apply a different aggregation method to source nodes
-                BiConsumer<NodeRecommendation, NodeRecommendation> avgAggr = (np1, np2) -> {
-                    np1.increaseFrequency(np2.getFrequency(), 1);
-                };
-                BiConsumer<NodeRecommendation, NodeRecommendation> sumAggr = (np1, np2) -> {
-                    np1.increaseFrequency(np2.getFrequency(), 0);
-                };
-                recommendationMap.keySet().stream().forEach(s -> {
-                    if (s.equals(SOURCE_NODES_KEY)) {
-                        aggregate(recommendationMap.get(s), sumAggr);
-                    } else {
-                        aggregate(recommendationMap.get(s), avgAggr);
-                    }
-                });
+                recommendations.add(new NodeRecommendationStatistics(provider, provider.getNodeTripleStore()));
             }
         } //end for
 
-        m_recommendations = recommendations;
-        m_listeners.stream().forEach(l -> l.updated());
+        setRecommendations(recommendations);
     }
 
-    private static void fillRecommendationsMap(final Map<String, List<NodeRecommendation>> recommendationMap,
-        final NodeTriple nf) {
-        /* considering the successor only, i.e. for all entries where the predecessor and the node
-         * itself is not present
-         */
-        if (!nf.getNode().isPresent() && !nf.getPredecessor().isPresent() && isSourceNode(nf.getSuccessor())) {
-            add(recommendationMap, SOURCE_NODES_KEY, nf.getSuccessor(), nf.getCount());
+    /**
+     * Updates the loaded recommendations after the node triple providers have been updated. The deltas of providers
+     * that support them (see {@link UpdatableNodeTripleProvider#getNodeTripleDelta()}) are folded into the loaded
+     * statistics, the statistics of all other providers are read again. If no recommendations are loaded yet or the
+     * set of enabled providers has changed since they have been loaded, they are loaded completely.
+     *
+     * @throws Exception if something went wrong while loading the statistics (e.g. a corrupt file)
+     * @since 4.5
+     */
+    public void updateRecommendations() throws Exception {
+        final List<NodeRecommendationStatistics> current = m_recommendations;
+        if (current == null || !getLoadedProviderKeys(current).equals(getUsableProviderKeys())) {
+            loadRecommendations();
+            return;
         }
-
-        /* considering the the node itself as successor, but only for those nodes that don't have a
-         * predecessor -> source nodes, i.e. nodes without an input port
-         */
-        if (!nf.getPredecessor().isPresent() && nf.getNode().isPresent() && isSourceNode(nf.getNode().get())) {
-            add(recommendationMap, SOURCE_NODES_KEY, nf.getNode().get(), nf.getCount());
+        List<NodeRecommendationStatistics> recommendations = new ArrayList<>(current.size());
+        List<UpdatableNodeTripleProvider> appliedDeltas = new ArrayList<>();
+        for (NodeRecommendationStatistics stats : current) {
+            NodeTripleProvider provider = stats.getProvider();
+            Optional<Stream<NodeTriple>> delta = (provider instanceof UpdatableNodeTripleProvider)
+                ? ((UpdatableNodeTripleProvider)provider).getNodeTripleDelta() : Optional.empty();
+            if (delta.isPresent()) {
+                try (Stream<NodeTriple> triples = delta.get()) {
+                    recommendations.add(stats.applyDelta(triples));
+                }
+                appliedDeltas.add((UpdatableNodeTripleProvider)provider);
+            } else {
+                recommendations.add(new NodeRecommendationStatistics(provider, provider.getNodeTripleStore()));
+            }
         }
 
-        /* without predecessor but with the node, if given*/
-        if (nf.getNode().isPresent()) {
-            add(recommendationMap, getKey(nf.getNode().get()), nf.getSuccessor(), nf.getCount());
-        }
+        setRecommendations(recommendations);
+        // only now the deltas are part of the recommendations, otherwise they are returned again by the next update
+        appliedDeltas.forEach(UpdatableNodeTripleProvider::nodeTripleDeltaApplied);
+    }
 
-        /* considering predecessor, if given */
-        if (nf.getPredecessor().isPresent() && nf.getNode().isPresent()) {
-            add(recommendationMap,
-                getKey(nf.getPredecessor().get()) + NODE_NAME_SEP + getKey(nf.getNode().get()),
-                nf.getSuccessor(), nf.getCount());
-        }
+    /**
+     * Providers are created anew by their factories on each call of {@link #getNodeTripleProviders()}, hence they are
+     * identified by their class and name.
+     */
+    private static String getProviderKey(final NodeTripleProvider provider) {
+        return provider.getClass().getName() + NODE_NAME_SEP + provider.getName();
     }
 
-    private static boolean isSourceNode(final NodeInfo ni) {
-        NodeTemplate nt = findNodeTemplate(ni);
-        try {
-            return (nt != null) && (nt.getType() == NodeType.Source);
-        } catch (Exception ex) {
-            LOGGER.warn("Could not create factory instance for " + ni.getFactory() + ": " + ex.getMessage(), ex);
-            return false;
+    private static Set<String> getLoadedProviderKeys(final List<NodeRecommendationStatistics> recommendations) {
+        return recommendations.stream().map(stats -> getProviderKey(stats.getProvider())).collect(Collectors.toSet());
+    }
+
+    private Set<String> getUsableProviderKeys() {
+        return getNodeTripleProviders().stream().filter(p -> p.isEnabled() && !updateRequired(p))
+            .map(NodeRecommendationManager::getProviderKey).collect(Collectors.toSet());
+    }
+
+    private void setRecommendations(final List<NodeRecommendationStatistics> recommendations) {
+        synchronized (m_cache) {
+            m_recommendations = recommendations;
+            m_cache.clear();
         }
+        m_listeners.stream().forEach(l -> l.updated());
     }
 
     /**
@@ -260,53 +277,6 @@ private static boolean updateRequired(final NodeTripleProvider ntp) {
         return (ntp instanceof UpdatableNodeTripleProvider) && ((UpdatableNodeTripleProvider)ntp).updateRequired();
     }
 
-    /**
-     * Adds a new node recommendation to the map.
-     */
-    private static void add(final Map<String, List<NodeRecommendation>> recommendation, final String key,
-        final NodeInfo ni, final int count) {
-        List<NodeRecommendation> p = recommendation.computeIfAbsent(key, k -> new ArrayList<>());
-        //create the new node recommendation
-        NodeTemplate nt = findNodeTemplate(ni);
-        if (nt != null) {
-            p.add(new NodeRecommendation(nt, count));
-        }
-    }
-
-    private static NodeTemplate findNodeTemplate(final NodeInfo ni) {
-        NodeTemplate nt = RepositoryManager.INSTANCE.getNodeTemplate(ni.getFactory());
-        if (nt == null) {
-            //the node to look for might be a dynamically generated node
-            //in that case the node template's id is <node factory-class name>#<node name>
-            nt = RepositoryManager.INSTANCE.getNodeTemplate(getKey(ni));
-        }
-        return nt;
-    }
-
-    /**
-     * Aggregates multiple occurring id's and takes the mean of the frequencies
-     *
-     * @param l the list is manipulated directly
-     * @param aggregationOperation the operation that aggregates the frequency of two node recommendations - important:
-     *            only the first node recommendation-object must be manipulated
-     */
-    private static void aggregate(final List<NodeRecommendation> l,
-        final BiConsumer<NodeRecommendation, NodeRecommendation> aggregationOperation) {
-        Map<String, NodeRecommendation> aggregates = new HashMap<>();
-
-        for (NodeRecommendation np : l) {
-            if (aggregates.containsKey(np.toString())) {
-                //aggregate
-                NodeRecommendation np2 = aggregates.get(np.toString());
-                aggregationOperation.accept(np2, np);
-            } else {
-                aggregates.put(np.toString(), np);
-            }
-        }
-        l.clear();
-        l.addAll(aggregates.values());
-    }
-
     /**
      * Determines lists of node recommendation based on the given nodes (e.g. that are selected in the workflow editor).
      * The {@link NodeRecommendation}s are determined based on the statistics of {@link NodeTriple}s (i.e. predecessor,
@@ -333,75 +303,224 @@ private static void aggregate(final List<NodeRecommendation> l,
      * @return an array of lists of node recommendations, i.e. a list of node recommendations for each used node
      *         {@link NodeTripleProvider}. It will return <code>null</code> if something went wrong with loading the
      *         node statistics!
+     * @see #getNodeRecommendationFor(int, NativeNodeContainerUI...)
      */
     public List<NodeRecommendation>[] getNodeRecommendationFor(final NativeNodeContainerUI... nnc) {
-        if (m_recommendations == null) {
+        return getNodeRecommendationFor(Integer.MAX_VALUE, nnc);
+    }
+
+    /**
+     * Determines the top node recommendations based on the given nodes, see
+     * {@link #getNodeRecommendationFor(NativeNodeContainerUI...)}. If more than one node is given, the frequencies of
+     * a node recommended for several of them are summed up, so that nodes that fit to the whole selection come first.
+     * The given nodes themselves are never recommended.
+     *
+     * The results are cached for the most recently requested contexts (the given nodes together with their
+     * predecessors) until the recommendations are loaded or updated again.
+     *
+     * @param maxCount the maximum number of recommendations per list; the total frequencies still refer to all
+     *            recommendations
+     * @param nnc if it's an empty array, source nodes only will be recommended
+     * @return an array of lists of node recommendations, i.e. a list for each used {@link NodeTripleProvider},
+     *         sorted by descending frequency. The caller may modify the array and the lists. It will return
+     *         <code>null</code> if something went wrong with loading the node statistics!
+     * @since 4.5
+     */
+    public List<NodeRecommendation>[] getNodeRecommendationFor(final int maxCount,
+        final NativeNodeContainerUI... nnc) {
+        final List<NodeRecommendationStatistics> recommendations = m_recommendations;
+        if (recommendations == null) {
             return null;
         }
+
+        final List<Object> cacheKey = new ArrayList<>(nnc.length + 1);
+        for (NativeNodeContainerUI n : nnc) {
+            cacheKey.add(NodeContext.of(n));
+        }
+        cacheKey.add(maxCount);
+        synchronized (m_cache) {
+            final List<NodeRecommendation>[] cached = m_cache.get(cacheKey);
+            if (cached != null) {
+                return copyOf(cached);
+            }
+        }
+
+        final List<NodeContext> contexts = new ArrayList<>(nnc.length);
+        final Set<String> selectedKeys = new HashSet<>();
+        for (int i = 0; i < nnc.length; i++) {
+            contexts.add((NodeContext)cacheKey.get(i));
+            selectedKeys.add(getKey(nnc[i]));
+        }
         @SuppressWarnings("unchecked")
-        List<NodeRecommendation>[] res = new List[m_recommendations.size()];
+        List<NodeRecommendation>[] res = new List[recommendations.size()];
         for (int idx = 0; idx < res.length; idx++) {
-            if (nnc.length == 0) {
+            NodeRecommendationStatistics stats = recommendations.get(idx);
+            List<NodeRecommendation> candidates;
+            if (contexts.isEmpty()) {
                 //recommendations if no node is given -> source nodes are recommended
-                res[idx] = m_recommendations.get(idx).get(SOURCE_NODES_KEY);
-                if (res[idx] == null) {
-                    res[idx] = Collections.emptyList();
-                }
-            } else if (nnc.length == 1) {
-                String nodeID = getKey(nnc[0]);
-                Set<NodeRecommendation> set = new HashSet<NodeRecommendationManager.NodeRecommendation>();
-
-                /* recommendations based on the given node and possible predecessors */
-                for (int i = 0; i < nnc[0].getNrInPorts(); i++) {
-                    ConnectionContainerUI cc = nnc[0].getParent().getIncomingConnectionFor(nnc[0].getID(), i);
-                    if (cc != null) {
-                        //only take the predecessor if its not leaving the workflow (e.g. the actual predecessor is outside of a metanode)
-                        if (cc.getType() != ConnectionType.WFMIN) {
-                            NodeContainerUI predecessor = nnc[0].getParent().getNodeContainer(cc.getSource());
-                            if (predecessor instanceof NativeNodeContainerUI) {
-                                List<NodeRecommendation> l = m_recommendations.get(idx)
-                                    .get(getKey((NativeNodeContainerUI)predecessor) + NODE_NAME_SEP + getKey(nnc[0]));
-                                if (l != null) {
-                                    set.addAll(l);
-                                }
-                            }
+                Candidates sources = new Candidates();
+                stats.addSourceRecommendations(sources);
+                candidates = sources.getList();
+            } else if (contexts.size() == 1) {
+                Candidates single = new Candidates();
+                addRecommendations(stats, contexts.get(0), single);
+                candidates = single.getList();
+            } else {
+                //sum up the frequencies of the recommendations for the single nodes
+                Map<NodeTemplate, NodeRecommendation> combined = new LinkedHashMap<>();
+                for (NodeContext context : contexts) {
+                    Candidates single = new Candidates();
+                    addRecommendations(stats, context, single);
+                    for (NodeRecommendation nr : single.getList()) {
+                        NodeRecommendation c = combined.get(nr.getNodeTemplate());
+                        if (c == null) {
+                            combined.put(nr.getNodeTemplate(),
+                                new NodeRecommendation(nr.getNodeTemplate(), nr.getFrequency()));
+                        } else {
+                            c.increaseFrequency(nr.getFrequency(), 0);
                         }
                     }
                 }
-
-                /* recommendation based on the given node only */
-                List<NodeRecommendation> p1 = m_recommendations.get(idx).get(nodeID);
-                if (p1 != null) {
-                    set.addAll(p1);
-                }
-
-                //add to the result list
-                res[idx] = new ArrayList<NodeRecommendationManager.NodeRecommendation>(set.size());
-                res[idx].addAll(set);
-            } else {
-                throw new UnsupportedOperationException(
-                    "Recommendations for more than one node are not supported, yet.");
+                candidates = new ArrayList<>(combined.values());
             }
 
             /* post-process result */
-            Collections.sort(res[idx]);
-            if (nnc.length == 1) {
-                //remove the node, the recommendations have bee requested for, from the list
-                //in order to match the nodes [NodeFactory]#[NodeName] needs to be compared, otherwise it won't work with dynamically generated nodes
-                res[idx] = res[idx].stream().filter(nr -> !getKey(nr.getNodeTemplate()).equals(getKey(nnc[0])))
-                    .collect(Collectors.toList());
+            //remove the nodes, the recommendations have bee requested for, from the list
+            //in order to match the nodes [NodeFactory]#[NodeName] needs to be compared, otherwise it won't work with dynamically generated nodes
+            if (!selectedKeys.isEmpty()) {
+                candidates.removeIf(nr -> selectedKeys.contains(getKey(nr.getNodeTemplate())));
             }
 
             //update the total frequencies
             int tmpFreqs = 0;
-            for (NodeRecommendation np : res[idx]) {
+            for (NodeRecommendation np : candidates) {
                 tmpFreqs += np.getFrequency();
             }
-            for (NodeRecommendation np : res[idx]) {
+            for (NodeRecommendation np : candidates) {
                 np.setTotalFrequency(tmpFreqs);
             }
+            res[idx] = Collections.unmodifiableList(getTop(candidates, maxCount));
+        }
+
+        synchronized (m_cache) {
+            //don't cache results of statistics that have been replaced in the meantime
+            if (recommendations == m_recommendations) {
+                m_cache.put(cacheKey, res);
+            }
+        }
+        return copyOf(res);
+    }
+
+    /** The cached lists are shared, callers get their own copies. */
+    private static List<NodeRecommendation>[] copyOf(final List<NodeRecommendation>[] recommendations) {
+        final List<NodeRecommendation>[] copy = recommendations.clone();
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = new ArrayList<>(copy[i]);
+        }
+        return copy;
+    }
+
+    private static void addRecommendations(final NodeRecommendationStatistics stats, final NodeContext context,
+        final Candidates result) {
+        int nodeID = stats.getNodeId(context.m_factory, context.m_name);
+        if (nodeID < 0) {
+            return;
+        }
+
+        /* recommendations based on the given node and possible predecessors */
+        for (NodeContext pred : context.m_predecessors) {
+            int predecessorID = stats.getNodeId(pred.m_factory, pred.m_name);
+            if (predecessorID >= 0) {
+                stats.addSuccessorRecommendations(predecessorID, nodeID, result);
+            }
+        }
+
+        /* recommendation based on the given node only */
+        stats.addSuccessorRecommendations(nodeID, result);
+    }
+
+    /**
+     * Selects the recommendations with the highest frequencies with a bounded heap instead of sorting all candidates.
+     * Recommendations with the same frequency keep their order.
+     *
+     * @param candidates the recommendations to select from
+     * @param maxCount the maximum number of recommendations to select
+     * @return the selected recommendations, sorted by descending frequency
+     */
+    static List<NodeRecommendation> getTop(final List<NodeRecommendation> candidates, final int maxCount) {
+        if (maxCount >= candidates.size()) {
+            Collections.sort(candidates);
+            return candidates;
+        }
+        //the head of the queue is the worst of the best recommendations found so far
+        final Comparator<Integer> worstFirst = Comparator
+            .comparingInt((Integer i) -> candidates.get(i).getFrequency()).thenComparing(Comparator.reverseOrder());
+        final PriorityQueue<Integer> top = new PriorityQueue<>(Math.max(maxCount, 0) + 1, worstFirst);
+        for (int i = 0; i < candidates.size(); i++) {
+            top.add(i);
+            if (top.size() > maxCount) {
+                top.poll();
+            }
+        }
+        final NodeRecommendation[] result = new NodeRecommendation[top.size()];
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = candidates.get(top.poll());
+        }
+        return Arrays.asList(result);
+    }
+
+    /**
+     * A node the recommendations are requested for together with its direct predecessors (which in turn have no
+     * predecessors). The triple statistics only cover one predecessor, so that is all the context that influences the
+     * recommendations.
+     */
+    private static final class NodeContext {
+        private final String m_factory;
+
+        private final String m_name;
+
+        private final List<NodeContext> m_predecessors;
+
+        private NodeContext(final String factory, final String name, final List<NodeContext> predecessors) {
+            m_factory = factory;
+            m_name = name;
+            m_predecessors = predecessors;
+        }
+
+        private static NodeContext of(final NativeNodeContainerUI nnc) {
+            List<NodeContext> predecessors = new ArrayList<>(nnc.getNrInPorts());
+            for (int i = 0; i < nnc.getNrInPorts(); i++) {
+                ConnectionContainerUI cc = nnc.getParent().getIncomingConnectionFor(nnc.getID(), i);
+                //only take the predecessor if its not leaving the workflow (e.g. the actual predecessor is outside of a metanode)
+                if ((cc != null) && (cc.getType() != ConnectionType.WFMIN)) {
+                    NodeContainerUI predecessor = nnc.getParent().getNodeContainer(cc.getSource());
+                    if (predecessor instanceof NativeNodeContainerUI) {
+                        NativeNodeContainerUI pred = (NativeNodeContainerUI)predecessor;
+                        predecessors.add(new NodeContext(pred.getNodeFactoryClassName(), pred.getName(),
+                            Collections.emptyList()));
+                    }
+                }
+            }
+            return new NodeContext(nnc.getNodeFactoryClassName(), nnc.getName(), predecessors);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(m_factory, m_name, m_predecessors);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof NodeContext)) {
+                return false;
+            }
+            NodeContext other = (NodeContext)obj;
+            return m_factory.equals(other.m_factory) && m_name.equals(other.m_name)
+                && m_predecessors.equals(other.m_predecessors);
         }
-        return res;
     }
 
     /**
@@ -426,11 +545,12 @@ private static String getKey(final NativeNodeContainerUI nnc) {
     }
 
     /**
-     * @param nt the node info to create the key for
-     * @return the key to be used to look up the node recommendations
+     * @param factory the node's factory class name
+     * @param name the node's name
+     * @return the key of a node, also used as ID of dynamically generated node templates
      */
-    private static String getKey(final NodeInfo ni) {
-        return ni.getFactory() + NODE_NAME_SEP + ni.getName();
+    static String getKey(final String factory, final String name) {
+        return factory + NODE_NAME_SEP + name;
     }
 
     /**
@@ -469,6 +589,18 @@ public static class NodeRecommendation implements Comparable<NodeRecommendation>
             m_totalFrequency = frequency;
         }
 
+        /**
+         * Creates a new node recommendation for the given node from aggregated frequencies.
+         *
+         * @param node the node
+         * @param frequencySum the sum of the aggregated frequencies
+         * @param num the number of aggregated frequencies, {@link #getFrequency()} returns their mean
+         */
+        NodeRecommendation(final NodeTemplate node, final int frequencySum, final int num) {
+            this(node, frequencySum);
+            m_num = num;
+        }
+
         /**
          * Returns the frequency (in percent), i.e. how often this node recommendation appears in a node triple or pair
          * (given by a {@link NodeTripleProvider}
@@ -500,7 +632,7 @@ private void setTotalFrequency(final int frequency) {
         /**
          * Increases the frequency by the given amount. Needed in order to aggregate frequencies of node recommendations
          * that recommend the same node (e.g. if the selected node only is taken into account and the predecessor
-         * ignored). See {@link NodeRecommendationManager#aggregate(List)}.
+         * ignored). See {@link NodeRecommendationStatistics}.
          *
          * @param freqIncrease the amount of how much to increase the frequency
          * @param countIncrease the amount the count should be increased by which the frequency is in the end divided by
@@ -508,7 +640,7 @@ private void setTotalFrequency(final int frequency) {
          *            mean is essentially taken when finally calling {@link #getFrequency()}. If 0 is passed every time,
          *            {@link #getFrequency()} will return sum of all frequencies provided here.
          */
-        private void increaseFrequency(final int freqIncrease, final int countIncrease) {
+        void increaseFrequency(final int freqIncrease, final int countIncrease) {
             m_frequency += freqIncrease;
             m_num += countIncrease;
         }
@@ -0,0 +1,309 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.workbench.workflowcoach;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.knime.core.node.NodeFactory.NodeType;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.NodeTriple;
+import org.knime.workbench.repository.RepositoryManager;
+import org.knime.workbench.repository.model.NodeTemplate;
+import org.knime.workbench.workflowcoach.NodeRecommendationManager.NodeRecommendation;
+import org.knime.workbench.workflowcoach.data.NodeTripleProvider;
+import org.knime.workbench.workflowcoach.data.NodeTripleStore;
+
+/**
+ * The node triple statistics of one provider, with the interned nodes resolved to the node templates of the
+ * repository. Creates the {@link NodeRecommendation}s directly from the primitive entries of the
+ * {@link NodeTripleStore}. Deltas are folded in via a {@link NodeTripleOverlay} without compiling the store again.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class NodeRecommendationStatistics {
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(NodeRecommendationStatistics.class);
+
+    private final NodeTripleProvider m_provider;
+
+    private final NodeTripleStore m_store;
+
+    /** The applied deltas, <code>null</code> if there are none. */
+    private final NodeTripleOverlay m_overlay;
+
+    /** Node templates by interned node ID, <code>null</code> if the node is not available in the repository. */
+    private final NodeTemplate[] m_templates;
+
+    NodeRecommendationStatistics(final NodeTripleProvider provider, final NodeTripleStore store) {
+        m_provider = provider;
+        m_store = store;
+        m_overlay = null;
+        m_templates = new NodeTemplate[store.getNodeCount()];
+        for (int i = 0; i < m_templates.length; i++) {
+            m_templates[i] = findNodeTemplate(store.getFactory(i), store.getNodeName(i));
+        }
+    }
+
+    private NodeRecommendationStatistics(final NodeRecommendationStatistics base, final NodeTripleOverlay overlay) {
+        m_provider = base.m_provider;
+        m_store = base.m_store;
+        m_overlay = overlay;
+        m_templates = Arrays.copyOf(base.m_templates, overlay.getNodeCount());
+        for (int i = base.m_templates.length; i < m_templates.length; i++) {
+            m_templates[i] = findNodeTemplate(overlay.getFactory(i), overlay.getNodeName(i));
+        }
+    }
+
+    /**
+     * @return the provider the statistics have been read from
+     */
+    NodeTripleProvider getProvider() {
+        return m_provider;
+    }
+
+    /**
+     * Creates new statistics with the given delta triples folded in. These statistics stay unchanged, so that they
+     * can still be queried while the delta is applied.
+     *
+     * @param delta the delta triples, see {@link NodeTripleOverlay#apply(NodeTriple)}
+     * @return the new statistics
+     */
+    NodeRecommendationStatistics applyDelta(final Stream<NodeTriple> delta) {
+        final NodeTripleOverlay overlay =
+            (m_overlay == null) ? new NodeTripleOverlay(m_store) : new NodeTripleOverlay(m_overlay);
+        delta.forEach(overlay::apply);
+        return new NodeRecommendationStatistics(this, overlay);
+    }
+
+    private static NodeTemplate findNodeTemplate(final String factory, final String name) {
+        NodeTemplate nt = RepositoryManager.INSTANCE.getNodeTemplate(factory);
+        if (nt == null) {
+            //the node to look for might be a dynamically generated node
+            //in that case the node template's id is <node factory-class name>#<node name>
+            nt = RepositoryManager.INSTANCE.getNodeTemplate(NodeRecommendationManager.getKey(factory, name));
+        }
+        return nt;
+    }
+
+    private static boolean isSourceNode(final NodeTemplate nt) {
+        try {
+            return (nt != null) && (nt.getType() == NodeType.Source);
+        } catch (Exception ex) {
+            LOGGER.warn("Could not determine the type of " + nt.getID() + ": " + ex.getMessage(), ex);
+            return false;
+        }
+    }
+
+    /**
+     * Returns the interned ID of a node.
+     *
+     * @param factory the node's factory class name
+     * @param name the node's name
+     * @return the ID or -1 if the node is not part of the statistics
+     */
+    int getNodeId(final String factory, final String name) {
+        return (m_overlay == null) ? m_store.getNodeId(factory, name) : m_overlay.getNodeId(factory, name);
+    }
+
+    /**
+     * Adds the recommended source nodes to the given list. The frequencies of all triples a node appears without a
+     * predecessor are summed up.
+     *
+     * @param result the list to add the recommendations to
+     */
+    void addSourceRecommendations(final Candidates result) {
+        final int listStart = result.size();
+        final Map<Integer, Integer> adjustments =
+            (m_overlay == null) ? null : m_overlay.getSourceAdjustments();
+        for (int i = 0; i < m_store.getSourceCount(); i++) {
+            final int node = m_store.getSourceNode(i);
+            int countSum = m_store.getSourceCountSum(i);
+            if (adjustments != null) {
+                countSum += adjustments.getOrDefault(node, 0);
+            }
+            addSource(result, listStart, node, countSum);
+        }
+        if (adjustments != null) {
+            adjustments.forEach((node, countSum) -> {
+                if (m_store.findSource(node) < 0) {
+                    addSource(result, listStart, node, countSum);
+                }
+            });
+        }
+    }
+
+    private void addSource(final Candidates result, final int listStart, final int nodeId, final int countSum) {
+        final NodeTemplate nt = m_templates[nodeId];
+        if ((countSum > 0) && isSourceNode(nt)) {
+            add(result, listStart, nt, countSum, 0);
+        }
+    }
+
+    /**
+     * Adds the recommended successors of the given node (ignoring its predecessor) to the given list. The mean of the
+     * frequencies of all triples with the same successor is taken. Nodes that are already part of the list are not
+     * added again.
+     *
+     * @param nodeId the interned node ID
+     * @param result the list to add the recommendations to
+     */
+    void addSuccessorRecommendations(final int nodeId, final Candidates result) {
+        final int start = m_store.getSuccessorsStart(nodeId);
+        final int end = m_store.getSuccessorsEnd(nodeId);
+        if (m_overlay == null) {
+            addEntries(start, end, result);
+            return;
+        }
+        final int listStart = result.size();
+        for (int e = start; e < end; e++) {
+            final int successor = m_store.getSuccessor(e);
+            int countSum = m_store.getCountSum(e);
+            int occurrences = m_store.getOccurrences(e);
+            final int[] adjustment = m_overlay.getNodeAdjustment(nodeId, successor);
+            if (adjustment != null) {
+                countSum += adjustment[0];
+                occurrences += adjustment[1];
+            }
+            addEntry(result, listStart, successor, countSum, occurrences);
+        }
+        for (int successor : m_overlay.getAdjustedSuccessors(nodeId)) {
+            if (m_store.findSuccessor(start, end, successor) < 0) {
+                final int[] adjustment = m_overlay.getNodeAdjustment(nodeId, successor);
+                addEntry(result, listStart, successor, adjustment[0], adjustment[1]);
+            }
+        }
+    }
+
+    /**
+     * Adds the recommended successors of the given node with the given predecessor to the given list, see
+     * {@link #addSuccessorRecommendations(int, Candidates)}.
+     *
+     * @param predecessorId the interned ID of the predecessor
+     * @param nodeId the interned node ID
+     * @param result the list to add the recommendations to
+     */
+    void addSuccessorRecommendations(final int predecessorId, final int nodeId, final Candidates result) {
+        final int start = m_store.getSuccessorsStart(predecessorId, nodeId);
+        final int end = m_store.getSuccessorsEnd(predecessorId, nodeId);
+        if (m_overlay == null) {
+            addEntries(start, end, result);
+            return;
+        }
+        final int listStart = result.size();
+        for (int e = start; e < end; e++) {
+            final int successor = m_store.getSuccessor(e);
+            final int[] triple = m_overlay.getTriple(predecessorId, nodeId, successor);
+            if (triple == null) {
+                addEntry(result, listStart, successor, m_store.getCountSum(e), m_store.getOccurrences(e));
+            } else {
+                addEntry(result, listStart, successor, triple[0], triple[1]);
+            }
+        }
+        for (int successor : m_overlay.getAdjustedSuccessors(predecessorId, nodeId)) {
+            if (m_store.findSuccessor(start, end, successor) < 0) {
+                final int[] triple = m_overlay.getTriple(predecessorId, nodeId, successor);
+                addEntry(result, listStart, successor, triple[0], triple[1]);
+            }
+        }
+    }
+
+    private void addEntries(final int start, final int end, final Candidates result) {
+        final int listStart = result.size();
+        for (int e = start; e < end; e++) {
+            addEntry(result, listStart, m_store.getSuccessor(e), m_store.getCountSum(e), m_store.getOccurrences(e));
+        }
+    }
+
+    private void addEntry(final Candidates result, final int listStart, final int successorId,
+        final int countSum, final int occurrences) {
+        final NodeTemplate nt = m_templates[successorId];
+        if ((nt != null) && (occurrences > 0)) {
+            add(result, listStart, nt, countSum, occurrences);
+        }
+    }
+
+    /**
+     * Adds a recommendation to the list. If the node is already recommended by an entry of the current list (i.e.
+     * after <code>listStart</code>, which happens if different interned nodes resolve to the same node template) the
+     * frequencies are aggregated. If it is recommended by an earlier list, it is not added.
+     */
+    private static void add(final Candidates result, final int listStart, final NodeTemplate nt, final int countSum,
+        final int occurrences) {
+        final Integer index = result.m_indices.putIfAbsent(nt, result.size());
+        if (index == null) {
+            result.m_list.add(new NodeRecommendation(nt, countSum, Math.max(occurrences, 1)));
+        } else if (index >= listStart) {
+            result.m_list.get(index).increaseFrequency(countSum, occurrences);
+        }
+    }
+
+    /**
+     * The recommendations collected for a query, with the positions of the node templates in the list so that
+     * recommendations for the same node can be merged in constant time.
+     */
+    static final class Candidates {
+        private final List<NodeRecommendation> m_list = new ArrayList<>();
+
+        private final Map<NodeTemplate, Integer> m_indices = new HashMap<>();
+
+        int size() {
+            return m_list.size();
+        }
+
+        /**
+         * @return the (modifiable) list of recommendations in the order they have been added
+         */
+        List<NodeRecommendation> getList() {
+            return m_list;
+        }
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.workbench.workflowcoach;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.knime.core.node.NodeInfo;
+import org.knime.core.node.NodeTriple;
+import org.knime.workbench.workflowcoach.data.NodeTripleCodec;
+import org.knime.workbench.workflowcoach.data.NodeTripleStore;
+
+/**
+ * Delta triples folded into a {@link NodeTripleStore} without compiling the store again. Keeps the current state of
+ * all single triples touched by a delta and the resulting adjustments of the aggregated statistics of the store.
+ * Nodes that are not part of the store get interned IDs following the IDs of the store.
+ *
+ * Overlays are not modified once they are in use; further deltas are applied to a
+ * {@link #NodeTripleOverlay(NodeTripleOverlay) copy}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class NodeTripleOverlay {
+    private final NodeTripleStore m_store;
+
+    /** Factories and names of the nodes not contained in the store. */
+    private final List<String> m_factories;
+
+    private final List<String> m_names;
+
+    private final Map<String, Integer> m_nodeIds;
+
+    /** Current count sum and number of occurrences of all single triples touched by a delta. */
+    private final Map<Long, int[]> m_triples;
+
+    /**
+     * Adjustments of count sum and occurrences of node-successor pairs, see {@link NodeTripleCodec#pairKey(int, int)}.
+     */
+    private final Map<Long, int[]> m_nodeAdjustments;
+
+    /** The successors of each node that have adjustments. */
+    private final Map<Integer, Set<Integer>> m_nodeSuccessors;
+
+    /** The successors of each predecessor-node pair that are touched by a delta. */
+    private final Map<Long, Set<Integer>> m_pairSuccessors;
+
+    /** Adjustments of the count sums of source nodes. */
+    private final Map<Integer, Integer> m_sourceAdjustments;
+
+    /**
+     * Creates an empty overlay.
+     *
+     * @param store the store the deltas are applied to
+     */
+    NodeTripleOverlay(final NodeTripleStore store) {
+        m_store = store;
+        m_factories = new ArrayList<>();
+        m_names = new ArrayList<>();
+        m_nodeIds = new HashMap<>();
+        m_triples = new HashMap<>();
+        m_nodeAdjustments = new HashMap<>();
+        m_nodeSuccessors = new HashMap<>();
+        m_pairSuccessors = new HashMap<>();
+        m_sourceAdjustments = new HashMap<>();
+    }
+
+    /**
+     * Creates a copy of an overlay that further deltas can be applied to.
+     *
+     * @param other the overlay to copy
+     */
+    NodeTripleOverlay(final NodeTripleOverlay other) {
+        m_store = other.m_store;
+        m_factories = new ArrayList<>(other.m_factories);
+        m_names = new ArrayList<>(other.m_names);
+        m_nodeIds = new HashMap<>(other.m_nodeIds);
+        m_triples = copyValues(other.m_triples);
+        m_nodeAdjustments = copyValues(other.m_nodeAdjustments);
+        m_nodeSuccessors = copySets(other.m_nodeSuccessors);
+        m_pairSuccessors = copySets(other.m_pairSuccessors);
+        m_sourceAdjustments = new HashMap<>(other.m_sourceAdjustments);
+    }
+
+    private static <K> Map<K, int[]> copyValues(final Map<K, int[]> map) {
+        final Map<K, int[]> copy = new HashMap<>(map);
+        copy.replaceAll((k, v) -> v.clone());
+        return copy;
+    }
+
+    private static <K> Map<K, Set<Integer>> copySets(final Map<K, Set<Integer>> map) {
+        final Map<K, Set<Integer>> copy = new HashMap<>(map);
+        copy.replaceAll((k, v) -> new HashSet<>(v));
+        return copy;
+    }
+
+    /**
+     * @return the number of interned nodes, including the ones of the store
+     */
+    int getNodeCount() {
+        return m_store.getNodeCount() + m_factories.size();
+    }
+
+    /**
+     * @param nodeId an interned node ID
+     * @return the node's factory class name
+     */
+    String getFactory(final int nodeId) {
+        final int storeCount = m_store.getNodeCount();
+        return (nodeId < storeCount) ? m_store.getFactory(nodeId) : m_factories.get(nodeId - storeCount);
+    }
+
+    /**
+     * @param nodeId an interned node ID
+     * @return the node's name
+     */
+    String getNodeName(final int nodeId) {
+        final int storeCount = m_store.getNodeCount();
+        return (nodeId < storeCount) ? m_store.getNodeName(nodeId) : m_names.get(nodeId - storeCount);
+    }
+
+    /**
+     * @param factory the node's factory class name
+     * @param name the node's name
+     * @return the interned ID of the node or -1 if it is neither part of the store nor of a delta
+     */
+    int getNodeId(final String factory, final String name) {
+        final int id = m_store.getNodeId(factory, name);
+        if (id >= 0) {
+            return id;
+        }
+        return m_nodeIds.getOrDefault(NodeRecommendationManager.getKey(factory, name), -1);
+    }
+
+    private int intern(final NodeInfo info) {
+        final int id = getNodeId(info.getFactory(), info.getName());
+        if (id >= 0) {
+            return id;
+        }
+        if (getNodeCount() >= NodeTripleCodec.MAX_NODE_COUNT) {
+            throw new IllegalArgumentException("Too many different nodes in the node triples");
+        }
+        m_factories.add(info.getFactory());
+        m_names.add(info.getName());
+        m_nodeIds.put(NodeRecommendationManager.getKey(info.getFactory(), info.getName()), getNodeCount() - 1);
+        return getNodeCount() - 1;
+    }
+
+    /**
+     * Applies a delta triple, see {@link NodeTripleCodec#applyDelta(int, int, int)}. Same semantics as
+     * {@link NodeTripleStore#compile(java.util.stream.Stream, java.util.stream.Stream)}.
+     *
+     * @param triple the delta triple
+     */
+    void apply(final NodeTriple triple) {
+        final int successor = intern(triple.getSuccessor());
+        final int node = triple.getNode().map(this::intern).orElse(-1);
+        final int predecessor = triple.getPredecessor().map(this::intern).orElse(-1);
+        if ((node < 0) && (predecessor >= 0)) {
+            // not considered by the statistics either
+            return;
+        }
+
+        final Long key = NodeTripleCodec.tripleKey(predecessor, node, successor);
+        final int[] old =
+            m_triples.containsKey(key) ? m_triples.get(key) : getStoreTriple(predecessor, node, successor);
+        final int[] updated = NodeTripleCodec.applyDelta(old[0], old[1], triple.getCount());
+        m_triples.put(key, updated);
+
+        final int countSumDelta = updated[0] - old[0];
+        final int occurrencesDelta = updated[1] - old[1];
+        if (predecessor < 0) {
+            m_sourceAdjustments.merge((node < 0) ? successor : node, countSumDelta, Integer::sum);
+        }
+        if (node >= 0) {
+            final int[] adjustment =
+                m_nodeAdjustments.computeIfAbsent(NodeTripleCodec.pairKey(node, successor), k -> new int[2]);
+            adjustment[0] += countSumDelta;
+            adjustment[1] += occurrencesDelta;
+            m_nodeSuccessors.computeIfAbsent(node, k -> new HashSet<>()).add(successor);
+            if (predecessor >= 0) {
+                m_pairSuccessors.computeIfAbsent(NodeTripleCodec.pairKey(predecessor, node), k -> new HashSet<>())
+                    .add(successor);
+            }
+        }
+    }
+
+    /**
+     * Reconstructs the count sum and number of occurrences of a single triple from the store.
+     */
+    private int[] getStoreTriple(final int predecessor, final int node, final int successor) {
+        final int storeCount = m_store.getNodeCount();
+        if ((node >= storeCount) || (predecessor >= storeCount) || (successor >= storeCount)) {
+            return new int[2];
+        }
+        if (node >= 0) {
+            int start;
+            int end;
+            if (predecessor >= 0) {
+                start = m_store.getSuccessorsStart(predecessor, node);
+                end = m_store.getSuccessorsEnd(predecessor, node);
+            } else {
+                start = m_store.getUnconnectedSuccessorsStart(node);
+                end = m_store.getUnconnectedSuccessorsEnd(node);
+            }
+            final int e = m_store.findSuccessor(start, end, successor);
+            return (e < 0) ? new int[2] : new int[]{m_store.getCountSum(e), m_store.getOccurrences(e)};
+        }
+        // a triple with the successor only: the source statistics of the node minus the ones with the node itself
+        final int source = m_store.findSource(successor);
+        int countSum = (source < 0) ? 0 : m_store.getSourceCountSum(source);
+        for (int e = m_store.getUnconnectedSuccessorsStart(successor),
+                end = m_store.getUnconnectedSuccessorsEnd(successor); e < end; e++) {
+            countSum -= m_store.getCountSum(e);
+        }
+        return (countSum > 0) ? new int[]{countSum, 1} : new int[2];
+    }
+
+    /**
+     * @param predecessorId the interned ID of the predecessor, -1 if none
+     * @param nodeId the interned node ID
+     * @param successorId the interned ID of the successor
+     * @return the current count sum and number of occurrences of the single triple or <code>null</code> if the triple
+     *         wasn't touched by a delta
+     */
+    int[] getTriple(final int predecessorId, final int nodeId, final int successorId) {
+        return m_triples.get(NodeTripleCodec.tripleKey(predecessorId, nodeId, successorId));
+    }
+
+    /**
+     * @param nodeId the interned node ID
+     * @param successorId the interned ID of the successor
+     * @return the adjustments of the count sum and number of occurrences of the aggregated node-successor statistics
+     *         or <code>null</code> if there are none
+     */
+    int[] getNodeAdjustment(final int nodeId, final int successorId) {
+        return m_nodeAdjustments.get(NodeTripleCodec.pairKey(nodeId, successorId));
+    }
+
+    /**
+     * @param nodeId the interned node ID
+     * @return the successors with adjusted statistics
+     */
+    Set<Integer> getAdjustedSuccessors(final int nodeId) {
+        return m_nodeSuccessors.getOrDefault(nodeId, Collections.emptySet());
+    }
+
+    /**
+     * @param predecessorId the interned ID of the predecessor
+     * @param nodeId the interned node ID
+     * @return the successors of the predecessor-node pair touched by a delta
+     */
+    Set<Integer> getAdjustedSuccessors(final int predecessorId, final int nodeId) {
+        return m_pairSuccessors.getOrDefault(NodeTripleCodec.pairKey(predecessorId, nodeId), Collections.emptySet());
+    }
+
+    /**
+     * @return the adjustments of the source count sums by interned node ID
+     */
+    Map<Integer, Integer> getSourceAdjustments() {
+        return Collections.unmodifiableMap(m_sourceAdjustments);
+    }
+}
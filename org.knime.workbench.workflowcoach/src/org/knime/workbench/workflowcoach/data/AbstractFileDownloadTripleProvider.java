@@ -51,22 +51,29 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.InetSocketAddress;
 import java.net.Proxy;
 import java.net.ProxySelector;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
 import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
 import java.util.TimeZone;
 import java.util.stream.Stream;
 import java.util.zip.GZIPInputStream;
@@ -99,12 +106,38 @@ public abstract class AbstractFileDownloadTripleProvider implements UpdatableNod
      */
     private static final String TMP_FILE_NAME = "file_download.temp";
 
+    /**
+     * Suffix of the file the compiled node triples are cached in, see {@link NodeTripleStore}.
+     */
+    private static final String COMPILED_FILE_SUFFIX = ".compiled";
+
+    /**
+     * Infix of the files downloaded deltas are stored in, followed by a running index.
+     */
+    private static final String DELTA_FILE_INFIX = ".delta.";
+
     private final String m_url;
 
+    private final String m_deltaUrl;
+
     private final Path m_file;
 
     private final Path m_tmpFile;
 
+    private final Path m_compiledFile;
+
+    /** Last modification time of the downloaded file when it was read the last time, <code>null</code> if never. */
+    private FileTime m_readFileTime;
+
+    /** The delta files that have already been read since the downloaded file was read. */
+    private final Set<Path> m_readDeltaFiles = new HashSet<>();
+
+    /** The delta files returned by the last call of {@link #getNodeTripleDelta()} that haven't been applied yet. */
+    private final List<Path> m_pendingDeltaFiles = new ArrayList<>();
+
+    /** The value of {@link #m_readFileTime} when the pending delta files have been returned. */
+    private FileTime m_pendingFileTime;
+
     /**
      * Creates a new triple provider.
      *
@@ -113,17 +146,161 @@ public abstract class AbstractFileDownloadTripleProvider implements UpdatableNod
      *
      */
     protected AbstractFileDownloadTripleProvider(final String url, final String fileName) {
+        this(url, null, fileName);
+    }
+
+    /**
+     * Creates a new triple provider that fetches incremental updates once the complete file has been downloaded. The
+     * delta URL is requested with an <code>If-Modified-Since</code> header set to the time of the last download and
+     * must answer with either
+     * <ul>
+     * <li>all triples that changed since then, in the same format as the complete file, with counts that are added to
+     * the counts of the downloaded triples (see {@link UpdatableNodeTripleProvider#getNodeTripleDelta()}),</li>
+     * <li><code>304 Not Modified</code> if nothing changed, or</li>
+     * <li>any other status (e.g. <code>404 Not Found</code>) if no delta is available, in which case the complete file
+     * is downloaded again.</li>
+     * </ul>
+     *
+     * @param url the URL to download the file from
+     * @param deltaUrl the URL to download changes from, can be <code>null</code>
+     * @param fileName the file name to store the downloaded nodes triples to - file name only, not a path!
+     * @since 4.5
+     */
+    protected AbstractFileDownloadTripleProvider(final String url, final String deltaUrl, final String fileName) {
         m_url = url;
+        m_deltaUrl = deltaUrl;
         m_file = Paths.get(KNIMEConstants.getKNIMEHomeDir(), fileName);
         m_tmpFile = Paths.get(KNIMEConstants.getKNIMEHomeDir(), TMP_FILE_NAME);
+        m_compiledFile = Paths.get(KNIMEConstants.getKNIMEHomeDir(), fileName + COMPILED_FILE_SUFFIX);
     }
 
     /**
      * {@inheritDoc}
+     *
+     * Only returns the triples of the completely downloaded file, downloaded deltas are not included.
      */
     @Override
     public Stream<NodeTriple> getNodeTriples() throws IOException {
-        return NodeFrequencies.from(Files.newInputStream(m_file)).getFrequencies().stream();
+        return NodeTripleReader.stream(m_file);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The compiled triples, including all downloaded deltas, are cached in a file next to the downloaded file and
+     * compiled again whenever the downloaded file or one of the deltas is newer.
+     */
+    @Override
+    public synchronized NodeTripleStore getNodeTripleStore() throws IOException {
+        final FileTime fileTime = Files.getLastModifiedTime(m_file);
+        final List<Path> deltaFiles = getDeltaFiles();
+        NodeTripleStore store;
+        if (isCompiledFileOutdated(fileTime, deltaFiles)) {
+            // the triples are streamed from the files into the compiler
+            final NodeTripleStore.Compiler compiler = new NodeTripleStore.Compiler();
+            NodeTripleReader.read(m_file, compiler::add);
+            for (Path deltaFile : deltaFiles) {
+                NodeTripleReader.read(deltaFile, compiler::applyDelta);
+            }
+            try {
+                compiler.write(m_compiledFile);
+                store = NodeTripleStore.open(m_compiledFile);
+            } catch (IOException ex) {
+                // e.g. on Windows a file that is still mapped by a previously opened store cannot be replaced
+                NodeLogger.getLogger(getClass())
+                    .debug("Could not write compiled node triples to '" + m_compiledFile + "': " + ex.getMessage(), ex);
+                store = compiler.toStore();
+            }
+        } else {
+            store = NodeTripleStore.open(m_compiledFile);
+        }
+        m_readFileTime = fileTime;
+        m_readDeltaFiles.clear();
+        m_readDeltaFiles.addAll(deltaFiles);
+        m_pendingDeltaFiles.clear();
+        m_pendingFileTime = null;
+        return store;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Returns the deltas downloaded since the last read as long as the complete file hasn't been downloaded again.
+     * The triples are streamed from the delta files.
+     */
+    @Override
+    public synchronized Optional<Stream<NodeTriple>> getNodeTripleDelta() throws IOException {
+        if (m_readFileTime == null || !Files.exists(m_file)
+            || !m_readFileTime.equals(Files.getLastModifiedTime(m_file))) {
+            return Optional.empty();
+        }
+        final List<Path> newDeltaFiles = getDeltaFiles();
+        newDeltaFiles.removeAll(m_readDeltaFiles);
+        m_pendingDeltaFiles.clear();
+        m_pendingDeltaFiles.addAll(newDeltaFiles);
+        m_pendingFileTime = m_readFileTime;
+        return Optional.of(newDeltaFiles.stream().flatMap(deltaFile -> {
+            try {
+                return NodeTripleReader.stream(deltaFile);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void nodeTripleDeltaApplied() {
+        // the complete file may have been read again in the meantime
+        if (m_readFileTime != null && m_readFileTime.equals(m_pendingFileTime)) {
+            m_readDeltaFiles.addAll(m_pendingDeltaFiles);
+        }
+        m_pendingDeltaFiles.clear();
+        m_pendingFileTime = null;
+    }
+
+    private boolean isCompiledFileOutdated(final FileTime fileTime, final List<Path> deltaFiles) throws IOException {
+        if (!Files.exists(m_compiledFile)) {
+            return true;
+        }
+        final FileTime compiledTime = Files.getLastModifiedTime(m_compiledFile);
+        if (compiledTime.compareTo(fileTime) < 0) {
+            return true;
+        }
+        for (Path deltaFile : deltaFiles) {
+            if (compiledTime.compareTo(Files.getLastModifiedTime(deltaFile)) < 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the downloaded delta files, ordered by their index
+     */
+    private List<Path> getDeltaFiles() throws IOException {
+        final List<Path> deltaFiles = new ArrayList<>();
+        try (DirectoryStream<Path> dir =
+            Files.newDirectoryStream(m_file.getParent(), m_file.getFileName() + DELTA_FILE_INFIX + "*")) {
+            for (Path deltaFile : dir) {
+                if (getDeltaIndex(deltaFile) >= 0) {
+                    deltaFiles.add(deltaFile);
+                }
+            }
+        }
+        deltaFiles.sort(Comparator.comparingLong(AbstractFileDownloadTripleProvider::getDeltaIndex));
+        return deltaFiles;
+    }
+
+    private static long getDeltaIndex(final Path deltaFile) {
+        final String name = deltaFile.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(name.lastIndexOf('.') + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
     }
 
     /**
@@ -136,38 +313,102 @@ public boolean updateRequired() {
 
     /**
      * {@inheritDoc}
+     *
+     * If a delta URL is given and the complete file has already been downloaded, only the changes are downloaded if
+     * available.
      */
     @Override
     public void update() throws Exception {
+        if (m_deltaUrl != null && Files.exists(m_file) && updateDelta()) {
+            return;
+        }
+        final GetMethod method = executeGet(m_url, Files.exists(m_file) ? Files.getLastModifiedTime(m_file) : null);
+        try {
+            int statusCode = method.getStatusCode();
+            if (statusCode == HttpStatus.SC_NOT_MODIFIED) {
+                return;
+            }
+            if (statusCode != HttpStatus.SC_OK) {
+                throw new HttpException("Cannot access server node recommendation file: " + method.getStatusLine());
+            }
+            download(method, m_file);
+        } finally {
+            method.releaseConnection();
+        }
+
+        // the deltas are contained in the new file
+        for (Path deltaFile : getDeltaFiles()) {
+            Files.deleteIfExists(deltaFile);
+        }
+    }
+
+    /**
+     * Downloads the changes since the last download from the delta URL.
+     *
+     * @return <code>true</code> if the changes have been downloaded or nothing changed, <code>false</code> if no delta
+     *         is available and the complete file needs to be downloaded
+     */
+    private boolean updateDelta() throws Exception {
+        final List<Path> deltaFiles = getDeltaFiles();
+        final GetMethod method = executeGet(m_deltaUrl, getLastModifiedTime(deltaFiles));
+        try {
+            int statusCode = method.getStatusCode();
+            if (statusCode == HttpStatus.SC_NOT_MODIFIED) {
+                return true;
+            }
+            if (statusCode != HttpStatus.SC_OK) {
+                NodeLogger.getLogger(getClass()).debug("No node recommendation delta available ("
+                    + method.getStatusLine() + "), downloading complete file");
+                return false;
+            }
+            long index = deltaFiles.isEmpty() ? 0 : (getDeltaIndex(deltaFiles.get(deltaFiles.size() - 1)) + 1);
+            download(method, m_file.resolveSibling(m_file.getFileName() + DELTA_FILE_INFIX + index));
+            return true;
+        } finally {
+            method.releaseConnection();
+        }
+    }
+
+    /**
+     * @return the last modification time of the downloaded file and the given delta files
+     */
+    private FileTime getLastModifiedTime(final List<Path> deltaFiles) throws IOException {
+        FileTime lastModified = Files.getLastModifiedTime(m_file);
+        for (Path deltaFile : deltaFiles) {
+            FileTime deltaTime = Files.getLastModifiedTime(deltaFile);
+            if (deltaTime.compareTo(lastModified) > 0) {
+                lastModified = deltaTime;
+            }
+        }
+        return lastModified;
+    }
+
+    private static GetMethod executeGet(final String url, final FileTime ifModifiedSince)
+        throws IOException, URISyntaxException {
         HttpClient client = new HttpClient();
-        applyProxySettings(client, new URI(m_url));
+        applyProxySettings(client, new URI(url));
         client.getHttpConnectionManager().getParams().setConnectionTimeout(TIMEOUT);
-        GetMethod method = new GetMethod(m_url);
+        GetMethod method = new GetMethod(url);
         method.getParams().setParameter(HttpMethodParams.RETRY_HANDLER, new DefaultHttpMethodRetryHandler(3, false));
-        if (Files.exists(m_file)) {
-            String lastModified = getHttpDateFormat().format(Date.from(Files.getLastModifiedTime(m_file).toInstant()));
+        if (ifModifiedSince != null) {
+            String lastModified = getHttpDateFormat().format(Date.from(ifModifiedSince.toInstant()));
             method.setRequestHeader("If-Modified-Since", lastModified);
         }
         method.setRequestHeader("Accept-Encoding", "gzip");
-        int statusCode = client.executeMethod(method);
-        if (statusCode == HttpStatus.SC_NOT_MODIFIED) {
-            return;
-        }
-        if (statusCode != HttpStatus.SC_OK) {
-            throw new HttpException("Cannot access server node recommendation file: " + method.getStatusLine());
-        }
+        client.executeMethod(method);
+        return method;
+    }
 
+    private void download(final GetMethod method, final Path file) throws IOException {
         //download and store the file
         try (InputStream in = getInputStream(method); OutputStream out = Files.newOutputStream(m_tmpFile)) {
             IOUtils.copy(in, out);
-        } finally {
-            method.releaseConnection();
         }
 
         //check the download and rename the file
         try {
             checkDownloadedFile(m_tmpFile);
-            Files.move(m_tmpFile, m_file, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(m_tmpFile, file, StandardCopyOption.REPLACE_EXISTING);
         } finally {
             //delete temporary file
             Files.deleteIfExists(m_tmpFile);
@@ -185,21 +426,24 @@ public void update() throws Exception {
      */
     protected void checkDownloadedFile(final Path file) throws IOException {
         try {
-            NodeFrequencies.from(Files.newInputStream(file));
-        } catch (IOException e) {
+            NodeTripleReader.read(file, t -> {
+            });
+        } catch (IOException | RuntimeException e) {
             throw new IOException("Downloaded file doesn't contain node recommendation data.");
         }
     }
 
     /**
      * {@inheritDoc}
+     *
+     * Downloaded deltas count as update, too.
      */
     @Override
     public Optional<LocalDateTime> getLastUpdate() {
         try {
             if (Files.exists(m_file)) {
-                return Optional
-                    .of(LocalDateTime.ofInstant(Files.getLastModifiedTime(m_file).toInstant(), ZoneId.systemDefault()));
+                return Optional.of(LocalDateTime.ofInstant(getLastModifiedTime(getDeltaFiles()).toInstant(),
+                    ZoneId.systemDefault()));
             } else {
                 return Optional.empty();
             }
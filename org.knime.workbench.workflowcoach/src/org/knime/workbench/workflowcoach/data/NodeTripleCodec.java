@@ -0,0 +1,136 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.workbench.workflowcoach.data;
+
+import org.knime.core.node.NodeTriple;
+
+/**
+ * Encoding of interned node triples as primitive keys and the semantics of delta triples. Shared by the compilation
+ * of a {@link NodeTripleStore} and by the overlays that fold deltas into an existing store, so that both always agree.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 4.5
+ */
+public final class NodeTripleCodec {
+    /** Number of bits per node in the key of a single triple. */
+    private static final int TRIPLE_KEY_BITS = 21;
+
+    private static final long TRIPLE_KEY_MASK = (1L << TRIPLE_KEY_BITS) - 1;
+
+    /** The maximum number of different nodes that can be encoded in a triple key. */
+    public static final int MAX_NODE_COUNT = (1 << TRIPLE_KEY_BITS) - 1;
+
+    private NodeTripleCodec() {
+    }
+
+    /**
+     * Packs the interned nodes of a single triple into one key. Predecessor and node are shifted by one, so that a
+     * missing node is represented by zero.
+     *
+     * @param predecessor the interned ID of the predecessor, -1 if none
+     * @param node the interned ID of the node, -1 if none
+     * @param successor the interned ID of the successor
+     * @return the key
+     */
+    public static long tripleKey(final int predecessor, final int node, final int successor) {
+        return ((long)(predecessor + 1) << (2 * TRIPLE_KEY_BITS)) | ((long)(node + 1) << TRIPLE_KEY_BITS) | successor;
+    }
+
+    /**
+     * @param tripleKey a key created by {@link #tripleKey(int, int, int)}
+     * @return the interned ID of the predecessor, -1 if none
+     */
+    public static int getPredecessor(final long tripleKey) {
+        return (int)(tripleKey >>> (2 * TRIPLE_KEY_BITS)) - 1;
+    }
+
+    /**
+     * @param tripleKey a key created by {@link #tripleKey(int, int, int)}
+     * @return the interned ID of the node, -1 if none
+     */
+    public static int getNode(final long tripleKey) {
+        return (int)((tripleKey >>> TRIPLE_KEY_BITS) & TRIPLE_KEY_MASK) - 1;
+    }
+
+    /**
+     * @param tripleKey a key created by {@link #tripleKey(int, int, int)}
+     * @return the interned ID of the successor
+     */
+    public static int getSuccessor(final long tripleKey) {
+        return (int)(tripleKey & TRIPLE_KEY_MASK);
+    }
+
+    /**
+     * Packs two interned node IDs into one key, e.g. a predecessor-node or a node-successor pair.
+     *
+     * @param first the first interned node ID
+     * @param second the second interned node ID
+     * @return the key
+     */
+    public static long pairKey(final int first, final int second) {
+        return ((long)first << 32) | second;
+    }
+
+    /**
+     * Applies the count of a delta triple to the statistics of the same single triple: the count is added to the
+     * count sum and the triple is removed once the count sum drops to zero. A triple that didn't exist before is only
+     * added with a positive count.
+     *
+     * @param countSum the current count sum of the triple
+     * @param occurrences the current number of occurrences of the triple, 0 if it doesn't exist
+     * @param deltaCount the count of the delta triple, see {@link NodeTriple#getCount()}
+     * @return the new count sum and number of occurrences
+     */
+    public static int[] applyDelta(final int countSum, final int occurrences, final int deltaCount) {
+        if (occurrences == 0) {
+            return (deltaCount > 0) ? new int[]{deltaCount, 1} : new int[2];
+        }
+        final int newCountSum = countSum + deltaCount;
+        return (newCountSum > 0) ? new int[]{newCountSum, occurrences} : new int[2];
+    }
+}
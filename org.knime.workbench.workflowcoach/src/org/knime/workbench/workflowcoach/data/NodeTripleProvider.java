@@ -101,6 +101,23 @@ public interface NodeTripleProvider {
      */
      Stream<NodeTriple> getNodeTriples() throws IOException;
 
+     /**
+      * Returns all available {@link NodeTriple}s in a compiled form that allows fast lookups. The default
+      * implementation compiles the triples returned by {@link #getNodeTriples()} in memory. Providers that read the
+      * triples from a file should override this method and cache the compiled file, see
+      * {@link NodeTripleStore#open(java.nio.file.Path)}.
+      *
+      * @return the compiled node triples
+      * @throws IOException a possible exception thrown usually when something went wrong to access the underlying
+      *             source of the node triples (e.g. a corrupt file)
+      * @since 4.5
+      */
+     default NodeTripleStore getNodeTripleStore() throws IOException {
+         try (Stream<NodeTriple> triples = getNodeTriples()) {
+             return NodeTripleStore.compile(triples);
+         }
+     }
+
      /**
       * Returns the time when this provider was last updated. If the provider hasn't been updated at all (i.e. its
       * data is missing) then an empty optional is returned.
@@ -0,0 +1,168 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.workbench.workflowcoach.data;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.knime.core.node.NodeFrequencies;
+import org.knime.core.node.NodeTriple;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+
+/**
+ * Reads the {@link NodeTriple}s of a {@link NodeFrequencies} JSON file one by one with a streaming parser, i.e.
+ * without holding all triples of the file in memory. The triples are the elements of the (only) array of the
+ * top-level object; all other top-level fields are skipped.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class NodeTripleReader {
+    private static final ObjectMapper MAPPER = new ObjectMapper().registerModule(new Jdk8Module())
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private NodeTripleReader() {
+    }
+
+    /**
+     * Passes all triples of a file to the given consumer.
+     *
+     * @param file a {@link NodeFrequencies} JSON file
+     * @param consumer the consumer of the triples
+     * @throws IOException if the file cannot be read or doesn't contain node triples
+     */
+    static void read(final Path file, final Consumer<NodeTriple> consumer) throws IOException {
+        try (InputStream in = Files.newInputStream(file); JsonParser parser = MAPPER.getFactory().createParser(in)) {
+            startTriples(parser);
+            NodeTriple triple;
+            while ((triple = nextTriple(parser)) != null) {
+                consumer.accept(triple);
+            }
+        }
+    }
+
+    /**
+     * Returns a lazy stream of the triples of a file. The file is opened immediately and closed when the stream is
+     * closed. I/O errors while the stream is consumed are thrown as {@link UncheckedIOException}s.
+     *
+     * @param file a {@link NodeFrequencies} JSON file
+     * @return the triples
+     * @throws IOException if the file cannot be opened or doesn't contain node triples
+     */
+    static Stream<NodeTriple> stream(final Path file) throws IOException {
+        final JsonParser parser = MAPPER.getFactory().createParser(Files.newInputStream(file));
+        try {
+            startTriples(parser);
+        } catch (IOException | RuntimeException ex) {
+            parser.close();
+            throw ex;
+        }
+        final Spliterator<NodeTriple> triples = new Spliterators.AbstractSpliterator<NodeTriple>(Long.MAX_VALUE,
+            Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(final Consumer<? super NodeTriple> action) {
+                try {
+                    final NodeTriple triple = nextTriple(parser);
+                    if (triple == null) {
+                        return false;
+                    }
+                    action.accept(triple);
+                    return true;
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+        };
+        return StreamSupport.stream(triples, false).onClose(() -> {
+            try {
+                parser.close();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    /** Moves the parser to the start of the array of triples. */
+    private static void startTriples(final JsonParser parser) throws IOException {
+        // the parser owns the input stream (AUTO_CLOSE_SOURCE), i.e. closing the parser closes the file
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Not a node triple file: top-level object expected");
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            if (parser.nextToken() == JsonToken.START_ARRAY) {
+                return;
+            }
+            parser.skipChildren();
+        }
+        throw new IOException("Not a node triple file: no node triples found");
+    }
+
+    /** Reads the next triple of the array or returns <code>null</code> at its end. */
+    private static NodeTriple nextTriple(final JsonParser parser) throws IOException {
+        final JsonToken token = parser.nextToken();
+        if (token == JsonToken.END_ARRAY) {
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new IOException("Not a node triple file: unexpected " + token + " in the node triples");
+        }
+        return MAPPER.readValue(parser, NodeTriple.class);
+    }
+}
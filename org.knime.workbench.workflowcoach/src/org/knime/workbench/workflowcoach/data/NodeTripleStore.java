@@ -0,0 +1,707 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ * History
+ *   Oct 17, 2026 (agent): created
+ */
+package org.knime.workbench.workflowcoach.data;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.knime.core.node.NodeFrequencies;
+import org.knime.core.node.NodeInfo;
+import org.knime.core.node.NodeTriple;
+
+/**
+ * Compiled, read-only representation of node triple statistics. Nodes are interned as integer IDs and the aggregated
+ * successor statistics are stored in sorted primitive arrays:
+ * <ul>
+ * <li>node &rarr; successors (the predecessor is ignored)</li>
+ * <li>(predecessor, node) &rarr; successors</li>
+ * <li>node without predecessor &rarr; successors</li>
+ * <li>potential source nodes, i.e. nodes (or successors) that appear without a predecessor</li>
+ * </ul>
+ * For each successor the sum of the triples' counts and the number of aggregated triples are stored, so that the mean
+ * or the sum can be computed. The successors of each key are sorted. Lookups use binary search and don't allocate any
+ * objects.
+ *
+ * <p>
+ * Delta triples, whose counts are added to the counts of the same triples (negative counts subtract, triples whose
+ * count drops to zero are removed), can be folded in while compiling, see {@link #compile(Stream, Stream)}. Since
+ * the statistics of the single triples with a node are kept, deltas can also be applied to an existing store without
+ * compiling it again.
+ * </p>
+ *
+ * <p>
+ * A store is either compiled in memory from a stream of {@link NodeTriple}s or read from a compiled file, which is
+ * memory-mapped. Compiled files can be created from existing {@link NodeFrequencies} JSON files with
+ * {@link #convert(Path, Path)}.
+ * </p>
+ *
+ * <pre>
+ * int magic, int version
+ * int nodeCount, nodeCount x (string factory, string name)        (strings: int length, UTF-8 bytes)
+ * int nodeKeyCount, int[nodeKeyCount] nodes, int[nodeKeyCount + 1] entry offsets
+ * int pairKeyCount, long[pairKeyCount] (predecessor &lt;&lt; 32 | node), int[pairKeyCount + 1] entry offsets
+ * int unconnectedKeyCount, int[unconnectedKeyCount] nodes, int[unconnectedKeyCount + 1] entry offsets
+ * int entryCount, int[entryCount] successors, int[entryCount] count sums, int[entryCount] occurrences
+ * int sourceCount, int[sourceCount] nodes, int[sourceCount] count sums
+ * </pre>
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 4.5
+ */
+public final class NodeTripleStore {
+    private static final int MAGIC = 0x4B4E5453; // "KNTS"
+
+    /** Must be increased whenever the format changes. */
+    private static final int VERSION = 2;
+
+    private final String[] m_factories;
+
+    private final String[] m_names;
+
+    private final Map<String, Map<String, Integer>> m_nodeIds;
+
+    private final IntBuffer m_nodeKeys;
+
+    private final IntBuffer m_nodeOffsets;
+
+    private final LongBuffer m_pairKeys;
+
+    private final IntBuffer m_pairOffsets;
+
+    private final IntBuffer m_unconnectedKeys;
+
+    private final IntBuffer m_unconnectedOffsets;
+
+    private final IntBuffer m_successors;
+
+    private final IntBuffer m_countSums;
+
+    private final IntBuffer m_occurrences;
+
+    private final IntBuffer m_sourceNodes;
+
+    private final IntBuffer m_sourceCountSums;
+
+    private NodeTripleStore(final ByteBuffer buffer) throws IOException {
+        final ByteBuffer buf = buffer.duplicate();
+        if ((buf.getInt() != MAGIC) || (buf.getInt() != VERSION)) {
+            throw new IOException("Not a compiled node triple file or unsupported version");
+        }
+        final int nodeCount = buf.getInt();
+        m_factories = new String[nodeCount];
+        m_names = new String[nodeCount];
+        m_nodeIds = new HashMap<>();
+        for (int i = 0; i < nodeCount; i++) {
+            m_factories[i] = readString(buf);
+            m_names[i] = readString(buf);
+            m_nodeIds.computeIfAbsent(m_factories[i], k -> new HashMap<>()).put(m_names[i], i);
+        }
+
+        final int nodeKeyCount = buf.getInt();
+        m_nodeKeys = intSection(buf, nodeKeyCount);
+        m_nodeOffsets = intSection(buf, nodeKeyCount + 1);
+        final int pairKeyCount = buf.getInt();
+        m_pairKeys = longSection(buf, pairKeyCount);
+        m_pairOffsets = intSection(buf, pairKeyCount + 1);
+        final int unconnectedKeyCount = buf.getInt();
+        m_unconnectedKeys = intSection(buf, unconnectedKeyCount);
+        m_unconnectedOffsets = intSection(buf, unconnectedKeyCount + 1);
+        final int entryCount = buf.getInt();
+        m_successors = intSection(buf, entryCount);
+        m_countSums = intSection(buf, entryCount);
+        m_occurrences = intSection(buf, entryCount);
+        final int sourceCount = buf.getInt();
+        m_sourceNodes = intSection(buf, sourceCount);
+        m_sourceCountSums = intSection(buf, sourceCount);
+    }
+
+    private static String readString(final ByteBuffer buf) {
+        final byte[] bytes = new byte[buf.getInt()];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static IntBuffer intSection(final ByteBuffer buf, final int length) {
+        final ByteBuffer slice = buf.slice();
+        slice.limit(length * Integer.BYTES);
+        buf.position(buf.position() + length * Integer.BYTES);
+        return slice.asIntBuffer();
+    }
+
+    private static LongBuffer longSection(final ByteBuffer buf, final int length) {
+        final ByteBuffer slice = buf.slice();
+        slice.limit(length * Long.BYTES);
+        buf.position(buf.position() + length * Long.BYTES);
+        return slice.asLongBuffer();
+    }
+
+    /**
+     * Opens a compiled node triple file. The file is memory-mapped, i.e. only the node names are read into the heap.
+     *
+     * @param file a compiled file, see {@link #compile(Stream, Stream, Path)}
+     * @return the store
+     * @throws IOException if the file cannot be read or is not a compiled node triple file
+     */
+    public static NodeTripleStore open(final Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new NodeTripleStore(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Compiles the given node triples into an in-memory store.
+     *
+     * @param triples the node triples
+     * @return the store
+     */
+    public static NodeTripleStore compile(final Stream<NodeTriple> triples) {
+        return compile(triples, Stream.empty());
+    }
+
+    /**
+     * Compiles the given node triples and folds in the given delta triples into an in-memory store. The triples are
+     * streamed, no intermediate lists are created.
+     *
+     * @param triples the node triples
+     * @param delta delta triples whose counts are added to the counts of the same node triples
+     * @return the store
+     */
+    public static NodeTripleStore compile(final Stream<NodeTriple> triples, final Stream<NodeTriple> delta) {
+        return compiler(triples, delta).toStore();
+    }
+
+    /**
+     * Compiles the given node triples into a file. The file is replaced atomically.
+     *
+     * @param triples the node triples
+     * @param delta delta triples whose counts are added to the counts of the same node triples
+     * @param file the target file
+     * @throws IOException if the file cannot be written
+     */
+    public static void compile(final Stream<NodeTriple> triples, final Stream<NodeTriple> delta, final Path file)
+        throws IOException {
+        compiler(triples, delta).write(file);
+    }
+
+    private static Compiler compiler(final Stream<NodeTriple> triples, final Stream<NodeTriple> delta) {
+        final Compiler compiler = new Compiler();
+        triples.forEach(compiler::add);
+        delta.forEach(compiler::applyDelta);
+        return compiler;
+    }
+
+    /**
+     * Converts a {@link NodeFrequencies} JSON file into a compiled node triple file.
+     *
+     * @param jsonFile the JSON file, see {@link NodeFrequencies#from(InputStream)}
+     * @param file the compiled file
+     * @throws IOException if one of the files cannot be read or written
+     */
+    public static void convert(final Path jsonFile, final Path file) throws IOException {
+        final Compiler compiler = new Compiler();
+        NodeTripleReader.read(jsonFile, compiler::add);
+        compiler.write(file);
+    }
+
+    /** Aggregated statistics of one successor (count sum and number of triples). */
+    private static final class Aggregate {
+        private int m_countSum;
+
+        private int m_occurrences;
+
+        /** Adds the statistics of a single triple or of already aggregated triples. */
+        private void add(final int countSum, final int occurrences) {
+            m_countSum += countSum;
+            m_occurrences += occurrences;
+        }
+
+        private void add(final Aggregate other) {
+            add(other.m_countSum, other.m_occurrences);
+        }
+    }
+
+    /**
+     * Compiles node triples that are added one by one, e.g. while they are read from a file. All node triples must be
+     * added before the first delta triple is applied.
+     */
+    static final class Compiler {
+        private static final int[] NO_STATS = new int[2];
+
+        private final List<String> m_factories = new ArrayList<>();
+
+        private final List<String> m_names = new ArrayList<>();
+
+        private final Map<String, Map<String, Integer>> m_nodeIds = new HashMap<>();
+
+        /** Count sum and occurrences of the single triples, so that the deltas can be applied to them. */
+        private final Map<Long, int[]> m_triples = new HashMap<>();
+
+        /**
+         * Adds a node triple.
+         *
+         * @param t the node triple
+         */
+        void add(final NodeTriple t) {
+            final int[] stats = m_triples.computeIfAbsent(tripleKey(t), k -> new int[2]);
+            stats[0] += t.getCount();
+            stats[1]++;
+        }
+
+        /**
+         * Applies a delta triple, see {@link NodeTripleCodec#applyDelta(int, int, int)}.
+         *
+         * @param t the delta triple
+         */
+        void applyDelta(final NodeTriple t) {
+            final Long key = tripleKey(t);
+            final int[] stats = m_triples.getOrDefault(key, NO_STATS);
+            m_triples.put(key, NodeTripleCodec.applyDelta(stats[0], stats[1], t.getCount()));
+        }
+
+        /**
+         * @return an in-memory store of the added triples
+         */
+        NodeTripleStore toStore() {
+            try {
+                return new NodeTripleStore(ByteBuffer.wrap(toBytes()));
+            } catch (IOException ex) {
+                // cannot happen, the buffer has just been written
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        /**
+         * Writes the added triples into a compiled file. The file is replaced atomically.
+         *
+         * @param file the target file
+         * @throws IOException if the file cannot be written
+         */
+        void write(final Path file) throws IOException {
+            final byte[] bytes = toBytes();
+            final Path tmpFile = file.resolveSibling(file.getFileName() + ".tmp");
+            try {
+                Files.write(tmpFile, bytes);
+                Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmpFile);
+            }
+        }
+
+        /** Interns the nodes of the triple and packs them into one key. */
+        private long tripleKey(final NodeTriple t) {
+            final int successor = intern(t.getSuccessor());
+            final int node = t.getNode().map(this::intern).orElse(-1);
+            final int predecessor = t.getPredecessor().map(this::intern).orElse(-1);
+            if (m_factories.size() >= NodeTripleCodec.MAX_NODE_COUNT) {
+                throw new IllegalArgumentException("Too many different nodes in the node triples");
+            }
+            return NodeTripleCodec.tripleKey(predecessor, node, successor);
+        }
+
+        private int intern(final NodeInfo info) {
+            return m_nodeIds.computeIfAbsent(info.getFactory(), k -> new HashMap<>())
+                .computeIfAbsent(info.getName(), k -> {
+                    m_factories.add(info.getFactory());
+                    m_names.add(info.getName());
+                    return m_factories.size() - 1;
+                });
+        }
+
+        private byte[] toBytes() {
+            final TreeMap<Integer, TreeMap<Integer, Aggregate>> nodeStats = new TreeMap<>();
+            final TreeMap<Long, TreeMap<Integer, Aggregate>> pairStats = new TreeMap<>();
+            final TreeMap<Integer, TreeMap<Integer, Aggregate>> unconnectedStats = new TreeMap<>();
+            final TreeMap<Integer, Aggregate> sourceStats = new TreeMap<>();
+            m_triples.forEach((key, stats) -> {
+                if (stats[1] == 0) {
+                    // removed by a delta
+                    return;
+                }
+                final int predecessor = NodeTripleCodec.getPredecessor(key);
+                final int node = NodeTripleCodec.getNode(key);
+                final int successor = NodeTripleCodec.getSuccessor(key);
+
+                if (predecessor < 0) {
+                    // potential source nodes: the successor if there is no node, otherwise the node itself
+                    sourceStats.computeIfAbsent((node < 0) ? successor : node, k -> new Aggregate())
+                        .add(stats[0], stats[1]);
+                }
+                if (node >= 0) {
+                    nodeStats.computeIfAbsent(node, k -> new TreeMap<>())
+                        .computeIfAbsent(successor, k -> new Aggregate()).add(stats[0], stats[1]);
+                    if (predecessor >= 0) {
+                        pairStats.computeIfAbsent(NodeTripleCodec.pairKey(predecessor, node), k -> new TreeMap<>())
+                            .computeIfAbsent(successor, k -> new Aggregate()).add(stats[0], stats[1]);
+                    } else {
+                        unconnectedStats.computeIfAbsent(node, k -> new TreeMap<>())
+                            .computeIfAbsent(successor, k -> new Aggregate()).add(stats[0], stats[1]);
+                    }
+                }
+            });
+
+            try (ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                    DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(m_factories.size());
+                for (int i = 0; i < m_factories.size(); i++) {
+                    writeString(out, m_factories.get(i));
+                    writeString(out, m_names.get(i));
+                }
+
+                final List<Map<Integer, Aggregate>> entries = new ArrayList<>();
+                out.writeInt(nodeStats.size());
+                for (Integer node : nodeStats.keySet()) {
+                    out.writeInt(node);
+                }
+                writeOffsets(out, nodeStats.values(), entries);
+                out.writeInt(pairStats.size());
+                for (Long pair : pairStats.keySet()) {
+                    out.writeLong(pair);
+                }
+                writeOffsets(out, pairStats.values(), entries);
+                out.writeInt(unconnectedStats.size());
+                for (Integer node : unconnectedStats.keySet()) {
+                    out.writeInt(node);
+                }
+                writeOffsets(out, unconnectedStats.values(), entries);
+
+                int entryCount = 0;
+                for (Map<Integer, Aggregate> e : entries) {
+                    entryCount += e.size();
+                }
+                out.writeInt(entryCount);
+                for (Map<Integer, Aggregate> e : entries) {
+                    for (Integer successor : e.keySet()) {
+                        out.writeInt(successor);
+                    }
+                }
+                for (Map<Integer, Aggregate> e : entries) {
+                    for (Aggregate a : e.values()) {
+                        out.writeInt(a.m_countSum);
+                    }
+                }
+                for (Map<Integer, Aggregate> e : entries) {
+                    for (Aggregate a : e.values()) {
+                        out.writeInt(a.m_occurrences);
+                    }
+                }
+
+                out.writeInt(sourceStats.size());
+                for (Integer node : sourceStats.keySet()) {
+                    out.writeInt(node);
+                }
+                for (Aggregate a : sourceStats.values()) {
+                    out.writeInt(a.m_countSum);
+                }
+                out.flush();
+                return bytes.toByteArray();
+            } catch (IOException ex) {
+                // cannot happen with a byte array stream
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+
+    /**
+     * Writes the offsets of the given successor maps into the global entry list (which the maps are appended to).
+     */
+    private static void writeOffsets(final DataOutputStream out, final Iterable<? extends Map<Integer, Aggregate>> maps,
+        final List<Map<Integer, Aggregate>> entries) throws IOException {
+        int offset = 0;
+        for (Map<Integer, Aggregate> e : entries) {
+            offset += e.size();
+        }
+        out.writeInt(offset);
+        for (Map<Integer, Aggregate> m : maps) {
+            offset += m.size();
+            out.writeInt(offset);
+            entries.add(m);
+        }
+    }
+
+    private static void writeString(final DataOutputStream out, final String s) throws IOException {
+        final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * @return the number of interned nodes
+     */
+    public int getNodeCount() {
+        return m_factories.length;
+    }
+
+    /**
+     * @param nodeId an interned node ID
+     * @return the node's factory class name
+     */
+    public String getFactory(final int nodeId) {
+        return m_factories[nodeId];
+    }
+
+    /**
+     * @param nodeId an interned node ID
+     * @return the node's name
+     */
+    public String getNodeName(final int nodeId) {
+        return m_names[nodeId];
+    }
+
+    /**
+     * Returns the interned ID of a node.
+     *
+     * @param factory the node's factory class name
+     * @param name the node's name
+     * @return the ID or -1 if the node is not part of the statistics
+     */
+    public int getNodeId(final String factory, final String name) {
+        final Map<String, Integer> byName = m_nodeIds.get(factory);
+        final Integer id = (byName == null) ? null : byName.get(name);
+        return (id == null) ? -1 : id;
+    }
+
+    /**
+     * Returns the start of the entries of the successors of the given node (ignoring the predecessor).
+     *
+     * @param nodeId an interned node ID
+     * @return the first entry index, equal to {@link #getSuccessorsEnd(int)} if there are no successors
+     */
+    public int getSuccessorsStart(final int nodeId) {
+        final int k = binarySearch(m_nodeKeys, nodeId);
+        return (k < 0) ? 0 : m_nodeOffsets.get(k);
+    }
+
+    /**
+     * @param nodeId an interned node ID
+     * @return the index after the last entry of the successors of the given node
+     * @see #getSuccessorsStart(int)
+     */
+    public int getSuccessorsEnd(final int nodeId) {
+        final int k = binarySearch(m_nodeKeys, nodeId);
+        return (k < 0) ? 0 : m_nodeOffsets.get(k + 1);
+    }
+
+    /**
+     * Returns the start of the entries of the successors of the given node with the given predecessor.
+     *
+     * @param predecessorId the interned ID of the predecessor
+     * @param nodeId the interned ID of the node
+     * @return the first entry index, equal to {@link #getSuccessorsEnd(int, int)} if there are no successors
+     */
+    public int getSuccessorsStart(final int predecessorId, final int nodeId) {
+        final int k = binarySearch(m_pairKeys, NodeTripleCodec.pairKey(predecessorId, nodeId));
+        return (k < 0) ? 0 : m_pairOffsets.get(k);
+    }
+
+    /**
+     * @param predecessorId the interned ID of the predecessor
+     * @param nodeId the interned ID of the node
+     * @return the index after the last entry of the successors of the given node with the given predecessor
+     * @see #getSuccessorsStart(int, int)
+     */
+    public int getSuccessorsEnd(final int predecessorId, final int nodeId) {
+        final int k = binarySearch(m_pairKeys, NodeTripleCodec.pairKey(predecessorId, nodeId));
+        return (k < 0) ? 0 : m_pairOffsets.get(k + 1);
+    }
+
+    /**
+     * Returns the start of the entries of the successors of the given node in triples without a predecessor.
+     *
+     * @param nodeId the interned ID of the node
+     * @return the first entry index, equal to {@link #getUnconnectedSuccessorsEnd(int)} if there are no successors
+     */
+    public int getUnconnectedSuccessorsStart(final int nodeId) {
+        final int k = binarySearch(m_unconnectedKeys, nodeId);
+        return (k < 0) ? 0 : m_unconnectedOffsets.get(k);
+    }
+
+    /**
+     * @param nodeId the interned ID of the node
+     * @return the index after the last entry of the successors of the given node in triples without a predecessor
+     * @see #getUnconnectedSuccessorsStart(int)
+     */
+    public int getUnconnectedSuccessorsEnd(final int nodeId) {
+        final int k = binarySearch(m_unconnectedKeys, nodeId);
+        return (k < 0) ? 0 : m_unconnectedOffsets.get(k + 1);
+    }
+
+    /**
+     * Finds the entry of a successor in a range of entries.
+     *
+     * @param start the first entry index of the range, as returned by one of the <code>get...Start</code> methods
+     * @param end the index after the last entry of the range
+     * @param successorId the interned ID of the successor
+     * @return the entry index or -1 if the successor is not part of the range
+     */
+    public int findSuccessor(final int start, final int end, final int successorId) {
+        int low = start;
+        int high = end - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int value = m_successors.get(mid);
+            if (value < successorId) {
+                low = mid + 1;
+            } else if (value > successorId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of a potential source node.
+     *
+     * @param nodeId the interned ID of the node
+     * @return the index between 0 and {@link #getSourceCount()} or -1 if the node is not a potential source node
+     */
+    public int findSource(final int nodeId) {
+        return binarySearch(m_sourceNodes, nodeId);
+    }
+
+    /**
+     * @param entry an entry index
+     * @return the interned ID of the successor
+     */
+    public int getSuccessor(final int entry) {
+        return m_successors.get(entry);
+    }
+
+    /**
+     * @param entry an entry index
+     * @return the sum of the counts of all triples aggregated in the entry
+     */
+    public int getCountSum(final int entry) {
+        return m_countSums.get(entry);
+    }
+
+    /**
+     * @param entry an entry index
+     * @return the number of triples aggregated in the entry
+     */
+    public int getOccurrences(final int entry) {
+        return m_occurrences.get(entry);
+    }
+
+    /**
+     * @return the number of potential source nodes
+     */
+    public int getSourceCount() {
+        return m_sourceNodes.limit();
+    }
+
+    /**
+     * @param index an index between 0 and {@link #getSourceCount()}
+     * @return the interned ID of the potential source node
+     */
+    public int getSourceNode(final int index) {
+        return m_sourceNodes.get(index);
+    }
+
+    /**
+     * @param index an index between 0 and {@link #getSourceCount()}
+     * @return the sum of the counts of all triples in which the node appears without a predecessor
+     */
+    public int getSourceCountSum(final int index) {
+        return m_sourceCountSums.get(index);
+    }
+
+    private static int binarySearch(final IntBuffer keys, final int key) {
+        int low = 0;
+        int high = keys.limit() - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int value = keys.get(mid);
+            if (value < key) {
+                low = mid + 1;
+            } else if (value > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private static int binarySearch(final LongBuffer keys, final long key) {
+        int low = 0;
+        int high = keys.limit() - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final long value = keys.get(mid);
+            if (value < key) {
+                low = mid + 1;
+            } else if (value > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+}
@@ -48,6 +48,12 @@
  */
 package org.knime.workbench.workflowcoach.data;
 
+import java.io.IOException;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.knime.core.node.NodeTriple;
+
 /**
  * Node triple provider with an additional update method.
  *
@@ -73,4 +79,32 @@ public interface UpdatableNodeTripleProvider extends NodeTripleProvider {
      */
     boolean updateRequired();
 
+    /**
+     * Returns the changes that an {@link #update()} fetched since the statistics have last been read via
+     * {@link #getNodeTripleStore()} or a delta has been applied (see {@link #nodeTripleDeltaApplied()}). The count
+     * of each returned triple is added to the count of the same triple in the statistics read before; a negative count
+     * removes occurrences, a triple whose count drops to zero is removed completely (see
+     * {@link NodeTripleStore#compile(Stream, Stream)}).
+     *
+     * The default implementation doesn't support deltas and always requests the statistics to be read again.
+     *
+     * @return the triples that changed (possibly none), or an empty optional if the statistics have been replaced and
+     *         must be read again completely
+     * @throws IOException if the changes cannot be read
+     * @since 4.5
+     */
+    default Optional<Stream<NodeTriple>> getNodeTripleDelta() throws IOException {
+        return Optional.empty();
+    }
+
+    /**
+     * Called after the changes returned by the last call of {@link #getNodeTripleDelta()} have been applied to the
+     * statistics successfully. Until then, the same changes are returned again by the next call.
+     *
+     * The default implementation does nothing.
+     *
+     * @since 4.5
+     */
+    default void nodeTripleDeltaApplied() {
+    }
 }
@@ -55,6 +55,7 @@
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
+import org.knime.workbench.workflowcoach.NodeRecommendationManager;
 import org.knime.workbench.workflowcoach.data.UpdatableNodeTripleProvider;
 import org.osgi.framework.FrameworkUtil;
 
@@ -85,7 +86,9 @@ public interface UpdateListener {
     private List<UpdatableNodeTripleProvider> m_providers;
 
     /**
-     * Creates and immediately schedules the update job.
+     * Creates and immediately schedules the update job. Once the providers have been updated, the loaded
+     * recommendations are updated as well (see {@link NodeRecommendationManager#updateRecommendations()}) before the
+     * listener is notified; this is also done if there are no providers to update.
      *
      * @param listener listener to be informed about the progress of the job and when it's finished
      * @param providers the node triple providers to be updated
@@ -94,7 +97,13 @@ public interface UpdateListener {
     public static void schedule(final UpdateListener listener,
         final List<UpdatableNodeTripleProvider> providers, final boolean block) {
         if(providers.isEmpty()) {
-            listener.updateFinished(Optional.empty());
+            // nothing to download, but the set of enabled providers may have changed
+            try {
+                NodeRecommendationManager.getInstance().updateRecommendations();
+                listener.updateFinished(Optional.empty());
+            } catch (Exception e) {
+                listener.updateFinished(Optional.of(e));
+            }
             return;
         }
         UpdateJob j = new UpdateJob(listener, providers);
@@ -137,6 +146,15 @@ protected IStatus run(final IProgressMonitor monitor) {
             }
         }
 
+        // make the loaded recommendations reflect the update, deltas are folded in without reading everything again
+        try {
+            NodeRecommendationManager.getInstance().updateRecommendations();
+        } catch (Exception e) {
+            if (exception == null) {
+                exception = e;
+            }
+        }
+
         monitor.done();
         if (exception == null) {
             m_listener.updateFinished(Optional.empty());